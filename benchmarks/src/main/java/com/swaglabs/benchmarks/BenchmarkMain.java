@@ -0,0 +1,52 @@
+package com.swaglabs.benchmarks;
+
+import org.openjdk.jmh.Main;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Entry point of benchmarks.jar. Accepts the standard JMH command line (benchmark regex, -f, -wi, -i, -p ...)
+ * and adds the defaults we compare commits with: the GC profiler, which reports allocation per operation
+ * (gc.alloc.rate.norm) next to GC counts and time, and JSON results written to -Dbenchmark.result
+ * (default target/jmh-result.json). Explicit -prof, -rf and -rff options still win.
+ */
+public class BenchmarkMain {
+
+    public static void main(String[] args) throws Exception {
+        CommandLineOptions cli = new CommandLineOptions(args);
+        if (cli.shouldHelp() || cli.shouldList() || cli.shouldListWithParams()
+                || cli.shouldListProfilers() || cli.shouldListResultFormats()) {
+            Main.main(args);
+            return;
+        }
+
+        ChainedOptionsBuilder options = new OptionsBuilder().parent(cli)
+                // Keep framework info logging out of the measured code paths
+                .jvmArgsPrepend("-Dorg.slf4j.simpleLogger.defaultLogLevel=warn");
+
+        boolean gcProfilerRequested = cli.getProfilers().stream()
+                .anyMatch(profiler -> profiler.getKlass().equals("gc")
+                        || profiler.getKlass().equals(GCProfiler.class.getName()));
+        if (!gcProfilerRequested) {
+            options.addProfiler(GCProfiler.class);
+        }
+        if (!cli.getResultFormat().hasValue()) {
+            options.resultFormat(ResultFormatType.JSON);
+        }
+        if (!cli.getResult().hasValue()) {
+            Path result = Paths.get(System.getProperty("benchmark.result", "target/jmh-result.json"));
+            Files.createDirectories(result.toAbsolutePath().getParent());
+            options.result(result.toString());
+        }
+
+        new Runner(options.build()).run();
+    }
+}
@@ -0,0 +1,61 @@
+package com.swaglabs.benchmarks;
+
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.ConfigSnapshot;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Configuration lookups as page objects and tests perform them: string properties, typed getters
+ * served from the resolved snapshot, and a full reload of every source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ConfigManagerBenchmark {
+    private ConfigManager config;
+
+    @Setup
+    public void setup() {
+        config = ConfigManager.getInstance();
+    }
+
+    @Benchmark
+    public String getProperty() {
+        return config.getProperty("app.url");
+    }
+
+    @Benchmark
+    public String getPropertyWithDefault() {
+        return config.getProperty("benchmark.missing.key", "default");
+    }
+
+    @Benchmark
+    public String typedStringGetter() {
+        return config.getAppUrl();
+    }
+
+    @Benchmark
+    public int typedIntGetter() {
+        return config.getDriverPoolSize();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public ConfigSnapshot reload() {
+        return config.reload();
+    }
+}
@@ -0,0 +1,102 @@
+package com.swaglabs.benchmarks;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.data.model.InventorySnapshot;
+import com.swaglabs.pages.LoginPage;
+import com.swaglabs.pages.ProductsPage;
+import com.swaglabs.server.StandInServer;
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.DriverManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openqa.selenium.WebDriver;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static com.codeborne.selenide.Selenide.$$;
+
+/**
+ * Page-object operations against the stand-in Swag Labs server in a headless browser, so the numbers
+ * reflect framework overhead and WebDriver round trips rather than network latency to saucedemo.com.
+ * Compares the single-script inventory snapshot with reading the same data element by element.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Fork(1)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+public class PageObjectBenchmark {
+    private static final String PRODUCT = "Sauce Labs Backpack";
+
+    private WebDriver driver;
+    private String inventoryUrl;
+    private ProductsPage productsPage;
+
+    @Setup(Level.Trial)
+    public void startBrowser() {
+        String baseUrl = StandInServer.start(0);
+        System.setProperty("app.url", baseUrl);
+        ConfigManager config = ConfigManager.getInstance();
+        config.reload();
+
+        Configuration.headless = true;
+        Configuration.timeout = config.getTimeout();
+        driver = DriverManager.startDriver(config.getBrowser(), true);
+        Selenide.open(baseUrl);
+        productsPage = new LoginPage().login(config.getStandardUsername(), config.getStandardPassword());
+        inventoryUrl = baseUrl + "/inventory.html";
+    }
+
+    @Setup(Level.Iteration)
+    public void openInventory() {
+        // Iterations may run on a different worker thread; Selenide binds drivers per thread
+        WebDriverRunner.setWebDriver(driver);
+        Selenide.open(inventoryUrl);
+    }
+
+    @TearDown(Level.Trial)
+    public void stopBrowser() {
+        WebDriverRunner.setWebDriver(driver);
+        DriverManager.stopDriver();
+        StandInServer.stop();
+    }
+
+    @Benchmark
+    public InventorySnapshot inventorySnapshot() {
+        return productsPage.invalidateSnapshot().snapshot();
+    }
+
+    @Benchmark
+    public List<String> productNamesFromSnapshot() {
+        return productsPage.invalidateSnapshot().getAllProductNames();
+    }
+
+    @Benchmark
+    public List<String> productNamesPerElement() {
+        return $$(".inventory_item_name").texts();
+    }
+
+    @Benchmark
+    public int cartBadgeCount() {
+        return productsPage.invalidateSnapshot().getCartItemsCount();
+    }
+
+    @Benchmark
+    public ProductsPage addAndRemoveProduct() {
+        return productsPage.addProductToCart(PRODUCT).removeProductFromCart(PRODUCT);
+    }
+}
@@ -0,0 +1,104 @@
+package com.swaglabs.benchmarks;
+
+import com.swaglabs.utils.ScreenshotWriter;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import io.qameta.allure.AllureResultsWriter;
+import io.qameta.allure.model.TestResult;
+import io.qameta.allure.model.TestResultContainer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost to the test thread of attaching a screenshot to the running Allure test: the queued path used by
+ * ScreenshotUtils (prepare on the caller, write on the background writer) against an inline
+ * addAttachment. Results go to a writer that reads and discards the bytes, so the disk is not measured.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class ScreenshotAttachBenchmark {
+
+    // Typical full-page PNG sizes at 1920x1080
+    @Param({"200000", "1000000"})
+    public int pngBytes;
+
+    private byte[] png;
+    private AllureLifecycle lifecycle;
+    private String testUuid;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        png = new byte[pngBytes];
+        new Random(42).nextBytes(png);
+        lifecycle = new AllureLifecycle(new DiscardingResultsWriter());
+        Allure.setLifecycle(lifecycle);
+    }
+
+    @Setup(Level.Iteration)
+    public void startTest() {
+        // A fresh test per iteration keeps the attachment list from growing across the run
+        testUuid = UUID.randomUUID().toString();
+        lifecycle.scheduleTestCase(new TestResult().setUuid(testUuid).setName("screenshot attach benchmark"));
+        lifecycle.startTestCase(testUuid);
+    }
+
+    @TearDown(Level.Iteration)
+    public void stopTest() {
+        ScreenshotWriter.drain(60_000);
+        lifecycle.stopTestCase(testUuid);
+        lifecycle.writeTestCase(testUuid);
+    }
+
+    @Benchmark
+    public void queuedAttach() {
+        ScreenshotWriter.submit("Screenshot", null, png);
+    }
+
+    @Benchmark
+    public void inlineAttach() {
+        lifecycle.addAttachment("Screenshot", "image/png", "png", png);
+    }
+
+    private static final class DiscardingResultsWriter implements AllureResultsWriter {
+
+        @Override
+        public void write(TestResult testResult) {
+        }
+
+        @Override
+        public void write(TestResultContainer testResultContainer) {
+        }
+
+        @Override
+        public void write(String source, InputStream attachment) {
+            try (attachment) {
+                attachment.transferTo(OutputStream.nullOutputStream());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error reading attachment " + source, e);
+            }
+        }
+    }
+}
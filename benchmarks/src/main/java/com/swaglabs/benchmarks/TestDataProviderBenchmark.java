@@ -0,0 +1,79 @@
+package com.swaglabs.benchmarks;
+
+import com.swaglabs.data.TestDataProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Iterator;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * DataProvider construction: the literal Object[][] providers TestNG calls for every parameterized test,
+ * and the streaming matrix providers drained row by row.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TestDataProviderBenchmark {
+    private TestDataProvider provider;
+
+    @Setup
+    public void setup() {
+        provider = new TestDataProvider();
+    }
+
+    @Benchmark
+    public Object[][] loginData() {
+        return provider.getLoginData();
+    }
+
+    @Benchmark
+    public Object[][] productData() {
+        return provider.getProductData();
+    }
+
+    @Benchmark
+    public Object[][] checkoutData() {
+        return provider.getCheckoutData();
+    }
+
+    @Benchmark
+    public Object[][] e2eTestData() {
+        return provider.getE2ETestData();
+    }
+
+    @Benchmark
+    public Object[][] performanceData() {
+        return provider.getPerformanceData();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void checkoutMatrix(Blackhole blackhole) {
+        drain(provider.getCheckoutMatrix(), blackhole);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public void invalidLoginMatrix(Blackhole blackhole) {
+        drain(provider.getInvalidLoginMatrix(), blackhole);
+    }
+
+    private static void drain(Iterator<Object[]> rows, Blackhole blackhole) {
+        while (rows.hasNext()) {
+            blackhole.consume(rows.next());
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.swaglabs.benchmarks;
+
+import com.fasterxml.jackson.core.JsonPointer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.swaglabs.utils.TestDataReader;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Test data parsing and lookups: a cold parse of the whole document, dot-path and JSON Pointer lookups
+ * against the cached document, path compilation, and the typed getters used by tests.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Fork(1)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+public class TestDataReaderBenchmark {
+
+    @Param({"testdata.json"})
+    public String fileName;
+
+    private JsonPointer compiledPointer;
+
+    @Setup
+    public void setup() {
+        compiledPointer = TestDataReader.compilePath("/products/1/price");
+        // Fail fast on a missing file instead of benchmarking the error path
+        TestDataReader.getCachedDocument(fileName);
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public JsonNode parseDocument() {
+        TestDataReader.clearCache();
+        return TestDataReader.getCachedDocument(fileName);
+    }
+
+    @Benchmark
+    public Object dotPathLookup() {
+        return TestDataReader.getValueFromJson(fileName, "users.standard.username");
+    }
+
+    @Benchmark
+    public JsonNode pointerLookup() {
+        return TestDataReader.getNode(fileName, "/products/2/description");
+    }
+
+    @Benchmark
+    public JsonNode precompiledPointerLookup() {
+        return TestDataReader.getNode(fileName, compiledPointer);
+    }
+
+    @Benchmark
+    public JsonPointer compilePath() {
+        return TestDataReader.compilePath("products.2.description");
+    }
+
+    @Benchmark
+    public String typedLookup() {
+        return TestDataReader.getString(fileName, "users.performance.description");
+    }
+}
@@ -2,17 +2,20 @@
 
 # SwagLabs Test Runner Script
 # Usage: ./run-tests.sh [test-type] [browser] [headless]
+# Set JFR=true to record the run with JDK Flight Recorder (target/tests.jfr) and print a time breakdown
 
 # Default values
 TEST_TYPE=${1:-"smoke"}
 BROWSER=${2:-"chrome"}
 HEADLESS=${3:-"false"}
+JFR=${JFR:-"false"}
 
 echo "🚀 Starting SwagLabs Test Execution"
 echo "=================================="
 echo "Test Type: $TEST_TYPE"
 echo "Browser: $BROWSER"
 echo "Headless: $HEADLESS"
+echo "Flight Recorder: $JFR"
 echo "=================================="
 
 # Clean previous results
@@ -38,11 +41,17 @@ echo "✅ Configuration validated"
 # Set Maven options for better performance
 export MAVEN_OPTS="-Xmx2g -XX:+UseG1GC"
 
+# Maven profiles for the test run
+PROFILES=""
+if [ "$JFR" = "true" ]; then
+    PROFILES="-Pjfr"
+fi
+
 # Execute tests based on type
 case $TEST_TYPE in
     "smoke")
         echo "🔥 Running Smoke Tests..."
-        mvn test \
+        mvn test $PROFILES \
             -Dtest=SmokeTests \
             -Dbrowser=$BROWSER \
             -Dheadless=$HEADLESS \
@@ -50,7 +59,7 @@ case $TEST_TYPE in
         ;;
     "regression")
         echo "🔄 Running Regression Tests..."
-        mvn test \
+        mvn test $PROFILES \
             -Dtest=RegressionTests \
             -Dbrowser=$BROWSER \
             -Dheadless=$HEADLESS \
@@ -58,28 +67,28 @@ case $TEST_TYPE in
         ;;
     "login")
         echo "🔐 Running Login Tests..."
-        mvn test \
+        mvn test $PROFILES \
             -Dtest=LoginTest \
             -Dbrowser=$BROWSER \
             -Dheadless=$HEADLESS
         ;;
     "cart")
         echo "🛒 Running Cart Tests..."
-        mvn test \
+        mvn test $PROFILES \
             -Dtest=CartTest \
             -Dbrowser=$BROWSER \
             -Dheadless=$HEADLESS
         ;;
     "checkout")
         echo "💳 Running Checkout Tests..."
-        mvn test \
+        mvn test $PROFILES \
             -Dtest=CheckoutTest \
             -Dbrowser=$BROWSER \
             -Dheadless=$HEADLESS
         ;;
     "all")
         echo "🎯 Running All Tests..."
-        mvn test \
+        mvn test $PROFILES \
             -Dbrowser=$BROWSER \
             -Dheadless=$HEADLESS \
             -DsuiteXmlFile=src/test/resources/testng.xml
@@ -100,6 +109,12 @@ else
     echo "❌ Tests failed with exit code: $TEST_RESULT"
 fi
 
+# Print where the time went if the run was recorded
+if [ "$JFR" = "true" ] && [ -f "target/tests.jfr" ]; then
+    echo "🛩️ Flight Recorder time attribution..."
+    mvn -q exec:java -Dexec.mainClass=com.swaglabs.runner.FlightRecordingAnalyzer -Dexec.classpathScope=test -Dexec.args=target/tests.jfr
+fi
+
 # Generate Allure report if tests ran
 if [ -d "target/allure-results" ] && [ "$(ls -A target/allure-results)" ]; then
     echo "📊 Generating Allure report..."
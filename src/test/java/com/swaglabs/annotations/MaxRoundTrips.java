@@ -0,0 +1,16 @@
+package com.swaglabs.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Maximum number of WebDriver commands a test method may send, excluding its setup and teardown.
+ * Enforced by {@link com.swaglabs.listeners.RoundTripListener}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface MaxRoundTrips {
+    int value();
+}
@@ -0,0 +1,16 @@
+package com.swaglabs.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Products, in order, a test expects in the cart when it starts. Used with {@link RequiresSession}.
+ * On a class it applies to every test method that does not declare its own.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresCart {
+    String[] value();
+}
@@ -0,0 +1,18 @@
+package com.swaglabs.annotations;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * User a test expects to be logged in as when it starts, e.g. @RequiresSession("standard_user").
+ * On a class it applies to every test method that does not declare its own.
+ * {@link com.swaglabs.listeners.PreconditionScheduler} runs tests with the same preconditions back to back,
+ * and consecutive ones on a worker keep the logged-in browser instead of logging in again.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.METHOD, ElementType.TYPE})
+public @interface RequiresSession {
+    String value();
+}
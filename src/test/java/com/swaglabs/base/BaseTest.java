@@ -4,31 +4,76 @@ import com.codeborne.selenide.Configuration;
 import com.codeborne.selenide.Selenide;
 import com.codeborne.selenide.WebDriverRunner;
 import com.codeborne.selenide.logevents.SelenideLogger;
+import com.swaglabs.jfr.LifecycleEvent;
+import com.swaglabs.listeners.FlightRecorderWaitListener;
+import com.swaglabs.listeners.ParallelSuiteListener;
+import com.swaglabs.server.StandInServer;
+import com.swaglabs.utils.BrowserPool;
 import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.DomWait;
+import com.swaglabs.utils.DriverManager;
+import com.swaglabs.utils.FailureRecorder;
+import com.swaglabs.utils.NetworkPolicy;
+import com.swaglabs.utils.PageMetrics;
+import com.swaglabs.utils.PreconditionCarry;
+import com.swaglabs.utils.Preconditions;
 import com.swaglabs.utils.ScreenshotUtils;
+import com.swaglabs.utils.SessionFixture;
+import io.qameta.allure.Allure;
 import io.qameta.allure.selenide.AllureSelenide;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.testng.ITestResult;
 import org.testng.annotations.*;
 
-import java.util.UUID;
+import java.lang.reflect.Method;
+import java.nio.file.Paths;
 
 /**
  * Base test class that provides common setup and teardown functionality
  * for all test classes in the automation framework.
+ * Safe for parallel=methods and parallel=classes: every worker thread gets its own browser
+ * (leased from the pool or started with its own profile directory). parallel=methods runs the tests of one
+ * instance on several threads at once, so subclasses keep the page objects of a test in ThreadLocal fields.
+ * A passing test that declared its preconditions leaves its browser as it is when the next test on the
+ * thread declares the same ones (see {@link PreconditionCarry}); otherwise the browser is reset.
  */
 public abstract class BaseTest {
     private static final Logger logger = LoggerFactory.getLogger(BaseTest.class);
-    protected static ConfigManager config;
+    // Flight Recorder spans that start in a setup method and end in the matching teardown
+    private static volatile LifecycleEvent suiteEvent;
+    private static final ThreadLocal<LifecycleEvent> methodEvent = new ThreadLocal<>();
+    private LifecycleEvent classEvent;
+    // Set by the test daemon: browsers and the stand-in server outlive the suite and serve the next run
+    private static volatile boolean resident;
+    protected final ConfigManager config = ConfigManager.getInstance();
+
+    /**
+     * Keep pooled browsers, browser contexts and the stand-in server running after suite teardown.
+     * Whoever sets this owns their shutdown.
+     * @param keepRunning true to keep them running across suites
+     */
+    public static void setResident(boolean keepRunning) {
+        resident = keepRunning;
+    }
 
     @BeforeSuite(alwaysRun = true)
     public void suiteSetup() {
         logger.info("Starting test suite setup...");
+        suiteEvent = LifecycleEvent.begin("suite", "total", "suite");
+        LifecycleEvent setupEvent = LifecycleEvent.begin("suite", "setup", "suite");
+        String status = "failed";
+        PreconditionCarry.newRun();
 
         try {
-            // Initialize configuration first
-            config = ConfigManager.getInstance();
+            // Serve the application from the embedded stand-in when the profile enables it;
+            // its address is only known once it is listening, so it becomes app.url here
+            if (config.isStandInEnabled()) {
+                String standInUrl = StandInServer.start(config.getStandInPort());
+                System.setProperty("app.url", standInUrl);
+                config.reload();
+            }
+
             config.validateConfiguration();
             logger.info("Configuration loaded and validated successfully");
 
@@ -36,73 +81,101 @@ public abstract class BaseTest {
             setupSelenideConfiguration();
 
             // Add Allure listener for better reporting
-            SelenideLogger.addListener("AllureSelenide",
-                    new AllureSelenide()
-                            .screenshots(true)
-                            .savePageSource(false)
-                            .includeSelenideSteps(true));
+            registerAllureListener();
+
+            // Pre-launch pooled browsers so tests lease a warm browser instead of starting one;
+            // keep at least one browser per worker thread
+            // Contexts are cheap to create and always fresh, so context isolation does not pool browsers
+            if (DriverManager.isContextIsolation(config.getBrowser())) {
+                logger.info("Driver isolation: browser contexts in a shared Chrome");
+            } else if (config.isDriverPoolEnabled()) {
+                int poolSize = Math.max(config.getDriverPoolSize(),
+                        ParallelSuiteListener.getEffectiveThreadCount());
+                DriverManager.initPool(config.getBrowser(), config.isBrowserHeadless(),
+                        poolSize, config.getAppUrl());
+            }
 
             logger.info("Test suite setup completed successfully");
+            status = "passed";
         } catch (Exception e) {
             logger.error("Error during suite setup: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to setup test suite", e);
+        } finally {
+            setupEvent.finish(status);
         }
     }
 
     @BeforeClass(alwaysRun = true)
     public void classSetup() {
         logger.info("Starting class setup for: {}", this.getClass().getSimpleName());
-
-        // Ensure config is available at class level
-        if (config == null) {
-            config = ConfigManager.getInstance();
-        }
-
+        classEvent = LifecycleEvent.begin("class", "total", this.getClass().getSimpleName());
         logger.info("Class setup completed for: {}", this.getClass().getSimpleName());
     }
 
     @BeforeMethod(alwaysRun = true)
-    public void testSetup() {
+    public void testSetup(Method method) {
         logger.info("Setting up test method...");
+        String testName = this.getClass().getSimpleName() + "." + method.getName();
+        methodEvent.set(LifecycleEvent.begin("method", "total", testName));
+        LifecycleEvent setupEvent = LifecycleEvent.begin("method", "setup", testName);
+        String status = "failed";
 
         try {
-            // Ensure config is available
-            if (config == null) {
-                config = ConfigManager.getInstance();
-                logger.warn("Config was null, reinitializing...");
+            // Selenide listeners are per thread, so register on every worker thread
+            registerAllureListener();
+
+            PreconditionCarry.Start start = PreconditionCarry.begin(PreconditionCarry.of(this.getClass(), method));
+            if (start == PreconditionCarry.Start.RESET) {
+                resetBrowser();
             }
 
-            // Close any existing WebDriver sessions
-            if (WebDriverRunner.hasWebDriverStarted()) {
-                try {
-                    Selenide.closeWebDriver();
+            if (start == PreconditionCarry.Start.CARRY) {
+                // Keep the previous test's browser and page; the session fixture picks up from there
+                logger.info("Continuing in the browser of the previous test");
+            } else if (DriverManager.isPoolActive()) {
+                // Lease a warm browser; it was reset when the previous test returned it
+                DriverManager.leaseDriver();
+            } else {
+                // Close this thread's existing WebDriver session
+                if (DriverManager.getCurrentDriver() != null) {
+                    DriverManager.stopDriver();
                     logger.info("Closed existing WebDriver session");
-                } catch (Exception e) {
-                    logger.warn("Error closing existing WebDriver: {}", e.getMessage());
+
+                    // Add a small delay to ensure cleanup is complete
+                    Thread.sleep(1000);
                 }
-            }
 
-            // Add a small delay to ensure cleanup is complete
-            Thread.sleep(1000);
+                // Start a browser for this thread with its own profile directory
+                DriverManager.startDriver(config.getBrowser(), config.isBrowserHeadless());
+            }
 
-            // Configure Chrome options for Docker environment
-            setupChromeOptionsForDocker();
+            // Block and cache requests according to the test's groups, from the first page load on
+            Test test = method.getAnnotation(Test.class);
+            NetworkPolicy.apply(WebDriverRunner.getWebDriver(), test != null ? test.groups() : new String[0]);
+            FailureRecorder.start(this.getClass().getSimpleName() + "." + method.getName());
 
             // Open application URL
-            String appUrl = config.getAppUrl();
-            logger.info("Opening application URL: {}", appUrl);
-            Selenide.open(appUrl);
-            logger.info("Successfully opened application URL");
+            if (start != PreconditionCarry.Start.CARRY) {
+                String appUrl = config.getAppUrl();
+                logger.info("Opening application URL: {}", appUrl);
+                Selenide.open(appUrl);
+                logger.info("Successfully opened application URL");
+            }
+            status = "passed";
 
         } catch (Exception e) {
             logger.error("Error during test setup: {}", e.getMessage(), e);
             throw new RuntimeException("Failed to setup test", e);
+        } finally {
+            setupEvent.finish(status);
         }
     }
 
     @AfterMethod(alwaysRun = true)
     public void testTeardown(ITestResult result) {
         logger.info("Starting test teardown...");
+        String testName = this.getClass().getSimpleName() + "." + result.getMethod().getMethodName();
+        LifecycleEvent teardownEvent = LifecycleEvent.begin("method", "teardown", testName);
 
         try {
             // Take screenshot on failure
@@ -118,16 +191,21 @@ public abstract class BaseTest {
                         logger.warn("Failed to take screenshot: {}", e.getMessage());
                     }
                 }
+                FailureRecorder.flush(result.getThrowable());
+            } else {
+                FailureRecorder.discard();
             }
 
-            // Clear browser data only if WebDriver is available
-            if (WebDriverRunner.hasWebDriverStarted()) {
-                try {
-                    Selenide.clearBrowserCookies();
-                    Selenide.clearBrowserLocalStorage();
-                } catch (Exception e) {
-                    logger.warn("Error clearing browser data: {}", e.getMessage());
-                }
+            NetworkPolicy.Stats network = NetworkPolicy.release();
+            if (network != null) {
+                logger.info("Network for {}: {}", testName, network);
+                Allure.addAttachment("Network", "text/plain", network.toString());
+            }
+
+            if (PreconditionCarry.finish(result.getStatus() == ITestResult.SUCCESS)) {
+                logger.info("Holding browser for a next test with the same preconditions");
+            } else {
+                resetBrowser();
             }
 
             logger.info("Test teardown completed");
@@ -135,6 +213,14 @@ public abstract class BaseTest {
         } catch (Exception e) {
             logger.warn("Error during test teardown: {}", e.getMessage());
         }
+
+        String status = statusName(result.getStatus());
+        teardownEvent.finish(status);
+        LifecycleEvent testEvent = methodEvent.get();
+        methodEvent.remove();
+        if (testEvent != null) {
+            testEvent.finish(status);
+        }
     }
 
     @AfterClass(alwaysRun = true)
@@ -142,9 +228,11 @@ public abstract class BaseTest {
         logger.info("Starting class teardown for: {}", this.getClass().getSimpleName());
 
         try {
-            // Close WebDriver for this class
-            if (WebDriverRunner.hasWebDriverStarted()) {
-                Selenide.closeWebDriver();
+            // Close WebDriver for this class (pooled browsers stay alive until suite teardown)
+            // A browser held for the next test is reset or closed by whoever uses it next
+            if (!DriverManager.isPoolActive() && DriverManager.getCurrentDriver() != null
+                    && !PreconditionCarry.isHolding()) {
+                DriverManager.stopDriver();
                 logger.info("WebDriver closed for class: {}", this.getClass().getSimpleName());
             }
         } catch (Exception e) {
@@ -152,23 +240,78 @@ public abstract class BaseTest {
         }
 
         logger.info("Class teardown completed for: {}", this.getClass().getSimpleName());
+        if (classEvent != null) {
+            classEvent.finish("completed");
+        }
     }
 
     @AfterSuite(alwaysRun = true)
     public void suiteTeardown() {
         logger.info("Starting test suite teardown...");
+        LifecycleEvent teardownEvent = LifecycleEvent.begin("suite", "teardown", "suite");
+        logger.info("Session reuse statistics: {}", SessionFixture.stats());
+        logger.info("Wait statistics: {}", DomWait.stats());
+        logger.info("Precondition statistics: {}", Preconditions.stats());
+        logger.info("Precondition carry statistics: {}", PreconditionCarry.stats());
+        logger.info("Failure recorder statistics: {}", FailureRecorder.stats());
+        if (config.isNetworkInterceptionEnabled()) {
+            logger.info("Network statistics: {}", NetworkPolicy.totals());
+        }
 
-        try {
-            // Close all browser windows
-            Selenide.closeWebDriver();
-            logger.info("WebDriver closed successfully");
-        } catch (Exception e) {
-            logger.warn("Error closing WebDriver: {}", e.getMessage());
+        PageMetrics.writeSummary(Paths.get(config.getReportsPath()));
+
+        // Let queued failure screenshots reach disk and the Allure results before the JVM exits
+        ScreenshotUtils.drainPendingScreenshots(30_000);
+
+        if (resident) {
+            logger.info("Keeping browsers warm for the next run. Browser pool statistics: {}",
+                    DriverManager.isPoolActive() ? DriverManager.getPoolStats() : "pool not active");
+        } else {
+            try {
+                if (DriverManager.isPoolActive()) {
+                    BrowserPool.Stats poolStats = DriverManager.getPoolStats();
+                    DriverManager.shutdownPool();
+                    logger.info("Browser pool statistics: {}", poolStats);
+                } else {
+                    // Close browsers left open by any worker thread
+                    DriverManager.quitAllDrivers();
+                }
+                logger.info("WebDriver closed successfully");
+            } catch (Exception e) {
+                logger.warn("Error closing WebDriver: {}", e.getMessage());
+            }
+
+            StandInServer.stop();
         }
 
+        teardownEvent.finish("completed");
+        if (suiteEvent != null) {
+            suiteEvent.finish("completed");
+        }
         logger.info("Test suite teardown completed");
     }
 
+    /**
+     * Return the thread's browser to a blank state: back to the pool, context disposed, or data cleared
+     */
+    private void resetBrowser() {
+        // Return pooled browser; the pool resets cookies, storage and tabs
+        if (DriverManager.isPoolActive()) {
+            DriverManager.releaseDriver();
+        } else if (DriverManager.isContextIsolation(config.getBrowser())) {
+            // Disposing the context discards its cookies and storage
+            DriverManager.stopDriver();
+        } else if (WebDriverRunner.hasWebDriverStarted()) {
+            // Clear browser data only if WebDriver is available
+            try {
+                Selenide.clearBrowserCookies();
+                Selenide.clearBrowserLocalStorage();
+            } catch (Exception e) {
+                logger.warn("Error clearing browser data: {}", e.getMessage());
+            }
+        }
+    }
+
     /**
      * Configure Selenide settings based on configuration properties
      */
@@ -197,30 +340,32 @@ public abstract class BaseTest {
     }
 
     /**
-     * Setup Chrome options specifically for Docker environment
+     * Register the Allure and Flight Recorder listeners for the current thread if they are not registered yet
      */
-    private void setupChromeOptionsForDocker() {
-        // Generate unique user data directory for each test session
-        String uniqueUserDataDir = "/tmp/chrome-user-data-" + UUID.randomUUID().toString();
-
-        // Set Chrome options via system properties
-        System.setProperty("chromeoptions.args", String.join(",",
-                "--no-sandbox",
-                "--disable-dev-shm-usage",
-                "--disable-gpu",
-                "--disable-extensions",
-                "--disable-web-security",
-                "--allow-running-insecure-content",
-                "--disable-background-timer-throttling",
-                "--disable-backgrounding-occluded-windows",
-                "--disable-renderer-backgrounding",
-                "--disable-features=TranslateUI",
-                "--disable-ipc-flooding-protection",
-                "--user-data-dir=" + uniqueUserDataDir,
-                "--remote-debugging-port=0"  // Use random port
-        ));
-
-        logger.info("Chrome options configured for Docker with user data dir: {}", uniqueUserDataDir);
+    private void registerAllureListener() {
+        if (!SelenideLogger.hasListener("AllureSelenide")) {
+            SelenideLogger.addListener("AllureSelenide",
+                    new AllureSelenide()
+                            .screenshots(true)
+                            .savePageSource(false)
+                            .includeSelenideSteps(true));
+        }
+        if (!SelenideLogger.hasListener("FlightRecorder")) {
+            SelenideLogger.addListener("FlightRecorder", new FlightRecorderWaitListener());
+        }
+    }
+
+    private static String statusName(int status) {
+        switch (status) {
+            case ITestResult.SUCCESS:
+                return "passed";
+            case ITestResult.FAILURE:
+                return "failed";
+            case ITestResult.SKIP:
+                return "skipped";
+            default:
+                return "unknown";
+        }
     }
 
     /**
@@ -234,9 +379,6 @@ public abstract class BaseTest {
      * Get configuration manager instance
      */
     protected ConfigManager getConfig() {
-        if (config == null) {
-            config = ConfigManager.getInstance();
-        }
         return config;
     }
 
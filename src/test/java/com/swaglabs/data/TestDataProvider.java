@@ -1,7 +1,12 @@
 package com.swaglabs.data;
 
+import com.swaglabs.data.model.TimingBudget;
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.TestDataReader;
 import org.testng.annotations.DataProvider;
 
+import java.util.Iterator;
+
 /**
  * Test Data Provider class containing all test data for parameterized tests
  */
@@ -22,20 +27,6 @@ public class TestDataProvider {
         };
     }
 
-    /**
-     * Invalid login credentials data provider
-     */
-    @DataProvider(name = "invalidLoginData")
-    public Object[][] getInvalidLoginData() {
-        return new Object[][]{
-                {"invalid_user", "secret_sauce", "Username and password do not match any user in this service"},
-                {"standard_user", "invalid_password", "Username and password do not match any user in this service"},
-                {"", "secret_sauce", "Username is required"},
-                {"standard_user", "", "Password is required"},
-                {"", "", "Username is required"}
-        };
-    }
-
     /**
      * Product data provider for testing different products
      */
@@ -51,20 +42,6 @@ public class TestDataProvider {
         };
     }
 
-    /**
-     * Checkout information data provider
-     */
-    @DataProvider(name = "checkoutData")
-    public Object[][] getCheckoutData() {
-        return new Object[][]{
-                {"Emmanuel", "Arhu", "233", "Ghana"},
-                {"John", "Doe", "12345", "USA"},
-                {"Jane", "Smith", "SW1A 1AA", "UK"},
-                {"Ahmed", "Hassan", "10001", "Egypt"},
-                {"Maria", "Garcia", "28001", "Spain"}
-        };
-    }
-
     /**
      * Invalid checkout data provider for validation testing
      */
@@ -154,14 +131,40 @@ public class TestDataProvider {
     }
 
     /**
-     * Performance test data provider
+     * Performance budgets per user type: percentile bounds for a single page operation, in ms
+     * (p50, p90, p99, max). performance_glitch_user is deliberately slow and gets a wider budget.
      */
     @DataProvider(name = "performanceData")
     public Object[][] getPerformanceData() {
         return new Object[][]{
-                {"standard_user", 5000}, // Expected max load time in ms
-                {"performance_glitch_user", 10000}, // Slower user with higher threshold
-                {"problem_user", 5000}
+                {"standard_user", TimingBudget.of(2000, 3000, 5000, 5000)},
+                {"performance_glitch_user", TimingBudget.of(6000, 8000, 10000, 10000)}
         };
     }
-}
\ No newline at end of file
+
+    /**
+     * Checkout matrix streamed row by row from JSON; point data.checkout.matrix at a generated file
+     * for large runs
+     */
+    @DataProvider(name = "checkoutMatrix", parallel = true)
+    public Iterator<Object[]> getCheckoutMatrix() {
+        ConfigManager config = ConfigManager.getInstance();
+        return TestDataReader.streamJsonAsDataProvider(
+                config.getProperty("data.checkout.matrix", "testdata.json"),
+                config.getProperty("data.checkout.matrix.array", "checkout"),
+                "firstName", "lastName", "postalCode", "country");
+    }
+
+    /**
+     * Invalid login matrix streamed row by row from JSON; point data.login.matrix at a generated file
+     * for large runs
+     */
+    @DataProvider(name = "invalidLoginMatrix", parallel = true)
+    public Iterator<Object[]> getInvalidLoginMatrix() {
+        ConfigManager config = ConfigManager.getInstance();
+        return TestDataReader.streamJsonAsDataProvider(
+                config.getProperty("data.login.matrix", "testdata.json"),
+                config.getProperty("data.login.matrix.array", "invalidLogin"),
+                "username", "password", "expectedError");
+    }
+}
@@ -0,0 +1,116 @@
+package com.swaglabs.data.model;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+/**
+ * Immutable view of every inventory item on the products page, captured in a single browser call.
+ * Items keep their on-screen order and are indexed by name.
+ */
+public final class InventorySnapshot {
+    private final List<Item> items;
+    private final Map<String, Item> itemsByName;
+    private final int cartCount;
+    private final long capturedAtMillis;
+
+    public InventorySnapshot(List<Item> items, int cartCount, long capturedAtMillis) {
+        this.items = List.copyOf(items);
+        Map<String, Item> index = new LinkedHashMap<>();
+        for (Item item : this.items) {
+            index.putIfAbsent(item.getName(), item);
+        }
+        this.itemsByName = Collections.unmodifiableMap(index);
+        this.cartCount = cartCount;
+        this.capturedAtMillis = capturedAtMillis;
+    }
+
+    public List<Item> getItems() { return items; }
+    public int size() { return items.size(); }
+    public int getCartCount() { return cartCount; }
+    public long getCapturedAtMillis() { return capturedAtMillis; }
+
+    public List<String> getNames() {
+        return items.stream().map(Item::getName).collect(Collectors.toUnmodifiableList());
+    }
+
+    public List<String> getPrices() {
+        return items.stream().map(Item::getPrice).collect(Collectors.toUnmodifiableList());
+    }
+
+    public boolean contains(String productName) {
+        return itemsByName.containsKey(productName);
+    }
+
+    public Optional<Item> find(String productName) {
+        return Optional.ofNullable(itemsByName.get(productName));
+    }
+
+    /**
+     * Get an item by its exact name
+     * @param productName product name as displayed
+     * @return matching item
+     */
+    public Item get(String productName) {
+        Item item = itemsByName.get(productName);
+        if (item == null) {
+            throw new IllegalArgumentException("Product not found in inventory snapshot: " + productName);
+        }
+        return item;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("InventorySnapshot{items=%d, cartCount=%d}", items.size(), cartCount);
+    }
+
+    /**
+     * Single inventory item as rendered on the products page
+     */
+    public static final class Item {
+        private final String name;
+        private final String price;
+        private final String description;
+        private final String buttonText;
+        private final String buttonDataTest;
+        private final boolean buttonDisplayed;
+        private final String itemDataTest;
+        private final String imageSrc;
+
+        public Item(String name, String price, String description, String buttonText, String buttonDataTest,
+                    boolean buttonDisplayed, String itemDataTest, String imageSrc) {
+            this.name = name;
+            this.price = price;
+            this.description = description;
+            this.buttonText = buttonText;
+            this.buttonDataTest = buttonDataTest;
+            this.buttonDisplayed = buttonDisplayed;
+            this.itemDataTest = itemDataTest;
+            this.imageSrc = imageSrc;
+        }
+
+        public String getName() { return name; }
+        public String getPrice() { return price; }
+        public String getDescription() { return description; }
+        public String getButtonText() { return buttonText; }
+        public String getButtonDataTest() { return buttonDataTest; }
+        public String getItemDataTest() { return itemDataTest; }
+        public String getImageSrc() { return imageSrc; }
+
+        public boolean isAddToCartButtonDisplayed() {
+            return buttonDisplayed && buttonDataTest.startsWith("add-to-cart");
+        }
+
+        public boolean isRemoveButtonDisplayed() {
+            return buttonDisplayed && buttonDataTest.startsWith("remove");
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Item{name='%s', price='%s', button='%s'}", name, price, buttonDataTest);
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.swaglabs.data.model;
+
+/**
+ * Latency budget for a timed operation, expressed as upper bounds on percentiles in milliseconds.
+ * A bound of {@link #UNBOUNDED} is not checked.
+ */
+public final class TimingBudget {
+    public static final long UNBOUNDED = Long.MAX_VALUE;
+
+    private final long p50Millis;
+    private final long p90Millis;
+    private final long p99Millis;
+    private final long maxMillis;
+
+    public TimingBudget(long p50Millis, long p90Millis, long p99Millis, long maxMillis) {
+        this.p50Millis = p50Millis;
+        this.p90Millis = p90Millis;
+        this.p99Millis = p99Millis;
+        this.maxMillis = maxMillis;
+    }
+
+    /**
+     * Budget on the median and the 90th percentile only, leaving room for an occasional outlier
+     */
+    public static TimingBudget of(long p50Millis, long p90Millis) {
+        return new TimingBudget(p50Millis, p90Millis, UNBOUNDED, UNBOUNDED);
+    }
+
+    public static TimingBudget of(long p50Millis, long p90Millis, long p99Millis, long maxMillis) {
+        return new TimingBudget(p50Millis, p90Millis, p99Millis, maxMillis);
+    }
+
+    public long getP50Millis() { return p50Millis; }
+    public long getP90Millis() { return p90Millis; }
+    public long getP99Millis() { return p99Millis; }
+    public long getMaxMillis() { return maxMillis; }
+
+    @Override
+    public String toString() {
+        return String.format("TimingBudget{p50<=%s, p90<=%s, p99<=%s, max<=%s}",
+                format(p50Millis), format(p90Millis), format(p99Millis), format(maxMillis));
+    }
+
+    private static String format(long millis) {
+        return millis == UNBOUNDED ? "-" : millis + "ms";
+    }
+}
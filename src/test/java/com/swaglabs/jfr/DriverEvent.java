@@ -0,0 +1,39 @@
+package com.swaglabs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Browser driver work: resolving the driver binary with WebDriverManager, launching the browser,
+ * opening and disposing isolated browser contexts, and quitting it.
+ */
+@Name("com.swaglabs.Driver")
+@Label("WebDriver")
+@Category({"Swag Labs", "WebDriver"})
+@Description("Driver resolution, browser launch, context open/dispose and quit")
+public class DriverEvent extends Event {
+
+    @Label("Action")
+    @Description("resolve, launch, context, dispose or quit")
+    String action;
+
+    @Label("Browser")
+    String browser;
+
+    /**
+     * Start timing a driver action
+     * @param action  resolve, launch, context, dispose or quit
+     * @param browser browser type
+     * @return started event
+     */
+    public static DriverEvent begin(String action, String browser) {
+        DriverEvent event = new DriverEvent();
+        event.action = action;
+        event.browser = browser;
+        event.begin();
+        return event;
+    }
+}
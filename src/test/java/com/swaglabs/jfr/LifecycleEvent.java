@@ -0,0 +1,53 @@
+package com.swaglabs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Suite, class or test method lifecycle in {@code BaseTest}: the setup and teardown phases, and the
+ * total span from setup start to teardown end.
+ */
+@Name("com.swaglabs.Lifecycle")
+@Label("Test Lifecycle")
+@Category({"Swag Labs", "Lifecycle"})
+@Description("Suite, class and method setup, teardown and total span")
+public class LifecycleEvent extends Event {
+
+    @Label("Scope")
+    @Description("suite, class or method")
+    String scope;
+
+    @Label("Phase")
+    @Description("setup, teardown or total")
+    String phase;
+
+    @Label("Name")
+    String name;
+
+    @Label("Status")
+    String status;
+
+    /**
+     * Start timing a lifecycle phase
+     * @param scope suite, class or method
+     * @param phase setup, teardown or total
+     * @param name  suite, class or method name
+     * @return started event, commit it with {@link #finish(String)}
+     */
+    public static LifecycleEvent begin(String scope, String phase, String name) {
+        LifecycleEvent event = new LifecycleEvent();
+        event.scope = scope;
+        event.phase = phase;
+        event.name = name;
+        event.begin();
+        return event;
+    }
+
+    public void finish(String status) {
+        this.status = status;
+        commit();
+    }
+}
@@ -0,0 +1,27 @@
+package com.swaglabs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Capturing a screenshot from the browser; writing it to disk happens later on the screenshot writer.
+ */
+@Name("com.swaglabs.Screenshot")
+@Label("Screenshot Capture")
+@Category({"Swag Labs", "Screenshots"})
+@Description("Screenshot captured from the browser")
+public class ScreenshotEvent extends Event {
+
+    @Label("Size")
+    @DataAmount
+    long size;
+
+    public void finish(byte[] png) {
+        this.size = png == null ? 0 : png.length;
+        commit();
+    }
+}
@@ -0,0 +1,38 @@
+package com.swaglabs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * An Allure step, i.e. a {@code @Step} page-object method or a Selenide command reported as a step.
+ * Nested steps are recorded separately and overlap their parents.
+ */
+@Name("com.swaglabs.Step")
+@Label("Step")
+@Category({"Swag Labs", "Steps"})
+@Description("Allure step of a page object or Selenide command")
+public class StepEvent extends Event {
+
+    @Label("Name")
+    String name;
+
+    @Label("Depth")
+    @Description("Nesting depth, 0 for top-level steps")
+    int depth;
+
+    @Label("Status")
+    String status;
+
+    public StepEvent(int depth) {
+        this.depth = depth;
+    }
+
+    public void finish(String name, String status) {
+        this.name = name;
+        this.status = status;
+        commit();
+    }
+}
@@ -0,0 +1,34 @@
+package com.swaglabs.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Selenide condition check (should*, wait*). The event duration is how long Selenide actually
+ * polled.
+ */
+@Name("com.swaglabs.Wait")
+@Label("Selenide Wait")
+@Category({"Swag Labs", "Waits"})
+@Description("Selenide should/wait command and how long it polled")
+public class WaitEvent extends Event {
+
+    @Label("Subject")
+    String subject;
+
+    @Label("Element")
+    String element;
+
+    @Label("Status")
+    String status;
+
+    public void finish(String subject, String element, String status) {
+        this.subject = subject;
+        this.element = element;
+        this.status = status;
+        commit();
+    }
+}
@@ -0,0 +1,27 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.utils.FailureRecorder;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Has the {@link FailureRecorder} capture a frame when a top-level Allure step finishes.
+ * Registered through META-INF/services so it covers both page-object and Selenide steps.
+ */
+public class FailureRecorderStepListener implements StepLifecycleListener {
+    private static final ThreadLocal<int[]> depth = ThreadLocal.withInitial(() -> new int[1]);
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        depth.get()[0]++;
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        int[] open = depth.get();
+        open[0] = Math.max(0, open[0] - 1);
+        if (open[0] == 0) {
+            FailureRecorder.stepStopped(result.getName());
+        }
+    }
+}
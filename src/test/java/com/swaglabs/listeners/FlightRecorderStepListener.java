@@ -0,0 +1,32 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.jfr.StepEvent;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Records every Allure step as a JDK Flight Recorder {@link StepEvent}.
+ * Registered through META-INF/services so it covers both page-object and Selenide steps.
+ */
+public class FlightRecorderStepListener implements StepLifecycleListener {
+    private static final ThreadLocal<Deque<StepEvent>> openSteps = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        Deque<StepEvent> steps = openSteps.get();
+        StepEvent event = new StepEvent(steps.size());
+        event.begin();
+        steps.push(event);
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        StepEvent event = openSteps.get().poll();
+        if (event != null) {
+            event.finish(result.getName(), result.getStatus() == null ? "unknown" : result.getStatus().value());
+        }
+    }
+}
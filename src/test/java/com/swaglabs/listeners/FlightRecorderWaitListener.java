@@ -0,0 +1,38 @@
+package com.swaglabs.listeners;
+
+import com.codeborne.selenide.logevents.LogEvent;
+import com.codeborne.selenide.logevents.LogEventListener;
+import com.swaglabs.jfr.WaitEvent;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Records Selenide should/wait commands as JDK Flight Recorder {@link WaitEvent}s, so a recording shows
+ * how long each condition actually polled. The log event does not carry the timeout of every call
+ * (collection checks drop an explicit Duration), so none is recorded. Selenide listeners are per thread
+ * and registered by {@code BaseTest} on every worker thread.
+ */
+public class FlightRecorderWaitListener implements LogEventListener {
+    private final ThreadLocal<Deque<WaitEvent>> openWaits = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeEvent(LogEvent currentLog) {
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        openWaits.get().push(event);
+    }
+
+    @Override
+    public void afterEvent(LogEvent currentLog) {
+        WaitEvent event = openWaits.get().poll();
+        String subject = currentLog.getSubject();
+        if (event != null && isWait(subject)) {
+            event.finish(subject, currentLog.getElement(), String.valueOf(currentLog.getStatus()));
+        }
+    }
+
+    private static boolean isWait(String subject) {
+        return subject != null && (subject.startsWith("should") || subject.startsWith("wait"));
+    }
+}
@@ -0,0 +1,70 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IAlterSuiteListener;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.util.List;
+
+/**
+ * Applies the configured parallel mode and thread count to every suite before it runs,
+ * so suite files do not need to hardcode parallel settings.
+ * Configure with -Dparallel.mode=methods|classes|none and -Dparallel.threads=N
+ * (defaults to CPU cores, capped by parallel.threads.max).
+ */
+public class ParallelSuiteListener implements IAlterSuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelSuiteListener.class);
+
+    private static volatile int effectiveThreadCount = 1;
+
+    @Override
+    public void alter(List<XmlSuite> suites) {
+        ConfigManager config = ConfigManager.getInstance();
+        XmlSuite.ParallelMode mode = resolveMode(config.getParallelMode());
+        int threads = mode.isParallel() ? resolveThreadCount(config) : 1;
+        effectiveThreadCount = threads;
+
+        for (XmlSuite suite : suites) {
+            suite.setParallel(mode);
+            suite.setThreadCount(threads);
+            suite.setDataProviderThreadCount(threads);
+            for (XmlTest test : suite.getTests()) {
+                test.setParallel(mode);
+                test.setThreadCount(threads);
+            }
+            logger.info("Suite '{}' configured with parallel={} threads={}", suite.getName(), mode, threads);
+        }
+    }
+
+    /**
+     * Number of worker threads the current run was configured with
+     * @return thread count, 1 when running sequentially
+     */
+    public static int getEffectiveThreadCount() {
+        return effectiveThreadCount;
+    }
+
+    private static XmlSuite.ParallelMode resolveMode(String mode) {
+        switch (mode.toLowerCase()) {
+            case "methods":
+                return XmlSuite.ParallelMode.METHODS;
+            case "classes":
+                return XmlSuite.ParallelMode.CLASSES;
+            case "none":
+            case "false":
+                return XmlSuite.ParallelMode.NONE;
+            default:
+                logger.warn("Unsupported parallel mode '{}', running sequentially", mode);
+                return XmlSuite.ParallelMode.NONE;
+        }
+    }
+
+    private static int resolveThreadCount(ConfigManager config) {
+        int requested = config.getParallelThreads();
+        int cap = Math.max(1, config.getParallelThreadsMax());
+        return Math.max(1, Math.min(requested, cap));
+    }
+}
@@ -0,0 +1,185 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.PerformanceHistory;
+import com.swaglabs.utils.PerformanceTrendReport;
+import com.swaglabs.utils.RegressionDetector;
+import io.qameta.allure.Allure;
+import io.qameta.allure.model.StepResult;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ISuite;
+import org.testng.ISuiteListener;
+import org.testng.ITestResult;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Records the duration of every passing test method and of its Allure steps in the
+ * {@link PerformanceHistory}, compares them against the rolling baseline of earlier runs, and flags or fails
+ * significant regressions depending on perf.regression.mode (off, flag or fail). When the suite finishes
+ * it writes perf-trend.json and perf-trend.html next to the other reports.
+ */
+public class PerformanceGateListener implements IInvokedMethodListener, ISuiteListener {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceGateListener.class);
+
+    private static final ThreadLocal<Long> startNanos = new ThreadLocal<>();
+
+    private volatile PerformanceHistory history;
+    // Durations of this run per key, across all suites
+    private final Map<String, List<Double>> currentRun = new ConcurrentHashMap<>();
+
+    @Override
+    public void onStart(ISuite suite) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isPerfHistoryEnabled() || history != null) {
+            return;
+        }
+        synchronized (this) {
+            if (history == null) {
+                history = new PerformanceHistory(Paths.get(config.getPerfHistoryDir()), config.getPerfBaselineRuns());
+                logger.info("Recording performance history for run {} at commit {}",
+                        history.getRunId(), history.getCommit());
+            }
+        }
+    }
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            startNanos.set(System.nanoTime());
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        Long start = startNanos.get();
+        startNanos.remove();
+        if (!method.isTestMethod() || history == null || start == null
+                || testResult.getStatus() != ITestResult.SUCCESS) {
+            return;
+        }
+
+        ConfigManager config = ConfigManager.getInstance();
+        String browser = config.getBrowser() + (config.isBrowserHeadless() ? "-headless" : "");
+        String userType = resolveUserType(testResult.getParameters(), config);
+        String testName = testResult.getTestClass().getRealClass().getSimpleName()
+                + "." + testResult.getMethod().getMethodName();
+
+        List<PerformanceHistory.Sample> samples = new ArrayList<>();
+        samples.add(history.sample("test", testName, browser, userType, (System.nanoTime() - start) / 1_000_000.0));
+        collectSteps().forEach((step, durations) -> durations.forEach(duration ->
+                samples.add(history.sample("step", step, browser, userType, duration))));
+
+        Map<String, List<Double>> byKey = new LinkedHashMap<>();
+        for (PerformanceHistory.Sample sample : samples) {
+            byKey.computeIfAbsent(sample.key(), key -> new ArrayList<>()).add(sample.durationMs());
+        }
+        byKey.forEach((key, durations) -> currentRun
+                .computeIfAbsent(key, k -> Collections.synchronizedList(new ArrayList<>()))
+                .addAll(durations));
+        history.append(samples);
+
+        String mode = config.getPerfRegressionMode().toLowerCase();
+        if ("off".equals(mode)) {
+            return;
+        }
+
+        List<String> regressions = new ArrayList<>();
+        byKey.forEach((key, durations) -> {
+            RegressionDetector.Verdict verdict = evaluate(key, durations, config);
+            if (verdict.status() == RegressionDetector.Status.REGRESSION) {
+                regressions.add(key + ": " + verdict);
+            }
+        });
+        if (regressions.isEmpty()) {
+            return;
+        }
+
+        String message = String.format("%s is slower than its baseline:%n  %s",
+                testName, String.join(System.lineSeparator() + "  ", regressions));
+        logger.warn(message);
+        try {
+            Allure.addAttachment("Performance regression", "text/plain", message);
+        } catch (Exception e) {
+            logger.warn("Failed to attach performance regression: {}", e.getMessage());
+        }
+        if ("fail".equals(mode)) {
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(message));
+        }
+    }
+
+    @Override
+    public void onFinish(ISuite suite) {
+        if (history == null || currentRun.isEmpty()) {
+            return;
+        }
+        ConfigManager config = ConfigManager.getInstance();
+        Map<String, RegressionDetector.Verdict> verdicts = new LinkedHashMap<>();
+        currentRun.keySet().stream().sorted().forEach(key -> {
+            List<Double> durations;
+            synchronized (currentRun.get(key)) {
+                durations = new ArrayList<>(currentRun.get(key));
+            }
+            verdicts.put(key, evaluate(key, durations, config));
+        });
+        PerformanceTrendReport.write(Path.of(config.getReportsPath()), history, verdicts);
+    }
+
+    private RegressionDetector.Verdict evaluate(String key, List<Double> durations, ConfigManager config) {
+        return RegressionDetector.evaluate(history.baseline(key), durations,
+                config.getPerfRegressionThreshold(), config.getPerfRegressionAlpha(),
+                config.getPerfBaselineMinSamples());
+    }
+
+    /**
+     * Durations of the finished steps of the current Allure test case, nested steps included
+     */
+    private static Map<String, List<Double>> collectSteps() {
+        Map<String, List<Double>> steps = new LinkedHashMap<>();
+        try {
+            Allure.getLifecycle().updateTestCase(result -> collectSteps(result.getSteps(), steps));
+        } catch (Exception e) {
+            logger.debug("No Allure test case to read steps from: {}", e.getMessage());
+        }
+        return steps;
+    }
+
+    private static void collectSteps(List<StepResult> stepResults, Map<String, List<Double>> steps) {
+        for (StepResult step : stepResults) {
+            if (step.getStart() != null && step.getStop() != null) {
+                steps.computeIfAbsent(step.getName(), name -> new ArrayList<>())
+                        .add((double) (step.getStop() - step.getStart()));
+            }
+            collectSteps(step.getSteps(), steps);
+        }
+    }
+
+    /**
+     * The configured user a data-driven test ran as, or n/a when no parameter names one
+     */
+    private static String resolveUserType(Object[] parameters, ConfigManager config) {
+        Set<String> users = new HashSet<>(Arrays.asList(config.getStandardUsername(), config.getLockedUsername(),
+                config.getProblemUsername(), config.getPerformanceUsername(),
+                config.getErrorUsername(), config.getVisualUsername()));
+        for (Object parameter : parameters) {
+            if (parameter instanceof String value && users.contains(value)) {
+                return value;
+            }
+        }
+        return "n/a";
+    }
+}
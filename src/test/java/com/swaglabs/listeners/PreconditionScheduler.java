@@ -0,0 +1,60 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.PreconditionCarry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IMethodInstance;
+import org.testng.IMethodInterceptor;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Orders the methods of each &lt;test&gt; so that tests declaring the same @RequiresSession and @RequiresCart
+ * run back to back, across classes, and a worker can carry its browser from one to the next
+ * (see {@link PreconditionCarry}). Methods without declared preconditions run first, in their original order;
+ * each precondition group follows in the order its first method appeared, keeping its methods' original order.
+ * Leaves the order alone when preconditions.carry is disabled.
+ */
+public class PreconditionScheduler implements IMethodInterceptor {
+    private static final Logger logger = LoggerFactory.getLogger(PreconditionScheduler.class);
+
+    @Override
+    public List<IMethodInstance> intercept(List<IMethodInstance> methods, ITestContext context) {
+        if (!ConfigManager.getInstance().isPreconditionsCarryEnabled()) {
+            return methods;
+        }
+
+        List<IMethodInstance> ordered = new ArrayList<>();
+        Map<PreconditionCarry.Precondition, List<IMethodInstance>> groups = new LinkedHashMap<>();
+        for (IMethodInstance instance : methods) {
+            ITestNGMethod method = instance.getMethod();
+            PreconditionCarry.Precondition precondition = PreconditionCarry.of(
+                    method.getRealClass(), method.getConstructorOrMethod().getMethod());
+            if (precondition == null) {
+                ordered.add(instance);
+            } else {
+                groups.computeIfAbsent(precondition, key -> new ArrayList<>()).add(instance);
+            }
+        }
+
+        int unconditioned = ordered.size();
+        groups.values().forEach(ordered::addAll);
+        if (!groups.isEmpty()) {
+            logger.info("Scheduled {} methods of '{}': {} without preconditions, then {}", ordered.size(),
+                    context.getName(), unconditioned, describe(groups));
+        }
+        return ordered;
+    }
+
+    private static String describe(Map<PreconditionCarry.Precondition, List<IMethodInstance>> groups) {
+        List<String> parts = new ArrayList<>();
+        groups.forEach((precondition, methods) -> parts.add(methods.size() + " as " + precondition));
+        return String.join(", ", parts);
+    }
+}
@@ -0,0 +1,146 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.annotations.RequiresCart;
+import com.swaglabs.annotations.RequiresSession;
+import com.swaglabs.utils.ConfigManager;
+import org.testng.IMethodInstance;
+import org.testng.ITestContext;
+import org.testng.ITestNGMethod;
+import org.testng.annotations.Test;
+import org.testng.internal.ConstructorOrMethod;
+
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks the order the interceptor gives a fixed, interleaved method list; no browser is involved
+ */
+public class PreconditionSchedulerTest {
+
+    /**
+     * Stand in for test classes; only their precondition annotations are read
+     */
+    static class Browse {
+        public void open() {
+        }
+
+        public void close() {
+        }
+    }
+
+    @RequiresSession("standard_user")
+    static class Cart {
+        public void empty() {
+        }
+
+        @RequiresCart({"Sauce Labs Backpack"})
+        public void withBackpack() {
+        }
+
+        @RequiresSession("problem_user")
+        public void asProblemUser() {
+        }
+    }
+
+    @RequiresSession("standard_user")
+    static class Checkout {
+        @RequiresCart({"Sauce Labs Backpack"})
+        public void withBackpack() {
+        }
+
+        public void start() {
+        }
+    }
+
+    private static IMethodInstance instance(Class<?> testClass, String name) throws NoSuchMethodException {
+        Method method = testClass.getMethod(name);
+        ITestNGMethod testMethod = (ITestNGMethod) Proxy.newProxyInstance(ITestNGMethod.class.getClassLoader(),
+                new Class<?>[]{ITestNGMethod.class}, (proxy, called, args) -> {
+                    switch (called.getName()) {
+                        case "getRealClass":
+                            return testClass;
+                        case "getConstructorOrMethod":
+                            return new ConstructorOrMethod(method);
+                        case "getMethodName":
+                            return name;
+                        case "toString":
+                            return testClass.getSimpleName() + "." + name;
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+        return (IMethodInstance) Proxy.newProxyInstance(IMethodInstance.class.getClassLoader(),
+                new Class<?>[]{IMethodInstance.class}, (proxy, called, args) -> {
+                    switch (called.getName()) {
+                        case "getMethod":
+                            return testMethod;
+                        case "toString":
+                            return testMethod.toString();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static ITestContext context() {
+        return (ITestContext) Proxy.newProxyInstance(ITestContext.class.getClassLoader(),
+                new Class<?>[]{ITestContext.class},
+                (proxy, called, args) -> "getName".equals(called.getName()) ? "Regression-Tests" : null);
+    }
+
+    private static List<IMethodInstance> interleaved() throws NoSuchMethodException {
+        return List.of(
+                instance(Cart.class, "empty"),
+                instance(Browse.class, "open"),
+                instance(Cart.class, "withBackpack"),
+                instance(Checkout.class, "start"),
+                instance(Cart.class, "asProblemUser"),
+                instance(Checkout.class, "withBackpack"),
+                instance(Browse.class, "close"));
+    }
+
+    private static List<String> names(List<IMethodInstance> methods) {
+        List<String> names = new ArrayList<>();
+        methods.forEach(method -> names.add(method.toString()));
+        return names;
+    }
+
+    @Test(groups = {"unit"})
+    public void testMethodsWithTheSamePreconditionsRunBackToBack() throws NoSuchMethodException {
+        List<IMethodInstance> ordered = new PreconditionScheduler().intercept(interleaved(), context());
+
+        // Unconditioned first, then each precondition group in the order its first method appeared
+        assertThat(names(ordered)).containsExactly(
+                "Browse.open", "Browse.close",
+                "Cart.empty", "Checkout.start",
+                "Cart.withBackpack", "Checkout.withBackpack",
+                "Cart.asProblemUser");
+    }
+
+    @Test(groups = {"unit"})
+    public void testOrderIsKeptWhenCarryIsDisabled() throws NoSuchMethodException {
+        ConfigManager config = ConfigManager.getInstance();
+        System.setProperty("preconditions.carry", "false");
+        config.reload();
+        try {
+            List<IMethodInstance> methods = interleaved();
+
+            assertThat(new PreconditionScheduler().intercept(methods, context())).isSameAs(methods);
+        } finally {
+            System.clearProperty("preconditions.carry");
+            config.reload();
+        }
+    }
+}
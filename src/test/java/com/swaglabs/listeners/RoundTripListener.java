@@ -0,0 +1,80 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.annotations.MaxRoundTrips;
+import com.swaglabs.utils.RoundTripRecorder;
+import com.swaglabs.utils.RoundTripStats;
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IInvokedMethod;
+import org.testng.IInvokedMethodListener;
+import org.testng.ITestResult;
+
+import java.lang.reflect.Method;
+import java.util.Comparator;
+import java.util.Map;
+
+/**
+ * Counts the WebDriver commands each test method sends, attaches a per-test and per-step summary
+ * to the Allure result, and fails tests that exceed their {@link MaxRoundTrips} budget.
+ * Setup and teardown methods are not counted against the budget.
+ */
+public class RoundTripListener implements IInvokedMethodListener {
+    private static final Logger logger = LoggerFactory.getLogger(RoundTripListener.class);
+
+    @Override
+    public void beforeInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (method.isTestMethod()) {
+            RoundTripRecorder.reset();
+        }
+    }
+
+    @Override
+    public void afterInvocation(IInvokedMethod method, ITestResult testResult) {
+        if (!method.isTestMethod()) {
+            return;
+        }
+
+        RoundTripStats stats = RoundTripRecorder.snapshot();
+        String testName = testResult.getMethod().getMethodName();
+        logger.info("{} sent {}", testName, stats);
+
+        try {
+            Allure.addAttachment("WebDriver round trips", "text/plain", buildSummary(stats));
+        } catch (Exception e) {
+            logger.warn("Failed to attach round-trip summary: {}", e.getMessage());
+        }
+
+        Method testMethod = method.getTestMethod().getConstructorOrMethod().getMethod();
+        MaxRoundTrips budget = testMethod == null ? null : testMethod.getAnnotation(MaxRoundTrips.class);
+        if (budget != null && stats.getCommands() > budget.value()
+                && testResult.getStatus() == ITestResult.SUCCESS) {
+            String message = String.format("%s sent %d WebDriver commands, budget is %d",
+                    testName, stats.getCommands(), budget.value());
+            logger.error(message);
+            testResult.setStatus(ITestResult.FAILURE);
+            testResult.setThrowable(new AssertionError(message));
+        }
+    }
+
+    private static String buildSummary(RoundTripStats stats) {
+        StringBuilder summary = new StringBuilder();
+        summary.append(String.format("Commands: %d%n", stats.getCommands()));
+        summary.append(String.format("Estimated bytes: request %d, response %d%n",
+                stats.getRequestBytes(), stats.getResponseBytes()));
+        summary.append(String.format("Latency: total %.1f ms, avg %.2f ms, max %.1f ms%n%n",
+                stats.getTotalMillis(), stats.getAverageMillis(), stats.getMaxMillis()));
+
+        summary.append("By command:\n");
+        stats.getCommandsByName().entrySet().stream()
+                .sorted(Map.Entry.<String, Long>comparingByValue(Comparator.reverseOrder()))
+                .forEach(entry -> summary.append(String.format("  %6d  %s%n", entry.getValue(), entry.getKey())));
+
+        Map<String, Long> stepCalls = RoundTripRecorder.stepCalls();
+        summary.append("\nBy step (nested steps are included in their parents):\n");
+        RoundTripRecorder.stepTotals().forEach((step, stepStats) -> summary.append(String.format(
+                "  %6d cmds  %8.1f ms  x%-3d %s%n", stepStats.getCommands(), stepStats.getTotalMillis(),
+                stepCalls.getOrDefault(step, 0L), step)));
+        return summary.toString();
+    }
+}
@@ -0,0 +1,22 @@
+package com.swaglabs.listeners;
+
+import com.swaglabs.utils.RoundTripRecorder;
+import io.qameta.allure.listener.StepLifecycleListener;
+import io.qameta.allure.model.StepResult;
+
+/**
+ * Attributes WebDriver commands to the Allure step that sent them.
+ * Registered through META-INF/services so it covers both page-object and Selenide steps.
+ */
+public class RoundTripStepListener implements StepLifecycleListener {
+
+    @Override
+    public void beforeStepStart(StepResult result) {
+        RoundTripRecorder.stepStarted();
+    }
+
+    @Override
+    public void afterStepStop(StepResult result) {
+        RoundTripRecorder.stepStopped(result.getName());
+    }
+}
@@ -1,13 +1,17 @@
 package com.swaglabs.pages;
 
-import com.codeborne.selenide.CollectionCondition;
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.utils.BatchClick;
+import com.swaglabs.utils.DomWait;
+import com.swaglabs.utils.PageMetrics;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 
 import static com.codeborne.selenide.Selenide.*;
@@ -17,12 +21,14 @@ import static com.codeborne.selenide.Selenide.*;
  */
 public class CartPage {
     private static final Logger logger = LoggerFactory.getLogger(CartPage.class);
+    private static final String CART_ITEM = ".cart_item";
+    private static final String REMOVE_BUTTON = "button[data-test^='remove']";
 
     // Page elements
     private final SelenideElement pageTitle = $(".title");
     private final SelenideElement continueShoppingButton = $("#continue-shopping");
     private final SelenideElement checkoutButton = $("#checkout");
-    private final ElementsCollection cartItems = $$(".cart_item");
+    private final ElementsCollection cartItems = $$(CART_ITEM);
     private final ElementsCollection cartItemNames = $$(".inventory_item_name");
     private final ElementsCollection cartItemPrices = $$(".inventory_item_price");
     private final ElementsCollection cartItemQuantities = $$(".cart_quantity");
@@ -31,8 +37,10 @@ public class CartPage {
     @Step("Verify cart page is displayed")
     public CartPage verifyCartPageDisplayed() {
         logger.info("Verifying cart page is displayed");
-        pageTitle.shouldBe(Condition.visible);
-        pageTitle.shouldHave(Condition.text("Your Cart"));
+        DomWait.until()
+                .visible(pageTitle)
+                .text(pageTitle, "Your Cart")
+                .await();
         return this;
     }
 
@@ -55,13 +63,30 @@ public class CartPage {
         logger.info("Removing item from cart: {}", itemName);
 
         SelenideElement item = findCartItemByName(itemName);
-        SelenideElement removeButton = item.$("button[data-test^='remove']");
+        SelenideElement removeButton = item.$(REMOVE_BUTTON);
         removeButton.click();
 
         logger.info("Successfully removed item from cart: {}", itemName);
         return this;
     }
 
+    /**
+     * Remove several items, found in one round trip and clicked with WebDriver, then verify the cart once.
+     * Same end state as calling {@link #removeItemFromCart(String)} for each name in order.
+     */
+    @Step("Remove items from cart: {itemNames}")
+    public CartPage removeItems(Collection<String> itemNames) {
+        logger.info("Removing {} items from cart: {}", itemNames.size(), itemNames);
+        List<String> names = new ArrayList<>(itemNames);
+        BatchClick.Result result = BatchClick.click(CART_ITEM, REMOVE_BUTTON, names, CART_ITEM);
+        names.subList(result.clicked(), names.size()).forEach(this::removeItemFromCart);
+        DomWait.until()
+                .count(CART_ITEM, result.before() - names.size())
+                .await();
+        logger.info("Successfully removed {} items from cart", names.size());
+        return this;
+    }
+
     @Step("Get all cart item names")
     public List<String> getAllCartItemNames() {
         List<String> names = cartItemNames.texts();
@@ -96,7 +121,7 @@ public class CartPage {
     @Step("Proceed to checkout")
     public CheckoutInformationPage proceedToCheckout() {
         logger.info("Proceeding to checkout");
-        checkoutButton.click();
+        PageMetrics.transition("checkout-step-one", "/checkout-step-one.html", null, checkoutButton::click);
         return new CheckoutInformationPage();
     }
 
@@ -117,14 +142,18 @@ public class CartPage {
     @Step("Verify cart is empty")
     public CartPage verifyCartIsEmpty() {
         logger.info("Verifying cart is empty");
-        cartItems.shouldHave(CollectionCondition.size(0));
+        DomWait.until()
+                .count(CART_ITEM, 0)
+                .await();
         return this;
     }
 
     @Step("Verify cart has items")
     public CartPage verifyCartHasItems() {
         logger.info("Verifying cart has items");
-        cartItems.shouldHave(CollectionCondition.sizeGreaterThan(0));
+        DomWait.until()
+                .countAtLeast(CART_ITEM, 1)
+                .await();
         return this;
     }
 
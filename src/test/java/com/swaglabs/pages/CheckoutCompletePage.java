@@ -2,6 +2,7 @@ package com.swaglabs.pages;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.utils.DomWait;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -24,19 +25,23 @@ public class CheckoutCompletePage {
     @Step("Verify checkout complete page is displayed")
     public CheckoutCompletePage verifyCheckoutCompletePageDisplayed() {
         logger.info("Verifying checkout complete page is displayed");
-        pageTitle.shouldBe(Condition.visible);
-        pageTitle.shouldHave(Condition.text("Checkout: Complete!"));
-        completeHeader.shouldBe(Condition.visible);
-        completeText.shouldBe(Condition.visible);
-        backHomeButton.shouldBe(Condition.visible);
+        DomWait.until()
+                .visible(pageTitle)
+                .text(pageTitle, "Checkout: Complete!")
+                .visible(completeHeader)
+                .visible(completeText)
+                .visible(backHomeButton)
+                .await();
         return this;
     }
 
     @Step("Verify success message is displayed")
     public CheckoutCompletePage verifySuccessMessage() {
         logger.info("Verifying success message is displayed");
-        completeHeader.shouldHave(Condition.text("Thank you for your order!"));
-        completeText.shouldBe(Condition.visible);
+        DomWait.until()
+                .text(completeHeader, "Thank you for your order!")
+                .visible(completeText)
+                .await();
         return this;
     }
 
@@ -71,8 +76,10 @@ public class CheckoutCompletePage {
     @Step("Verify back home button is displayed")
     public CheckoutCompletePage verifyBackHomeButtonDisplayed() {
         logger.info("Verifying back home button is displayed");
-        backHomeButton.shouldBe(Condition.visible);
-        backHomeButton.shouldBe(Condition.enabled);
+        DomWait.until()
+                .visible(backHomeButton)
+                .enabled(backHomeButton)
+                .await();
         return this;
     }
 
@@ -2,6 +2,7 @@ package com.swaglabs.pages;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.utils.DomWait;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,11 +27,13 @@ public class CheckoutInformationPage {
     @Step("Verify checkout information page is displayed")
     public CheckoutInformationPage verifyCheckoutInformationPageDisplayed() {
         logger.info("Verifying checkout information page is displayed");
-        pageTitle.shouldBe(Condition.visible);
-        pageTitle.shouldHave(Condition.text("Checkout: Your Information"));
-        firstNameField.shouldBe(Condition.visible);
-        lastNameField.shouldBe(Condition.visible);
-        postalCodeField.shouldBe(Condition.visible);
+        DomWait.until()
+                .visible(pageTitle)
+                .text(pageTitle, "Checkout: Your Information")
+                .visible(firstNameField)
+                .visible(lastNameField)
+                .visible(postalCodeField)
+                .await();
         return this;
     }
 
@@ -100,8 +103,10 @@ public class CheckoutInformationPage {
     @Step("Verify error message is displayed: {expectedMessage}")
     public CheckoutInformationPage verifyErrorMessage(String expectedMessage) {
         logger.info("Verifying error message: {}", expectedMessage);
-        errorMessage.shouldBe(Condition.visible);
-        errorMessage.shouldHave(Condition.text(expectedMessage));
+        DomWait.until()
+                .visible(errorMessage)
+                .text(errorMessage, expectedMessage)
+                .await();
         return this;
     }
 
@@ -4,6 +4,8 @@ import com.codeborne.selenide.CollectionCondition;
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.utils.DomWait;
+import com.swaglabs.utils.PageMetrics;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -39,10 +41,12 @@ public class CheckoutOverviewPage {
     @Step("Verify checkout overview page is displayed")
     public CheckoutOverviewPage verifyCheckoutOverviewPageDisplayed() {
         logger.info("Verifying checkout overview page is displayed");
-        pageTitle.shouldBe(Condition.visible);
-        pageTitle.shouldHave(Condition.text("Checkout: Overview"));
-        finishButton.shouldBe(Condition.visible);
-        cancelButton.shouldBe(Condition.visible);
+        DomWait.until()
+                .visible(pageTitle)
+                .text(pageTitle, "Checkout: Overview")
+                .visible(finishButton)
+                .visible(cancelButton)
+                .await();
         return this;
     }
 
@@ -114,7 +118,7 @@ public class CheckoutOverviewPage {
     @Step("Finish checkout")
     public CheckoutCompletePage finishCheckout() {
         logger.info("Finishing checkout process");
-        finishButton.click();
+        PageMetrics.transition("checkout-complete", "/checkout-complete.html", null, finishButton::click);
         return new CheckoutCompletePage();
     }
 
@@ -142,9 +146,11 @@ public class CheckoutOverviewPage {
     @Step("Verify price total is displayed")
     public CheckoutOverviewPage verifyPriceTotalDisplayed() {
         logger.info("Verifying price total is displayed");
-        itemTotalPrice.shouldBe(Condition.visible);
-        taxAmount.shouldBe(Condition.visible);
-        totalPrice.shouldBe(Condition.visible);
+        DomWait.until()
+                .visible(itemTotalPrice)
+                .visible(taxAmount)
+                .visible(totalPrice)
+                .await();
         return this;
     }
 
@@ -2,6 +2,9 @@ package com.swaglabs.pages;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.utils.DomWait;
+import com.swaglabs.utils.PageMetrics;
+import com.swaglabs.utils.PreconditionCarry;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,10 +26,12 @@ public class LoginPage {
     @Step("Verify login page is displayed")
     public LoginPage verifyLoginPageDisplayed() {
         logger.info("Verifying login page is displayed");
-        loginLogo.shouldBe(Condition.visible);
-        usernameField.shouldBe(Condition.visible);
-        passwordField.shouldBe(Condition.visible);
-        loginButton.shouldBe(Condition.visible);
+        DomWait.until()
+                .visible(loginLogo)
+                .visible(usernameField)
+                .visible(passwordField)
+                .visible(loginButton)
+                .await();
         return this;
     }
 
@@ -36,7 +41,8 @@ public class LoginPage {
 
         enterUsername(username);
         enterPassword(password);
-        clickLoginButton();
+        PageMetrics.transition("inventory", "/inventory.html", "[data-test='error']", this::clickLoginButton);
+        PreconditionCarry.sessionStarted(username);
 
         logger.info("Login attempt completed");
         return new ProductsPage();
@@ -68,8 +74,10 @@ public class LoginPage {
     @Step("Verify error message is displayed: {expectedMessage}")
     public LoginPage verifyErrorMessage(String expectedMessage) {
         logger.info("Verifying error message: {}", expectedMessage);
-        errorMessage.shouldBe(Condition.visible);
-        errorMessage.shouldHave(Condition.text(expectedMessage));
+        DomWait.until()
+                .visible(errorMessage)
+                .text(errorMessage, expectedMessage)
+                .await();
         return this;
     }
 
@@ -2,6 +2,7 @@ package com.swaglabs.pages;
 
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.utils.DomWait;
 import io.qameta.allure.Step;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,10 +26,12 @@ public class ProductDetailsPage {
     @Step("Verify product details page is displayed")
     public ProductDetailsPage verifyProductDetailsPageDisplayed() {
         logger.info("Verifying product details page is displayed");
-        productName.shouldBe(Condition.visible);
-        productDescription.shouldBe(Condition.visible);
-        productPrice.shouldBe(Condition.visible);
-        productImage.shouldBe(Condition.visible);
+        DomWait.until()
+                .visible(productName)
+                .visible(productDescription)
+                .visible(productPrice)
+                .visible(productImage)
+                .await();
         return this;
     }
 
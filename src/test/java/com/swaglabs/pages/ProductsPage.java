@@ -1,29 +1,73 @@
 package com.swaglabs.pages;
 
-import com.codeborne.selenide.CollectionCondition;
 import com.codeborne.selenide.Condition;
 import com.codeborne.selenide.ElementsCollection;
 import com.codeborne.selenide.SelenideElement;
+import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.data.model.InventorySnapshot;
+import com.swaglabs.utils.BatchClick;
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.DomWait;
+import com.swaglabs.utils.PageMetrics;
+import com.swaglabs.utils.RoundTripRecorder;
 import io.qameta.allure.Step;
+import org.openqa.selenium.WebDriver;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 import static com.codeborne.selenide.Selenide.*;
 
 /**
- * Page Object class for Products page
+ * Page Object class for Products page.
+ * Getters serve from the snapshot taken by {@link #snapshot()} while it is fresh; any action on this
+ * page that changes the inventory (add, remove, sort, navigate) invalidates it. So does any command
+ * that may change the page from elsewhere (another page object, back, refresh, a script), as seen by
+ * {@link RoundTripRecorder}, and a snapshot older than {@value #SNAPSHOT_TTL_MILLIS} ms is never served.
+ * Without round-trip tracking those commands cannot be seen, so getters always read the page.
  */
 public class ProductsPage {
     private static final Logger logger = LoggerFactory.getLogger(ProductsPage.class);
+    private static final String PRODUCT_ITEM = ".inventory_item";
+    private static final String ADD_TO_CART_BUTTON = "button[data-test^='add-to-cart']";
+    private static final String REMOVE_BUTTON = "button[data-test^='remove']";
+
+    static final long SNAPSHOT_TTL_MILLIS = 5_000;
+
+    private static final String SNAPSHOT_SCRIPT =
+            "function text(root, selector) {" +
+            "  var element = root.querySelector(selector);" +
+            "  return element ? element.innerText.trim() : '';" +
+            "}" +
+            "var items = [];" +
+            "document.querySelectorAll('.inventory_item').forEach(function (item) {" +
+            "  var button = item.querySelector('button');" +
+            "  var link = item.querySelector('a[id$=\"_title_link\"]');" +
+            "  var image = item.querySelector('img.inventory_item_img');" +
+            "  items.push({" +
+            "    name: text(item, '.inventory_item_name')," +
+            "    price: text(item, '.inventory_item_price')," +
+            "    description: text(item, '.inventory_item_desc')," +
+            "    buttonText: button ? button.innerText.trim() : ''," +
+            "    buttonDataTest: button ? (button.getAttribute('data-test') || '') : ''," +
+            "    buttonDisplayed: !!button && button.offsetParent !== null," +
+            "    itemDataTest: link ? (link.getAttribute('data-test') || link.id) : ''," +
+            "    imageSrc: image ? image.src : ''" +
+            "  });" +
+            "});" +
+            "var badge = document.querySelector('.shopping_cart_badge');" +
+            "return { items: items, cartCount: badge ? badge.innerText.trim() : '0' };";
 
     private final SelenideElement pageTitle = $(".title");
     private final SelenideElement shoppingCartLink = $(".shopping_cart_link");
     private final SelenideElement cartBadge = $(".shopping_cart_badge");
     private final SelenideElement menuButton = $("#react-burger-menu-btn");
     private final SelenideElement sortDropdown = $(".product_sort_container");
-    private final ElementsCollection productItems = $$(".inventory_item");
+    private final ElementsCollection productItems = $$(PRODUCT_ITEM);
     private final ElementsCollection productNames = $$(".inventory_item_name");
     private final ElementsCollection productPrices = $$(".inventory_item_price");
     private final ElementsCollection addToCartButtons = $$("button[data-test^='add-to-cart']");
@@ -31,21 +75,27 @@ public class ProductsPage {
 
     private final SelenideElement logoutLink = $("#logout_sidebar_link");
 
+    // Page objects may be shared between worker threads, so each thread keeps its own snapshot
+    private final ThreadLocal<CachedSnapshot> cachedSnapshot = new ThreadLocal<>();
+
     @Step("Verify products page is displayed")
     public ProductsPage verifyProductsPageDisplayed() {
         logger.info("Verifying products page is displayed");
-        pageTitle.shouldBe(Condition.visible);
-        pageTitle.shouldHave(Condition.text("Products"));
-        productItems.shouldHave(CollectionCondition.sizeGreaterThan(0));
+        DomWait.until()
+                .visible(pageTitle)
+                .text(pageTitle, "Products")
+                .countAtLeast(PRODUCT_ITEM, 1)
+                .await();
         return this;
     }
 
     @Step("Add product to cart by name: {productName}")
     public ProductsPage addProductToCart(String productName) {
         logger.info("Adding product to cart: {}", productName);
+        invalidateSnapshot();
 
         SelenideElement product = findProductByName(productName);
-        SelenideElement addButton = product.$("button[data-test^='add-to-cart']");
+        SelenideElement addButton = product.$(ADD_TO_CART_BUTTON);
         addButton.click();
 
         logger.info("Successfully added product to cart: {}", productName);
@@ -55,18 +105,62 @@ public class ProductsPage {
     @Step("Remove product from cart by name: {productName}")
     public ProductsPage removeProductFromCart(String productName) {
         logger.info("Removing product from cart: {}", productName);
+        invalidateSnapshot();
 
         SelenideElement product = findProductByName(productName);
-        SelenideElement removeButton = product.$("button[data-test^='remove']");
+        SelenideElement removeButton = product.$(REMOVE_BUTTON);
         removeButton.click();
 
         logger.info("Successfully removed product from cart: {}", productName);
         return this;
     }
 
+    /**
+     * Add several products, found in one round trip and clicked with WebDriver, then verify the cart once.
+     * Same end state as calling {@link #addProductToCart(String)} for each name in order.
+     */
+    @Step("Add products to cart: {productNames}")
+    public ProductsPage addProductsToCart(Collection<String> productNames) {
+        logger.info("Adding {} products to cart: {}", productNames.size(), productNames);
+        invalidateSnapshot();
+        List<String> names = new ArrayList<>(productNames);
+        BatchClick.Result result = BatchClick.click(PRODUCT_ITEM, ADD_TO_CART_BUTTON, names, REMOVE_BUTTON);
+        names.subList(result.clicked(), names.size()).forEach(this::addProductToCart);
+        verifyCartState(result.before() + names.size());
+        logger.info("Successfully added {} products to cart", names.size());
+        return this;
+    }
+
+    /**
+     * Remove several products, found in one round trip and clicked with WebDriver, then verify the cart once.
+     * Same end state as calling {@link #removeProductFromCart(String)} for each name in order.
+     */
+    @Step("Remove products from cart: {productNames}")
+    public ProductsPage removeProductsFromCart(Collection<String> productNames) {
+        logger.info("Removing {} products from cart: {}", productNames.size(), productNames);
+        invalidateSnapshot();
+        List<String> names = new ArrayList<>(productNames);
+        BatchClick.Result result = BatchClick.click(PRODUCT_ITEM, REMOVE_BUTTON, names, REMOVE_BUTTON);
+        names.subList(result.clicked(), names.size()).forEach(this::removeProductFromCart);
+        verifyCartState(result.before() - names.size());
+        logger.info("Successfully removed {} products from cart", names.size());
+        return this;
+    }
+
+    private void verifyCartState(int expectedCount) {
+        DomWait wait = DomWait.until().count(REMOVE_BUTTON, expectedCount);
+        if (expectedCount > 0) {
+            wait.text(cartBadge, String.valueOf(expectedCount));
+        } else {
+            wait.hidden(cartBadge);
+        }
+        wait.await();
+    }
+
     @Step("Click on product: {productName}")
     public ProductDetailsPage clickOnProduct(String productName) {
         logger.info("Clicking on product: {}", productName);
+        invalidateSnapshot();
 
         SelenideElement product = findProductByName(productName);
         SelenideElement productLink = product.$(".inventory_item_name");
@@ -78,6 +172,10 @@ public class ProductsPage {
 
     @Step("Get cart items count")
     public int getCartItemsCount() {
+        InventorySnapshot snapshot = getFreshSnapshot();
+        if (snapshot != null) {
+            return snapshot.getCartCount();
+        }
         if (cartBadge.isDisplayed()) {
             String badgeText = cartBadge.getText();
             int count = Integer.parseInt(badgeText);
@@ -91,27 +189,31 @@ public class ProductsPage {
     @Step("Navigate to cart")
     public CartPage navigateToCart() {
         logger.info("Navigating to cart");
-        shoppingCartLink.click();
+        invalidateSnapshot();
+        PageMetrics.transition("cart", "/cart.html", null, shoppingCartLink::click);
         return new CartPage();
     }
 
     @Step("Sort products by: {sortOption}")
     public ProductsPage sortProducts(String sortOption) {
         logger.info("Sorting products by: {}", sortOption);
+        invalidateSnapshot();
         sortDropdown.selectOptionByValue(sortOption);
         return this;
     }
 
     @Step("Get all product names")
     public List<String> getAllProductNames() {
-        List<String> names = productNames.texts();
+        InventorySnapshot snapshot = getFreshSnapshot();
+        List<String> names = snapshot != null ? snapshot.getNames() : productNames.texts();
         logger.info("Retrieved {} product names", names.size());
         return names;
     }
 
     @Step("Get all product prices")
     public List<String> getAllProductPrices() {
-        List<String> prices = productPrices.texts();
+        InventorySnapshot snapshot = getFreshSnapshot();
+        List<String> prices = snapshot != null ? snapshot.getPrices() : productPrices.texts();
         logger.info("Retrieved {} product prices", prices.size());
         return prices;
     }
@@ -149,6 +251,7 @@ public class ProductsPage {
     @Step("Logout")
     public LoginPage logout() {
         logger.info("Logging out");
+        invalidateSnapshot();
         openMenu();
         logoutLink.shouldBe(Condition.visible).click();
         return new LoginPage();
@@ -157,8 +260,10 @@ public class ProductsPage {
     @Step("Get product price by name: {productName}")
     public String getProductPrice(String productName) {
         logger.info("Getting price for product: {}", productName);
-        SelenideElement product = findProductByName(productName);
-        String price = product.$(".inventory_item_price").getText();
+        InventorySnapshot snapshot = getFreshSnapshot();
+        String price = snapshot != null && snapshot.contains(productName)
+                ? snapshot.get(productName).getPrice()
+                : findProductByName(productName).$(".inventory_item_price").getText();
         logger.info("Product {} price: {}", productName, price);
         return price;
     }
@@ -166,12 +271,72 @@ public class ProductsPage {
     @Step("Get product description by name: {productName}")
     public String getProductDescription(String productName) {
         logger.info("Getting description for product: {}", productName);
-        SelenideElement product = findProductByName(productName);
-        String description = product.$(".inventory_item_desc").getText();
+        InventorySnapshot snapshot = getFreshSnapshot();
+        String description = snapshot != null && snapshot.contains(productName)
+                ? snapshot.get(productName).getDescription()
+                : findProductByName(productName).$(".inventory_item_desc").getText();
         logger.info("Product {} description: {}", productName, description);
         return description;
     }
 
+    @Step("Take inventory snapshot")
+    @SuppressWarnings("unchecked")
+    public InventorySnapshot snapshot() {
+        Map<String, Object> result = executeJavaScript(SNAPSHOT_SCRIPT);
+        List<InventorySnapshot.Item> items = new ArrayList<>();
+        for (Map<String, Object> item : (List<Map<String, Object>>) result.get("items")) {
+            items.add(new InventorySnapshot.Item(
+                    String.valueOf(item.get("name")),
+                    String.valueOf(item.get("price")),
+                    String.valueOf(item.get("description")),
+                    String.valueOf(item.get("buttonText")),
+                    String.valueOf(item.get("buttonDataTest")),
+                    Boolean.TRUE.equals(item.get("buttonDisplayed")),
+                    String.valueOf(item.get("itemDataTest")),
+                    String.valueOf(item.get("imageSrc"))));
+        }
+
+        int cartCount;
+        try {
+            cartCount = Integer.parseInt(String.valueOf(result.get("cartCount")));
+        } catch (NumberFormatException e) {
+            logger.warn("Unexpected cart badge text '{}', treating cart as empty", result.get("cartCount"));
+            cartCount = 0;
+        }
+
+        InventorySnapshot snapshot = new InventorySnapshot(items, cartCount, System.currentTimeMillis());
+        if (ConfigManager.getInstance().isRoundTripTrackingEnabled()) {
+            cachedSnapshot.set(new CachedSnapshot(snapshot, WebDriverRunner.getWebDriver(),
+                    RoundTripRecorder.stateChanges()));
+        }
+        logger.info("Captured {}", snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Discard the current thread's snapshot so getters read from the page again
+     */
+    public ProductsPage invalidateSnapshot() {
+        cachedSnapshot.remove();
+        return this;
+    }
+
+    private InventorySnapshot getFreshSnapshot() {
+        CachedSnapshot cached = cachedSnapshot.get();
+        if (cached == null) {
+            return null;
+        }
+        // A snapshot taken in another browser (e.g. a previous pooled lease) is never fresh,
+        // nor one followed by a command that may have changed the page
+        if (!WebDriverRunner.hasWebDriverStarted() || cached.driver != WebDriverRunner.getWebDriver()
+                || cached.stateChanges != RoundTripRecorder.stateChanges()
+                || System.currentTimeMillis() - cached.snapshot.getCapturedAtMillis() > SNAPSHOT_TTL_MILLIS) {
+            cachedSnapshot.remove();
+            return null;
+        }
+        return cached.snapshot;
+    }
+
     private SelenideElement findProductByName(String productName) {
         logger.debug("Finding product by name: {}", productName);
         return productItems.findBy(Condition.text(productName));
@@ -186,12 +351,32 @@ public class ProductsPage {
     }
 
     public boolean isAddToCartButtonDisplayed(String productName) {
+        InventorySnapshot snapshot = getFreshSnapshot();
+        if (snapshot != null && snapshot.contains(productName)) {
+            return snapshot.get(productName).isAddToCartButtonDisplayed();
+        }
         SelenideElement product = findProductByName(productName);
         return product.$("button[data-test^='add-to-cart']").isDisplayed();
     }
 
     public boolean isRemoveButtonDisplayed(String productName) {
+        InventorySnapshot snapshot = getFreshSnapshot();
+        if (snapshot != null && snapshot.contains(productName)) {
+            return snapshot.get(productName).isRemoveButtonDisplayed();
+        }
         SelenideElement product = findProductByName(productName);
         return product.$("button[data-test^='remove']").isDisplayed();
     }
-}
\ No newline at end of file
+
+    private static final class CachedSnapshot {
+        private final InventorySnapshot snapshot;
+        private final WebDriver driver;
+        private final long stateChanges;
+
+        CachedSnapshot(InventorySnapshot snapshot, WebDriver driver, long stateChanges) {
+            this.snapshot = snapshot;
+            this.driver = driver;
+            this.stateChanges = stateChanges;
+        }
+    }
+}
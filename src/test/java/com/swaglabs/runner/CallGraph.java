@@ -0,0 +1,731 @@
+package com.swaglabs.runner;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Method-level call graph of the project's own classes, read straight from their class files.
+ * Nodes are methods named owner.name(descriptor) with internal class names (com/swaglabs/pages/LoginPage).
+ * Edges are invoke instructions, lambda and method-reference targets, and the static initializer of every
+ * class a method touches. Calls through a virtual or interface method also reach the overrides in project
+ * subclasses, and a project class created with new makes reachable the methods that library code may call
+ * back (those that can override a method of a non-project supertype). Calls into library classes end the
+ * walk. Only the class file constructs this project's compiler emits are decoded.
+ */
+final class CallGraph {
+
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_PRIVATE = 0x0002;
+
+    private final Map<String, ClassInfo> classes;
+    private final Map<String, Set<String>> subtypes = new TreeMap<>();
+
+    private CallGraph(Map<String, ClassInfo> classes) {
+        this.classes = classes;
+        for (ClassInfo info : classes.values()) {
+            for (String supertype : info.supertypes()) {
+                subtypes.computeIfAbsent(supertype, name -> new TreeSet<>()).add(info.name);
+            }
+        }
+    }
+
+    /**
+     * Read every class file under a class output directory
+     */
+    static CallGraph load(Path classesRoot) {
+        return load(classesRoot, null);
+    }
+
+    /**
+     * Read every class file under a class output directory, reusing the classes decoded by an earlier load
+     * whose class file has the same modification time and size. The cache is rewritten when anything changed.
+     * @param cacheFile decoded classes of the last load, or null to decode every class file
+     */
+    static CallGraph load(Path classesRoot, Path cacheFile) {
+        Map<String, Path> files = new TreeMap<>();
+        try (Stream<Path> walk = Files.walk(classesRoot)) {
+            walk.filter(path -> path.toString().endsWith(".class"))
+                    .forEach(path -> files.put(classesRoot.relativize(path).toString(), path));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list class files under " + classesRoot, e);
+        }
+        Map<String, Stamped> cached = cacheFile == null ? Map.of() : GraphCache.read(cacheFile);
+        Map<String, Stamped> current = new ConcurrentHashMap<>();
+        AtomicBoolean decoded = new AtomicBoolean();
+        // Decoding dominates and class files are independent
+        files.entrySet().parallelStream().forEach(entry -> {
+            String stamp = stamp(entry.getValue());
+            Stamped hit = cached.get(entry.getKey());
+            if (hit != null && hit.stamp.equals(stamp)) {
+                current.put(entry.getKey(), hit);
+            } else {
+                current.put(entry.getKey(), new Stamped(stamp, readClass(entry.getValue())));
+                decoded.set(true);
+            }
+        });
+        if (cacheFile != null && (decoded.get() || !cached.keySet().equals(files.keySet()))) {
+            GraphCache.write(cacheFile, new TreeMap<>(current));
+        }
+        // The TreeMap keeps the result ordered
+        Map<String, ClassInfo> classes = current.values().stream()
+                .map(stamped -> stamped.info)
+                .collect(Collectors.toMap(info -> info.name, info -> info, (first, second) -> first, TreeMap::new));
+        return new CallGraph(classes);
+    }
+
+    private static String stamp(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis() + ":" + Files.size(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read class file " + file, e);
+        }
+    }
+
+    private static ClassInfo readClass(Path file) {
+        try {
+            return ClassReader.read(Files.readAllBytes(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read class file " + file, e);
+        }
+    }
+
+    Collection<ClassInfo> classes() {
+        return classes.values();
+    }
+
+    /**
+     * Node name of a method
+     */
+    static String node(String owner, String name, String descriptor) {
+        return owner + "." + name + descriptor;
+    }
+
+    /**
+     * Every method reachable from the roots, and every project class those methods touch
+     */
+    Reach reach(Collection<String> roots) {
+        Set<String> methods = new TreeSet<>();
+        Set<String> touched = new TreeSet<>();
+        Deque<String> work = new ArrayDeque<>(roots);
+        while (!work.isEmpty()) {
+            String node = work.pop();
+            String resolved = resolve(node);
+            if (resolved == null || !methods.add(resolved)) {
+                continue;
+            }
+            MethodInfo method = method(resolved);
+            touched.add(owner(resolved));
+            for (Call call : method.calls) {
+                work.push(call.target);
+                if (call.virtual) {
+                    overrides(call.target).forEach(work::push);
+                }
+            }
+            for (String type : method.types) {
+                if (classes.containsKey(type) && touched.add(type)) {
+                    work.push(node(type, "<clinit>", "()V"));
+                }
+            }
+            for (String type : method.instantiated) {
+                callbacks(type).forEach(work::push);
+            }
+        }
+        return new Reach(methods, touched);
+    }
+
+    /**
+     * Methods and classes reached by {@link #reach(Collection)}
+     */
+    record Reach(Set<String> methods, Set<String> classes) {
+    }
+
+    /**
+     * The declaration a call to the node runs: the node itself or the nearest inherited one, null if not project code
+     */
+    private String resolve(String node) {
+        String owner = owner(node);
+        String signature = node.substring(owner.length() + 1);
+        Deque<String> types = new ArrayDeque<>(List.of(owner));
+        Set<String> seen = new HashSet<>();
+        while (!types.isEmpty()) {
+            ClassInfo info = classes.get(types.poll());
+            if (info == null || !seen.add(info.name)) {
+                continue;
+            }
+            if (info.methods.containsKey(signature)) {
+                return node(info.name, signature, "");
+            }
+            types.addAll(info.supertypes());
+        }
+        return null;
+    }
+
+    private MethodInfo method(String node) {
+        String owner = owner(node);
+        return classes.get(owner).methods.get(node.substring(owner.length() + 1));
+    }
+
+    private List<String> overrides(String node) {
+        String owner = owner(node);
+        String signature = node.substring(owner.length() + 1);
+        if (signature.startsWith("<")) {
+            return List.of();
+        }
+        List<String> overrides = new ArrayList<>();
+        Deque<String> types = new ArrayDeque<>(subtypes.getOrDefault(owner, Set.of()));
+        Set<String> seen = new HashSet<>();
+        while (!types.isEmpty()) {
+            String type = types.poll();
+            if (!seen.add(type)) {
+                continue;
+            }
+            MethodInfo method = classes.get(type).methods.get(signature);
+            if (method != null && (method.access & (ACC_STATIC | ACC_PRIVATE)) == 0) {
+                overrides.add(node(type, signature, ""));
+            }
+            types.addAll(subtypes.getOrDefault(type, Set.of()));
+        }
+        return overrides;
+    }
+
+    /**
+     * Methods of an instantiated class that library code may call: instance methods not declared by a project
+     * supertype, when the class has a library supertype other than Object
+     */
+    private List<String> callbacks(String type) {
+        ClassInfo info = classes.get(type);
+        if (info == null) {
+            return List.of();
+        }
+        Set<String> projectSignatures = new HashSet<>();
+        boolean librarySupertype = false;
+        Deque<String> types = new ArrayDeque<>(info.supertypes());
+        Set<String> seen = new HashSet<>();
+        while (!types.isEmpty()) {
+            String supertype = types.poll();
+            if (!seen.add(supertype)) {
+                continue;
+            }
+            ClassInfo superInfo = classes.get(supertype);
+            if (superInfo == null) {
+                librarySupertype |= !"java/lang/Object".equals(supertype);
+                continue;
+            }
+            projectSignatures.addAll(superInfo.methods.keySet());
+            types.addAll(superInfo.supertypes());
+        }
+        if (!librarySupertype) {
+            return List.of();
+        }
+        List<String> callbacks = new ArrayList<>();
+        info.methods.forEach((signature, method) -> {
+            if (!signature.startsWith("<") && (method.access & (ACC_STATIC | ACC_PRIVATE)) == 0
+                    && !projectSignatures.contains(signature)) {
+                callbacks.add(node(type, signature, ""));
+            }
+        });
+        return callbacks;
+    }
+
+    private static String owner(String node) {
+        return node.substring(0, node.indexOf('.'));
+    }
+
+    /**
+     * One class file: its supertypes, source file, string constants and methods
+     */
+    static final class ClassInfo {
+        final String name;
+        final String superName;
+        final List<String> interfaces;
+        final Map<String, MethodInfo> methods = new TreeMap<>();
+        final Set<String> strings = new TreeSet<>();
+        String sourceFile;
+
+        ClassInfo(String name, String superName, List<String> interfaces) {
+            this.name = name;
+            this.superName = superName;
+            this.interfaces = interfaces;
+        }
+
+        List<String> supertypes() {
+            List<String> supertypes = new ArrayList<>(interfaces);
+            if (superName != null) {
+                supertypes.add(0, superName);
+            }
+            return supertypes;
+        }
+
+        /**
+         * Source path relative to the source root, e.g. com/swaglabs/pages/LoginPage.java
+         */
+        String sourcePath() {
+            int slash = name.lastIndexOf('/');
+            return (slash < 0 ? "" : name.substring(0, slash + 1)) + sourceFile;
+        }
+    }
+
+    /**
+     * One method: what it calls and touches, and the source lines its code came from
+     */
+    static final class MethodInfo {
+        final int access;
+        final Set<Call> calls = new LinkedHashSet<>();
+        final Set<String> types = new TreeSet<>();
+        final Set<String> instantiated = new TreeSet<>();
+        int firstLine = Integer.MAX_VALUE;
+        int lastLine = Integer.MIN_VALUE;
+
+        MethodInfo(int access) {
+            this.access = access;
+        }
+
+        boolean containsLine(int line) {
+            return line >= firstLine && line <= lastLine;
+        }
+    }
+
+    record Call(String target, boolean virtual) {
+    }
+
+    /**
+     * A decoded class and the modification time and size of the class file it was decoded from
+     */
+    private record Stamped(String stamp, ClassInfo info) {
+    }
+
+    /**
+     * Binary file of decoded classes keyed by class file path; unreadable or outdated caches are ignored.
+     * Names repeat across classes, so each distinct string is written once and referred to by index.
+     */
+    private static final class GraphCache {
+        private static final int VERSION = 2;
+
+        static Map<String, Stamped> read(Path file) {
+            if (!Files.isRegularFile(file)) {
+                return Map.of();
+            }
+            Map<String, Stamped> classes = new HashMap<>();
+            try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                if (in.readInt() != VERSION) {
+                    return Map.of();
+                }
+                String[] strings = new String[in.readInt()];
+                for (int i = 0; i < strings.length; i++) {
+                    strings[i] = in.readUTF();
+                }
+                Reader reader = new Reader(in, strings);
+                for (int count = in.readInt(); count > 0; count--) {
+                    String path = reader.string();
+                    String stamp = reader.string();
+                    classes.put(path, new Stamped(stamp, reader.info()));
+                }
+                return classes;
+            } catch (IOException | RuntimeException e) {
+                return Map.of();
+            }
+        }
+
+        static void write(Path file, Map<String, Stamped> classes) {
+            Writer writer = new Writer();
+            writer.writeInt(classes.size());
+            classes.forEach((path, stamped) -> {
+                writer.string(path);
+                writer.string(stamped.stamp);
+                writer.info(stamped.info);
+            });
+            try {
+                Files.createDirectories(file.toAbsolutePath().getParent());
+                try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file)))) {
+                    out.writeInt(VERSION);
+                    out.writeInt(writer.strings.size());
+                    for (String string : writer.strings.keySet()) {
+                        out.writeUTF(string);
+                    }
+                    out.write(writer.body.toByteArray());
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to write call graph cache " + file, e);
+            }
+        }
+
+        private static final class Reader {
+            private final DataInputStream in;
+            private final String[] strings;
+
+            Reader(DataInputStream in, String[] strings) {
+                this.in = in;
+                this.strings = strings;
+            }
+
+            String string() throws IOException {
+                int index = in.readInt();
+                return index < 0 ? null : strings[index];
+            }
+
+            <C extends Collection<String>> C strings(C target) throws IOException {
+                for (int count = in.readInt(); count > 0; count--) {
+                    target.add(string());
+                }
+                return target;
+            }
+
+            ClassInfo info() throws IOException {
+                String name = string();
+                String superName = string();
+                ClassInfo info = new ClassInfo(name, superName, strings(new ArrayList<>()));
+                info.sourceFile = string();
+                strings(info.strings);
+                for (int count = in.readInt(); count > 0; count--) {
+                    String signature = string();
+                    MethodInfo method = new MethodInfo(in.readInt());
+                    for (int calls = in.readInt(); calls > 0; calls--) {
+                        method.calls.add(new Call(string(), in.readBoolean()));
+                    }
+                    strings(method.types);
+                    strings(method.instantiated);
+                    method.firstLine = in.readInt();
+                    method.lastLine = in.readInt();
+                    info.methods.put(signature, method);
+                }
+                return info;
+            }
+        }
+
+        /**
+         * Collects the string table while writing the body; in memory, so failures are not expected
+         */
+        private static final class Writer {
+            private final Map<String, Integer> strings = new LinkedHashMap<>();
+            private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+            private final DataOutputStream out = new DataOutputStream(body);
+
+            void string(String string) {
+                writeInt(string == null ? -1 : strings.computeIfAbsent(string, key -> strings.size()));
+            }
+
+            void strings(Collection<String> values) {
+                writeInt(values.size());
+                values.forEach(this::string);
+            }
+
+            void info(ClassInfo info) {
+                string(info.name);
+                string(info.superName);
+                strings(info.interfaces);
+                string(info.sourceFile);
+                strings(info.strings);
+                writeInt(info.methods.size());
+                info.methods.forEach((signature, method) -> {
+                    string(signature);
+                    writeInt(method.access);
+                    writeInt(method.calls.size());
+                    for (Call call : method.calls) {
+                        string(call.target());
+                        writeBoolean(call.virtual());
+                    }
+                    strings(method.types);
+                    strings(method.instantiated);
+                    writeInt(method.firstLine);
+                    writeInt(method.lastLine);
+                });
+            }
+
+            private void writeInt(int value) {
+                try {
+                    out.writeInt(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private void writeBoolean(boolean value) {
+                try {
+                    out.writeBoolean(value);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Decoder for the parts of the class file format the graph needs
+     */
+    private static final class ClassReader {
+        private final DataInputStream in;
+        private Object[] pool;
+        private int[] tags;
+
+        private ClassReader(byte[] bytes) {
+            this.in = new DataInputStream(new ByteArrayInputStream(bytes));
+        }
+
+        static ClassInfo read(byte[] bytes) throws IOException {
+            return new ClassReader(bytes).read();
+        }
+
+        private ClassInfo read() throws IOException {
+            in.readInt(); // magic
+            in.readUnsignedShort(); // minor version
+            in.readUnsignedShort(); // major version
+            readConstantPool();
+
+            in.readUnsignedShort(); // access flags
+            String name = className(in.readUnsignedShort());
+            int superIndex = in.readUnsignedShort();
+            List<String> interfaces = new ArrayList<>();
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                interfaces.add(className(in.readUnsignedShort()));
+            }
+            ClassInfo info = new ClassInfo(name, superIndex == 0 ? null : className(superIndex), interfaces);
+            for (int i = 1; i < pool.length; i++) {
+                if (tags[i] == 8) {
+                    info.strings.add((String) pool[(Integer) pool[i]]);
+                }
+            }
+
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                in.readUnsignedShort();
+                in.readUnsignedShort();
+                in.readUnsignedShort();
+                skipAttributes();
+            }
+
+            // Lambdas name their target in the BootstrapMethods attribute, which follows the methods
+            Map<MethodInfo, List<Integer>> dynamicCalls = new HashMap<>();
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                int access = in.readUnsignedShort();
+                String signature = utf8(in.readUnsignedShort()) + utf8(in.readUnsignedShort());
+                MethodInfo method = new MethodInfo(access);
+                List<Integer> bootstraps = new ArrayList<>();
+                for (int attributes = in.readUnsignedShort(); attributes > 0; attributes--) {
+                    String attribute = utf8(in.readUnsignedShort());
+                    int length = in.readInt();
+                    if ("Code".equals(attribute)) {
+                        readCode(method, bootstraps);
+                    } else {
+                        in.skipNBytes(length);
+                    }
+                }
+                dynamicCalls.put(method, bootstraps);
+                info.methods.put(signature, method);
+            }
+
+            List<List<String>> bootstrapTargets = new ArrayList<>();
+            for (int attributes = in.readUnsignedShort(); attributes > 0; attributes--) {
+                String attribute = utf8(in.readUnsignedShort());
+                int length = in.readInt();
+                if ("SourceFile".equals(attribute)) {
+                    info.sourceFile = utf8(in.readUnsignedShort());
+                } else if ("BootstrapMethods".equals(attribute)) {
+                    for (int count = in.readUnsignedShort(); count > 0; count--) {
+                        in.readUnsignedShort(); // bootstrap method handle
+                        List<String> targets = new ArrayList<>();
+                        for (int arguments = in.readUnsignedShort(); arguments > 0; arguments--) {
+                            int argument = in.readUnsignedShort();
+                            if (tags[argument] == 15) {
+                                targets.add(memberNode((Integer) pool[argument]));
+                            }
+                        }
+                        bootstrapTargets.add(targets);
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+            dynamicCalls.forEach((method, bootstraps) -> bootstraps.forEach(index ->
+                    bootstrapTargets.get(index).forEach(target -> method.calls.add(new Call(target, false)))));
+            if (info.sourceFile == null) {
+                String simple = name.substring(name.lastIndexOf('/') + 1);
+                info.sourceFile = (simple.contains("$") ? simple.substring(0, simple.indexOf('$')) : simple) + ".java";
+            }
+            return info;
+        }
+
+        private void readConstantPool() throws IOException {
+            int count = in.readUnsignedShort();
+            pool = new Object[count];
+            tags = new int[count];
+            for (int i = 1; i < count; i++) {
+                int tag = in.readUnsignedByte();
+                tags[i] = tag;
+                switch (tag) {
+                    case 1 -> pool[i] = in.readUTF();
+                    case 3, 4 -> in.readInt();
+                    case 5, 6 -> {
+                        in.readLong();
+                        i++;
+                    }
+                    case 7, 8, 16, 19, 20 -> pool[i] = in.readUnsignedShort();
+                    case 9, 10, 11, 12, 17, 18 -> pool[i] = new int[]{in.readUnsignedShort(), in.readUnsignedShort()};
+                    case 15 -> {
+                        in.readUnsignedByte();
+                        pool[i] = in.readUnsignedShort();
+                    }
+                    default -> throw new IOException("Unknown constant pool tag " + tag);
+                }
+            }
+        }
+
+        private void skipAttributes() throws IOException {
+            for (int count = in.readUnsignedShort(); count > 0; count--) {
+                in.readUnsignedShort();
+                in.skipNBytes(in.readInt());
+            }
+        }
+
+        private void readCode(MethodInfo method, List<Integer> bootstraps) throws IOException {
+            in.readUnsignedShort(); // max stack
+            in.readUnsignedShort(); // max locals
+            byte[] code = new byte[in.readInt()];
+            in.readFully(code);
+            readInstructions(code, method, bootstraps);
+            in.skipNBytes(in.readUnsignedShort() * 8L);
+            for (int attributes = in.readUnsignedShort(); attributes > 0; attributes--) {
+                String attribute = utf8(in.readUnsignedShort());
+                int length = in.readInt();
+                if ("LineNumberTable".equals(attribute)) {
+                    for (int count = in.readUnsignedShort(); count > 0; count--) {
+                        in.readUnsignedShort();
+                        int line = in.readUnsignedShort();
+                        method.firstLine = Math.min(method.firstLine, line);
+                        method.lastLine = Math.max(method.lastLine, line);
+                    }
+                } else {
+                    in.skipNBytes(length);
+                }
+            }
+        }
+
+        private void readInstructions(byte[] code, MethodInfo method, List<Integer> bootstraps) {
+            int pc = 0;
+            while (pc < code.length) {
+                int opcode = code[pc] & 0xff;
+                switch (opcode) {
+                    case 0xb2, 0xb3, 0xb4, 0xb5 -> addType(method, memberOwner(u2(code, pc + 1)));
+                    case 0xb6, 0xb9 -> method.calls.add(new Call(memberNode(u2(code, pc + 1)), true));
+                    case 0xb7, 0xb8 -> method.calls.add(new Call(memberNode(u2(code, pc + 1)), false));
+                    case 0xba -> bootstraps.add(((int[]) pool[u2(code, pc + 1)])[0]);
+                    case 0xbb -> {
+                        String type = className(u2(code, pc + 1));
+                        addType(method, type);
+                        method.instantiated.add(type);
+                    }
+                    case 0xbd, 0xc0, 0xc1, 0xc5 -> addType(method, className(u2(code, pc + 1)));
+                    case 0x12 -> addLoadedClass(method, code[pc + 1] & 0xff);
+                    case 0x13 -> addLoadedClass(method, u2(code, pc + 1));
+                    default -> {
+                    }
+                }
+                pc += length(code, pc);
+            }
+        }
+
+        private void addLoadedClass(MethodInfo method, int index) {
+            if (tags[index] == 7) {
+                addType(method, className(index));
+            }
+        }
+
+        private static void addType(MethodInfo method, String type) {
+            int dimensions = 0;
+            while (type.charAt(dimensions) == '[') {
+                dimensions++;
+            }
+            String element = type.substring(dimensions);
+            if (element.startsWith("L") && element.endsWith(";")) {
+                element = element.substring(1, element.length() - 1);
+            }
+            method.types.add(element);
+        }
+
+        /**
+         * Length of the instruction at pc, operands included
+         */
+        private static int length(byte[] code, int pc) {
+            int opcode = code[pc] & 0xff;
+            if (opcode == 0xaa || opcode == 0xab) {
+                int operands = (pc + 4) & ~3;
+                if (opcode == 0xaa) {
+                    int low = s4(code, operands + 4);
+                    int high = s4(code, operands + 8);
+                    return operands - pc + 12 + (high - low + 1) * 4;
+                }
+                return operands - pc + 8 + s4(code, operands + 4) * 8;
+            }
+            if (opcode == 0xc4) {
+                return (code[pc + 1] & 0xff) == 0x84 ? 6 : 4;
+            }
+            if (opcode == 0x10 || opcode == 0x12 || (opcode >= 0x15 && opcode <= 0x19)
+                    || (opcode >= 0x36 && opcode <= 0x3a) || opcode == 0xa9 || opcode == 0xbc) {
+                return 2;
+            }
+            if (opcode == 0x11 || opcode == 0x13 || opcode == 0x14 || opcode == 0x84
+                    || (opcode >= 0x99 && opcode <= 0xa8) || (opcode >= 0xb2 && opcode <= 0xb8)
+                    || opcode == 0xbb || opcode == 0xbd || opcode == 0xc0 || opcode == 0xc1
+                    || opcode == 0xc6 || opcode == 0xc7) {
+                return 3;
+            }
+            if (opcode == 0xc5) {
+                return 4;
+            }
+            if (opcode == 0xb9 || opcode == 0xba || opcode == 0xc8 || opcode == 0xc9) {
+                return 5;
+            }
+            return 1;
+        }
+
+        private String memberNode(int index) {
+            int[] member = (int[]) pool[index];
+            int[] nameAndType = (int[]) pool[member[1]];
+            return node(className(member[0]), utf8(nameAndType[0]), utf8(nameAndType[1]));
+        }
+
+        private String memberOwner(int index) {
+            return className(((int[]) pool[index])[0]);
+        }
+
+        private String className(int index) {
+            return utf8((Integer) pool[index]);
+        }
+
+        private String utf8(int index) {
+            return (String) pool[index];
+        }
+
+        private static int u2(byte[] code, int offset) {
+            return ((code[offset] & 0xff) << 8) | (code[offset + 1] & 0xff);
+        }
+
+        private static int s4(byte[] code, int offset) {
+            return (code[offset] << 24) | ((code[offset + 1] & 0xff) << 16)
+                    | ((code[offset + 2] & 0xff) << 8) | (code[offset + 3] & 0xff);
+        }
+    }
+}
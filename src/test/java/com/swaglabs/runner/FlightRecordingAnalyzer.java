@@ -0,0 +1,164 @@
+package com.swaglabs.runner;
+
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints where the time of a test run went, from a Flight Recorder file written with the jfr profile
+ * (mvn test -Pjfr): JVM startup, suite/class/method setup and teardown, driver resolution, browser launch
+ * and quit, test bodies, steps, Selenide waits, screenshots and GC pauses.
+ * Usage: FlightRecordingAnalyzer [file.jfr], defaulting to -Djfr.file or target/tests.jfr.
+ * With parallel workers the per-category totals are summed across threads and can exceed wall clock.
+ */
+public class FlightRecordingAnalyzer {
+
+    private static final int TOP = 10;
+
+    public static void main(String[] args) throws IOException {
+        Path file = Path.of(args.length > 0 ? args[0] : System.getProperty("jfr.file", "target/tests.jfr"));
+        if (!Files.exists(file)) {
+            System.err.println("Recording not found: " + file.toAbsolutePath() + " (run the tests with -Pjfr first)");
+            System.exit(1);
+        }
+
+        Totals categories = new Totals();
+        Totals tests = new Totals();
+        Totals steps = new Totals();
+        Totals waits = new Totals();
+        Instant jvmStart = null;
+        Instant suiteStart = null;
+        Instant suiteEnd = null;
+
+        for (RecordedEvent event : RecordingFile.readAllEvents(file)) {
+            String type = event.getEventType().getName();
+            Duration duration = event.getDuration();
+            switch (type) {
+                case "jdk.JVMInformation":
+                    jvmStart = event.getInstant("jvmStartTime");
+                    break;
+                case "jdk.GCPhasePause":
+                    categories.add("JVM: GC pauses", duration);
+                    break;
+                case "com.swaglabs.Lifecycle": {
+                    String scope = event.getString("scope");
+                    String phase = event.getString("phase");
+                    if ("suite".equals(scope) && "total".equals(phase)) {
+                        suiteStart = event.getStartTime();
+                        suiteEnd = event.getEndTime();
+                    } else if ("method".equals(scope) && "total".equals(phase)) {
+                        tests.add(event.getString("name") + " [" + event.getString("status") + "]", duration);
+                        categories.add("Tests: total (setup + body + teardown)", duration);
+                    } else if (!"total".equals(phase)) {
+                        categories.add("Lifecycle: " + scope + " " + phase, duration);
+                    }
+                    break;
+                }
+                case "com.swaglabs.Driver":
+                    categories.add("Driver: " + event.getString("action") + " " + event.getString("browser"), duration);
+                    break;
+                case "com.swaglabs.Step":
+                    if (event.getInt("depth") == 0) {
+                        categories.add("Steps: top-level", duration);
+                    }
+                    steps.add(event.getString("name"), duration);
+                    break;
+                case "com.swaglabs.Wait": {
+                    String key = event.getString("subject") + " " + event.getString("element");
+                    categories.add("Waits: Selenide polling", duration);
+                    waits.add(key, duration);
+                    break;
+                }
+                case "com.swaglabs.Screenshot":
+                    categories.add("Screenshots: capture", duration);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        System.out.println();
+        System.out.println("Time attribution for " + file);
+        System.out.println("=================================================================");
+        if (suiteStart != null) {
+            System.out.printf("Suite wall clock: %s%n", format(Duration.between(suiteStart, suiteEnd)));
+            if (jvmStart != null) {
+                categories.add("JVM: startup until suite setup", Duration.between(jvmStart, suiteStart));
+            }
+        } else {
+            System.out.println("No suite lifecycle events; was the run recorded with -Pjfr?");
+        }
+        // Test bodies are what remains of each method span after its setup and teardown
+        Duration bodies = categories.total("Tests: total (setup + body + teardown)")
+                .minus(categories.total("Lifecycle: method setup"))
+                .minus(categories.total("Lifecycle: method teardown"));
+        categories.add("Tests: bodies", bodies);
+        System.out.println();
+
+        System.out.printf("%-48s %12s %8s%n", "category", "total", "count");
+        categories.sortedByTotal().forEach((name, total) ->
+                System.out.printf("%-48s %12s %8d%n", name, format(total.total), total.count));
+
+        printTop("Slowest tests", tests);
+        printTop("Steps by total time (nested steps overlap their parents)", steps);
+        printTop("Selenide waits by total time", waits);
+        System.out.println();
+    }
+
+    private static void printTop(String title, Totals totals) {
+        System.out.println();
+        System.out.println(title);
+        System.out.println("-----------------------------------------------------------------");
+        totals.sortedByTotal().entrySet().stream().limit(TOP).forEach(entry -> {
+            Total total = entry.getValue();
+            System.out.printf("%12s %6dx  max %10s  %s%n", format(total.total), total.count,
+                    format(total.max), truncate(entry.getKey(), 70));
+        });
+    }
+
+    private static String format(Duration duration) {
+        return String.format("%.1f ms", duration.toNanos() / 1_000_000.0);
+    }
+
+    private static String truncate(String value, int length) {
+        return value.length() <= length ? value : value.substring(0, length - 3) + "...";
+    }
+
+    private static final class Total {
+        private Duration total = Duration.ZERO;
+        private Duration max = Duration.ZERO;
+        private long count;
+    }
+
+    private static final class Totals {
+        private final Map<String, Total> totals = new HashMap<>();
+
+        void add(String name, Duration duration) {
+            Total total = totals.computeIfAbsent(name, key -> new Total());
+            total.total = total.total.plus(duration);
+            total.max = duration.compareTo(total.max) > 0 ? duration : total.max;
+            total.count++;
+        }
+
+        Duration total(String name) {
+            Total total = totals.get(name);
+            return total == null ? Duration.ZERO : total.total;
+        }
+
+        Map<String, Total> sortedByTotal() {
+            Map<String, Total> sorted = new LinkedHashMap<>();
+            totals.entrySet().stream()
+                    .sorted((a, b) -> b.getValue().total.compareTo(a.getValue().total))
+                    .forEach(entry -> sorted.put(entry.getKey(), entry.getValue()));
+            return sorted;
+        }
+    }
+}
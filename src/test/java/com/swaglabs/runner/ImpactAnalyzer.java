@@ -0,0 +1,367 @@
+package com.swaglabs.runner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.xml.XmlSuite;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Method;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Selects the tests a change can affect. Each test method of the suite is mapped to the page objects, data
+ * providers and utilities it reaches through a {@link CallGraph} of target/test-classes, rooted at the test
+ * method, its data provider, its class's constructor and configuration methods, and the suite's listeners.
+ * The change is the git diff against -Dimpact.base (HEAD by default, so the working tree) plus untracked files:
+ * a changed line selects the tests reaching the method compiled from it, a line outside any method selects
+ * the tests reaching its class, and a resource selects the tests reaching the classes that name it. Changes the
+ * graph cannot place (suite files, pom.xml, deleted sources, resources nothing names) select every test.
+ * Tests in the -Dimpact.always groups (smoke,critical) are always selected.
+ * Writes a copy of -Dimpact.suite restricted to the selection to -Dimpact.out, for mvn test -DsuiteXmlFile=...
+ * Compile first: the graph is read from the class files, and line numbers must match the sources. Decoded classes
+ * are cached in -Dimpact.cache and reused while their class file is unchanged.
+ */
+public class ImpactAnalyzer {
+    private static final Logger logger = LoggerFactory.getLogger(ImpactAnalyzer.class);
+
+    private static final String DEFAULT_SUITE = "src/test/resources/testng.xml";
+    private static final String DEFAULT_OUT = "target/impact/impact-suite.xml";
+    private static final String DEFAULT_CLASSES = "target/test-classes";
+    private static final String DEFAULT_CACHE = "target/impact/callgraph.cache";
+    private static final List<String> SOURCE_ROOTS = List.of("src/main/java/", "src/test/java/");
+    private static final List<String> RESOURCE_ROOTS = List.of("src/main/resources/", "src/test/resources/");
+    private static final String SERVICES_DIR = "META-INF/services";
+    // Line marker for a file that changed as a whole (added, deleted or binary)
+    private static final int WHOLE_FILE = -1;
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        long started = System.nanoTime();
+        String base = System.getProperty("impact.base", "HEAD");
+        Path suiteFile = Paths.get(System.getProperty("impact.suite", DEFAULT_SUITE));
+        Path outputFile = Paths.get(System.getProperty("impact.out", DEFAULT_OUT));
+        Path classesDir = Paths.get(System.getProperty("impact.classes", DEFAULT_CLASSES));
+        Path cacheFile = Paths.get(System.getProperty("impact.cache", DEFAULT_CACHE));
+        Set<String> always = Arrays.stream(System.getProperty("impact.always", "smoke,critical").split(","))
+                .map(String::trim)
+                .filter(group -> !group.isEmpty())
+                .collect(Collectors.toCollection(TreeSet::new));
+
+        // Reading the class files and loading the test classes for the suite are independent
+        CompletableFuture<CallGraph> graphLoad = CompletableFuture.supplyAsync(() -> CallGraph.load(classesDir, cacheFile));
+        Map<String, Set<Integer>> diff = diff(base);
+        XmlSuite suite = SuiteMethods.parse(suiteFile);
+        List<SuiteMethods.Selected> tests = SuiteMethods.select(suite);
+        CallGraph graph = graphLoad.join();
+        Impact impact = Impact.of(diff, graph);
+
+        Selection selection = select(tests, graph, impact, always, listenerRoots(suite, graph, classesDir));
+
+        Files.createDirectories(outputFile.toAbsolutePath().getParent());
+        Files.writeString(outputFile, SuiteMethods.copy(suite, selection.tests()).toXml(), StandardCharsets.UTF_8);
+        long elapsedMs = (System.nanoTime() - started) / 1_000_000;
+        logger.info("Impact analysis of {} classes against {} took {} ms", graph.classes().size(), base, elapsedMs);
+        printImpact(base, diff, impact, tests.size(), selection.reasons(), outputFile, elapsedMs);
+    }
+
+    /**
+     * The tests the impact reaches, those in the always groups, or every test if the impact says so
+     */
+    static Selection select(List<SuiteMethods.Selected> tests, CallGraph graph, Impact impact, Set<String> always,
+                            List<String> listenerRoots) {
+        Map<Class<?>, CallGraph.Reach> classReach = new HashMap<>();
+        Selection selection = new Selection(new LinkedHashMap<>(), new LinkedHashMap<>());
+        for (SuiteMethods.Selected test : tests) {
+            Set<String> groups = new TreeSet<>(SuiteMethods.groups(test.testClass(), test.method()));
+            groups.retainAll(always);
+            String reason;
+            if (impact.everything != null) {
+                reason = impact.everything;
+            } else if (!groups.isEmpty()) {
+                reason = "always: " + String.join(",", groups);
+            } else {
+                CallGraph.Reach common = classReach.computeIfAbsent(test.testClass(),
+                        testClass -> graph.reach(classRoots(testClass, listenerRoots)));
+                reason = impact.reason(common);
+                if (reason == null) {
+                    reason = impact.reason(graph.reach(methodRoots(test.testClass(), test.method())));
+                }
+            }
+            if (reason != null) {
+                SuiteMethods.add(selection.tests(), test.xmlTest().getName(), test.testClass().getName(), test.method().getName());
+                selection.reasons().put(test.xmlTest().getName() + " " + test.name(), reason);
+            }
+        }
+        return selection;
+    }
+
+    /**
+     * Selected tests, for {@link SuiteMethods#copy(XmlSuite, Map)}, and the change that selected each of them
+     */
+    record Selection(Map<String, Map<String, Map<String, List<Integer>>>> tests, Map<String, String> reasons) {
+    }
+
+    /**
+     * Changed lines per file relative to the working directory, from git diff -U0 and untracked files
+     */
+    private static Map<String, Set<Integer>> diff(String base) throws IOException, InterruptedException {
+        Map<String, Set<Integer>> changes = new TreeMap<>();
+        String file = null;
+        for (String line : git("diff", "--relative", "--no-renames", "--no-color", "--no-ext-diff", "-U0", base)) {
+            if (line.startsWith("--- a/")) {
+                file = line.substring(6);
+            } else if (line.startsWith("+++ ")) {
+                if (line.startsWith("+++ b/")) {
+                    file = line.substring(6);
+                    changes.computeIfAbsent(file, name -> new TreeSet<>());
+                } else {
+                    // Deleted
+                    changes.computeIfAbsent(file, name -> new TreeSet<>()).add(WHOLE_FILE);
+                }
+            } else if (line.startsWith("@@ ") && file != null) {
+                // @@ -a,b +c,d @@: d lines from c replace b old ones; d == 0 removed lines after line c
+                String added = line.split(" ")[2].substring(1);
+                int comma = added.indexOf(',');
+                int start = Integer.parseInt(comma < 0 ? added : added.substring(0, comma));
+                int count = comma < 0 ? 1 : Integer.parseInt(added.substring(comma + 1));
+                Set<Integer> lines = changes.computeIfAbsent(file, name -> new TreeSet<>());
+                if (count == 0) {
+                    lines.add(start);
+                    lines.add(start + 1);
+                }
+                for (int i = 0; i < count; i++) {
+                    lines.add(start + i);
+                }
+            } else if (line.startsWith("Binary files ") && file != null) {
+                changes.computeIfAbsent(file, name -> new TreeSet<>()).add(WHOLE_FILE);
+            }
+        }
+        for (String untracked : git("ls-files", "--others", "--exclude-standard")) {
+            changes.computeIfAbsent(untracked, name -> new TreeSet<>()).add(WHOLE_FILE);
+        }
+        // Mode-only changes have no lines
+        changes.values().removeIf(Set::isEmpty);
+        return changes;
+    }
+
+    private static List<String> git(String... args) throws IOException, InterruptedException {
+        List<String> command = new ArrayList<>(List.of("git"));
+        command.addAll(List.of(args));
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        List<String> lines;
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+            lines = reader.lines().collect(Collectors.toList());
+        }
+        if (process.waitFor() != 0) {
+            throw new IllegalStateException(String.join(" ", command) + " failed: " + String.join("\n", lines));
+        }
+        return lines;
+    }
+
+    /**
+     * Methods of the suite's listeners and of the TestNG and Allure listeners registered as services
+     */
+    static List<String> listenerRoots(XmlSuite suite, CallGraph graph, Path classesDir) throws IOException {
+        Set<String> listeners = new TreeSet<>(suite.getListeners());
+        Path services = classesDir.resolve(SERVICES_DIR);
+        if (Files.isDirectory(services)) {
+            try (Stream<Path> files = Files.list(services)) {
+                for (Path file : files.sorted().collect(Collectors.toList())) {
+                    Files.readAllLines(file).stream()
+                            .map(line -> line.replaceFirst("#.*", "").trim())
+                            .filter(line -> !line.isEmpty())
+                            .forEach(listeners::add);
+                }
+            }
+        }
+        List<String> roots = new ArrayList<>();
+        for (CallGraph.ClassInfo info : graph.classes()) {
+            if (listeners.contains(info.name.replace('/', '.'))) {
+                info.methods.keySet().forEach(signature -> roots.add(CallGraph.node(info.name, signature, "")));
+            }
+        }
+        return roots;
+    }
+
+    /**
+     * What every test of a class runs: its construction, configuration methods and the listeners
+     */
+    private static List<String> classRoots(Class<?> testClass, List<String> listenerRoots) {
+        List<String> roots = new ArrayList<>(listenerRoots);
+        roots.add(CallGraph.node(internalName(testClass), "<init>", "()V"));
+        roots.add(CallGraph.node(internalName(testClass), "<clinit>", "()V"));
+        SuiteMethods.configurationMethods(testClass).forEach(method -> roots.add(node(method)));
+        return roots;
+    }
+
+    private static List<String> methodRoots(Class<?> testClass, Method method) {
+        List<String> roots = new ArrayList<>(List.of(node(method)));
+        Method provider = SuiteMethods.dataProvider(testClass, method);
+        if (provider != null) {
+            roots.add(node(provider));
+            roots.add(CallGraph.node(internalName(provider.getDeclaringClass()), "<clinit>", "()V"));
+        }
+        return roots;
+    }
+
+    private static String node(Method method) {
+        String parameters = Arrays.stream(method.getParameterTypes())
+                .map(Class::descriptorString)
+                .collect(Collectors.joining());
+        return CallGraph.node(internalName(method.getDeclaringClass()), method.getName(),
+                "(" + parameters + ")" + method.getReturnType().descriptorString());
+    }
+
+    private static String internalName(Class<?> type) {
+        return type.getName().replace('.', '/');
+    }
+
+    /**
+     * The changed methods and classes in the call graph, or the reason every test is affected
+     */
+    static final class Impact {
+        private final Map<String, String> methods = new TreeMap<>();
+        private final Map<String, String> classes = new TreeMap<>();
+        private final List<String> ignored = new ArrayList<>();
+        private String everything;
+
+        static Impact of(Map<String, Set<Integer>> diff, CallGraph graph) {
+            Impact impact = new Impact();
+            diff.forEach((file, lines) -> impact.place(file, lines, graph));
+            return impact;
+        }
+
+        private void place(String file, Set<Integer> lines, CallGraph graph) {
+            String sourceRoot = SOURCE_ROOTS.stream().filter(file::startsWith).findFirst().orElse(null);
+            String resourceRoot = RESOURCE_ROOTS.stream().filter(file::startsWith).findFirst().orElse(null);
+            if (sourceRoot != null && file.endsWith(".java")) {
+                placeSource(file, file.substring(sourceRoot.length()), lines, graph);
+            } else if (resourceRoot != null) {
+                placeResource(file, file.substring(resourceRoot.length()), graph);
+            } else if (file.equals("pom.xml")) {
+                everyTest(file + " changed");
+            } else {
+                ignored.add(file);
+            }
+        }
+
+        private void placeSource(String file, String sourcePath, Set<Integer> lines, CallGraph graph) {
+            List<CallGraph.ClassInfo> compiled = graph.classes().stream()
+                    .filter(info -> info.sourcePath().equals(sourcePath))
+                    .collect(Collectors.toList());
+            if (lines.contains(WHOLE_FILE) && compiled.isEmpty()) {
+                everyTest(file + " was added or deleted and is not in the compiled classes");
+                return;
+            }
+            if (compiled.isEmpty()) {
+                everyTest(file + " is not in the compiled classes, run test-compile first");
+                return;
+            }
+            for (int line : lines) {
+                boolean inMethod = false;
+                for (CallGraph.ClassInfo info : compiled) {
+                    for (Map.Entry<String, CallGraph.MethodInfo> method : info.methods.entrySet()) {
+                        if (line != WHOLE_FILE && method.getValue().containsLine(line)) {
+                            methods.putIfAbsent(CallGraph.node(info.name, method.getKey(), ""), file + ":" + line);
+                            inMethod = true;
+                        }
+                    }
+                }
+                if (!inMethod) {
+                    // Fields, annotations, imports: anything using the class may see the change
+                    compiled.forEach(info -> classes.putIfAbsent(info.name,
+                            line == WHOLE_FILE ? file : file + ":" + line));
+                }
+            }
+        }
+
+        private void placeResource(String file, String resourcePath, CallGraph graph) {
+            if (resourcePath.endsWith(".xml")) {
+                everyTest(file + " changed");
+                return;
+            }
+            String fileName = resourcePath.substring(resourcePath.lastIndexOf('/') + 1);
+            boolean named = false;
+            for (CallGraph.ClassInfo info : graph.classes()) {
+                boolean names = info.strings.stream().anyMatch(constant -> constant.equals(fileName)
+                        || constant.equals(resourcePath) || constant.endsWith("/" + fileName)
+                        || (constant.endsWith("/") && resourcePath.startsWith(constant)));
+                if (names) {
+                    classes.putIfAbsent(info.name, file);
+                    named = true;
+                }
+            }
+            if (!named) {
+                everyTest(file + " is not named by any class");
+            }
+        }
+
+        private void everyTest(String reason) {
+            if (everything == null) {
+                everything = reason;
+            }
+        }
+
+        /**
+         * The change a reach includes, or null if it includes none
+         */
+        String reason(CallGraph.Reach reach) {
+            for (Map.Entry<String, String> method : methods.entrySet()) {
+                if (reach.methods().contains(method.getKey())) {
+                    return simpleName(method.getKey()) + " (" + method.getValue() + ")";
+                }
+            }
+            for (Map.Entry<String, String> changed : classes.entrySet()) {
+                if (reach.classes().contains(changed.getKey())) {
+                    return simpleName(changed.getKey()) + " (" + changed.getValue() + ")";
+                }
+            }
+            return null;
+        }
+
+        private static String simpleName(String node) {
+            String name = node.substring(0, node.indexOf('.') < 0 ? node.length() : node.indexOf('('));
+            return name.substring(name.lastIndexOf('/') + 1);
+        }
+    }
+
+    private static void printImpact(String base, Map<String, Set<Integer>> diff, Impact impact, int total,
+                                    Map<String, String> reasons, Path outputFile, long elapsedMs) {
+        System.out.println();
+        System.out.println("Change impact against " + base);
+        System.out.println("=".repeat(60));
+        System.out.printf("Changed files: %d (%d ignored)%n", diff.size(), impact.ignored.size());
+        impact.methods.forEach((node, where) -> {
+            // Lambda bodies are reported through the method that declares them
+            if (!node.contains(".lambda$")) {
+                System.out.println("  method " + Impact.simpleName(node) + "  " + where);
+            }
+        });
+        impact.classes.forEach((node, where) -> System.out.println("  class  " + Impact.simpleName(node) + "  " + where));
+        if (impact.everything != null) {
+            System.out.println("  every test: " + impact.everything);
+        }
+        System.out.println();
+        System.out.printf("Selected %d of %d tests%n", reasons.size(), total);
+        reasons.forEach((test, reason) -> System.out.printf("  %-55s %s%n", test, reason));
+        System.out.println("Suite: " + outputFile.toAbsolutePath() + " (" + elapsedMs + " ms)");
+        System.out.println();
+    }
+}
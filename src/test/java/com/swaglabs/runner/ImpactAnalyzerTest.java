@@ -0,0 +1,131 @@
+package com.swaglabs.runner;
+
+import org.testng.annotations.BeforeClass;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks which tests a change selects, on fixture classes read from the compiled test classes; no browser is
+ * involved and git is not called
+ */
+public class ImpactAnalyzerTest {
+    private static final Path CLASSES = Paths.get("target/test-classes");
+    private static final String SOURCE = "src/test/java/com/swaglabs/runner/ImpactAnalyzerTest.java";
+    private static final Set<String> ALWAYS = Set.of("smoke", "critical");
+
+    private CallGraph graph;
+    private XmlSuite suite;
+    private List<SuiteMethods.Selected> tests;
+
+    /**
+     * Stands in for a page object
+     */
+    static class Catalog {
+        private final String name = "catalog";
+
+        public int count() {
+            return name.length();
+        }
+
+        public String title() {
+            return name.toUpperCase();
+        }
+    }
+
+    /**
+     * Stands in for a test class; only the graph reads it, the suite under test names it
+     */
+    static class CatalogTests {
+        @Test(groups = {"regression"})
+        public void testCount() {
+            new Catalog().count();
+        }
+
+        @Test(groups = {"regression"})
+        public void testTitle() {
+            new Catalog().title();
+        }
+
+        @Test(groups = {"regression"})
+        public void testCountThroughHelper() {
+            countItems();
+        }
+
+        @Test(groups = {"smoke"})
+        public void testOpen() {
+        }
+
+        @Test(groups = {"regression", "critical"})
+        public void testPay() {
+        }
+
+        private int countItems() {
+            return new Catalog().count();
+        }
+    }
+
+    @BeforeClass(alwaysRun = true)
+    public void loadGraph() {
+        graph = CallGraph.load(CLASSES);
+        suite = new XmlSuite();
+        suite.setName("Impact");
+        XmlTest xmlTest = new XmlTest(suite);
+        xmlTest.setName("Catalog-Tests");
+        xmlTest.setXmlClasses(List.of(new XmlClass(CatalogTests.class.getName(), false)));
+        tests = SuiteMethods.select(suite);
+    }
+
+    private CallGraph.MethodInfo catalogMethod(String signature) {
+        return graph.classes().stream()
+                .filter(info -> info.name.equals(Catalog.class.getName().replace('.', '/')))
+                .findFirst()
+                .orElseThrow()
+                .methods.get(signature);
+    }
+
+    private Set<String> selected(Map<String, Set<Integer>> diff) throws IOException {
+        ImpactAnalyzer.Selection selection = ImpactAnalyzer.select(tests, graph,
+                ImpactAnalyzer.Impact.of(diff, graph), ALWAYS, ImpactAnalyzer.listenerRoots(suite, graph, CLASSES));
+        return selection.tests().get("Catalog-Tests").get(CatalogTests.class.getName()).keySet();
+    }
+
+    @Test(groups = {"unit"})
+    public void testChangedMethodSelectsItsCallersAndTheAlwaysGroups() throws IOException {
+        int line = catalogMethod("count()I").firstLine;
+
+        assertThat(selected(Map.of(SOURCE, Set.of(line))))
+                .containsExactlyInAnyOrder("testCount", "testCountThroughHelper", "testOpen", "testPay");
+    }
+
+    @Test(groups = {"unit"})
+    public void testChangeOutsideMethodsSelectsEveryTestReachingTheClass() throws IOException {
+        // The line declaring count() compiles to no code, so it is placed like a field or annotation change
+        int line = catalogMethod("count()I").firstLine - 1;
+
+        assertThat(selected(Map.of(SOURCE, Set.of(line))))
+                .containsExactlyInAnyOrder("testCount", "testTitle", "testCountThroughHelper", "testOpen", "testPay");
+    }
+
+    @Test(groups = {"unit"})
+    public void testUnrelatedChangeSelectsOnlyTheAlwaysGroups() throws IOException {
+        assertThat(selected(Map.of("docs/notes.md", Set.of(1))))
+                .containsExactlyInAnyOrder("testOpen", "testPay");
+    }
+
+    @Test(groups = {"unit"})
+    public void testSuiteFileChangeSelectsEveryTest() throws IOException {
+        assertThat(selected(Map.of("src/test/resources/testng.xml", Set.of(3))))
+                .containsExactlyInAnyOrder("testCount", "testTitle", "testCountThroughHelper", "testOpen", "testPay");
+    }
+}
@@ -0,0 +1,119 @@
+package com.swaglabs.runner;
+
+import com.swaglabs.utils.ConfigManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.TestListenerAdapter;
+import org.testng.TestNG;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Runs a suite repeatedly at increasing thread counts and reports wall-clock speedup
+ * relative to the single-threaded run.
+ * Configure with -Dstress.suite=path/to/suite.xml, -Dstress.threads=1,2,4,8 and
+ * -Dparallel.mode=methods|classes (defaults to the regression suite, 1/2/4/8 threads, methods).
+ */
+public class ParallelStressRunner {
+    private static final Logger logger = LoggerFactory.getLogger(ParallelStressRunner.class);
+
+    private static final String DEFAULT_SUITE = "src/test/resources/regression-suite.xml";
+    private static final String DEFAULT_THREADS = "1,2,4,8";
+
+    public static void main(String[] args) {
+        String suite = System.getProperty("stress.suite", DEFAULT_SUITE);
+        String mode = System.getProperty("parallel.mode", "methods");
+        List<Integer> threadCounts = parseThreadCounts(System.getProperty("stress.threads", DEFAULT_THREADS));
+
+        // The cap must not hide the thread counts we are trying to measure
+        int maxThreads = threadCounts.stream().mapToInt(Integer::intValue).max().orElse(1);
+        System.setProperty("parallel.threads.max", String.valueOf(maxThreads));
+
+        List<RunResult> results = new ArrayList<>();
+        for (int threads : threadCounts) {
+            results.add(runSuite(suite, mode, threads));
+        }
+
+        printReport(suite, mode, results);
+
+        boolean anyFailures = results.stream().anyMatch(result -> result.failed > 0);
+        System.exit(anyFailures ? 1 : 0);
+    }
+
+    private static RunResult runSuite(String suite, String mode, int threads) {
+        logger.info("Running {} with parallel={} threads={}", suite, mode, threads);
+        System.setProperty("parallel.mode", threads > 1 ? mode : "none");
+        System.setProperty("parallel.threads", String.valueOf(threads));
+        ConfigManager.getInstance().reload();
+
+        TestListenerAdapter results = new TestListenerAdapter();
+        TestNG testng = new TestNG();
+        testng.setTestSuites(List.of(suite));
+        testng.addListener(results);
+        testng.setVerbose(0);
+
+        long start = System.nanoTime();
+        testng.run();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        RunResult result = new RunResult(threads, elapsedMillis,
+                results.getPassedTests().size(), results.getFailedTests().size(),
+                results.getSkippedTests().size());
+        logger.info("Completed threads={} in {} ms (passed={}, failed={}, skipped={})",
+                threads, elapsedMillis, result.passed, result.failed, result.skipped);
+        return result;
+    }
+
+    private static void printReport(String suite, String mode, List<RunResult> results) {
+        long baselineMillis = results.get(0).elapsedMillis * results.get(0).threads;
+
+        System.out.println();
+        System.out.println("Parallel stress results for " + suite + " (parallel=" + mode + ")");
+        System.out.println("=====================================================================");
+        System.out.printf("%8s %12s %9s %11s %7s %7s %8s%n",
+                "threads", "wall ms", "speedup", "efficiency", "passed", "failed", "skipped");
+        for (RunResult result : results) {
+            double speedup = (double) results.get(0).elapsedMillis / Math.max(1, result.elapsedMillis);
+            double efficiency = (double) baselineMillis / Math.max(1, result.elapsedMillis * result.threads);
+            System.out.printf("%8d %12d %8.2fx %10.0f%% %7d %7d %8d%n",
+                    result.threads, result.elapsedMillis, speedup, efficiency * 100,
+                    result.passed, result.failed, result.skipped);
+        }
+        System.out.println();
+    }
+
+    private static List<Integer> parseThreadCounts(String value) {
+        List<Integer> threadCounts = new ArrayList<>();
+        for (String part : value.split(",")) {
+            try {
+                int threads = Integer.parseInt(part.trim());
+                if (threads > 0) {
+                    threadCounts.add(threads);
+                }
+            } catch (NumberFormatException e) {
+                logger.warn("Ignoring invalid thread count '{}'", part);
+            }
+        }
+        if (threadCounts.isEmpty()) {
+            threadCounts.add(1);
+        }
+        return threadCounts;
+    }
+
+    private static final class RunResult {
+        private final int threads;
+        private final long elapsedMillis;
+        private final int passed;
+        private final int failed;
+        private final int skipped;
+
+        RunResult(int threads, long elapsedMillis, int passed, int failed, int skipped) {
+            this.threads = threads;
+            this.elapsedMillis = elapsedMillis;
+            this.passed = passed;
+            this.failed = failed;
+            this.skipped = skipped;
+        }
+    }
+}
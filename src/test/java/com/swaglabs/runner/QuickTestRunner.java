@@ -37,6 +37,11 @@ public class QuickTestRunner {
                 case "single":
                     runSingleTest();
                     break;
+                case "daemon":
+                    // Stays resident with warm browsers until a stop request
+                    TestDaemon.serve(config.getDaemonPort());
+                    System.exit(0);
+                    break;
                 default:
                     runSmokeTests();
             }
@@ -159,6 +164,10 @@ public class QuickTestRunner {
         System.out.println("Run single test:");
         System.out.println("  java -Dtest.type=single -Dtest.class=com.swaglabs.tests.LoginTest -Dtest.method=testLogin -cp ... com.swaglabs.runner.QuickTestRunner");
         System.out.println();
+        System.out.println("Start a resident daemon with warm browsers:");
+        System.out.println("  java -Dtest.type=daemon -cp ... com.swaglabs.runner.QuickTestRunner");
+        System.out.println("  java -cp target/test-classes com.swaglabs.runner.TestDaemonClient run class=LoginTest method=testValidLogin");
+        System.out.println();
         System.out.println("Additional options:");
         System.out.println("  -Dbrowser=chrome|firefox");
         System.out.println("  -Dheadless=true|false");
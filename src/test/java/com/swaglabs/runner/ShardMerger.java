@@ -0,0 +1,174 @@
+package com.swaglabs.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Combines the Allure results of the shards planned by {@link ShardPlanner} into one results directory and
+ * reports each shard's predicted duration next to its actual one, taken from the first start to the last stop
+ * recorded in its results. Expects the results of shard i in &lt;shard.dir&gt;/shard-i/allure-results, copies them
+ * to -Dshard.merged (target/allure-results by default) and writes shard-report.json next to plan.json. The merged
+ * directory is emptied first, so results of earlier local runs do not end up in the merged report.
+ */
+public class ShardMerger {
+    private static final Logger logger = LoggerFactory.getLogger(ShardMerger.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String DEFAULT_DIR = "target/shards";
+    private static final String DEFAULT_MERGED = "target/allure-results";
+
+    public static void main(String[] args) throws IOException {
+        Path shardDir = Paths.get(System.getProperty("shard.dir", DEFAULT_DIR));
+        Path merged = Paths.get(System.getProperty("shard.merged", DEFAULT_MERGED));
+        JsonNode plan = objectMapper.readTree(shardDir.resolve("plan.json").toFile());
+
+        clear(shardDir, merged);
+        List<ShardResult> results = new ArrayList<>();
+        for (JsonNode shard : plan.path("plan")) {
+            int index = shard.path("index").asInt();
+            results.add(merge(index, shard.path("tests").size(), shard.path("predictedMs").asLong(),
+                    shardDir.resolve("shard-" + index).resolve("allure-results"), merged));
+        }
+
+        writeReport(shardDir.resolve("shard-report.json"), plan.path("suite").asText(), results);
+        printReport(merged, results);
+    }
+
+    private static void clear(Path shardDir, Path merged) throws IOException {
+        if (shardDir.toAbsolutePath().normalize().startsWith(merged.toAbsolutePath().normalize())) {
+            throw new IllegalArgumentException("shard.merged must not contain the shard directory " + shardDir
+                    + ", it is emptied before merging");
+        }
+        Files.createDirectories(merged);
+        List<Path> stale;
+        try (Stream<Path> list = Files.list(merged)) {
+            stale = list.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : stale) {
+            Files.delete(file);
+        }
+        if (!stale.isEmpty()) {
+            logger.info("Removed {} earlier result files from {}", stale.size(), merged);
+        }
+    }
+
+    private static ShardResult merge(int index, int plannedTests, long predictedMs, Path results, Path merged)
+            throws IOException {
+        if (!Files.isDirectory(results)) {
+            logger.warn("No results for shard {} in {}", index, results);
+            return new ShardResult(index, plannedTests, 0, predictedMs, -1);
+        }
+
+        long firstStart = Long.MAX_VALUE;
+        long lastStop = Long.MIN_VALUE;
+        int testResults = 0;
+        List<Path> files;
+        try (Stream<Path> list = Files.list(results)) {
+            files = list.filter(Files::isRegularFile).collect(Collectors.toList());
+        }
+        for (Path file : files) {
+            // Result and attachment names are UUIDs, so shards never overwrite each other's files
+            Files.copy(file, merged.resolve(file.getFileName()), StandardCopyOption.REPLACE_EXISTING);
+            String name = file.getFileName().toString();
+            if (!name.endsWith("-result.json") && !name.endsWith("-container.json")) {
+                continue;
+            }
+            try {
+                JsonNode node = objectMapper.readTree(file.toFile());
+                if (node.hasNonNull("start") && node.hasNonNull("stop")) {
+                    firstStart = Math.min(firstStart, node.path("start").asLong());
+                    lastStop = Math.max(lastStop, node.path("stop").asLong());
+                }
+                if (name.endsWith("-result.json")) {
+                    testResults++;
+                }
+            } catch (IOException e) {
+                logger.debug("Skipping unreadable Allure file {}: {}", file, e.getMessage());
+            }
+        }
+        long actualMs = firstStart <= lastStop ? lastStop - firstStart : -1;
+        logger.info("Merged {} files of shard {} from {}", files.size(), index, results);
+        return new ShardResult(index, plannedTests, testResults, predictedMs, actualMs);
+    }
+
+    private static void writeReport(Path file, String suite, List<ShardResult> results) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("suite", suite);
+        json.put("predictedMakespanMs", results.stream().mapToLong(result -> result.predictedMs).max().orElse(0));
+        json.put("actualMakespanMs", results.stream().mapToLong(result -> result.actualMs).max().orElse(-1));
+        json.put("shards", results.stream().map(result -> {
+            Map<String, Object> shard = new LinkedHashMap<>();
+            shard.put("index", result.index);
+            shard.put("plannedTests", result.plannedTests);
+            shard.put("testResults", result.testResults);
+            shard.put("predictedMs", result.predictedMs);
+            shard.put("actualMs", result.actualMs);
+            return shard;
+        }).collect(Collectors.toList()));
+        objectMapper.writeValue(file.toFile(), json);
+    }
+
+    private static void printReport(Path merged, List<ShardResult> results) {
+        System.out.println();
+        System.out.println("Shard makespan: predicted vs actual");
+        System.out.println("=".repeat(60));
+        System.out.printf("%-7s %8s %9s %11s %11s %8s%n", "Shard", "Planned", "Results", "Predicted", "Actual", "Error");
+        for (ShardResult result : results) {
+            if (result.actualMs < 0) {
+                System.out.printf("%-7d %8d %9s %10.1fs %11s %8s%n",
+                        result.index, result.plannedTests, "-", result.predictedMs / 1000.0, "missing", "-");
+            } else {
+                System.out.printf("%-7d %8d %9d %10.1fs %10.1fs %+7.1f%%%n",
+                        result.index, result.plannedTests, result.testResults, result.predictedMs / 1000.0,
+                        result.actualMs / 1000.0, result.errorPercent());
+            }
+        }
+
+        long predicted = results.stream().mapToLong(result -> result.predictedMs).max().orElse(0);
+        List<Long> actual = results.stream().filter(result -> result.actualMs >= 0)
+                .map(result -> result.actualMs).collect(Collectors.toList());
+        if (!actual.isEmpty()) {
+            long makespan = actual.stream().mapToLong(Long::longValue).max().orElse(0);
+            double mean = actual.stream().mapToLong(Long::longValue).average().orElse(0);
+            System.out.printf("Makespan predicted %.1fs, actual %.1fs; slowest shard is %.2fx the mean%n",
+                    predicted / 1000.0, makespan / 1000.0, mean == 0 ? 0.0 : makespan / mean);
+        }
+        System.out.println("Merged results: " + merged.toAbsolutePath());
+        System.out.println();
+    }
+
+    private static final class ShardResult {
+        private final int index;
+        private final int plannedTests;
+        private final int testResults;
+        private final long predictedMs;
+        private final long actualMs;
+
+        ShardResult(int index, int plannedTests, int testResults, long predictedMs, long actualMs) {
+            this.index = index;
+            this.plannedTests = plannedTests;
+            this.testResults = testResults;
+            this.predictedMs = predictedMs;
+            this.actualMs = actualMs;
+        }
+
+        double errorPercent() {
+            return predictedMs == 0 ? 0.0 : (actualMs - predictedMs) * 100.0 / predictedMs;
+        }
+    }
+}
@@ -0,0 +1,410 @@
+package com.swaglabs.runner;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.swaglabs.utils.RegressionDetector;
+import io.qameta.allure.util.ObjectUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlSuite;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits a TestNG suite into K shards of about equal predicted duration, so the suite can run on K workers.
+ * Every test method is expanded into its data-provider rows, each row is costed from earlier Allure results
+ * (its own duration plus its share of the per-method and per-class fixtures that ran around it), and the rows
+ * are bin-packed longest first onto the least loaded shard. Each shard becomes a TestNG suite that keeps the
+ * original tests, parameters, groups and listeners and selects rows with invocation-numbers, which Surefire
+ * includes cannot express. plan.json records the prediction for {@link ShardMerger}.
+ * Configure with -Dshard.count=K, -Dshard.suite=path/to/suite.xml, -Dshard.history=dir[,dir] (Allure results,
+ * searched recursively) and -Dshard.dir=output directory.
+ */
+public class ShardPlanner {
+    private static final Logger logger = LoggerFactory.getLogger(ShardPlanner.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private static final String DEFAULT_SUITE = "src/test/resources/testng.xml";
+    private static final String DEFAULT_HISTORY = "target/allure-results,target/shards";
+    private static final String DEFAULT_DIR = "target/shards";
+    // Cost of a test nothing is known about, until the first run records one
+    private static final double DEFAULT_ESTIMATE_MS = 10_000;
+    // Fixtures that run once per shard rather than per test
+    private static final Set<String> SUITE_FIXTURES = Set.of("suiteSetup", "suiteTeardown");
+
+    public static void main(String[] args) throws IOException {
+        int shards = Integer.parseInt(System.getProperty("shard.count", "2"));
+        Path suiteFile = Paths.get(System.getProperty("shard.suite", DEFAULT_SUITE));
+        Path outputDir = Paths.get(System.getProperty("shard.dir", DEFAULT_DIR));
+        List<Path> historyDirs = Arrays.stream(System.getProperty("shard.history", DEFAULT_HISTORY).split(","))
+                .map(String::trim)
+                .filter(dir -> !dir.isEmpty())
+                .map(Paths::get)
+                .collect(Collectors.toList());
+        if (shards < 1) {
+            throw new IllegalArgumentException("shard.count must be at least 1, got " + shards);
+        }
+
+        XmlSuite suite = SuiteMethods.parse(suiteFile);
+        Durations durations = Durations.load(historyDirs);
+        List<Unit> units = expand(suite, durations);
+        List<Shard> plan = pack(units, shards);
+
+        Files.createDirectories(outputDir);
+        for (Shard shard : plan) {
+            Path file = outputDir.resolve("shard-" + shard.index + ".xml");
+            Files.writeString(file, toSuite(suite, shard).toXml(), StandardCharsets.UTF_8);
+        }
+        writePlan(outputDir.resolve("plan.json"), suiteFile, durations, plan);
+        printPlan(suiteFile, durations, units, plan);
+    }
+
+    /**
+     * Every selected test method of the suite, one unit per data-provider row
+     */
+    private static List<Unit> expand(XmlSuite suite, Durations durations) {
+        List<Unit> units = new ArrayList<>();
+        for (SuiteMethods.Selected test : SuiteMethods.select(suite)) {
+            String xmlTest = test.xmlTest().getName();
+            List<Object[]> rows = rows(test.testClass(), test.method());
+            if (rows == null) {
+                units.add(durations.estimate(xmlTest, test.testClass(), test.method(), -1, null, 0));
+            } else {
+                for (int row = 0; row < rows.size(); row++) {
+                    units.add(durations.estimate(xmlTest, test.testClass(), test.method(), row, rows.get(row), rows.size()));
+                }
+            }
+        }
+        return units;
+    }
+
+    /**
+     * Longest processing time first: each unit goes to the shard that currently finishes earliest
+     */
+    static List<Shard> pack(List<Unit> units, int count) {
+        List<Shard> shards = new ArrayList<>();
+        for (int i = 1; i <= count; i++) {
+            shards.add(new Shard(i));
+        }
+        units.stream()
+                .sorted(Comparator.comparingDouble((Unit unit) -> unit.estimateMs).reversed())
+                .forEach(unit -> shards.stream()
+                        .min(Comparator.comparingDouble((Shard shard) -> shard.predictedMs))
+                        .orElseThrow()
+                        .add(unit));
+        return shards;
+    }
+
+    /**
+     * The original suite restricted to the units of one shard
+     */
+    static XmlSuite toSuite(XmlSuite original, Shard shard) {
+        Map<String, Map<String, Map<String, List<Integer>>>> selection = new LinkedHashMap<>();
+        shard.units.stream()
+                .sorted(Comparator.comparing((Unit unit) -> unit.methodName).thenComparingInt(unit -> unit.row))
+                .forEach(unit -> {
+                    List<Integer> rows = SuiteMethods.add(selection, unit.xmlTest, unit.className, unit.methodName);
+                    if (unit.row >= 0) {
+                        rows.add(unit.row);
+                    }
+                });
+        // A method whose rows all landed on this shard needs no invocation-numbers
+        shard.units.stream()
+                .filter(unit -> unit.row >= 0)
+                .forEach(unit -> {
+                    List<Integer> rows = selection.get(unit.xmlTest).get(unit.className).get(unit.methodName);
+                    if (rows.size() == unit.totalRows) {
+                        rows.clear();
+                    }
+                });
+        return SuiteMethods.copy(original, selection);
+    }
+
+    private static void writePlan(Path file, Path suiteFile, Durations durations, List<Shard> plan) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("suite", suiteFile.toString());
+        json.put("shards", plan.size());
+        json.put("historyResults", durations.results);
+        json.put("suiteFixtureMs", durations.suiteFixtureMs());
+        List<Map<String, Object>> shards = new ArrayList<>();
+        for (Shard shard : plan) {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("index", shard.index);
+            entry.put("predictedMs", Math.round(shard.predictedMs + durations.suiteFixtureMs()));
+            entry.put("tests", shard.units.stream().map(unit -> {
+                Map<String, Object> test = new LinkedHashMap<>();
+                test.put("test", unit.xmlTest);
+                test.put("method", unit.className + "." + unit.methodName);
+                test.put("row", unit.row);
+                test.put("estimateMs", Math.round(unit.estimateMs));
+                test.put("source", unit.source);
+                return test;
+            }).collect(Collectors.toList()));
+            shards.add(entry);
+        }
+        json.put("plan", shards);
+        objectMapper.writeValue(file.toFile(), json);
+    }
+
+    private static void printPlan(Path suiteFile, Durations durations, List<Unit> units, List<Shard> plan) {
+        Map<String, Long> sources = units.stream()
+                .collect(Collectors.groupingBy(unit -> unit.source, LinkedHashMap::new, Collectors.counting()));
+        double total = units.stream().mapToDouble(unit -> unit.estimateMs).sum();
+        double makespan = plan.stream().mapToDouble(shard -> shard.predictedMs).max().orElse(0);
+
+        System.out.println();
+        System.out.println("Shard plan for " + suiteFile);
+        System.out.println("=".repeat(60));
+        System.out.printf("%d tests from %d earlier results, estimated from %s%n", units.size(), durations.results, sources);
+        System.out.printf("%-8s %8s %14s%n", "Shard", "Tests", "Predicted");
+        for (Shard shard : plan) {
+            System.out.printf("%-8d %8d %12.1fs%n", shard.index, shard.units.size(),
+                    (shard.predictedMs + durations.suiteFixtureMs()) / 1000.0);
+        }
+        System.out.printf("Serial %.1fs, makespan %.1fs, speedup %.2fx%n",
+                (total + durations.suiteFixtureMs()) / 1000.0,
+                (makespan + durations.suiteFixtureMs()) / 1000.0,
+                (total + durations.suiteFixtureMs()) / (makespan + durations.suiteFixtureMs()));
+        System.out.println();
+    }
+
+    /**
+     * The data-provider rows of a test method, or null if it has no data provider or the provider fails
+     */
+    private static List<Object[]> rows(Class<?> testClass, Method method) {
+        Test test = method.getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            return null;
+        }
+        Method provider = SuiteMethods.dataProvider(testClass, method);
+        if (provider == null) {
+            logger.warn("No data provider '{}' for {}, planning it as one test", test.dataProvider(), method.getName());
+            return null;
+        }
+        try {
+            Object target = Modifier.isStatic(provider.getModifiers())
+                    ? null : provider.getDeclaringClass().getDeclaredConstructor().newInstance();
+            Object[] arguments = Arrays.stream(provider.getParameterTypes())
+                    .map(type -> type == Method.class ? method : null)
+                    .toArray();
+            return toRows(provider.invoke(target, arguments));
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            logger.warn("Data provider '{}' failed, planning {} as one test: {}",
+                    test.dataProvider(), method.getName(), e.getMessage());
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Object[]> toRows(Object data) {
+        List<Object[]> rows = new ArrayList<>();
+        if (data instanceof Object[][]) {
+            rows.addAll(Arrays.asList((Object[][]) data));
+        } else if (data instanceof Iterator) {
+            ((Iterator<Object>) data).forEachRemaining(row -> rows.add(row instanceof Object[] ? (Object[]) row : new Object[]{row}));
+        } else if (data instanceof Object[]) {
+            for (Object row : (Object[]) data) {
+                rows.add(new Object[]{row});
+            }
+        }
+        return rows;
+    }
+
+    /**
+     * Durations of earlier runs read from Allure result and container files
+     */
+    static final class Durations {
+        // Test durations keyed by class.method, and per class.method by the parameters of the row
+        private final Map<String, List<Double>> byMethod = new HashMap<>();
+        private final Map<String, Map<Map<String, String>, List<Double>>> byRow = new HashMap<>();
+        private final Map<String, List<Double>> byClass = new HashMap<>();
+        private final List<Double> all = new ArrayList<>();
+        private final Map<String, List<Double>> suiteFixtures = new HashMap<>();
+        private int results;
+
+        static Durations load(List<Path> directories) throws IOException {
+            Map<String, JsonNode> tests = new HashMap<>();
+            List<JsonNode> containers = new ArrayList<>();
+            for (Path directory : directories) {
+                if (!Files.isDirectory(directory)) {
+                    continue;
+                }
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(directory)) {
+                    files = walk.filter(path -> path.toString().endsWith("-result.json")
+                            || path.toString().endsWith("-container.json")).collect(Collectors.toList());
+                }
+                for (Path file : files) {
+                    try {
+                        JsonNode node = objectMapper.readTree(file.toFile());
+                        if (file.toString().endsWith("-container.json")) {
+                            containers.add(node);
+                        } else {
+                            // The same result can sit in a shard directory and in the merged directory
+                            tests.putIfAbsent(node.path("uuid").asText(), node);
+                        }
+                    } catch (IOException e) {
+                        logger.debug("Skipping unreadable Allure file {}: {}", file, e.getMessage());
+                    }
+                }
+            }
+
+            // Spread each fixture over the tests it ran around; suite fixtures are a fixed cost per shard
+            Durations durations = new Durations();
+            Map<String, Double> fixtureShare = new HashMap<>();
+            for (JsonNode container : containers) {
+                List<String> children = new ArrayList<>();
+                container.path("children").forEach(child -> children.add(child.asText()));
+                for (String phase : List.of("befores", "afters")) {
+                    for (JsonNode fixture : container.path(phase)) {
+                        double millis = fixture.path("stop").asLong() - fixture.path("start").asLong();
+                        if (SUITE_FIXTURES.contains(fixture.path("name").asText())) {
+                            durations.suiteFixtures.computeIfAbsent(fixture.path("name").asText(), name -> new ArrayList<>())
+                                    .add(millis);
+                        } else if (!children.isEmpty()) {
+                            children.forEach(child -> fixtureShare.merge(child, millis / children.size(), Double::sum));
+                        }
+                    }
+                }
+            }
+
+            for (JsonNode test : tests.values()) {
+                String status = test.path("status").asText();
+                String testClass = label(test, "testClass");
+                String testMethod = label(test, "testMethod");
+                // Skipped tests did not run; broken configuration results are reported under the base class
+                if (!("passed".equals(status) || "failed".equals(status))
+                        || testClass == null || !test.path("fullName").asText().equals(testClass + "." + testMethod)) {
+                    continue;
+                }
+                double millis = test.path("stop").asLong() - test.path("start").asLong()
+                        + fixtureShare.getOrDefault(test.path("uuid").asText(), 0.0);
+                String method = testClass + "." + testMethod;
+                Map<String, String> parameters = new HashMap<>();
+                test.path("parameters").forEach(parameter ->
+                        parameters.put(parameter.path("name").asText(), parameter.path("value").asText()));
+                durations.byMethod.computeIfAbsent(method, key -> new ArrayList<>()).add(millis);
+                durations.byRow.computeIfAbsent(method, key -> new HashMap<>())
+                        .computeIfAbsent(parameters, key -> new ArrayList<>()).add(millis);
+                durations.byClass.computeIfAbsent(testClass, key -> new ArrayList<>()).add(millis);
+                durations.all.add(millis);
+                durations.results++;
+            }
+            return durations;
+        }
+
+        /**
+         * Cost of one unit: its row's median, else its method's, else its class's, else the suite's
+         */
+        Unit estimate(String xmlTest, Class<?> testClass, Method method, int row, Object[] values, int totalRows) {
+            String key = testClass.getName() + "." + method.getName();
+            List<Double> samples = values != null ? rowSamples(key, method, values) : null;
+            String source = "row";
+            if (samples == null) {
+                samples = byMethod.get(key);
+                source = "method";
+            }
+            if (samples == null) {
+                samples = byClass.get(testClass.getName());
+                source = "class";
+            }
+            if (samples == null && !all.isEmpty()) {
+                samples = all;
+                source = "suite";
+            }
+            double estimate = samples == null ? DEFAULT_ESTIMATE_MS : RegressionDetector.median(samples);
+            return new Unit(xmlTest, testClass.getName(), method.getName(), row, totalRows, estimate,
+                    samples == null ? "default" : source);
+        }
+
+        double suiteFixtureMs() {
+            return suiteFixtures.values().stream().mapToDouble(RegressionDetector::median).sum();
+        }
+
+        /**
+         * Allure names row parameters after the method's parameters and formats them with ObjectUtils
+         */
+        private List<Double> rowSamples(String key, Method method, Object[] values) {
+            Parameter[] declared = method.getParameters();
+            List<Double> samples = new ArrayList<>();
+            byRow.getOrDefault(key, Map.of()).forEach((parameters, durations) -> {
+                boolean match = true;
+                for (int i = 0; i < declared.length && i < values.length && match; i++) {
+                    match = Objects.equals(parameters.get(declared[i].getName()), ObjectUtils.toString(values[i]));
+                }
+                if (match) {
+                    samples.addAll(durations);
+                }
+            });
+            return samples.isEmpty() ? null : samples;
+        }
+
+        private static String label(JsonNode result, String name) {
+            for (JsonNode label : result.path("labels")) {
+                if (name.equals(label.path("name").asText())) {
+                    return label.path("value").asText();
+                }
+            }
+            return null;
+        }
+    }
+
+    /**
+     * One test method invocation: a data-provider row, or the whole method (row -1)
+     */
+    static final class Unit {
+        final String xmlTest;
+        final String className;
+        final String methodName;
+        final int row;
+        final int totalRows;
+        final double estimateMs;
+        final String source;
+
+        Unit(String xmlTest, String className, String methodName, int row, int totalRows, double estimateMs, String source) {
+            this.xmlTest = xmlTest;
+            this.className = className;
+            this.methodName = methodName;
+            this.row = row;
+            this.totalRows = totalRows;
+            this.estimateMs = estimateMs;
+            this.source = source;
+        }
+    }
+
+    static final class Shard {
+        final int index;
+        final List<Unit> units = new ArrayList<>();
+        double predictedMs;
+
+        Shard(int index) {
+            this.index = index;
+        }
+
+        void add(Unit unit) {
+            units.add(unit);
+            predictedMs += unit.estimateMs;
+        }
+    }
+}
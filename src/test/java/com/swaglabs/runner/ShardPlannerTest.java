@@ -0,0 +1,206 @@
+package com.swaglabs.runner;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks shard packing, cost estimates and the emitted shard suites on fixed durations; no browser is involved
+ */
+public class ShardPlannerTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String XML_TEST = "Regression-Tests";
+
+    private Path directory;
+
+    /**
+     * Stands in for a test class; only its method names and parameter names are read
+     */
+    static class Catalog {
+        public void checkout(String user, int items) {
+        }
+
+        public void browse() {
+        }
+    }
+
+    static class Search {
+        public void search() {
+        }
+    }
+
+    @BeforeMethod(alwaysRun = true)
+    public void createResultsDirectory() throws IOException {
+        directory = Files.createTempDirectory("allure-results");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteResultsDirectory() throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path file : files.sorted(Comparator.reverseOrder()).collect(Collectors.toList())) {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static ShardPlanner.Unit unit(String methodName, int row, int totalRows, double estimateMs) {
+        return new ShardPlanner.Unit(XML_TEST, "com.swaglabs.tests.CartTest", methodName, row, totalRows,
+                estimateMs, "method");
+    }
+
+    private static Method method(Class<?> testClass, String name) throws NoSuchMethodException {
+        for (Method method : testClass.getMethods()) {
+            if (method.getName().equals(name)) {
+                return method;
+            }
+        }
+        throw new NoSuchMethodException(name);
+    }
+
+    private void result(String uuid, String status, Class<?> testClass, String methodName, long millis,
+                        Object... values) throws IOException, NoSuchMethodException {
+        Parameter[] declared = method(testClass, methodName).getParameters();
+        List<Map<String, Object>> parameters = new ArrayList<>();
+        for (int i = 0; i < values.length; i++) {
+            parameters.add(Map.of("name", declared[i].getName(), "value", String.valueOf(values[i])));
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("uuid", uuid);
+        json.put("status", status);
+        json.put("fullName", testClass.getName() + "." + methodName);
+        json.put("start", 1_000);
+        json.put("stop", 1_000 + millis);
+        json.put("labels", List.of(Map.of("name", "testClass", "value", testClass.getName()),
+                Map.of("name", "testMethod", "value", methodName)));
+        json.put("parameters", parameters);
+        objectMapper.writeValue(directory.resolve(uuid + "-result.json").toFile(), json);
+    }
+
+    private void container(String uuid, String fixture, long millis, String... children) throws IOException {
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("uuid", uuid);
+        json.put("children", List.of(children));
+        json.put("befores", List.of(Map.of("name", fixture, "start", 0, "stop", millis)));
+        objectMapper.writeValue(directory.resolve(uuid + "-container.json").toFile(), json);
+    }
+
+    @Test(groups = {"unit"})
+    public void testLongestUnitsArePackedOntoTheLeastLoadedShard() {
+        List<ShardPlanner.Unit> units = List.of(unit("a", -1, 0, 3), unit("b", -1, 0, 7), unit("c", -1, 0, 2),
+                unit("d", -1, 0, 5), unit("e", -1, 0, 3), unit("f", -1, 0, 4));
+
+        List<ShardPlanner.Shard> shards = ShardPlanner.pack(units, 2);
+
+        // 7 | 5, 4 | 5+4, 3 | 7+3, 3 | 5+4+3, 2 | 7+3+2; ties go to the lower index
+        assertThat(shards).extracting(shard -> shard.index).containsExactly(1, 2);
+        assertThat(shards.get(0).units).extracting(unit -> unit.methodName).containsExactly("b", "a", "c");
+        assertThat(shards.get(1).units).extracting(unit -> unit.methodName).containsExactly("d", "f", "e");
+        assertThat(shards).extracting(shard -> shard.predictedMs).containsExactly(12.0, 12.0);
+    }
+
+    @Test(groups = {"unit"})
+    public void testMoreShardsThanUnitsLeavesShardsEmpty() {
+        List<ShardPlanner.Shard> shards = ShardPlanner.pack(List.of(unit("a", -1, 0, 1), unit("b", -1, 0, 2)), 3);
+
+        assertThat(shards).extracting(shard -> shard.units.size()).containsExactly(1, 1, 0);
+        assertThat(shards.stream().mapToDouble(shard -> shard.predictedMs).max().orElse(0)).isEqualTo(2.0);
+    }
+
+    @Test(groups = {"unit"})
+    public void testEstimatesFallBackFromRowToMethodToClassToSuite() throws Exception {
+        result("r1", "passed", Catalog.class, "checkout", 100, "alice", 2);
+        result("r2", "passed", Catalog.class, "checkout", 300, "alice", 2);
+        result("r3", "passed", Catalog.class, "checkout", 1000, "bob", 1);
+        result("r4", "passed", Search.class, "search", 500);
+        // Skipped tests did not run and are not costed
+        result("r5", "skipped", Catalog.class, "browse", 9999);
+        // The login ran around both alice rows; the suite setup runs once per shard
+        container("c1", "login", 40, "r1", "r2");
+        container("c2", "suiteSetup", 2000, "r1", "r2", "r3", "r4");
+
+        ShardPlanner.Durations durations = ShardPlanner.Durations.load(List.of(directory));
+        Method checkout = method(Catalog.class, "checkout");
+
+        ShardPlanner.Unit row = durations.estimate(XML_TEST, Catalog.class, checkout, 0, new Object[]{"alice", 2}, 3);
+        assertThat(row.source).isEqualTo("row");
+        assertThat(row.estimateMs).isCloseTo(220.0, within(1e-9));
+
+        ShardPlanner.Unit unknownRow = durations.estimate(XML_TEST, Catalog.class, checkout, 2,
+                new Object[]{"carol", 3}, 3);
+        assertThat(unknownRow.source).isEqualTo("method");
+        assertThat(unknownRow.estimateMs).isCloseTo(320.0, within(1e-9));
+
+        ShardPlanner.Unit browse = durations.estimate(XML_TEST, Catalog.class, method(Catalog.class, "browse"), -1,
+                null, 0);
+        assertThat(browse.source).isEqualTo("class");
+        assertThat(browse.estimateMs).isCloseTo(320.0, within(1e-9));
+
+        ShardPlanner.Unit other = durations.estimate(XML_TEST, ShardPlannerTest.class,
+                method(ShardPlannerTest.class, "testEstimatesFallBackFromRowToMethodToClassToSuite"), -1, null, 0);
+        assertThat(other.source).isEqualTo("suite");
+        assertThat(other.estimateMs).isCloseTo(410.0, within(1e-9));
+
+        assertThat(durations.suiteFixtureMs()).isEqualTo(2000.0);
+    }
+
+    @Test(groups = {"unit"})
+    public void testNoHistoryUsesTheDefaultEstimate() throws Exception {
+        ShardPlanner.Durations durations = ShardPlanner.Durations.load(List.of(directory.resolve("missing")));
+
+        ShardPlanner.Unit unit = durations.estimate(XML_TEST, Search.class, method(Search.class, "search"), -1,
+                null, 0);
+
+        assertThat(unit.source).isEqualTo("default");
+        assertThat(unit.estimateMs).isEqualTo(10_000.0);
+    }
+
+    @Test(groups = {"unit"})
+    public void testSplitRowsAreSelectedWithInvocationNumbers() {
+        XmlSuite original = new XmlSuite();
+        original.setName("Regression Suite");
+        XmlTest xmlTest = new XmlTest(original);
+        xmlTest.setName(XML_TEST);
+        xmlTest.setXmlClasses(List.of(new XmlClass("com.swaglabs.tests.CartTest", false)));
+
+        ShardPlanner.Shard shard = new ShardPlanner.Shard(1);
+        // checkout is split across shards, login has both rows here, logout has no data provider
+        shard.add(unit("testCheckout", 2, 3, 1));
+        shard.add(unit("testCheckout", 0, 3, 1));
+        shard.add(unit("testLogin", 1, 2, 1));
+        shard.add(unit("testLogin", 0, 2, 1));
+        shard.add(unit("testLogout", -1, 0, 1));
+
+        XmlSuite suite = ShardPlanner.toSuite(original, shard);
+
+        assertThat(suite.getName()).isEqualTo("Regression Suite");
+        assertThat(suite.getTests()).extracting(XmlTest::getName).containsExactly(XML_TEST);
+        List<XmlInclude> includes = suite.getTests().get(0).getXmlClasses().get(0).getIncludedMethods();
+        assertThat(includes).extracting(XmlInclude::getName)
+                .containsExactly("testCheckout", "testLogin", "testLogout");
+        assertThat(includes.get(0).getInvocationNumbers()).containsExactly(0, 2);
+        assertThat(includes.get(1).getInvocationNumbers()).isEmpty();
+        assertThat(includes.get(2).getInvocationNumbers()).isEmpty();
+        assertThat(suite.toXml()).contains("invocation-numbers=\"0 2\"");
+    }
+}
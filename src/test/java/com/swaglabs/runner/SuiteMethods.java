@@ -0,0 +1,213 @@
+package com.swaglabs.runner;
+
+import org.testng.annotations.DataProvider;
+import org.testng.annotations.Test;
+import org.testng.xml.SuiteXmlParser;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Method;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * The test methods a TestNG suite file selects, and copies of a suite restricted to some of them.
+ * Shared by {@link ShardPlanner} and {@link ImpactAnalyzer} so both read a suite the way TestNG does:
+ * class-level and method-level groups, the groups of each test, and included or excluded methods.
+ */
+final class SuiteMethods {
+
+    private SuiteMethods() {
+    }
+
+    /**
+     * A test method as selected by one &lt;test&gt; of a suite
+     */
+    record Selected(XmlTest xmlTest, Class<?> testClass, Method method) {
+        String name() {
+            return testClass.getSimpleName() + "." + method.getName();
+        }
+    }
+
+    /**
+     * Parse a suite file with TestNG's public suite parser, without loading its classes
+     */
+    static XmlSuite parse(Path suiteFile) throws IOException {
+        try (InputStream in = Files.newInputStream(suiteFile)) {
+            return new SuiteXmlParser().parse(suiteFile.toString(), in, false);
+        }
+    }
+
+    /**
+     * Every enabled test method the suite runs, in suite order, each class's methods sorted by name
+     */
+    static List<Selected> select(XmlSuite suite) {
+        List<Selected> selected = new ArrayList<>();
+        for (XmlTest xmlTest : suite.getTests()) {
+            for (XmlClass xmlClass : xmlTest.getXmlClasses()) {
+                Class<?> testClass = loadClass(xmlClass.getName());
+                Set<String> included = xmlClass.getIncludedMethods().stream()
+                        .map(XmlInclude::getName).collect(Collectors.toSet());
+                Set<String> excluded = new HashSet<>(xmlClass.getExcludedMethods());
+
+                for (Method method : testMethods(testClass)) {
+                    if ((included.isEmpty() || included.contains(method.getName()))
+                            && !excluded.contains(method.getName())
+                            && inGroups(groups(testClass, method), xmlTest)) {
+                        selected.add(new Selected(xmlTest, testClass, method));
+                    }
+                }
+            }
+        }
+        return selected;
+    }
+
+    /**
+     * Groups of a test method, including those of a class-level @Test
+     */
+    static Set<String> groups(Class<?> testClass, Method method) {
+        Set<String> groups = new HashSet<>();
+        Test classTest = testClass.getAnnotation(Test.class);
+        if (classTest != null) {
+            groups.addAll(Arrays.asList(classTest.groups()));
+        }
+        Test test = method.getAnnotation(Test.class);
+        if (test != null) {
+            groups.addAll(Arrays.asList(test.groups()));
+        }
+        return groups;
+    }
+
+    /**
+     * The @DataProvider method feeding a test method, or null if it has none
+     */
+    static Method dataProvider(Class<?> testClass, Method method) {
+        Test test = method.getAnnotation(Test.class);
+        if (test == null || test.dataProvider().isEmpty()) {
+            return null;
+        }
+        Class<?> providerClass = test.dataProviderClass() == Object.class ? testClass : test.dataProviderClass();
+        for (Method provider : providerClass.getMethods()) {
+            DataProvider annotation = provider.getAnnotation(DataProvider.class);
+            if (annotation != null && (annotation.name().isEmpty()
+                    ? provider.getName() : annotation.name()).equals(test.dataProvider())) {
+                return provider;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * A copy of the suite that keeps its listeners, parameters and groups but runs only the given selection
+     * @param selection test name to class name to method name to data-provider rows (empty for every row)
+     */
+    static XmlSuite copy(XmlSuite original, Map<String, Map<String, Map<String, List<Integer>>>> selection) {
+        XmlSuite suite = new XmlSuite();
+        suite.setName(original.getName());
+        suite.setVerbose(original.getVerbose());
+        suite.setListeners(original.getListeners());
+        suite.setParallel(original.getParallel());
+        suite.setThreadCount(original.getThreadCount());
+        suite.setDataProviderThreadCount(original.getDataProviderThreadCount());
+        // Nothing added: Allure keys test history on the parameters
+        suite.setParameters(original.getParameters());
+
+        for (XmlTest originalTest : original.getTests()) {
+            Map<String, Map<String, List<Integer>>> classes = selection.get(originalTest.getName());
+            if (classes == null || classes.isEmpty()) {
+                continue;
+            }
+            XmlTest test = new XmlTest(suite);
+            test.setName(originalTest.getName());
+            test.setParameters(originalTest.getLocalParameters());
+            test.setPreserveOrder(originalTest.getPreserveOrder());
+            test.setIncludedGroups(originalTest.getIncludedGroups());
+            test.setExcludedGroups(originalTest.getExcludedGroups());
+
+            // Classes in the order of the original suite
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            for (XmlClass originalClass : originalTest.getXmlClasses()) {
+                Map<String, List<Integer>> methods = classes.get(originalClass.getName());
+                if (methods == null || methods.isEmpty()) {
+                    continue;
+                }
+                XmlClass xmlClass = new XmlClass(originalClass.getName(), false);
+                List<XmlInclude> includes = new ArrayList<>();
+                methods.forEach((methodName, rows) -> includes.add(rows.isEmpty()
+                        ? new XmlInclude(methodName, includes.size())
+                        : new XmlInclude(methodName, rows, includes.size())));
+                xmlClass.setIncludedMethods(includes);
+                xmlClasses.add(xmlClass);
+            }
+            test.setXmlClasses(xmlClasses);
+        }
+        return suite;
+    }
+
+    /**
+     * Adds a method to a selection for {@link #copy(XmlSuite, Map)}
+     */
+    static List<Integer> add(Map<String, Map<String, Map<String, List<Integer>>>> selection,
+                             String xmlTest, String className, String methodName) {
+        return selection.computeIfAbsent(xmlTest, name -> new LinkedHashMap<>())
+                .computeIfAbsent(className, name -> new LinkedHashMap<>())
+                .computeIfAbsent(methodName, name -> new ArrayList<>());
+    }
+
+    /**
+     * Public @Before and @After methods a test class runs, including those it inherits
+     */
+    static List<Method> configurationMethods(Class<?> testClass) {
+        return Arrays.stream(testClass.getMethods())
+                .filter(SuiteMethods::isConfiguration)
+                .sorted(Comparator.comparing(Method::getName))
+                .collect(Collectors.toList());
+    }
+
+    private static Class<?> loadClass(String name) {
+        try {
+            return Class.forName(name, false, SuiteMethods.class.getClassLoader());
+        } catch (ClassNotFoundException e) {
+            throw new IllegalArgumentException("Suite references unknown class " + name, e);
+        }
+    }
+
+    private static List<Method> testMethods(Class<?> testClass) {
+        boolean classLevel = testClass.isAnnotationPresent(Test.class);
+        return Arrays.stream(testClass.getMethods())
+                .filter(method -> method.getDeclaringClass() != Object.class)
+                .filter(method -> method.isAnnotationPresent(Test.class)
+                        || (classLevel && method.getDeclaringClass() == testClass && !isConfiguration(method)))
+                .filter(method -> method.getAnnotation(Test.class) == null || method.getAnnotation(Test.class).enabled())
+                .sorted(Comparator.comparing(Method::getName))
+                .collect(Collectors.toList());
+    }
+
+    private static boolean isConfiguration(Method method) {
+        return Arrays.stream(method.getAnnotations())
+                .map(annotation -> annotation.annotationType())
+                .anyMatch(type -> type.getPackageName().equals("org.testng.annotations")
+                        && type.getSimpleName().matches("(Before|After).*"));
+    }
+
+    private static boolean inGroups(Set<String> groups, XmlTest xmlTest) {
+        if (groups.stream().anyMatch(xmlTest.getExcludedGroups()::contains)) {
+            return false;
+        }
+        List<String> included = xmlTest.getIncludedGroups();
+        return included.isEmpty() || groups.stream().anyMatch(included::contains);
+    }
+}
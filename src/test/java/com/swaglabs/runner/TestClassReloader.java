@@ -0,0 +1,236 @@
+package com.swaglabs.runner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Picks up edited test classes without restarting the JVM.
+ * {@link #refresh()} compiles the sources under src/test/java that are newer than their class files into
+ * target/test-classes (class files written by an outside mvn test-compile count as fresh), and
+ * {@link #newLoader()} returns a class loader that defines com.swaglabs.tests classes afresh from
+ * target/test-classes and delegates everything else to the daemon's own loader.
+ * Only test classes are reloaded: pages, utils and the base class hold the warm browsers and caches and
+ * are shared with code loaded once, so edits to them are compiled but need a daemon restart.
+ */
+public class TestClassReloader {
+    private static final Logger logger = LoggerFactory.getLogger(TestClassReloader.class);
+
+    static final String RELOADED_PACKAGE = "com.swaglabs.tests.";
+
+    private final Path sourceRoot;
+    private final Path classesRoot;
+    private final ClassLoader parent;
+
+    public TestClassReloader(Path sourceRoot, Path classesRoot, ClassLoader parent) {
+        this.sourceRoot = sourceRoot;
+        this.classesRoot = classesRoot;
+        this.parent = parent;
+    }
+
+    /**
+     * Outcome of a refresh: classes compiled, compiled classes the daemon cannot reload, and compiler errors
+     */
+    public record Refresh(List<String> compiled, List<String> needRestart, List<String> errors) {
+        public boolean isSuccessful() {
+            return errors.isEmpty();
+        }
+    }
+
+    /**
+     * Compile every test source that is newer than its class file
+     */
+    public Refresh refresh() {
+        List<Path> stale = staleSources();
+        if (stale.isEmpty()) {
+            return new Refresh(List.of(), List.of(), List.of());
+        }
+        List<String> names = stale.stream().map(this::className).collect(Collectors.toList());
+
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        if (compiler == null) {
+            return new Refresh(List.of(), List.of(), List.of(
+                    "No Java compiler in this runtime, run mvn test-compile to pick up " + names));
+        }
+
+        long start = System.nanoTime();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        boolean compiled;
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, StandardCharsets.UTF_8)) {
+            List<String> options = List.of(
+                    "-d", classesRoot.toString(),
+                    "-classpath", classPath(parent),
+                    "-sourcepath", sourceRoot.toString(),
+                    "-encoding", "UTF-8",
+                    "-proc:none");
+            compiled = compiler.getTask(null, files, diagnostics, options, null,
+                    files.getJavaFileObjectsFromPaths(stale)).call();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to compile " + names, e);
+        }
+
+        List<String> errors = diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(TestClassReloader::format)
+                .collect(Collectors.toList());
+        if (!compiled) {
+            return new Refresh(List.of(), List.of(), errors.isEmpty() ? List.of("Compilation failed") : errors);
+        }
+
+        List<String> needRestart = names.stream()
+                .filter(name -> !name.startsWith(RELOADED_PACKAGE))
+                .collect(Collectors.toList());
+        logger.info("Compiled {} changed source(s) in {} ms: {}",
+                names.size(), (System.nanoTime() - start) / 1_000_000, names);
+        return new Refresh(names, needRestart, List.of());
+    }
+
+    /**
+     * A loader that sees the current class files of every com.swaglabs.tests class; use one per run
+     */
+    public ClassLoader newLoader() {
+        return new ReloadingClassLoader(classesRoot, parent);
+    }
+
+    /**
+     * Fully qualified names of the top-level test classes in target/test-classes
+     */
+    public List<String> testClassNames() {
+        Path dir = classesRoot.resolve(RELOADED_PACKAGE.replace('.', '/'));
+        if (!Files.isDirectory(dir)) {
+            return List.of();
+        }
+        try (Stream<Path> classes = Files.list(dir)) {
+            return classes
+                    .map(path -> path.getFileName().toString())
+                    .filter(file -> file.endsWith(".class") && !file.contains("$"))
+                    .map(file -> RELOADED_PACKAGE + file.substring(0, file.length() - ".class".length()))
+                    .sorted()
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to list test classes in " + dir, e);
+        }
+    }
+
+    private List<Path> staleSources() {
+        if (!Files.isDirectory(sourceRoot)) {
+            return List.of();
+        }
+        try (Stream<Path> sources = Files.walk(sourceRoot)) {
+            return sources
+                    .filter(path -> path.toString().endsWith(".java"))
+                    .filter(this::isStale)
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to scan " + sourceRoot, e);
+        }
+    }
+
+    private boolean isStale(Path source) {
+        Path classFile = classesRoot.resolve(className(source).replace('.', '/') + ".class");
+        try {
+            return !Files.exists(classFile)
+                    || Files.getLastModifiedTime(source).compareTo(Files.getLastModifiedTime(classFile)) > 0;
+        } catch (IOException e) {
+            return true;
+        }
+    }
+
+    private String className(Path source) {
+        String relative = sourceRoot.relativize(source).toString();
+        return relative.substring(0, relative.length() - ".java".length()).replace(File.separatorChar, '.');
+    }
+
+    private static String format(Diagnostic<? extends JavaFileObject> diagnostic) {
+        String file = diagnostic.getSource() != null ? Paths.get(diagnostic.getSource().toUri()).getFileName().toString() : "?";
+        return file + ":" + diagnostic.getLineNumber() + ": " + diagnostic.getMessage(Locale.ROOT);
+    }
+
+    /**
+     * Class path of the running daemon; under exec:java it lives in the plugin's loader, not java.class.path
+     */
+    private static String classPath(ClassLoader loader) {
+        Set<String> entries = new LinkedHashSet<>();
+        for (ClassLoader current = loader; current != null; current = current.getParent()) {
+            if (current instanceof URLClassLoader) {
+                for (URL url : ((URLClassLoader) current).getURLs()) {
+                    try {
+                        entries.add(Paths.get(url.toURI()).toString());
+                    } catch (URISyntaxException | IllegalArgumentException e) {
+                        logger.debug("Skipping class path entry {}: {}", url, e.getMessage());
+                    }
+                }
+            }
+        }
+        entries.addAll(Arrays.asList(System.getProperty("java.class.path").split(File.pathSeparator)));
+        return String.join(File.pathSeparator, entries);
+    }
+
+    /**
+     * Child-first for com.swaglabs.tests, parent-first for everything else
+     */
+    private static final class ReloadingClassLoader extends ClassLoader {
+        static {
+            registerAsParallelCapable();
+        }
+
+        private final Path classesRoot;
+
+        ReloadingClassLoader(Path classesRoot, ClassLoader parent) {
+            super("test-reload", parent);
+            this.classesRoot = classesRoot;
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(RELOADED_PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    loaded = findClass(name);
+                }
+                if (resolve) {
+                    resolveClass(loaded);
+                }
+                return loaded;
+            }
+        }
+
+        @Override
+        protected Class<?> findClass(String name) throws ClassNotFoundException {
+            Path classFile = classesRoot.resolve(name.replace('.', '/') + ".class");
+            try {
+                byte[] bytes = Files.readAllBytes(classFile);
+                return defineClass(name, bytes, 0, bytes.length);
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
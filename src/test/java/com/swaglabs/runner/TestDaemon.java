@@ -0,0 +1,326 @@
+package com.swaglabs.runner;
+
+import com.swaglabs.base.BaseTest;
+import com.swaglabs.listeners.PreconditionScheduler;
+import com.swaglabs.server.StandInServer;
+import com.swaglabs.utils.BrowserContexts;
+import com.swaglabs.utils.ConfigManager;
+import com.swaglabs.utils.DriverManager;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.testng.IConfigurationListener;
+import org.testng.ITestListener;
+import org.testng.ITestResult;
+import org.testng.TestNG;
+import org.testng.xml.XmlClass;
+import org.testng.xml.XmlInclude;
+import org.testng.xml.XmlSuite;
+import org.testng.xml.XmlTest;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Resident test runner that keeps the JVM, the browser pool (or the shared Chrome of driver.isolation=context)
+ * and the stand-in server warm between runs. Start it with QuickTestRunner -Dtest.type=daemon and send
+ * requests with {@link TestDaemonClient}. Each connection carries one request line on the loopback interface:
+ * <pre>
+ *   run class=LoginTest method=testValidLogin groups=smoke   (every key optional, lists comma-separated)
+ *   status
+ *   stop
+ * </pre>
+ * Results stream back one line per test as they finish, followed by a DONE line. Before every run, edited test
+ * sources are compiled and test classes are loaded afresh (see {@link TestClassReloader}), so re-running one
+ * method costs about as much as its body. Requests are served one at a time.
+ */
+public class TestDaemon {
+    private static final Logger logger = LoggerFactory.getLogger(TestDaemon.class);
+
+    private final ConfigManager config = ConfigManager.getInstance();
+    private final TestClassReloader reloader;
+    private final long startedAt = System.currentTimeMillis();
+    private int runs;
+    private volatile boolean stopped;
+
+    private TestDaemon(TestClassReloader reloader) {
+        this.reloader = reloader;
+    }
+
+    /**
+     * Warm up the browsers and serve run requests until a stop request arrives
+     * @param port loopback port to listen on
+     */
+    public static void serve(int port) throws IOException {
+        TestDaemon daemon = new TestDaemon(new TestClassReloader(
+                Paths.get("src", "test", "java"),
+                Paths.get("target", "test-classes"),
+                TestDaemon.class.getClassLoader()));
+        Runtime.getRuntime().addShutdownHook(new Thread(TestDaemon::shutdown, "test-daemon-shutdown"));
+
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            daemon.warmUp();
+            logger.info("Test daemon listening on {}:{}", server.getInetAddress().getHostAddress(), server.getLocalPort());
+            while (!daemon.stopped) {
+                try (Socket socket = server.accept()) {
+                    daemon.handle(socket);
+                } catch (IOException e) {
+                    logger.warn("Test daemon connection failed: {}", e.getMessage());
+                }
+            }
+        } finally {
+            shutdown();
+        }
+    }
+
+    private void warmUp() {
+        BaseTest.setResident(true);
+
+        if (config.isStandInEnabled()) {
+            System.setProperty("app.url", StandInServer.start(config.getStandInPort()));
+            config.reload();
+        }
+
+        if (DriverManager.isContextIsolation(config.getBrowser())) {
+            // Launches the shared Chrome; contexts themselves are cheap
+            BrowserContexts.close(BrowserContexts.open(config.isBrowserHeadless()));
+        } else {
+            // Without the pool every test class starts and quits its own browser
+            if (!config.isDriverPoolEnabled()) {
+                logger.info("Enabling the browser pool so browsers stay warm between runs");
+                System.setProperty("driver.pool.enabled", "true");
+                config.reload();
+            }
+            DriverManager.initPool(config.getBrowser(), config.isBrowserHeadless(),
+                    config.getDriverPoolSize(), config.getAppUrl());
+        }
+    }
+
+    private static void shutdown() {
+        BaseTest.setResident(false);
+        try {
+            if (DriverManager.isPoolActive()) {
+                DriverManager.shutdownPool();
+            } else {
+                DriverManager.quitAllDrivers();
+            }
+        } catch (Exception e) {
+            logger.warn("Error closing WebDriver: {}", e.getMessage());
+        }
+        StandInServer.stop();
+    }
+
+    private void handle(Socket socket) throws IOException {
+        BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+        PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+        String line = in.readLine();
+        if (line == null || line.isBlank()) {
+            return;
+        }
+        logger.info("Test daemon request: {}", line);
+
+        String[] parts = line.trim().split("\\s+", 2);
+        switch (parts[0].toLowerCase()) {
+            case "run":
+                try {
+                    execute(Request.parse(parts.length > 1 ? parts[1] : ""), out);
+                } catch (IllegalArgumentException e) {
+                    out.println("ERROR " + e.getMessage());
+                    out.println("DONE status=error");
+                }
+                break;
+            case "status":
+                out.println(String.format("OK runs=%d uptime=%ds browsers=%s",
+                        runs, (System.currentTimeMillis() - startedAt) / 1000,
+                        DriverManager.isPoolActive() ? DriverManager.getPoolStats() : BrowserContexts.stats()));
+                break;
+            case "stop":
+                out.println("BYE");
+                stopped = true;
+                break;
+            default:
+                out.println("ERROR Unknown command '" + parts[0] + "', expected run, status or stop");
+        }
+    }
+
+    private void execute(Request request, PrintWriter out) {
+        long start = System.nanoTime();
+        runs++;
+
+        TestClassReloader.Refresh refresh = reloader.refresh();
+        refresh.compiled().forEach(name -> out.println("COMPILED " + name));
+        refresh.needRestart().forEach(name -> out.println(
+                "WARN " + name + " is not reloaded, restart the daemon to pick it up"));
+        if (!refresh.isSuccessful()) {
+            refresh.errors().forEach(error -> out.println("ERROR " + error));
+            out.println("DONE status=compile-error");
+            return;
+        }
+
+        ClassLoader loader = reloader.newLoader();
+        XmlSuite suite = request.toSuite(loader, reloader.testClassNames(), runs);
+        StreamingListener results = new StreamingListener(out);
+
+        // TestNG resolves listeners and data providers through the context loader
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            config.reload();
+            TestNG testng = new TestNG(false);
+            testng.setXmlSuites(List.of(suite));
+            testng.addListener(results);
+            testng.addListener(new PreconditionScheduler());
+            testng.setVerbose(0);
+            testng.run();
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        out.println(String.format("DONE status=%s passed=%d failed=%d skipped=%d time=%dms",
+                results.failed.get() > 0 ? "failed" : "passed",
+                results.passed.get(), results.failed.get(), results.skipped.get(), elapsedMillis));
+        logger.info("Test daemon run {} finished in {} ms", runs, elapsedMillis);
+    }
+
+    /**
+     * One run request: test classes, methods and groups, each optional
+     */
+    private static final class Request {
+        private final List<String> classes = new ArrayList<>();
+        private final List<String> methods = new ArrayList<>();
+        private final List<String> groups = new ArrayList<>();
+
+        static Request parse(String arguments) {
+            Request request = new Request();
+            for (String token : arguments.trim().split("\\s+")) {
+                if (token.isEmpty()) {
+                    continue;
+                }
+                int separator = token.indexOf('=');
+                if (separator <= 0) {
+                    throw new IllegalArgumentException("Expected key=value, got '" + token + "'");
+                }
+                List<String> values = Arrays.stream(token.substring(separator + 1).split(","))
+                        .map(String::trim)
+                        .filter(value -> !value.isEmpty())
+                        .collect(Collectors.toList());
+                switch (token.substring(0, separator).toLowerCase()) {
+                    case "class":
+                        request.classes.addAll(values);
+                        break;
+                    case "method":
+                        request.methods.addAll(values);
+                        break;
+                    case "groups":
+                        request.groups.addAll(values);
+                        break;
+                    default:
+                        throw new IllegalArgumentException("Unknown key '" + token.substring(0, separator)
+                                + "', expected class, method or groups");
+                }
+            }
+            if (!request.methods.isEmpty() && request.classes.isEmpty()) {
+                throw new IllegalArgumentException("method needs a class");
+            }
+            return request;
+        }
+
+        XmlSuite toSuite(ClassLoader loader, List<String> allTestClasses, int run) {
+            XmlSuite suite = new XmlSuite();
+            suite.setName("Test Daemon");
+            XmlTest test = new XmlTest(suite);
+            test.setName("Run " + run);
+            groups.forEach(test::addIncludedGroup);
+
+            List<String> names = classes.isEmpty() ? allTestClasses : classes;
+            List<XmlClass> xmlClasses = new ArrayList<>();
+            for (String name : names) {
+                XmlClass xmlClass = new XmlClass(load(loader, name));
+                if (!methods.isEmpty()) {
+                    xmlClass.setIncludedMethods(methods.stream().map(XmlInclude::new).collect(Collectors.toList()));
+                }
+                xmlClasses.add(xmlClass);
+            }
+            test.setXmlClasses(xmlClasses);
+            return suite;
+        }
+
+        private static Class<?> load(ClassLoader loader, String name) {
+            String qualified = name.contains(".") ? name : TestClassReloader.RELOADED_PACKAGE + name;
+            try {
+                return Class.forName(qualified, false, loader);
+            } catch (ClassNotFoundException e) {
+                throw new IllegalArgumentException("No test class " + qualified);
+            }
+        }
+    }
+
+    /**
+     * Writes one line per finished test to the client as it happens
+     */
+    private static final class StreamingListener implements ITestListener, IConfigurationListener {
+        private final PrintWriter out;
+        private final AtomicInteger passed = new AtomicInteger();
+        private final AtomicInteger failed = new AtomicInteger();
+        private final AtomicInteger skipped = new AtomicInteger();
+
+        StreamingListener(PrintWriter out) {
+            this.out = out;
+        }
+
+        @Override
+        public void onTestSuccess(ITestResult result) {
+            passed.incrementAndGet();
+            out.println("PASS " + describe(result));
+        }
+
+        @Override
+        public void onTestFailure(ITestResult result) {
+            failed.incrementAndGet();
+            out.println("FAIL " + describe(result) + reason(result));
+        }
+
+        @Override
+        public void onTestSkipped(ITestResult result) {
+            skipped.incrementAndGet();
+            out.println("SKIP " + describe(result) + reason(result));
+        }
+
+        @Override
+        public void onConfigurationFailure(ITestResult result) {
+            out.println("FAIL " + result.getTestClass().getRealClass().getSimpleName() + "."
+                    + result.getMethod().getMethodName() + " (configuration)" + reason(result));
+        }
+
+        private static String describe(ITestResult result) {
+            String name = result.getTestClass().getRealClass().getSimpleName() + "." + result.getMethod().getMethodName();
+            if (result.getParameters().length > 0) {
+                name += Arrays.toString(result.getParameters());
+            }
+            return name + " " + (result.getEndMillis() - result.getStartMillis()) + "ms";
+        }
+
+        private static String reason(ITestResult result) {
+            Throwable throwable = result.getThrowable();
+            if (throwable == null) {
+                return "";
+            }
+            String message = throwable.getMessage() != null ? throwable.getMessage() : throwable.getClass().getName();
+            return ": " + message.lines().findFirst().orElse("");
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.swaglabs.runner;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Properties;
+
+/**
+ * Sends one request to a running {@link TestDaemon} and prints its results as they stream back.
+ * Uses only the JDK so it starts in a fraction of a second:
+ * <pre>
+ *   java -cp target/test-classes com.swaglabs.runner.TestDaemonClient run class=LoginTest method=testValidLogin
+ * </pre>
+ * Exits 0 when the run passed, 1 when tests failed or the request was rejected, 2 when no daemon is listening.
+ * The port comes from -Ddaemon.port, then daemon.port in config.properties.
+ */
+public class TestDaemonClient {
+
+    public static void main(String[] args) throws IOException {
+        String request = args.length == 0 ? "status" : String.join(" ", args);
+        int port = Integer.parseInt(System.getProperty("daemon.port", configuredPort()));
+
+        try (Socket socket = new Socket(InetAddress.getLoopbackAddress(), port)) {
+            PrintWriter out = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+            BufferedReader in = new BufferedReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+            out.println(request);
+
+            boolean ok = true;
+            String line;
+            while ((line = in.readLine()) != null) {
+                System.out.println(line);
+                if (line.startsWith("ERROR") || (line.startsWith("DONE") && !line.startsWith("DONE status=passed"))) {
+                    ok = false;
+                }
+            }
+            System.exit(ok ? 0 : 1);
+        } catch (ConnectException e) {
+            System.err.println("No test daemon on port " + port + ", start one with: make daemon");
+            System.exit(2);
+        }
+    }
+
+    private static String configuredPort() throws IOException {
+        Properties properties = new Properties();
+        try (InputStream config = TestDaemonClient.class.getClassLoader().getResourceAsStream("config.properties")) {
+            if (config != null) {
+                properties.load(config);
+            }
+        }
+        return properties.getProperty("daemon.port", "7171");
+    }
+}
@@ -0,0 +1,76 @@
+package com.swaglabs.runner;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+/**
+ * Writes large checkout or invalid-login matrices for the streaming data providers.
+ * Rows are generated and written one at a time, so any row count fits in a small heap.
+ * Configure with -Dmatrix.type=checkout|login, -Dmatrix.rows=100000 and
+ * -Dmatrix.output=target/generated/checkout-matrix.json, then run tests with
+ * -Ddata.checkout.matrix=... -Ddata.checkout.matrix.array= (empty for the top-level array).
+ */
+public class TestDataMatrixGenerator {
+    private static final Logger logger = LoggerFactory.getLogger(TestDataMatrixGenerator.class);
+
+    private static final String[] FIRST_NAMES = {"Emmanuel", "John", "Jane", "Ahmed", "Maria", "Kofi", "Ama", "Wei"};
+    private static final String[] LAST_NAMES = {"Arhu", "Doe", "Smith", "Hassan", "Garcia", "Mensah", "Owusu", "Chen"};
+    private static final String[] COUNTRIES = {"Ghana", "USA", "UK", "Egypt", "Spain", "China"};
+    private static final String[][] INVALID_LOGINS = {
+            {"invalid_user_%d", "secret_sauce", "Username and password do not match any user in this service"},
+            {"standard_user", "wrong_password_%d", "Username and password do not match any user in this service"},
+            {"", "secret_sauce", "Username is required"},
+            {"user_%d", "", "Password is required"}
+    };
+
+    public static void main(String[] args) throws IOException {
+        String type = System.getProperty("matrix.type", "checkout");
+        long rows = Long.getLong("matrix.rows", 100_000L);
+        Path output = Paths.get(System.getProperty("matrix.output",
+                "target/generated/" + type + "-matrix.json"));
+
+        Files.createDirectories(output.toAbsolutePath().getParent());
+        long start = System.nanoTime();
+        try (JsonGenerator generator = new ObjectMapper().getFactory()
+                .createGenerator(output.toFile(), JsonEncoding.UTF8)) {
+            generator.writeStartArray();
+            for (long i = 0; i < rows; i++) {
+                if ("login".equalsIgnoreCase(type)) {
+                    writeInvalidLogin(generator, i);
+                } else {
+                    writeCheckout(generator, i);
+                }
+            }
+            generator.writeEndArray();
+        }
+
+        logger.info("Wrote {} {} rows to {} ({} bytes) in {} ms", rows, type, output.toAbsolutePath(),
+                Files.size(output), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private static void writeCheckout(JsonGenerator generator, long i) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("firstName", FIRST_NAMES[(int) (i % FIRST_NAMES.length)]);
+        generator.writeStringField("lastName", LAST_NAMES[(int) ((i / FIRST_NAMES.length) % LAST_NAMES.length)]);
+        generator.writeStringField("postalCode", String.format("%05d", i % 100_000));
+        generator.writeStringField("country", COUNTRIES[(int) (i % COUNTRIES.length)]);
+        generator.writeEndObject();
+    }
+
+    private static void writeInvalidLogin(JsonGenerator generator, long i) throws IOException {
+        String[] template = INVALID_LOGINS[(int) (i % INVALID_LOGINS.length)];
+        generator.writeStartObject();
+        generator.writeStringField("username", String.format(template[0], i));
+        generator.writeStringField("password", String.format(template[1], i));
+        generator.writeStringField("expectedError", template[2]);
+        generator.writeEndObject();
+    }
+}
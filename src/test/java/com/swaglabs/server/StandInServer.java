@@ -0,0 +1,249 @@
+package com.swaglabs.server;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Embedded stand-in for the Swag Labs web app, for hermetic, low-latency runs.
+ * Serves the login, inventory, item details, cart, checkout and complete pages with the ids, classes and
+ * data-test attributes the page objects target. Every response is built once at startup and served from
+ * memory; session and cart state live in the browser (cookie and localStorage) as on the real site,
+ * so the server itself is stateless and safe for any number of parallel browsers.
+ * Enabled by the stand-in config profile (-Denvironment=standin).
+ */
+public class StandInServer {
+    private static final Logger logger = LoggerFactory.getLogger(StandInServer.class);
+
+    private static final String RESOURCE_DIR = "standin/";
+    private static final String MEDIA_PREFIX = "/static/media/";
+    private static final String PAGE_TEMPLATE = "<!DOCTYPE html><html lang=\"en\"><head><meta charset=\"utf-8\">" +
+            "<title>Swag Labs</title><link rel=\"stylesheet\" href=\"/static/app.css\">" +
+            "<script src=\"/static/app.js\" defer></script></head>" +
+            "<body data-page=\"%s\"><div id=\"root\"></div></body></html>";
+    // 1x1 transparent PNG used for every product and confirmation image
+    private static final byte[] PLACEHOLDER_IMAGE = Base64.getDecoder().decode(
+            "iVBORw0KGgoAAAANSUhEUgAAAAEAAAABCAYAAAAfFcSJAAAADUlEQVR42mNkYPhfDwAChwGA60e6kgAAAABJRU5ErkJggg==");
+
+    private static HttpServer server;
+    private static ExecutorService executor;
+    private static String baseUrl;
+    private static final LongAdder requests = new LongAdder();
+    private static final LongAdder handlingNanos = new LongAdder();
+
+    private StandInServer() {
+        // Utility class
+    }
+
+    /**
+     * Start the stand-in server on the loopback interface, or return the running instance's URL
+     * @param port port to listen on, or 0 for any free port
+     * @return base URL of the stand-in application, e.g. http://localhost:41234
+     */
+    public static synchronized String start(int port) {
+        if (server != null) {
+            return baseUrl;
+        }
+
+        Map<String, Resource> resources = buildResources();
+        Resource image = new Resource(PLACEHOLDER_IMAGE, "image/png", true);
+        // Without TCP_NODELAY, headers and body go out as separate small segments and every keep-alive
+        // request stalls on delayed ACKs (~40 ms); must be set before the first server is created
+        System.setProperty("sun.net.httpserver.nodelay", "true");
+        try {
+            server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 64);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to start stand-in server on port " + port, e);
+        }
+
+        int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        executor = Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "standin-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", exchange -> {
+            String path = exchange.getRequestURI().getPath();
+            Resource resource = path.startsWith(MEDIA_PREFIX) ? image : resources.get(path);
+            serve(exchange, resource);
+        });
+        server.start();
+
+        baseUrl = "http://localhost:" + server.getAddress().getPort();
+        requests.reset();
+        handlingNanos.reset();
+        logger.info("Stand-in Swag Labs server started at {} ({} worker threads)", baseUrl, threads);
+        return baseUrl;
+    }
+
+    /**
+     * Stop the stand-in server if it is running
+     */
+    public static synchronized void stop() {
+        if (server == null) {
+            return;
+        }
+        logger.info("Stopping stand-in server: {}", stats());
+        server.stop(0);
+        executor.shutdownNow();
+        try {
+            executor.awaitTermination(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        server = null;
+        executor = null;
+        baseUrl = null;
+    }
+
+    /**
+     * Check whether the stand-in server is running
+     * @return true if started and not stopped
+     */
+    public static synchronized boolean isRunning() {
+        return server != null;
+    }
+
+    /**
+     * Get the base URL of the running stand-in server
+     * @return base URL, or null if the server is not running
+     */
+    public static synchronized String getBaseUrl() {
+        return baseUrl;
+    }
+
+    /**
+     * Get a point-in-time snapshot of the request counters
+     * @return request statistics
+     */
+    public static Stats stats() {
+        return new Stats(requests.sum(), handlingNanos.sum());
+    }
+
+    private static void serve(HttpExchange exchange, Resource resource) throws IOException {
+        long start = System.nanoTime();
+        try {
+            String method = exchange.getRequestMethod();
+            if (!"GET".equals(method) && !"HEAD".equals(method)) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            if (resource == null) {
+                exchange.sendResponseHeaders(404, -1);
+                return;
+            }
+
+            Headers headers = exchange.getResponseHeaders();
+            headers.set("Content-Type", resource.contentType);
+            // Assets never change while the server runs, so browsers fetch them once per profile
+            headers.set("Cache-Control", resource.cacheable ? "public, max-age=3600" : "no-cache");
+            if ("HEAD".equals(method)) {
+                exchange.sendResponseHeaders(200, -1);
+                return;
+            }
+            exchange.sendResponseHeaders(200, resource.body.length);
+            try (OutputStream body = exchange.getResponseBody()) {
+                body.write(resource.body);
+            }
+        } finally {
+            exchange.close();
+            requests.increment();
+            handlingNanos.add(System.nanoTime() - start);
+        }
+    }
+
+    private static Map<String, Resource> buildResources() {
+        Map<String, Resource> resources = new HashMap<>();
+        addPage(resources, "login", "/", "/index.html");
+        addPage(resources, "inventory", "/inventory.html");
+        addPage(resources, "item", "/inventory-item.html");
+        addPage(resources, "cart", "/cart.html");
+        addPage(resources, "checkout-step-one", "/checkout-step-one.html");
+        addPage(resources, "checkout-step-two", "/checkout-step-two.html");
+        addPage(resources, "checkout-complete", "/checkout-complete.html");
+        resources.put("/static/app.js",
+                new Resource(readResource("app.js"), "application/javascript; charset=utf-8", true));
+        resources.put("/static/app.css",
+                new Resource(readResource("app.css"), "text/css; charset=utf-8", true));
+        resources.put("/favicon.ico", new Resource(PLACEHOLDER_IMAGE, "image/png", true));
+        return resources;
+    }
+
+    private static void addPage(Map<String, Resource> resources, String page, String... paths) {
+        byte[] html = String.format(PAGE_TEMPLATE, page).getBytes(StandardCharsets.UTF_8);
+        for (String path : paths) {
+            resources.put(path, new Resource(html, "text/html; charset=utf-8", false));
+        }
+    }
+
+    private static byte[] readResource(String name) {
+        try (InputStream stream = StandInServer.class.getClassLoader().getResourceAsStream(RESOURCE_DIR + name)) {
+            if (stream == null) {
+                throw new IllegalStateException("Stand-in resource not found on classpath: " + RESOURCE_DIR + name);
+            }
+            return stream.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Error reading stand-in resource: " + RESOURCE_DIR + name, e);
+        }
+    }
+
+    private static final class Resource {
+        private final byte[] body;
+        private final String contentType;
+        private final boolean cacheable;
+
+        Resource(byte[] body, String contentType, boolean cacheable) {
+            this.body = body;
+            this.contentType = contentType;
+            this.cacheable = cacheable;
+        }
+    }
+
+    /**
+     * Point-in-time request counters for the stand-in server
+     */
+    public static final class Stats {
+        private final long requests;
+        private final long handlingNanos;
+
+        Stats(long requests, long handlingNanos) {
+            this.requests = requests;
+            this.handlingNanos = handlingNanos;
+        }
+
+        public long getRequests() {
+            return requests;
+        }
+
+        /**
+         * Average server-side handling time per request, in microseconds
+         */
+        public double getAverageMicros() {
+            return requests == 0 ? 0 : handlingNanos / 1_000.0 / requests;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("StandInServer.Stats{requests=%d, avgHandling=%.1fus}",
+                    requests, getAverageMicros());
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.swaglabs.tests;
+
+import com.swaglabs.base.BaseTest;
+import com.swaglabs.utils.BrowserContexts;
+import com.swaglabs.utils.DriverManager;
+import io.qameta.allure.*;
+import org.openqa.selenium.By;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+import org.testng.SkipException;
+import org.testng.annotations.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Browser contexts opened in the shared Chrome must not see each other's state.
+ * Skipped unless the run uses driver.isolation=context.
+ */
+@Epic("Swag Labs Application")
+@Feature("Test Infrastructure")
+public class BrowserContextIsolationTest extends BaseTest {
+
+    private static final String PROBE = "isolation-probe";
+    private static final String READ_STORAGE_SCRIPT =
+            "return [localStorage.getItem(arguments[0]), sessionStorage.getItem(arguments[0])];";
+
+    @Test(priority = 1, groups = {"regression", "isolation"})
+    @Story("Browser Context Isolation")
+    @Severity(SeverityLevel.CRITICAL)
+    @Description("Cookies, storage and the login session of one browser context are invisible to another")
+    public void testContextsDoNotShareState() {
+        // Only runs where the shared Chrome already exists, rather than launching one for this test alone
+        if (!DriverManager.isContextIsolation(config.getBrowser())) {
+            throw new SkipException("Browser contexts are checked with driver.isolation=context on Chrome, "
+                    + "running with driver.isolation=" + config.getDriverIsolation() + " on " + config.getBrowser());
+        }
+
+        WebDriver first = BrowserContexts.open(config.isBrowserHeadless());
+        WebDriver second = BrowserContexts.open(config.isBrowserHeadless());
+        WebDriver third = null;
+        try {
+            // Both contexts live in the same browser process
+            assertThat(first.getWindowHandles()).contains(second.getWindowHandle());
+
+            first.get(config.getAppUrl());
+            second.get(config.getAppUrl());
+
+            // State written in the first context
+            first.manage().addCookie(new Cookie(PROBE, "first"));
+            ((JavascriptExecutor) first).executeScript(
+                    "localStorage.setItem(arguments[0], 'first'); sessionStorage.setItem(arguments[0], 'first');",
+                    PROBE);
+            login(first);
+
+            // ...is not visible in the second
+            assertThat(second.manage().getCookieNamed(PROBE)).isNull();
+            assertThat(second.manage().getCookieNamed("session-username")).isNull();
+            assertThat((Iterable<?>) ((JavascriptExecutor) second).executeScript(READ_STORAGE_SCRIPT, PROBE))
+                    .containsOnlyNulls();
+            second.navigate().refresh();
+            assertThat(second.findElements(By.id("login-button"))).isNotEmpty();
+
+            // A context opened after the first is disposed starts as clean as a new browser
+            BrowserContexts.close(first);
+            third = BrowserContexts.open(config.isBrowserHeadless());
+            third.get(config.getAppUrl());
+            assertThat(third.manage().getCookies()).isEmpty();
+            assertThat((Iterable<?>) ((JavascriptExecutor) third).executeScript(READ_STORAGE_SCRIPT, PROBE))
+                    .containsOnlyNulls();
+
+            // Disposing a context leaves the others running
+            assertThat(second.getCurrentUrl()).startsWith(config.getAppUrl());
+        } finally {
+            BrowserContexts.close(first);
+            BrowserContexts.close(second);
+            if (third != null) {
+                BrowserContexts.close(third);
+            }
+        }
+    }
+
+    private void login(WebDriver driver) {
+        driver.findElement(By.id("user-name")).sendKeys(config.getStandardUsername());
+        driver.findElement(By.id("password")).sendKeys(config.getStandardPassword());
+        driver.findElement(By.id("login-button")).click();
+        new WebDriverWait(driver, Duration.ofMillis(config.getTimeout()))
+                .until(ExpectedConditions.urlContains("/inventory.html"));
+        assertThat(driver.manage().getCookieNamed("session-username")).isNotNull();
+    }
+}
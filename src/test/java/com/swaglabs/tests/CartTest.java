@@ -1,13 +1,19 @@
 package com.swaglabs.tests;
 
+import com.swaglabs.annotations.RequiresSession;
 import com.swaglabs.base.BaseTest;
 import com.swaglabs.data.TestDataProvider;
+import com.swaglabs.data.model.TimingBudget;
 import com.swaglabs.pages.*;
+import com.swaglabs.utils.Preconditions;
+import com.swaglabs.utils.SessionFixture;
+import com.swaglabs.utils.Timed;
 import io.qameta.allure.*;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.testng.asserts.SoftAssert;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -17,19 +23,19 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @Epic("Swag Labs Application")
 @Feature("Shopping Cart Management")
+@RequiresSession("standard_user")
 public class CartTest extends BaseTest {
 
-    private ProductsPage productsPage;
-    private CartPage cartPage;
+    private final ThreadLocal<ProductsPage> productsPage = new ThreadLocal<>();
+    private final ThreadLocal<CartPage> cartPage = new ThreadLocal<>();
 
     @BeforeMethod(groups = {"smoke", "regression"})
     public void setupCartTest() {
-        LoginPage loginPage = new LoginPage();
-        productsPage = loginPage.login(
+        productsPage.set(SessionFixture.loginAs(
                 config.getStandardUsername(),
                 config.getStandardPassword()
-        );
-        productsPage.verifyProductsPageDisplayed();
+        ));
+        productsPage.get().verifyProductsPageDisplayed();
     }
 
     @Test(priority = 1, groups = {"smoke", "cart", "critical"})
@@ -41,33 +47,33 @@ public class CartTest extends BaseTest {
         String testProduct = "Sauce Labs Backpack";
 
         // Verify cart is initially empty
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(0);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(0);
 
         // Add product to cart
-        productsPage.addProductToCart(testProduct);
+        productsPage.get().addProductToCart(testProduct);
 
         // Verify cart count updated
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(1);
-        productsPage.verifyRemoveButtonDisplayed(testProduct);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(1);
+        productsPage.get().verifyRemoveButtonDisplayed(testProduct);
 
         // Navigate to cart
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed()
+        cartPage.set(productsPage.get().navigateToCart());
+        cartPage.get().verifyCartPageDisplayed()
                 .verifyCartContainsItem(testProduct);
 
         // Verify cart item details
-        assertThat(cartPage.getCartItemsCount()).isEqualTo(1);
-        assertThat(cartPage.getItemQuantity(testProduct)).isEqualTo(1);
+        assertThat(cartPage.get().getCartItemsCount()).isEqualTo(1);
+        assertThat(cartPage.get().getItemQuantity(testProduct)).isEqualTo(1);
 
-        String itemPrice = cartPage.getItemPrice(testProduct);
+        String itemPrice = cartPage.get().getItemPrice(testProduct);
         assertThat(itemPrice).isEqualTo("$29.99");
 
         // Remove item from cart
-        cartPage.removeItemFromCart(testProduct);
+        cartPage.get().removeItemFromCart(testProduct);
 
         // Verify cart is empty
-        cartPage.verifyCartIsEmpty();
-        assertThat(cartPage.getCartItemsCount()).isEqualTo(0);
+        cartPage.get().verifyCartIsEmpty();
+        assertThat(cartPage.get().getCartItemsCount()).isEqualTo(0);
     }
 
     @Test(priority = 2, dataProvider = "multipleProductsData", dataProviderClass = TestDataProvider.class,
@@ -78,49 +84,47 @@ public class CartTest extends BaseTest {
     public void testMultipleProductsCartManagement(String[] productNames, int expectedCount) {
 
         // Verify cart starts empty
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(0);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(0);
 
         // Add all products to cart
-        for (String productName : productNames) {
-            productsPage.addProductToCart(productName);
-        }
+        productsPage.get().addProductsToCart(Arrays.asList(productNames));
 
         // Verify cart count
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(expectedCount);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(expectedCount);
 
         // Navigate to cart
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed()
+        cartPage.set(productsPage.get().navigateToCart());
+        cartPage.get().verifyCartPageDisplayed()
                 .verifyCartHasItems();
 
         SoftAssert softAssert = new SoftAssert();
 
         // Verify all items are in cart
-        List<String> cartItems = cartPage.getAllCartItemNames();
+        List<String> cartItems = cartPage.get().getAllCartItemNames();
         softAssert.assertEquals(cartItems.size(), expectedCount,
                 "Cart should contain expected number of items");
 
         for (String productName : productNames) {
             softAssert.assertTrue(cartItems.contains(productName),
                     String.format("Cart should contain: %s", productName));
-            softAssert.assertEquals(cartPage.getItemQuantity(productName), 1,
+            softAssert.assertEquals(cartPage.get().getItemQuantity(productName), 1,
                     String.format("Quantity should be 1 for: %s", productName));
         }
 
         // Test removing items one by one
         for (int i = 0; i < productNames.length; i++) {
             String productToRemove = productNames[i];
-            cartPage.removeItemFromCart(productToRemove);
+            cartPage.get().removeItemFromCart(productToRemove);
 
             int expectedRemainingItems = expectedCount - (i + 1);
-            softAssert.assertEquals(cartPage.getCartItemsCount(), expectedRemainingItems,
+            softAssert.assertEquals(cartPage.get().getCartItemsCount(), expectedRemainingItems,
                     String.format("After removing %s, cart should have %d items",
                             productToRemove, expectedRemainingItems));
         }
 
         // Verify cart is empty
-        cartPage.verifyCartIsEmpty();
-        softAssert.assertEquals(cartPage.getCartItemsCount(), 0,
+        cartPage.get().verifyCartIsEmpty();
+        softAssert.assertEquals(cartPage.get().getCartItemsCount(), 0,
                 "Cart should be empty after removing all items");
 
         softAssert.assertAll();
@@ -135,34 +139,32 @@ public class CartTest extends BaseTest {
         String[] testProducts = {"Sauce Labs Backpack", "Sauce Labs Bike Light", "Sauce Labs Bolt T-Shirt"};
 
         // Add products to cart
-        for (String product : testProducts) {
-            productsPage.addProductToCart(product);
-        }
+        productsPage.get().addProductsToCart(Arrays.asList(testProducts));
 
-        int initialCartCount = productsPage.getCartItemsCount();
+        int initialCartCount = productsPage.get().getCartItemsCount();
         assertThat(initialCartCount).isEqualTo(testProducts.length);
 
         // Navigate to product details and back
-        ProductDetailsPage detailsPage = productsPage.clickOnProduct(testProducts[0]);
+        ProductDetailsPage detailsPage = productsPage.get().clickOnProduct(testProducts[0]);
         assertThat(detailsPage.getCartItemsCount()).isEqualTo(initialCartCount);
 
         ProductsPage returnedProductsPage = detailsPage.goBackToProducts();
         assertThat(returnedProductsPage.getCartItemsCount()).isEqualTo(initialCartCount);
 
         // Navigate to cart
-        cartPage = returnedProductsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed();
+        cartPage.set(returnedProductsPage.navigateToCart());
+        cartPage.get().verifyCartPageDisplayed();
 
         SoftAssert softAssert = new SoftAssert();
 
         // Verify all items still present
         for (String product : testProducts) {
-            softAssert.assertTrue(cartPage.isItemInCart(product),
+            softAssert.assertTrue(cartPage.get().isItemInCart(product),
                     String.format("Cart should still contain: %s", product));
         }
 
         // Navigate back to products and verify cart persists
-        ProductsPage finalProductsPage = cartPage.continueShopping();
+        ProductsPage finalProductsPage = cartPage.get().continueShopping();
         softAssert.assertEquals(finalProductsPage.getCartItemsCount(), initialCartCount,
                 "Cart count should persist after navigation");
 
@@ -178,17 +180,17 @@ public class CartTest extends BaseTest {
                                                   String expectedDescriptionPart) {
 
         // Add product to cart
-        productsPage.addProductToCart(productName);
+        productsPage.get().addProductToCart(productName);
 
         // Navigate to cart
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed()
+        cartPage.set(productsPage.get().navigateToCart());
+        cartPage.get().verifyCartPageDisplayed()
                 .verifyCartContainsItem(productName);
 
         // Verify item details in cart
-        String cartItemPrice = cartPage.getItemPrice(productName);
-        String cartItemDescription = cartPage.getItemDescription(productName);
-        int itemQuantity = cartPage.getItemQuantity(productName);
+        String cartItemPrice = cartPage.get().getItemPrice(productName);
+        String cartItemDescription = cartPage.get().getItemDescription(productName);
+        int itemQuantity = cartPage.get().getItemQuantity(productName);
 
         SoftAssert softAssert = new SoftAssert();
 
@@ -202,7 +204,7 @@ public class CartTest extends BaseTest {
         softAssert.assertAll();
 
         // Clean up
-        cartPage.removeItemFromCart(productName);
+        cartPage.get().removeItemFromCart(productName);
     }
 
     @Test(priority = 5, groups = {"regression", "cart", "checkout"})
@@ -212,17 +214,17 @@ public class CartTest extends BaseTest {
     public void testCartCheckoutNavigation() {
 
         // Add items to cart
-        productsPage.addProductToCart("Sauce Labs Backpack");
-        productsPage.addProductToCart("Sauce Labs Bike Light");
+        productsPage.get().addProductToCart("Sauce Labs Backpack");
+        productsPage.get().addProductToCart("Sauce Labs Bike Light");
 
         // Navigate to cart
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed()
+        cartPage.set(productsPage.get().navigateToCart());
+        cartPage.get().verifyCartPageDisplayed()
                 .verifyCartHasItems()
                 .verifyCheckoutButtonEnabled();
 
         // Proceed to checkout
-        CheckoutInformationPage checkoutPage = cartPage.proceedToCheckout();
+        CheckoutInformationPage checkoutPage = cartPage.get().proceedToCheckout();
         checkoutPage.verifyCheckoutInformationPageDisplayed();
 
         // Verify we can navigate back to cart
@@ -241,22 +243,22 @@ public class CartTest extends BaseTest {
     public void testCartEdgeCaseScenarios() {
 
         // Navigate to cart when empty
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed()
+        cartPage.set(productsPage.get().navigateToCart());
+        cartPage.get().verifyCartPageDisplayed()
                 .verifyCartIsEmpty();
 
         SoftAssert softAssert = new SoftAssert();
 
         // Verify empty cart state
-        softAssert.assertEquals(cartPage.getCartItemsCount(), 0,
+        softAssert.assertEquals(cartPage.get().getCartItemsCount(), 0,
                 "Empty cart should show 0 items");
-        softAssert.assertTrue(cartPage.isCartEmpty(),
+        softAssert.assertTrue(cartPage.get().isCartEmpty(),
                 "Cart should be identified as empty");
-        softAssert.assertTrue(cartPage.isContinueShoppingButtonDisplayed(),
+        softAssert.assertTrue(cartPage.get().isContinueShoppingButtonDisplayed(),
                 "Continue shopping button should be displayed");
 
         // Test continue shopping from empty cart
-        ProductsPage returnedProductsPage = cartPage.continueShopping();
+        ProductsPage returnedProductsPage = cartPage.get().continueShopping();
         returnedProductsPage.verifyProductsPageDisplayed();
 
         // Add item, then remove it in cart
@@ -280,25 +282,23 @@ public class CartTest extends BaseTest {
         // Add multiple items to test UI
         String[] testProducts = {"Sauce Labs Backpack", "Sauce Labs Fleece Jacket"};
 
-        for (String product : testProducts) {
-            productsPage.addProductToCart(product);
-        }
+        productsPage.get().addProductsToCart(Arrays.asList(testProducts));
 
         // Navigate to cart
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed();
+        cartPage.set(productsPage.get().navigateToCart());
+        cartPage.get().verifyCartPageDisplayed();
 
         SoftAssert softAssert = new SoftAssert();
 
         // Verify UI elements are present
-        softAssert.assertTrue(cartPage.isContinueShoppingButtonDisplayed(),
+        softAssert.assertTrue(cartPage.get().isContinueShoppingButtonDisplayed(),
                 "Continue shopping button should be displayed");
-        softAssert.assertTrue(cartPage.isCheckoutButtonDisplayed(),
+        softAssert.assertTrue(cartPage.get().isCheckoutButtonDisplayed(),
                 "Checkout button should be displayed");
 
         // Verify cart item layout
-        List<String> cartItems = cartPage.getAllCartItemNames();
-        List<String> cartPrices = cartPage.getAllCartItemPrices();
+        List<String> cartItems = cartPage.get().getAllCartItemNames();
+        List<String> cartPrices = cartPage.get().getAllCartItemPrices();
 
         softAssert.assertEquals(cartItems.size(), testProducts.length,
                 "Should display all cart items");
@@ -307,51 +307,46 @@ public class CartTest extends BaseTest {
 
         // Test remove buttons for each item
         for (String product : testProducts) {
-            softAssert.assertTrue(cartPage.isItemInCart(product),
+            softAssert.assertTrue(cartPage.get().isItemInCart(product),
                     String.format("Remove functionality should be available for: %s", product));
         }
 
         softAssert.assertAll();
     }
 
-    @Test(priority = 8, groups = {"regression", "cart", "performance"})
+    @Test(priority = 8, groups = {"regression", "cart", "performance"},
+            dataProvider = "performanceData", dataProviderClass = TestDataProvider.class)
     @Story("Cart Performance")
     @Severity(SeverityLevel.MINOR)
-    @Description("Verify cart operations complete within acceptable time limits")
-    public void testCartOperationPerformance() {
+    @Description("Verify cart operations stay within the user's percentile budget")
+    public void testCartOperationPerformance(String username, TimingBudget budget) {
 
-        long startTime = System.currentTimeMillis();
-
-        // Add multiple items
         String[] products = {"Sauce Labs Backpack", "Sauce Labs Bike Light",
                 "Sauce Labs Bolt T-Shirt", "Sauce Labs Fleece Jacket"};
 
-        for (String product : products) {
-            productsPage.addProductToCart(product);
-        }
-
-        // Navigate to cart
-        cartPage = productsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed();
-
-        // Perform cart operations
-        List<String> items = cartPage.getAllCartItemNames();
-        List<String> prices = cartPage.getAllCartItemPrices();
-
-        // Remove all items
-        for (String product : products) {
-            cartPage.removeItemFromCart(product);
-        }
-
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
-
-        // Performance assertions
-        assertThat(items).hasSize(products.length);
-        assertThat(prices).hasSize(products.length);
-        assertThat(duration).isLessThan(10000); // Should complete within 10 seconds
-
-        System.out.println(String.format("Cart operations completed in: %d ms", duration));
+        // Each repetition starts from a fresh session with an empty cart
+        Timed.of("cart.addAll")
+                .beforeEach(() -> productsPage.set(SessionFixture.loginAs(username)))
+                .measure(() -> {
+                    productsPage.get().addProductsToCart(Arrays.asList(products));
+                })
+                .assertWithin(budget);
+
+        Timed.of("cart.removeAll")
+                .beforeEach(() -> {
+                    SessionFixture.loginAs(username);
+                    productsPage.set(Preconditions.cartWith(products));
+                    cartPage.set(productsPage.get().navigateToCart());
+                    cartPage.get().verifyCartPageDisplayed();
+                    assertThat(cartPage.get().getAllCartItemNames()).hasSize(products.length);
+                    assertThat(cartPage.get().getAllCartItemPrices()).hasSize(products.length);
+                })
+                .measure(() -> {
+                    cartPage.get().removeItems(Arrays.asList(products));
+                })
+                .assertWithin(budget);
+
+        assertThat(cartPage.get().getCartItemsCount()).isZero();
     }
 
     @Test(priority = 9, groups = {"smoke", "cart", "integration"})
@@ -363,7 +358,7 @@ public class CartTest extends BaseTest {
         String testProduct = "Sauce Labs Backpack";
 
         // Navigate to product details
-        ProductDetailsPage detailsPage = productsPage.clickOnProduct(testProduct);
+        ProductDetailsPage detailsPage = productsPage.get().clickOnProduct(testProduct);
         detailsPage.verifyProductDetailsPageDisplayed();
 
         // Add to cart from details page
@@ -371,16 +366,16 @@ public class CartTest extends BaseTest {
         assertThat(detailsPage.getCartItemsCount()).isEqualTo(1);
 
         // Navigate to cart from details page
-        cartPage = detailsPage.navigateToCart();
-        cartPage.verifyCartPageDisplayed()
+        cartPage.set(detailsPage.navigateToCart());
+        cartPage.get().verifyCartPageDisplayed()
                 .verifyCartContainsItem(testProduct);
 
         // Verify item details match
-        String cartPrice = cartPage.getItemPrice(testProduct);
+        String cartPrice = cartPage.get().getItemPrice(testProduct);
         assertThat(cartPrice).isNotEmpty();
 
         // Navigate back to products
-        ProductsPage finalProductsPage = cartPage.continueShopping();
+        ProductsPage finalProductsPage = cartPage.get().continueShopping();
         finalProductsPage.verifyProductsPageDisplayed();
 
         // Verify cart count persists
@@ -1,8 +1,12 @@
 package com.swaglabs.tests;
 
+import com.swaglabs.annotations.RequiresCart;
+import com.swaglabs.annotations.RequiresSession;
 import com.swaglabs.base.BaseTest;
 import com.swaglabs.data.TestDataProvider;
 import com.swaglabs.pages.*;
+import com.swaglabs.utils.Preconditions;
+import com.swaglabs.utils.SessionFixture;
 import io.qameta.allure.*;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
@@ -15,27 +19,27 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @Epic("Swag Labs Application")
 @Feature("Checkout Process")
+@RequiresSession("standard_user")
+@RequiresCart({"Sauce Labs Backpack", "Sauce Labs Bike Light"})
 public class CheckoutTest extends BaseTest {
 
-    private ProductsPage productsPage;
-    private CartPage cartPage;
-    private CheckoutInformationPage checkoutInfoPage;
+    private final ThreadLocal<ProductsPage> productsPage = new ThreadLocal<>();
+    private final ThreadLocal<CartPage> cartPage = new ThreadLocal<>();
+    private final ThreadLocal<CheckoutInformationPage> checkoutInfoPage = new ThreadLocal<>();
 
     @BeforeMethod(groups = {"smoke", "regression"})
     public void setupCheckoutTest() {
-        LoginPage loginPage = new LoginPage();
-        productsPage = loginPage.login(
+        SessionFixture.loginAs(
                 config.getStandardUsername(),
                 config.getStandardPassword()
         );
 
-        // Add items to cart for checkout testing
-        productsPage.addProductToCart("Sauce Labs Backpack");
-        productsPage.addProductToCart("Sauce Labs Bike Light");
+        // Put items in the cart for checkout testing
+        productsPage.set(Preconditions.cartWith("Sauce Labs Backpack", "Sauce Labs Bike Light"));
 
         // Navigate to cart and then to checkout
-        cartPage = productsPage.navigateToCart();
-        checkoutInfoPage = cartPage.proceedToCheckout();
+        cartPage.set(productsPage.get().navigateToCart());
+        checkoutInfoPage.set(cartPage.get().proceedToCheckout());
     }
 
     @Test(priority = 1, groups = {"smoke", "checkout", "validation", "critical"})
@@ -44,13 +48,13 @@ public class CheckoutTest extends BaseTest {
     @Description("Test checkout validation when submitting form without any input")
     public void testCheckoutValidationEmptyForm() {
 
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed();
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed();
 
         // Try to submit empty form
-        checkoutInfoPage.submitIncompleteForm()
+        checkoutInfoPage.get().submitIncompleteForm()
                 .verifyErrorMessageDisplayed();
 
-        String errorMessage = checkoutInfoPage.getErrorMessageText();
+        String errorMessage = checkoutInfoPage.get().getErrorMessageText();
 
         // Verify appropriate error message for empty form
         SoftAssert softAssert = new SoftAssert();
@@ -59,9 +63,9 @@ public class CheckoutTest extends BaseTest {
                 String.format("Expected 'First Name is required' but got: '%s'", errorMessage));
 
         // Verify we're still on checkout information page
-        softAssert.assertTrue(checkoutInfoPage.isFirstNameFieldDisplayed(),
+        softAssert.assertTrue(checkoutInfoPage.get().isFirstNameFieldDisplayed(),
                 "Should remain on checkout information page after validation error");
-        softAssert.assertTrue(checkoutInfoPage.isContinueButtonDisplayed(),
+        softAssert.assertTrue(checkoutInfoPage.get().isContinueButtonDisplayed(),
                 "Continue button should still be displayed");
 
         softAssert.assertAll();
@@ -73,19 +77,19 @@ public class CheckoutTest extends BaseTest {
     @Description("Test checkout validation when only first name is provided")
     public void testCheckoutValidationFirstNameOnly() {
 
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .enterFirstName("TestFirstName")
                 .submitIncompleteForm()
                 .verifyErrorMessageDisplayed();
 
-        String errorMessage = checkoutInfoPage.getErrorMessageText();
+        String errorMessage = checkoutInfoPage.get().getErrorMessageText();
 
         SoftAssert softAssert = new SoftAssert();
         softAssert.assertTrue(errorMessage.contains("Last Name is required"),
                 String.format("Expected 'Last Name is required' but got: '%s'", errorMessage));
 
         // Verify first name is retained
-        String retainedFirstName = checkoutInfoPage.getFirstNameValue();
+        String retainedFirstName = checkoutInfoPage.get().getFirstNameValue();
         softAssert.assertEquals(retainedFirstName, "TestFirstName",
                 "First name should be retained after validation error");
 
@@ -98,22 +102,22 @@ public class CheckoutTest extends BaseTest {
     @Description("Test checkout validation when postal code is missing")
     public void testCheckoutValidationMissingPostalCode() {
 
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .enterFirstName("TestFirst")
                 .enterLastName("TestLast")
                 .submitIncompleteForm()
                 .verifyErrorMessageDisplayed();
 
-        String errorMessage = checkoutInfoPage.getErrorMessageText();
+        String errorMessage = checkoutInfoPage.get().getErrorMessageText();
 
         SoftAssert softAssert = new SoftAssert();
         softAssert.assertTrue(errorMessage.contains("Postal Code is required"),
                 String.format("Expected 'Postal Code is required' but got: '%s'", errorMessage));
 
         // Verify both names are retained
-        softAssert.assertEquals(checkoutInfoPage.getFirstNameValue(), "TestFirst",
+        softAssert.assertEquals(checkoutInfoPage.get().getFirstNameValue(), "TestFirst",
                 "First name should be retained");
-        softAssert.assertEquals(checkoutInfoPage.getLastNameValue(), "TestLast",
+        softAssert.assertEquals(checkoutInfoPage.get().getLastNameValue(), "TestLast",
                 "Last name should be retained");
 
         softAssert.assertAll();
@@ -127,17 +131,17 @@ public class CheckoutTest extends BaseTest {
     public void testCheckoutValidationInvalidData(String firstName, String lastName,
                                                   String postalCode, String expectedError) {
 
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .fillCheckoutInformation(firstName, lastName, postalCode)
                 .submitIncompleteForm()
                 .verifyErrorMessageDisplayed();
 
-        String actualError = checkoutInfoPage.getErrorMessageText();
+        String actualError = checkoutInfoPage.get().getErrorMessageText();
 
         assertThat(actualError).contains(expectedError);
     }
 
-    @Test(priority = 5, dataProvider = "checkoutData", dataProviderClass = TestDataProvider.class,
+    @Test(priority = 5, dataProvider = "checkoutMatrix", dataProviderClass = TestDataProvider.class,
             groups = {"smoke", "checkout", "success"})
     @Story("Successful Checkout Process")
     @Severity(SeverityLevel.BLOCKER)
@@ -146,11 +150,11 @@ public class CheckoutTest extends BaseTest {
                                        String postalCode, String country) {
 
         // Fill valid checkout information
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .fillCheckoutInformation(firstName, lastName, postalCode);
 
         // Continue to overview
-        CheckoutOverviewPage overviewPage = checkoutInfoPage.clickContinue();
+        CheckoutOverviewPage overviewPage = checkoutInfoPage.get().clickContinue();
         overviewPage.verifyCheckoutOverviewPageDisplayed();
 
         // Verify items in overview
@@ -191,12 +195,12 @@ public class CheckoutTest extends BaseTest {
     @Description("Test cancelling checkout process at information entry stage")
     public void testCheckoutCancellationAtInformation() {
 
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .enterFirstName("Test")
                 .enterLastName("User");
 
         // Cancel checkout
-        CartPage returnedCartPage = checkoutInfoPage.clickCancel();
+        CartPage returnedCartPage = checkoutInfoPage.get().clickCancel();
         returnedCartPage.verifyCartPageDisplayed()
                 .verifyCartHasItems();
 
@@ -213,10 +217,10 @@ public class CheckoutTest extends BaseTest {
     public void testCheckoutCancellationAtOverview() {
 
         // Complete information stage
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .fillCheckoutInformation("Test", "User", "12345");
 
-        CheckoutOverviewPage overviewPage = checkoutInfoPage.clickContinue();
+        CheckoutOverviewPage overviewPage = checkoutInfoPage.get().clickContinue();
         overviewPage.verifyCheckoutOverviewPageDisplayed();
 
         // Cancel at overview stage
@@ -240,10 +244,8 @@ public class CheckoutTest extends BaseTest {
         LoginPage loginPage = new LoginPage();
         ProductsPage freshProductsPage = loginPage.login(username, password);
 
-        // Add specified products
-        for (String productName : productNames) {
-            freshProductsPage.addProductToCart(productName);
-        }
+        // Put the specified products in the cart
+        freshProductsPage = Preconditions.cartWith(productNames);
 
         // Navigate through checkout process
         CartPage freshCartPage = freshProductsPage.navigateToCart();
@@ -286,10 +288,10 @@ public class CheckoutTest extends BaseTest {
     @Description("Test accuracy of price calculations during checkout process")
     public void testCheckoutPriceCalculations() {
 
-        checkoutInfoPage.verifyCheckoutInformationPageDisplayed()
+        checkoutInfoPage.get().verifyCheckoutInformationPageDisplayed()
                 .fillCheckoutInformation("Test", "User", "12345");
 
-        CheckoutOverviewPage overviewPage = checkoutInfoPage.clickContinue();
+        CheckoutOverviewPage overviewPage = checkoutInfoPage.get().clickContinue();
         overviewPage.verifyCheckoutOverviewPageDisplayed()
                 .verifyPriceTotalDisplayed();
 
@@ -67,7 +67,7 @@ public class LoginTest extends BaseTest {
 
     @Test(
             priority = 2,
-            dataProvider = "invalidLoginData",
+            dataProvider = "invalidLoginMatrix",
             dataProviderClass = TestDataProvider.class,
             groups = {"smoke", "login", "negative", "validation"},
             description = "Test login with invalid credentials and verify error messages"
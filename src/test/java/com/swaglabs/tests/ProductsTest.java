@@ -1,15 +1,22 @@
 package com.swaglabs.tests;
 
+import com.swaglabs.annotations.MaxRoundTrips;
+import com.swaglabs.annotations.RequiresSession;
 import com.swaglabs.base.BaseTest;
 import com.swaglabs.data.TestDataProvider;
-import com.swaglabs.pages.LoginPage;
+import com.swaglabs.data.model.InventorySnapshot;
+import com.swaglabs.data.model.TimingBudget;
 import com.swaglabs.pages.ProductsPage;
 import com.swaglabs.pages.ProductDetailsPage;
+import com.swaglabs.utils.SessionFixture;
+import com.swaglabs.utils.Timed;
+import com.swaglabs.utils.TimingResult;
 import io.qameta.allure.*;
 import org.testng.annotations.BeforeMethod;
 import org.testng.annotations.Test;
 import org.testng.asserts.SoftAssert;
 
+import java.util.Arrays;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -19,18 +26,18 @@ import static org.assertj.core.api.Assertions.assertThat;
  */
 @Epic("Swag Labs Application")
 @Feature("Product Catalog Management")
+@RequiresSession("standard_user")
 public class ProductsTest extends BaseTest {
 
-    private ProductsPage productsPage;
+    private final ThreadLocal<ProductsPage> productsPage = new ThreadLocal<>();
 
     @BeforeMethod(groups = {"smoke", "regression"})
     public void loginToApplication() {
-        LoginPage loginPage = new LoginPage();
-        productsPage = loginPage.login(
+        productsPage.set(SessionFixture.loginAs(
                 config.getStandardUsername(),
                 config.getStandardPassword()
-        );
-        productsPage.verifyProductsPageDisplayed();
+        ));
+        productsPage.get().verifyProductsPageDisplayed();
     }
 
     @Test(
@@ -44,11 +51,11 @@ public class ProductsTest extends BaseTest {
     public void testProductsPageDisplay() {
 
         // Verify page title and layout
-        productsPage.verifyProductsPageDisplayed();
+        productsPage.get().verifyProductsPageDisplayed();
 
         // Get all product information
-        List<String> productNames = productsPage.getAllProductNames();
-        List<String> productPrices = productsPage.getAllProductPrices();
+        List<String> productNames = productsPage.get().getAllProductNames();
+        List<String> productPrices = productsPage.get().getAllProductPrices();
 
         SoftAssert softAssert = new SoftAssert();
 
@@ -81,7 +88,7 @@ public class ProductsTest extends BaseTest {
         }
 
         // Verify cart is initially empty
-        softAssert.assertEquals(productsPage.getCartItemsCount(), 0,
+        softAssert.assertEquals(productsPage.get().getCartItemsCount(), 0,
                 "Cart should be initially empty");
 
         softAssert.assertAll();
@@ -101,11 +108,14 @@ public class ProductsTest extends BaseTest {
                                                 String expectedDescriptionPart) {
 
         // Verify product is displayed
-        productsPage.verifyProductDisplayed(productName);
+        productsPage.get().verifyProductDisplayed(productName);
+
+        // Read every product field in one browser call; the getters below are served from it
+        productsPage.get().snapshot();
 
         // Get actual product information
-        String actualPrice = productsPage.getProductPrice(productName);
-        String actualDescription = productsPage.getProductDescription(productName);
+        String actualPrice = productsPage.get().getProductPrice(productName);
+        String actualDescription = productsPage.get().getProductDescription(productName);
 
         SoftAssert softAssert = new SoftAssert();
 
@@ -117,29 +127,29 @@ public class ProductsTest extends BaseTest {
                         productName, expectedDescriptionPart, actualDescription));
 
         // Verify add to cart button functionality
-        softAssert.assertTrue(productsPage.isAddToCartButtonDisplayed(productName),
+        softAssert.assertTrue(productsPage.get().isAddToCartButtonDisplayed(productName),
                 String.format("Add to cart button should be displayed for: %s", productName));
 
         // Test add to cart functionality
-        int initialCartCount = productsPage.getCartItemsCount();
-        productsPage.addProductToCart(productName);
+        int initialCartCount = productsPage.get().getCartItemsCount();
+        productsPage.get().addProductToCart(productName);
 
-        int newCartCount = productsPage.getCartItemsCount();
+        int newCartCount = productsPage.get().getCartItemsCount();
         softAssert.assertEquals(newCartCount, initialCartCount + 1,
                 "Cart count should increase by 1 after adding product");
 
         // Verify remove button appears
-        softAssert.assertTrue(productsPage.isRemoveButtonDisplayed(productName),
+        softAssert.assertTrue(productsPage.get().isRemoveButtonDisplayed(productName),
                 String.format("Remove button should be displayed after adding: %s", productName));
 
         // Test remove functionality
-        productsPage.removeProductFromCart(productName);
-        int finalCartCount = productsPage.getCartItemsCount();
+        productsPage.get().removeProductFromCart(productName);
+        int finalCartCount = productsPage.get().getCartItemsCount();
         softAssert.assertEquals(finalCartCount, initialCartCount,
                 "Cart count should return to original after removing product");
 
         // Verify add button is back
-        softAssert.assertTrue(productsPage.isAddToCartButtonDisplayed(productName),
+        softAssert.assertTrue(productsPage.get().isAddToCartButtonDisplayed(productName),
                 String.format("Add to cart button should be displayed again for: %s", productName));
 
         softAssert.assertAll();
@@ -155,18 +165,22 @@ public class ProductsTest extends BaseTest {
     @Story("Product Sorting")
     @Severity(SeverityLevel.NORMAL)
     @Description("Verify products can be sorted correctly by different criteria")
+    // Observed 4 commands per row (two snapshot scripts, the dropdown lookup, Selenide's select script); 4 + 20%
+    @MaxRoundTrips(5)
     public void testProductSorting(String sortValue, String sortDescription) {
 
         // Get initial product list
-        List<String> initialProducts = productsPage.getAllProductNames();
-        List<String> initialPrices = productsPage.getAllProductPrices();
+        InventorySnapshot initialSnapshot = productsPage.get().snapshot();
+        List<String> initialProducts = initialSnapshot.getNames();
+        List<String> initialPrices = initialSnapshot.getPrices();
 
         // Apply sorting
-        productsPage.sortProducts(sortValue);
+        productsPage.get().sortProducts(sortValue);
 
         // Get sorted lists
-        List<String> sortedProducts = productsPage.getAllProductNames();
-        List<String> sortedPrices = productsPage.getAllProductPrices();
+        InventorySnapshot sortedSnapshot = productsPage.get().snapshot();
+        List<String> sortedProducts = sortedSnapshot.getNames();
+        List<String> sortedPrices = sortedSnapshot.getPrices();
 
         SoftAssert softAssert = new SoftAssert();
 
@@ -237,7 +251,7 @@ public class ProductsTest extends BaseTest {
                                              String expectedDescriptionPart) {
 
         // Navigate to product details
-        ProductDetailsPage detailsPage = productsPage.clickOnProduct(productName);
+        ProductDetailsPage detailsPage = productsPage.get().clickOnProduct(productName);
 
         // Verify details page
         detailsPage.verifyProductDetailsPageDisplayed()
@@ -280,29 +294,27 @@ public class ProductsTest extends BaseTest {
     public void testMultipleProductsAddToCart(String[] productNames, int expectedCount) {
 
         // Verify cart is initially empty
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(0);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(0);
 
-        // Add all products
+        // Add all products, then verify each one switched to its remove button
+        productsPage.get().addProductsToCart(Arrays.asList(productNames));
         for (String productName : productNames) {
-            productsPage.addProductToCart(productName);
-            productsPage.verifyRemoveButtonDisplayed(productName);
+            productsPage.get().verifyRemoveButtonDisplayed(productName);
         }
 
         // Verify final cart count
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(expectedCount);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(expectedCount);
 
         // Verify all products show remove buttons
         for (String productName : productNames) {
-            assertThat(productsPage.isRemoveButtonDisplayed(productName)).isTrue();
+            assertThat(productsPage.get().isRemoveButtonDisplayed(productName)).isTrue();
         }
 
         // Remove all products
-        for (String productName : productNames) {
-            productsPage.removeProductFromCart(productName);
-        }
+        productsPage.get().removeProductsFromCart(Arrays.asList(productNames));
 
         // Verify cart is empty again
-        assertThat(productsPage.getCartItemsCount()).isEqualTo(0);
+        assertThat(productsPage.get().getCartItemsCount()).isEqualTo(0);
     }
 
     @Test(
@@ -318,25 +330,25 @@ public class ProductsTest extends BaseTest {
         SoftAssert softAssert = new SoftAssert();
 
         // Verify cart badge behavior
-        softAssert.assertEquals(productsPage.getCartItemsCount(), 0,
+        softAssert.assertEquals(productsPage.get().getCartItemsCount(), 0,
                 "Cart should be initially empty");
-        softAssert.assertFalse(productsPage.isCartBadgeDisplayed(),
+        softAssert.assertFalse(productsPage.get().isCartBadgeDisplayed(),
                 "Cart badge should not be displayed when empty");
 
         // Add item and verify badge appears
-        productsPage.addProductToCart("Sauce Labs Backpack");
-        softAssert.assertEquals(productsPage.getCartItemsCount(), 1,
+        productsPage.get().addProductToCart("Sauce Labs Backpack");
+        softAssert.assertEquals(productsPage.get().getCartItemsCount(), 1,
                 "Cart count should be 1 after adding item");
-        softAssert.assertTrue(productsPage.isCartBadgeDisplayed(),
+        softAssert.assertTrue(productsPage.get().isCartBadgeDisplayed(),
                 "Cart badge should be displayed when items are present");
 
         // Test menu functionality
-        productsPage.openMenu();
+        productsPage.get().openMenu();
         // Note: Menu verification would depend on implementation
 
         // Clean up
-        productsPage.removeProductFromCart("Sauce Labs Backpack");
-        softAssert.assertEquals(productsPage.getCartItemsCount(), 0,
+        productsPage.get().removeProductFromCart("Sauce Labs Backpack");
+        softAssert.assertEquals(productsPage.get().getCartItemsCount(), 0,
                 "Cart should be empty after removing item");
 
         softAssert.assertAll();
@@ -345,32 +357,30 @@ public class ProductsTest extends BaseTest {
     @Test(
             priority = 7,
             groups = {"regression", "products", "performance"},
-            description = "Test products page load performance"
+            description = "Test products page load performance",
+            dataProvider = "performanceData",
+            dataProviderClass = TestDataProvider.class
     )
     @Story("Products Page Performance")
     @Severity(SeverityLevel.MINOR)
-    @Description("Verify products page loads within acceptable time limits")
-    public void testProductsPagePerformance() {
-
-        long startTime = System.currentTimeMillis();
-
-        // Perform various operations
-        List<String> products = productsPage.getAllProductNames();
-        List<String> prices = productsPage.getAllProductPrices();
+    @Description("Verify products page operations stay within the user's percentile budget")
+    public void testProductsPagePerformance(String username, TimingBudget budget) {
 
-        // Test sorting performance
-        productsPage.sortProducts("za");
-        productsPage.sortProducts("az");
+        productsPage.set(SessionFixture.loginAs(username));
 
-        long endTime = System.currentTimeMillis();
-        long duration = endTime - startTime;
+        TimingResult result = Timed.measure("products.readAndSort", () -> {
+            // Perform various operations
+            List<String> products = productsPage.get().getAllProductNames();
+            List<String> prices = productsPage.get().getAllProductPrices();
+            assertThat(products).hasSize(6);
+            assertThat(prices).hasSize(6);
 
-        // Performance assertions
-        assertThat(products).hasSize(6);
-        assertThat(prices).hasSize(6);
-        assertThat(duration).isLessThan(5000); // Should complete within 5 seconds
+            // Test sorting performance
+            productsPage.get().sortProducts("za");
+            productsPage.get().sortProducts("az");
+        });
 
-        System.out.println(String.format("Products page operations completed in: %d ms", duration));
+        result.assertWithin(budget);
     }
 
     @Test(
@@ -386,18 +396,18 @@ public class ProductsTest extends BaseTest {
         SoftAssert softAssert = new SoftAssert();
 
         // Verify products are displayed
-        List<String> productNames = productsPage.getAllProductNames();
+        List<String> productNames = productsPage.get().getAllProductNames();
         softAssert.assertTrue(productNames.size() > 0,
                 "Products should be displayed for accessibility");
 
         // Verify interactive elements are present
         for (String productName : productNames) {
-            softAssert.assertTrue(productsPage.isAddToCartButtonDisplayed(productName),
+            softAssert.assertTrue(productsPage.get().isAddToCartButtonDisplayed(productName),
                     String.format("Add to cart button should be accessible for: %s", productName));
         }
 
         // Basic navigation accessibility
-        softAssert.assertTrue(productsPage.getAllProductNames().size() > 0,
+        softAssert.assertTrue(productsPage.get().getAllProductNames().size() > 0,
                 "Should be able to access product information");
 
         softAssert.assertAll();
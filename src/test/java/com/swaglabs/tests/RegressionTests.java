@@ -6,6 +6,9 @@ import com.swaglabs.pages.*;
 import io.qameta.allure.*;
 import org.testng.annotations.Test;
 import org.testng.asserts.SoftAssert;
+
+import java.util.Arrays;
+
 import static org.assertj.core.api.Assertions.assertThat;
 
 /**
@@ -71,9 +74,7 @@ public class RegressionTests extends BaseTest {
         );
 
         // Add all products
-        for (String productName : productNames) {
-            productsPage.addProductToCart(productName);
-        }
+        productsPage.addProductsToCart(Arrays.asList(productNames));
 
         assertThat(productsPage.getCartItemsCount()).isEqualTo(expectedCount);
 
@@ -110,7 +111,7 @@ public class RegressionTests extends BaseTest {
         }
     }
 
-    @Test(priority = 5, dataProvider = "checkoutData", dataProviderClass = TestDataProvider.class,
+    @Test(priority = 5, dataProvider = "checkoutMatrix", dataProviderClass = TestDataProvider.class,
             groups = {"regression", "checkout"})
     @Story("Checkout Process")
     @Severity(SeverityLevel.CRITICAL)
@@ -0,0 +1,105 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.Selenide;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WebElement;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Clicks a button in each of several list items, picked by item text, resolving all of them in one script.
+ * The script finds every target the way {@code $$(items).findBy(text(name)).$(button)} does (first item
+ * whose text contains the name, ignoring case and whitespace) and returns the buttons only if all of them
+ * are present and displayed. They are then clicked in the given order with WebDriver, like Selenide's
+ * click with {@code clickViaJs} off, so visibility, overlap and pointer-event checks still apply.
+ * A click WebDriver refuses stops the batch; callers click the rest with their one-by-one methods, so
+ * failures keep Selenide's waiting and error messages. Each item can be clicked once per batch; its button
+ * changes after the click, so a repeated name is rejected up front.
+ */
+public final class BatchClick {
+    private static final Logger logger = LoggerFactory.getLogger(BatchClick.class);
+
+    private static final String RESOLVE_SCRIPT =
+            "var itemSelector = arguments[0], buttonSelector = arguments[1], names = arguments[2];" +
+            "var countSelector = arguments[3];" +
+            "function norm(text) { return (text || '').replace(/[\\s\\u00a0]+/g, ' ').trim().toLowerCase(); }" +
+            "function find(name) {" +
+            "  var items = document.querySelectorAll(itemSelector), wanted = norm(name);" +
+            "  for (var i = 0; i < items.length; i++) {" +
+            "    if (norm(items[i].innerText).indexOf(wanted) >= 0) {" +
+            "      var button = items[i].querySelector(buttonSelector);" +
+            "      return button && button.offsetParent !== null && !button.disabled ? button : null;" +
+            "    }" +
+            "  }" +
+            "  return null;" +
+            "}" +
+            "var buttons = names.map(find);" +
+            "var missing = names.filter(function (name, i) { return !buttons[i]; });" +
+            "return {before: document.querySelectorAll(countSelector).length, missing: missing," +
+            "        buttons: missing.length > 0 ? [] : buttons};";
+
+    private BatchClick() {
+    }
+
+    /**
+     * Click the button of every named item, in order, resolving them in a single round trip
+     * @param itemSelector CSS selector of the list items
+     * @param buttonSelector CSS selector of the button inside an item
+     * @param names item names; each item is matched like {@code Condition.text(name)}
+     * @param countSelector CSS selector counted before the clicks, for the caller's verification
+     * @return what was clicked; when targets are missing up front nothing was clicked
+     * @throws IllegalArgumentException if two names match the same way, ignoring case and whitespace
+     */
+    @SuppressWarnings("unchecked")
+    public static Result click(String itemSelector, String buttonSelector, Collection<String> names,
+                               String countSelector) {
+        List<String> targets = new ArrayList<>(names);
+        Set<String> seen = new HashSet<>();
+        for (String name : targets) {
+            if (!seen.add(name.replaceAll("[\\s\u00a0]+", " ").trim().toLowerCase(Locale.ROOT))) {
+                throw new IllegalArgumentException("Item '" + name + "' appears more than once in " + targets);
+            }
+        }
+        Map<String, Object> resolved = Selenide.executeJavaScript(RESOLVE_SCRIPT,
+                itemSelector, buttonSelector, targets, countSelector);
+        int before = ((Number) resolved.get("before")).intValue();
+        List<String> missing = new ArrayList<>((List<String>) resolved.get("missing"));
+        List<WebElement> buttons = (List<WebElement>) resolved.get("buttons");
+        int clicked = 0;
+        if (missing.isEmpty()) {
+            for (WebElement button : buttons) {
+                try {
+                    button.click();
+                } catch (WebDriverException e) {
+                    logger.debug("Batch click on '{}' stopped at '{}': {}", itemSelector, targets.get(clicked),
+                            e.getClass().getSimpleName());
+                    missing = new ArrayList<>(targets.subList(clicked, targets.size()));
+                    break;
+                }
+                clicked++;
+            }
+        } else {
+            logger.debug("Batch click on '{}' could not resolve {}", itemSelector, missing);
+        }
+        return new Result(before, clicked, missing);
+    }
+
+    /**
+     * @param before number of elements matching the count selector before any click
+     * @param clicked number of buttons clicked, always a prefix of the requested names
+     * @param missing names not clicked, because a button was not present and displayed or its click was refused
+     */
+    public record Result(int before, int clicked, List<String> missing) {
+        public boolean isComplete() {
+            return missing.isEmpty();
+        }
+    }
+}
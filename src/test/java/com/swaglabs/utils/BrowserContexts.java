@@ -0,0 +1,273 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.jfr.DriverEvent;
+import io.github.bonigarcia.wdm.WebDriverManager;
+import org.openqa.selenium.HasCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.chrome.ChromeDriverService;
+import org.openqa.selenium.chrome.ChromeOptions;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Isolated browser contexts inside one shared Chrome process (driver.isolation=context).
+ * A single Chrome is launched with a remote debugging port; each {@link #open(boolean)} creates a new
+ * browser context over CDP (Target.createBrowserContext, the mechanism behind incognito windows), opens
+ * a window in it, and attaches a WebDriver session to that window through the same chromedriver.
+ * Contexts do not share cookies, localStorage, sessionStorage, IndexedDB or HTTP cache, so a context is
+ * as clean as a fresh browser while costing a renderer instead of a whole browser process.
+ * Attached sessions can see the windows of other contexts in getWindowHandles(); tests that switch
+ * between windows should keep driver.isolation=browser.
+ */
+public final class BrowserContexts {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserContexts.class);
+
+    private static final Map<WebDriver, Context> contexts = new ConcurrentHashMap<>();
+    private static volatile Host host;
+
+    private static final AtomicLong opened = new AtomicLong();
+    private static final AtomicLong openNanos = new AtomicLong();
+    private static final AtomicLong maxOpenNanos = new AtomicLong();
+    private static final AtomicLong disposeFailures = new AtomicLong();
+
+    private BrowserContexts() {
+    }
+
+    /**
+     * Open a new isolated context in the shared Chrome, launching Chrome on first use
+     * @param headless whether the shared Chrome runs headless (only used when it is launched)
+     * @return driver bound to a window of the new context
+     */
+    public static WebDriver open(boolean headless) {
+        long start = System.nanoTime();
+        Host shared = host(headless);
+        DriverEvent event = DriverEvent.begin("context", "chrome");
+        String contextId = String.valueOf(shared.cdp.send("Target.createBrowserContext",
+                Map.of("disposeOnDetach", false)).get("browserContextId"));
+        try {
+            int[] size = windowSize();
+            Map<String, Object> target = new LinkedHashMap<>();
+            target.put("url", "about:blank");
+            target.put("browserContextId", contextId);
+            target.put("newWindow", true);
+            target.put("width", size[0]);
+            target.put("height", size[1]);
+            String targetId = String.valueOf(shared.cdp.send("Target.createTarget", target).get("targetId"));
+
+            // chromedriver uses CDP target ids as window handles
+            ChromeOptions attach = new ChromeOptions();
+            attach.setExperimentalOption("debuggerAddress", shared.debuggerAddress);
+            WebDriver attached = new RemoteWebDriver(shared.service.getUrl(), attach);
+            attached.switchTo().window(targetId);
+
+            WebDriver driver = ConfigManager.getInstance().isRoundTripTrackingEnabled()
+                    ? RoundTripRecorder.decorate(attached)
+                    : attached;
+            contexts.put(driver, new Context(contextId, attached));
+            event.commit();
+
+            long nanos = System.nanoTime() - start;
+            opened.incrementAndGet();
+            openNanos.addAndGet(nanos);
+            maxOpenNanos.accumulateAndGet(nanos, Math::max);
+            logger.debug("Opened browser context {} in {} ms", contextId, TimeUnit.NANOSECONDS.toMillis(nanos));
+            return driver;
+        } catch (RuntimeException e) {
+            dispose(shared, contextId);
+            throw e;
+        }
+    }
+
+    /**
+     * Whether the driver was opened by {@link #open(boolean)} and is not closed yet
+     */
+    public static boolean owns(WebDriver driver) {
+        return driver != null && contexts.containsKey(driver);
+    }
+
+    /**
+     * Detach the driver and dispose its context, discarding all of its windows and storage
+     * @param driver driver returned by {@link #open(boolean)}
+     */
+    public static void close(WebDriver driver) {
+        Context context = contexts.remove(driver);
+        if (context == null) {
+            return;
+        }
+        DriverEvent event = DriverEvent.begin("dispose", "chrome");
+        try {
+            // Quitting a session attached through debuggerAddress leaves the browser running
+            context.driver.quit();
+        } catch (Exception e) {
+            logger.debug("Error detaching from context {}: {}", context.id, e.getMessage());
+        } finally {
+            Host shared = host;
+            if (shared != null) {
+                dispose(shared, context.id);
+            }
+            event.commit();
+        }
+    }
+
+    /**
+     * Close every open context and quit the shared Chrome
+     */
+    public static synchronized void shutdown() {
+        for (WebDriver driver : new ArrayList<>(contexts.keySet())) {
+            close(driver);
+        }
+        Host shared = host;
+        host = null;
+        if (shared == null) {
+            return;
+        }
+        shared.cdp.close();
+        try {
+            DriverManager.quit(shared.driver);
+        } catch (Exception e) {
+            logger.warn("Error quitting shared browser: {}", e.getMessage());
+        }
+        shared.service.stop();
+        logger.info("Shared browser shut down. {}", stats());
+    }
+
+    public static Stats stats() {
+        return new Stats(opened.get(), contexts.size(), openNanos.get(), maxOpenNanos.get(), disposeFailures.get());
+    }
+
+    private static Host host(boolean headless) {
+        Host shared = host;
+        if (shared != null) {
+            return shared;
+        }
+        synchronized (BrowserContexts.class) {
+            if (host == null) {
+                host = launch(headless);
+            }
+            return host;
+        }
+    }
+
+    private static Host launch(boolean headless) {
+        DriverEvent resolve = DriverEvent.begin("resolve", "chrome");
+        WebDriverManager.chromedriver().setup();
+        resolve.commit();
+
+        ChromeDriverService service = ChromeDriverService.createDefaultService();
+        try {
+            service.start();
+            ChromeOptions options = DriverManager.chromeOptions(headless);
+            // Lets the CDP client below open the browser endpoint's WebSocket
+            options.addArguments("--remote-allow-origins=*");
+
+            DriverEvent launch = DriverEvent.begin("launch", "chrome");
+            // A RemoteWebDriver on the shared service, so quitting a session never stops the service
+            WebDriver driver = new RemoteWebDriver(service.getUrl(), options);
+            launch.commit();
+
+            Object chromeCapability = ((HasCapabilities) driver).getCapabilities().getCapability("goog:chromeOptions");
+            Object debuggerAddress = chromeCapability instanceof Map ? ((Map<?, ?>) chromeCapability).get("debuggerAddress") : null;
+            if (debuggerAddress == null) {
+                driver.quit();
+                throw new IllegalStateException("Chrome did not report a debugger address");
+            }
+            CdpConnection cdp = CdpConnection.connect(String.valueOf(debuggerAddress));
+            logger.info("Shared Chrome for browser contexts listening on {}", debuggerAddress);
+            return new Host(service, driver, String.valueOf(debuggerAddress), cdp);
+        } catch (Exception e) {
+            service.stop();
+            if (e instanceof InterruptedException) {
+                Thread.currentThread().interrupt();
+            }
+            throw new RuntimeException("Failed to launch shared Chrome for browser contexts", e);
+        }
+    }
+
+    private static void dispose(Host shared, String contextId) {
+        try {
+            shared.cdp.send("Target.disposeBrowserContext", Map.of("browserContextId", contextId));
+        } catch (RuntimeException e) {
+            disposeFailures.incrementAndGet();
+            logger.warn("Failed to dispose browser context {}: {}", contextId, e.getMessage());
+        }
+    }
+
+    private static int[] windowSize() {
+        String[] size = ConfigManager.getInstance().getBrowserSize().split("x");
+        try {
+            return new int[]{Integer.parseInt(size[0].trim()), Integer.parseInt(size[1].trim())};
+        } catch (RuntimeException e) {
+            return new int[]{1920, 1080};
+        }
+    }
+
+    private static final class Host {
+        private final ChromeDriverService service;
+        private final WebDriver driver;
+        private final String debuggerAddress;
+        private final CdpConnection cdp;
+
+        Host(ChromeDriverService service, WebDriver driver, String debuggerAddress, CdpConnection cdp) {
+            this.service = service;
+            this.driver = driver;
+            this.debuggerAddress = debuggerAddress;
+            this.cdp = cdp;
+        }
+    }
+
+    private static final class Context {
+        private final String id;
+        private final WebDriver driver;
+
+        Context(String id, WebDriver driver) {
+            this.id = id;
+            this.driver = driver;
+        }
+    }
+
+    /**
+     * Point-in-time counters for contexts opened in the shared browser
+     */
+    public static final class Stats {
+        private final long opened;
+        private final int live;
+        private final long openNanos;
+        private final long maxOpenNanos;
+        private final long disposeFailures;
+
+        Stats(long opened, int live, long openNanos, long maxOpenNanos, long disposeFailures) {
+            this.opened = opened;
+            this.live = live;
+            this.openNanos = openNanos;
+            this.maxOpenNanos = maxOpenNanos;
+            this.disposeFailures = disposeFailures;
+        }
+
+        public long getOpened() { return opened; }
+        public int getLive() { return live; }
+        public long getDisposeFailures() { return disposeFailures; }
+
+        public double getAverageOpenMillis() {
+            return opened == 0 ? 0.0 : openNanos / 1_000_000.0 / opened;
+        }
+
+        public double getMaxOpenMillis() {
+            return maxOpenNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("BrowserContexts{opened=%d, live=%d, avgOpenMs=%.1f, maxOpenMs=%.1f, " +
+                            "disposeFailures=%d}",
+                    opened, live, getAverageOpenMillis(), getMaxOpenMillis(), disposeFailures);
+        }
+    }
+}
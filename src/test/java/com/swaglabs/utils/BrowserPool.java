@@ -0,0 +1,261 @@
+package com.swaglabs.utils;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Pool of pre-launched browsers that are reset between tests instead of being quit.
+ * A lease served from the idle queue is a hit; a lease that has to launch a new browser is a miss.
+ */
+public class BrowserPool {
+    private static final Logger logger = LoggerFactory.getLogger(BrowserPool.class);
+
+    private static final String CLEAR_STORAGE_SCRIPT =
+            "try { window.localStorage.clear(); } catch (e) {}" +
+            "try { window.sessionStorage.clear(); } catch (e) {}";
+
+    private final Supplier<WebDriver> driverFactory;
+    private final int capacity;
+    private final LinkedBlockingDeque<WebDriver> idleDrivers = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> allDrivers = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong totalLeaseNanos = new AtomicLong();
+    private final AtomicLong maxLeaseNanos = new AtomicLong();
+    private final AtomicLong resetFailures = new AtomicLong();
+
+    private volatile boolean shutdown;
+
+    /**
+     * @param driverFactory creates a new browser when the pool is empty
+     * @param capacity      maximum number of idle browsers kept warm
+     */
+    public BrowserPool(Supplier<WebDriver> driverFactory, int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Browser pool capacity must be at least 1, was " + capacity);
+        }
+        this.driverFactory = driverFactory;
+        this.capacity = capacity;
+    }
+
+    /**
+     * Launches browsers in parallel until the pool is full and optionally loads a page in each
+     * so that DNS, TLS and HTTP caches are warm before the first lease
+     * @param warmUpUrl page to load in each new browser, or null to skip
+     */
+    public void warmUp(String warmUpUrl) {
+        int missing = capacity - idleDrivers.size();
+        if (missing <= 0) {
+            return;
+        }
+
+        logger.info("Warming up browser pool with {} browsers", missing);
+        long start = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(missing);
+        try {
+            List<Future<WebDriver>> launches = new ArrayList<>();
+            for (int i = 0; i < missing; i++) {
+                launches.add(executor.submit(() -> launch(warmUpUrl)));
+            }
+            for (Future<WebDriver> launch : launches) {
+                try {
+                    WebDriver driver = launch.get();
+                    if (reset(driver)) {
+                        idleDrivers.offer(driver);
+                    } else {
+                        discard(driver);
+                    }
+                } catch (Exception e) {
+                    logger.warn("Failed to pre-launch browser: {}", e.getMessage());
+                }
+            }
+        } finally {
+            executor.shutdown();
+        }
+        logger.info("Browser pool warmed up with {} browsers in {} ms",
+                idleDrivers.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+    }
+
+    /**
+     * Leases a browser, launching a new one if no idle browser is available
+     * @return browser ready for use by a single test
+     */
+    public WebDriver lease() {
+        if (shutdown) {
+            throw new IllegalStateException("Browser pool has been shut down");
+        }
+
+        long start = System.nanoTime();
+        WebDriver driver = idleDrivers.pollFirst();
+        if (driver != null) {
+            hits.incrementAndGet();
+        } else {
+            misses.incrementAndGet();
+            driver = launch(null);
+        }
+        recordLeaseTime(System.nanoTime() - start);
+        return driver;
+    }
+
+    /**
+     * Returns a browser to the pool. The browser is reset (extra tabs, cookies, localStorage,
+     * sessionStorage) and quit instead if the reset fails or the pool is already full.
+     * @param driver browser previously obtained from {@link #lease()}
+     */
+    public void release(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        if (shutdown || !reset(driver) || idleDrivers.size() >= capacity) {
+            discard(driver);
+            return;
+        }
+        idleDrivers.offerFirst(driver);
+    }
+
+    /**
+     * Quits a leased browser without returning it, e.g. after it crashed
+     * @param driver browser to discard
+     */
+    public void discard(WebDriver driver) {
+        if (driver == null) {
+            return;
+        }
+        allDrivers.remove(driver);
+        try {
+            DriverManager.quit(driver);
+        } catch (Exception e) {
+            logger.warn("Error quitting pooled browser: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Quits every browser owned by the pool
+     */
+    public void shutdown() {
+        shutdown = true;
+        idleDrivers.clear();
+        for (WebDriver driver : new ArrayList<>(allDrivers)) {
+            discard(driver);
+        }
+        logger.info("Browser pool shut down. {}", stats());
+    }
+
+    public Stats stats() {
+        return new Stats(hits.get(), misses.get(), totalLeaseNanos.get(), maxLeaseNanos.get(),
+                resetFailures.get(), idleDrivers.size(), allDrivers.size());
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    private WebDriver launch(String warmUpUrl) {
+        WebDriver driver = driverFactory.get();
+        allDrivers.add(driver);
+        if (warmUpUrl != null) {
+            try {
+                driver.get(warmUpUrl);
+            } catch (Exception e) {
+                logger.warn("Warm-up navigation to {} failed: {}", warmUpUrl, e.getMessage());
+            }
+        }
+        return driver;
+    }
+
+    private boolean reset(WebDriver driver) {
+        try {
+            List<String> handles = new ArrayList<>(driver.getWindowHandles());
+            String primaryHandle = handles.get(0);
+            for (String handle : handles.subList(1, handles.size())) {
+                driver.switchTo().window(handle);
+                driver.close();
+            }
+            driver.switchTo().window(primaryHandle);
+
+            if (driver instanceof JavascriptExecutor) {
+                ((JavascriptExecutor) driver).executeScript(CLEAR_STORAGE_SCRIPT);
+            }
+            driver.manage().deleteAllCookies();
+            driver.get("about:blank");
+            return true;
+        } catch (Exception e) {
+            resetFailures.incrementAndGet();
+            logger.warn("Failed to reset pooled browser, it will be discarded: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private void recordLeaseTime(long nanos) {
+        totalLeaseNanos.addAndGet(nanos);
+        maxLeaseNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    /**
+     * Point-in-time pool counters
+     */
+    public static final class Stats {
+        private final long hits;
+        private final long misses;
+        private final long totalLeaseNanos;
+        private final long maxLeaseNanos;
+        private final long resetFailures;
+        private final int idle;
+        private final int live;
+
+        Stats(long hits, long misses, long totalLeaseNanos, long maxLeaseNanos,
+              long resetFailures, int idle, int live) {
+            this.hits = hits;
+            this.misses = misses;
+            this.totalLeaseNanos = totalLeaseNanos;
+            this.maxLeaseNanos = maxLeaseNanos;
+            this.resetFailures = resetFailures;
+            this.idle = idle;
+            this.live = live;
+        }
+
+        public long getHits() { return hits; }
+        public long getMisses() { return misses; }
+        public long getLeases() { return hits + misses; }
+        public long getResetFailures() { return resetFailures; }
+        public int getIdle() { return idle; }
+        public int getLive() { return live; }
+
+        public double getHitRatio() {
+            long leases = getLeases();
+            return leases == 0 ? 0.0 : (double) hits / leases;
+        }
+
+        public double getAverageLeaseMillis() {
+            long leases = getLeases();
+            return leases == 0 ? 0.0 : totalLeaseNanos / 1_000_000.0 / leases;
+        }
+
+        public double getMaxLeaseMillis() {
+            return maxLeaseNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("BrowserPool{leases=%d, hits=%d, misses=%d, hitRatio=%.2f, " +
+                            "avgLeaseMs=%.1f, maxLeaseMs=%.1f, resetFailures=%d, idle=%d, live=%d}",
+                    getLeases(), hits, misses, getHitRatio(), getAverageLeaseMillis(),
+                    getMaxLeaseMillis(), resetFailures, idle, live);
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.swaglabs.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.WebSocket;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Minimal Chrome DevTools Protocol client for browser-level commands (Target.*), which WebDriver's
+ * per-page CDP bridge cannot send. Connects to the browser endpoint of a Chrome started with a remote
+ * debugging port and sends one command at a time per caller; events are ignored.
+ */
+public class CdpConnection implements AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(CdpConnection.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final Duration COMMAND_TIMEOUT = Duration.ofSeconds(30);
+
+    private final WebSocket webSocket;
+    private final AtomicInteger nextId = new AtomicInteger();
+    private final Map<Integer, CompletableFuture<Map<String, Object>>> pending = new ConcurrentHashMap<>();
+
+    private CdpConnection(WebSocket webSocket) {
+        this.webSocket = webSocket;
+    }
+
+    /**
+     * Connect to the browser target of a running Chrome
+     * @param debuggerAddress host:port of Chrome's remote debugging endpoint
+     */
+    @SuppressWarnings("unchecked")
+    public static CdpConnection connect(String debuggerAddress) throws IOException, InterruptedException {
+        HttpClient client = HttpClient.newHttpClient();
+        HttpResponse<String> version = client.send(
+                HttpRequest.newBuilder(URI.create("http://" + debuggerAddress + "/json/version")).build(),
+                HttpResponse.BodyHandlers.ofString());
+        String url = String.valueOf(objectMapper.readValue(version.body(), Map.class).get("webSocketDebuggerUrl"));
+
+        Listener listener = new Listener();
+        WebSocket webSocket = client.newWebSocketBuilder()
+                .buildAsync(URI.create(url), listener)
+                .join();
+        CdpConnection connection = new CdpConnection(webSocket);
+        listener.connection = connection;
+        logger.debug("Connected to browser endpoint {}", url);
+        return connection;
+    }
+
+    /**
+     * Send a command to the browser target and wait for its result
+     * @return the command's result object
+     * @throws IllegalStateException if the browser reports an error or does not answer in time
+     */
+    public Map<String, Object> send(String method, Map<String, Object> params) {
+        int id = nextId.incrementAndGet();
+        CompletableFuture<Map<String, Object>> response = new CompletableFuture<>();
+        pending.put(id, response);
+        try {
+            Map<String, Object> command = new LinkedHashMap<>();
+            command.put("id", id);
+            command.put("method", method);
+            command.put("params", params);
+            String json = objectMapper.writeValueAsString(command);
+            // WebSocket allows one outstanding send at a time
+            synchronized (webSocket) {
+                webSocket.sendText(json, true).join();
+            }
+            return response.get(COMMAND_TIMEOUT.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + method, e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(method + " failed: " + e.getCause().getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new IllegalStateException(method + " timed out after " + COMMAND_TIMEOUT.toSeconds() + "s", e);
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not serialize " + method, e);
+        } finally {
+            pending.remove(id);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "").join();
+        } catch (Exception e) {
+            logger.debug("Error closing CDP connection: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private void onMessage(String message) {
+        try {
+            Map<String, Object> response = objectMapper.readValue(message, Map.class);
+            Object id = response.get("id");
+            if (!(id instanceof Number)) {
+                return;
+            }
+            CompletableFuture<Map<String, Object>> future = pending.get(((Number) id).intValue());
+            if (future == null) {
+                return;
+            }
+            Object error = response.get("error");
+            if (error != null) {
+                future.completeExceptionally(new IllegalStateException(String.valueOf(error)));
+            } else {
+                Object result = response.get("result");
+                future.complete(result instanceof Map ? (Map<String, Object>) result : Map.of());
+            }
+        } catch (IOException e) {
+            logger.warn("Unreadable CDP message: {}", e.getMessage());
+        }
+    }
+
+    private void onClosed(String reason) {
+        pending.values().forEach(future -> future.completeExceptionally(
+                new IllegalStateException("CDP connection closed: " + reason)));
+    }
+
+    private static final class Listener implements WebSocket.Listener {
+        private final StringBuilder buffer = new StringBuilder();
+        private volatile CdpConnection connection;
+
+        @Override
+        public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+            buffer.append(data);
+            if (last) {
+                String message = buffer.toString();
+                buffer.setLength(0);
+                if (connection != null) {
+                    connection.onMessage(message);
+                }
+            }
+            webSocket.request(1);
+            return null;
+        }
+
+        @Override
+        public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+            if (connection != null) {
+                connection.onClosed(statusCode + " " + reason);
+            }
+            return null;
+        }
+
+        @Override
+        public void onError(WebSocket webSocket, Throwable error) {
+            if (connection != null) {
+                connection.onClosed(error.getMessage());
+            }
+        }
+    }
+}
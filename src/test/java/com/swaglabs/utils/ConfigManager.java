@@ -5,21 +5,30 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 import java.util.Properties;
 
 /**
- * Configuration manager to handle application properties
+ * Configuration manager to handle application properties.
+ * Sources are merged once into an immutable {@link ConfigSnapshot}, lowest precedence first:
+ * built-in defaults, config.properties, the environment profile config-&lt;environment&gt;.properties,
+ * then system properties. Call {@link #reload()} to pick up changes made after startup.
+ * A malformed or out-of-range value fails the load with every problem listed; an unknown choice such as an
+ * unsupported browser falls back to its default with a warning.
  */
 public class ConfigManager {
     private static final Logger logger = LoggerFactory.getLogger(ConfigManager.class);
     private static volatile ConfigManager instance;
-    private final Properties properties;
+    private volatile ConfigSnapshot snapshot;
 
     private static final String CONFIG_FILE = "config.properties";
+    private static final String PROFILE_FILE_PATTERN = "config-%s.properties";
 
     private ConfigManager() {
-        properties = new Properties();
-        loadProperties();
+        snapshot = loadSnapshot();
     }
 
     public static ConfigManager getInstance() {
@@ -33,59 +42,105 @@ public class ConfigManager {
         return instance;
     }
 
-    private void loadProperties() {
-        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(CONFIG_FILE)) {
-            if (inputStream != null) {
-                properties.load(inputStream);
-                logger.info("Configuration loaded successfully from {}", CONFIG_FILE);
+    /**
+     * Re-reads every source and atomically replaces the current snapshot.
+     * If any value is invalid the current snapshot is kept and the error is thrown.
+     * @return the new snapshot
+     */
+    public ConfigSnapshot reload() {
+        snapshot = loadSnapshot();
+        logger.info("Configuration reloaded from {}", snapshot.sources());
+        return snapshot;
+    }
+
+    /**
+     * Current typed configuration; prefer its accessors on hot paths
+     */
+    public ConfigSnapshot getSnapshot() {
+        return snapshot;
+    }
+
+    private ConfigSnapshot loadSnapshot() {
+        Map<String, String> merged = new LinkedHashMap<>();
+        List<String> sources = new ArrayList<>();
+        sources.add("defaults");
 
-                // Log loaded properties for debugging (without sensitive data)
-                logger.debug("Loaded {} properties", properties.size());
-                properties.stringPropertyNames().stream()
-                        .filter(key -> !key.toLowerCase().contains("password"))
-                        .forEach(key -> logger.debug("Property: {} = {}", key, properties.getProperty(key)));
+        Properties fileProperties = loadResource(CONFIG_FILE);
+        if (fileProperties == null) {
+            logger.error("Configuration file {} not found in classpath", CONFIG_FILE);
+            throw new RuntimeException("Configuration file not found: " + CONFIG_FILE);
+        }
+        putAll(merged, fileProperties);
+        sources.add(CONFIG_FILE);
+        logger.info("Configuration loaded successfully from {}", CONFIG_FILE);
+
+        // The profile is chosen by the highest-precedence source that names an environment
+        String environment = System.getProperty("environment", merged.getOrDefault("environment", "test"));
+        String profileFile = String.format(PROFILE_FILE_PATTERN, environment);
+        Properties profileProperties = loadResource(profileFile);
+        if (profileProperties != null) {
+            putAll(merged, profileProperties);
+            sources.add(profileFile);
+            logger.info("Environment profile loaded from {}", profileFile);
+        }
+
+        putAll(merged, System.getProperties());
+        sources.add("system properties");
+
+        ConfigSnapshot resolved;
+        try {
+            resolved = ConfigSnapshot.resolve(merged, sources);
+        } catch (IllegalArgumentException e) {
+            logger.error(e.getMessage());
+            throw e;
+        }
 
-            } else {
-                logger.error("Configuration file {} not found in classpath", CONFIG_FILE);
-                throw new RuntimeException("Configuration file not found: " + CONFIG_FILE);
+        // Log loaded properties for debugging (without sensitive data)
+        if (logger.isDebugEnabled()) {
+            logger.debug("Loaded {} properties", merged.size());
+            fileProperties.stringPropertyNames().stream()
+                    .filter(key -> !key.toLowerCase().contains("password"))
+                    .forEach(key -> logger.debug("Property: {} = {}", key, resolved.get(key)));
+        }
+        return resolved;
+    }
+
+    private Properties loadResource(String fileName) {
+        try (InputStream inputStream = getClass().getClassLoader().getResourceAsStream(fileName)) {
+            if (inputStream == null) {
+                return null;
             }
+            Properties properties = new Properties();
+            properties.load(inputStream);
+            return properties;
         } catch (IOException e) {
             logger.error("Error loading configuration file: {}", e.getMessage());
             throw new RuntimeException("Error loading configuration file", e);
         }
     }
 
-    public String getProperty(String key) {
-        // First check system properties (command line overrides)
-        String value = System.getProperty(key);
-        if (value != null) {
-            logger.debug("Using system property for {}: {}", key, value);
-            return value;
+    private static void putAll(Map<String, String> target, Properties source) {
+        for (String key : source.stringPropertyNames()) {
+            target.put(key, source.getProperty(key));
         }
-
-        // Then check loaded properties file
-        value = properties.getProperty(key);
-        if (value != null) {
-            logger.debug("Using config file property for {}: {}", key, value);
-            return value;
-        }
-
-        logger.warn("Property '{}' not found in system properties or config file", key);
-        return null;
     }
 
-    public String getProperty(String key, String defaultValue) {
-        String value = getProperty(key);
+    public String getProperty(String key) {
+        String value = snapshot.get(key);
         if (value == null) {
-            logger.debug("Using default value for {}: {}", key, defaultValue);
-            return defaultValue;
+            logger.warn("Property '{}' not found in system properties or config file", key);
         }
         return value;
     }
 
+    public String getProperty(String key, String defaultValue) {
+        String value = snapshot.get(key);
+        return value == null ? defaultValue : value;
+    }
+
     // Application Configuration
     public String getAppUrl() {
-        String url = getProperty("app.url");
+        String url = snapshot.application().appUrl();
         if (url == null) {
             logger.error("app.url not configured!");
             throw new RuntimeException("Application URL not configured. Please set app.url in config.properties");
@@ -94,32 +149,161 @@ public class ConfigManager {
     }
 
     public long getTimeout() {
-        String timeout = getProperty("app.timeout", "10000");
-        try {
-            return Long.parseLong(timeout);
-        } catch (NumberFormatException e) {
-            logger.warn("Invalid timeout value '{}', using default 10000", timeout);
-            return 10000;
-        }
+        return snapshot.application().timeout();
+    }
+
+    // Stand-in Server Configuration
+    public boolean isStandInEnabled() {
+        return snapshot.standIn().enabled();
+    }
+
+    public int getStandInPort() {
+        return snapshot.standIn().port();
     }
 
     // Browser Configuration
     public String getBrowser() {
-        return getProperty("browser", "chrome");
+        return snapshot.browser().name();
     }
 
     public boolean isBrowserHeadless() {
-        String headless = getProperty("browser.headless", "false");
-        return Boolean.parseBoolean(headless);
+        return snapshot.browser().headless();
     }
 
     public String getBrowserSize() {
-        return getProperty("browser.size", "1920x1080");
+        return snapshot.browser().size();
+    }
+
+    // Browser Pool Configuration
+    public boolean isDriverPoolEnabled() {
+        return snapshot.pool().enabled();
+    }
+
+    public int getDriverPoolSize() {
+        return snapshot.pool().size();
+    }
+
+    public String getDriverIsolation() {
+        return snapshot.browser().isolation();
+    }
+
+    // Session Reuse Configuration
+    public boolean isSessionReuseEnabled() {
+        return snapshot.browser().sessionReuse();
+    }
+
+    // WebDriver Instrumentation Configuration
+    public boolean isRoundTripTrackingEnabled() {
+        return snapshot.browser().roundTripTracking();
+    }
+
+    // Timing Configuration
+    public int getTimingWarmupIterations() {
+        return snapshot.timing().warmupIterations();
+    }
+
+    public int getTimingRepetitions() {
+        return snapshot.timing().repetitions();
+    }
+
+    // Performance History Configuration
+    public boolean isPerfHistoryEnabled() {
+        return snapshot.perfHistory().enabled();
+    }
+
+    public String getPerfHistoryDir() {
+        return snapshot.perfHistory().dir();
+    }
+
+    public int getPerfBaselineRuns() {
+        return snapshot.perfHistory().baselineRuns();
+    }
+
+    public int getPerfBaselineMinSamples() {
+        return snapshot.perfHistory().baselineMinSamples();
+    }
+
+    public double getPerfRegressionThreshold() {
+        return snapshot.perfHistory().regressionThreshold();
+    }
+
+    public double getPerfRegressionAlpha() {
+        return snapshot.perfHistory().regressionAlpha();
+    }
+
+    public String getPerfRegressionMode() {
+        return snapshot.perfHistory().regressionMode();
+    }
+
+    // Page Metrics Configuration
+    public boolean isPageMetricsEnabled() {
+        return snapshot.page().metricsEnabled();
+    }
+
+    // Wait Engine Configuration
+    public String getWaitEngine() {
+        return snapshot.page().waitEngine();
+    }
+
+    // Preconditions Configuration
+    public String getPreconditionsMode() {
+        return snapshot.preconditions().mode();
+    }
+
+    public int getPreconditionsVerifyInterval() {
+        return snapshot.preconditions().verifyInterval();
+    }
+
+    public boolean isPreconditionsCarryEnabled() {
+        return snapshot.preconditions().carry();
+    }
+
+    // Network Interception Configuration
+    public boolean isNetworkInterceptionEnabled() {
+        return snapshot.network().interceptionEnabled();
+    }
+
+    public String getNetworkBlockTypes() {
+        return snapshot.network().blockTypes();
+    }
+
+    public String getNetworkBlockUrls() {
+        return snapshot.network().blockUrls();
+    }
+
+    public boolean isNetworkCacheEnabled() {
+        return snapshot.network().cacheEnabled();
+    }
+
+    public int getNetworkCacheMaxMb() {
+        return snapshot.network().cacheMaxMb();
+    }
+
+    public String getNetworkCacheTypes() {
+        return snapshot.network().cacheTypes();
+    }
+
+    // Test Daemon Configuration
+    public int getDaemonPort() {
+        return snapshot.daemon().port();
+    }
+
+    // Parallel Execution Configuration
+    public String getParallelMode() {
+        return snapshot.parallel().mode();
+    }
+
+    public int getParallelThreads() {
+        return snapshot.parallel().threads();
+    }
+
+    public int getParallelThreadsMax() {
+        return snapshot.parallel().threadsMax();
     }
 
     // User Configuration
     public String getStandardUsername() {
-        String username = getProperty("user.standard.username");
+        String username = snapshot.users().standardUsername();
         if (username == null) {
             logger.error("user.standard.username not configured!");
             throw new RuntimeException("Standard username not configured");
@@ -128,7 +312,7 @@ public class ConfigManager {
     }
 
     public String getStandardPassword() {
-        String password = getProperty("user.standard.password");
+        String password = snapshot.users().standardPassword();
         if (password == null) {
             logger.error("user.standard.password not configured!");
             throw new RuntimeException("Standard password not configured");
@@ -137,64 +321,107 @@ public class ConfigManager {
     }
 
     public String getLockedUsername() {
-        return getProperty("user.locked.username", "locked_out_user");
+        return snapshot.users().lockedUsername();
     }
 
     public String getLockedPassword() {
-        return getProperty("user.locked.password", "secret_sauce");
+        return snapshot.users().lockedPassword();
     }
 
     public String getProblemUsername() {
-        return getProperty("user.problem.username", "problem_user");
+        return snapshot.users().problemUsername();
     }
 
     public String getProblemPassword() {
-        return getProperty("user.problem.password", "secret_sauce");
+        return snapshot.users().problemPassword();
     }
 
     public String getPerformanceUsername() {
-        return getProperty("user.performance.username", "performance_glitch_user");
+        return snapshot.users().performanceUsername();
     }
 
     public String getPerformancePassword() {
-        return getProperty("user.performance.password", "secret_sauce");
+        return snapshot.users().performancePassword();
+    }
+
+    public String getErrorUsername() {
+        return snapshot.users().errorUsername();
+    }
+
+    public String getErrorPassword() {
+        return snapshot.users().errorPassword();
+    }
+
+    public String getVisualUsername() {
+        return snapshot.users().visualUsername();
+    }
+
+    public String getVisualPassword() {
+        return snapshot.users().visualPassword();
+    }
+
+    /**
+     * Users that can log in, keyed by username (the locked-out user is excluded)
+     */
+    public Map<String, String> getLoginUsers() {
+        return snapshot.users().loginUsers();
     }
 
     // Test Data
     public String getTestFirstName() {
-        return getProperty("test.firstName", "Test");
+        return snapshot.testData().firstName();
     }
 
     public String getTestLastName() {
-        return getProperty("test.lastName", "User");
+        return snapshot.testData().lastName();
     }
 
     public String getTestPostalCode() {
-        return getProperty("test.postalCode", "12345");
+        return snapshot.testData().postalCode();
     }
 
     // Screenshot Configuration
     public boolean isScreenshotsEnabled() {
-        String enabled = getProperty("screenshots.enabled", "true");
-        return Boolean.parseBoolean(enabled);
+        return snapshot.screenshots().enabled();
     }
 
     public String getScreenshotsPath() {
-        return getProperty("screenshots.path", "target/screenshots");
+        return snapshot.screenshots().path();
+    }
+
+    public int getScreenshotQueueCapacity() {
+        return snapshot.screenshots().queueCapacity();
+    }
+
+    // Failure Recorder Configuration
+    public boolean isFailureRecorderEnabled() {
+        return snapshot.recorder().enabled();
+    }
+
+    public int getFailureRecorderFrames() {
+        return snapshot.recorder().frames();
+    }
+
+    public int getFailureRecorderEvents() {
+        return snapshot.recorder().events();
+    }
+
+    public int getFailureRecorderJpegQuality() {
+        return snapshot.recorder().jpegQuality();
     }
 
     // Reports Configuration
     public String getReportsPath() {
-        return getProperty("reports.path", "target/reports");
+        return snapshot.reports().path();
     }
 
     public String getAllureResultsDirectory() {
-        return getProperty("allure.results.directory", "target/allure-results");
+        return snapshot.reports().allureResultsDirectory();
     }
 
     // Environment Configuration
     public String getEnvironment() {
-        return getProperty("environment", "test");
+        return snapshot.application().environment();
     }
 
     /**
@@ -219,13 +446,15 @@ public class ConfigManager {
      * Get all properties as a Properties object (for debugging)
      */
     public Properties getAllProperties() {
-        return new Properties(properties);
+        Properties properties = new Properties();
+        properties.putAll(snapshot.properties());
+        return properties;
     }
 
     /**
      * Check if a property exists
      */
     public boolean hasProperty(String key) {
-        return getProperty(key) != null;
+        return snapshot.get(key) != null;
     }
 }
\ No newline at end of file
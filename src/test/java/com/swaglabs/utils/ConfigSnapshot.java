@@ -0,0 +1,348 @@
+package com.swaglabs.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Immutable, typed view of the configuration, resolved once from all sources.
+ * Values are parsed and validated when the snapshot is built, so reads are plain field accesses.
+ * Settings are grouped per feature; each group is its own record.
+ *
+ * @param properties merged string properties from every source, for the string API
+ * @param sources    sources that contributed, lowest precedence first
+ */
+public record ConfigSnapshot(
+        Application application,
+        StandIn standIn,
+        Browser browser,
+        Pool pool,
+        Timing timing,
+        PerfHistory perfHistory,
+        Page page,
+        Preconditions preconditions,
+        Network network,
+        Daemon daemon,
+        Parallel parallel,
+        Users users,
+        TestData testData,
+        Screenshots screenshots,
+        Recorder recorder,
+        Reports reports,
+        Map<String, String> properties,
+        List<String> sources) {
+    private static final Logger logger = LoggerFactory.getLogger(ConfigSnapshot.class);
+
+    public record Application(String appUrl, long timeout, String environment) {
+    }
+
+    public record StandIn(boolean enabled, int port) {
+    }
+
+    public record Browser(String name, boolean headless, String size, String isolation,
+                          boolean sessionReuse, boolean roundTripTracking) {
+    }
+
+    public record Pool(boolean enabled, int size) {
+    }
+
+    public record Timing(int warmupIterations, int repetitions) {
+    }
+
+    public record PerfHistory(boolean enabled, String dir, int baselineRuns, int baselineMinSamples,
+                              double regressionThreshold, double regressionAlpha, String regressionMode) {
+    }
+
+    public record Page(boolean metricsEnabled, String waitEngine) {
+    }
+
+    public record Preconditions(String mode, int verifyInterval, boolean carry) {
+    }
+
+    public record Network(boolean interceptionEnabled, String blockTypes, String blockUrls,
+                          boolean cacheEnabled, int cacheMaxMb, String cacheTypes) {
+    }
+
+    public record Daemon(int port) {
+    }
+
+    public record Parallel(String mode, int threads, int threadsMax) {
+    }
+
+    /**
+     * @param loginUsers users that can log in, keyed by username (the locked-out user is excluded)
+     */
+    public record Users(String standardUsername, String standardPassword,
+                        String lockedUsername, String lockedPassword,
+                        String problemUsername, String problemPassword,
+                        String performanceUsername, String performancePassword,
+                        String errorUsername, String errorPassword,
+                        String visualUsername, String visualPassword,
+                        Map<String, String> loginUsers) {
+    }
+
+    public record TestData(String firstName, String lastName, String postalCode) {
+    }
+
+    public record Screenshots(boolean enabled, String path, int queueCapacity) {
+    }
+
+    public record Recorder(boolean enabled, int frames, int events, int jpegQuality) {
+    }
+
+    public record Reports(String path, String allureResultsDirectory) {
+    }
+
+    /**
+     * Build a snapshot from merged properties
+     * @param properties merged properties, highest-precedence source already applied
+     * @param sources    names of the sources that were merged, lowest precedence first
+     * @return typed snapshot
+     * @throws IllegalArgumentException listing every number, boolean or size that is malformed or out of range
+     */
+    public static ConfigSnapshot resolve(Map<String, String> properties, List<String> sources) {
+        Parser parser = new Parser(properties);
+
+        ConfigSnapshot snapshot = new ConfigSnapshot(
+                new Application(
+                        parser.string("app.url", null),
+                        parser.longValue("app.timeout", 10000, 1),
+                        parser.string("environment", "test")),
+                new StandIn(
+                        parser.bool("standin.enabled", false),
+                        parser.intValue("standin.port", 0, 0, 65535)),
+                new Browser(
+                        parser.choice("browser", "chrome", "chrome", "firefox"),
+                        parser.bool("browser.headless", false),
+                        parser.size("browser.size", "1920x1080"),
+                        parser.choice("driver.isolation", "browser", "browser", "context"),
+                        parser.bool("session.reuse.enabled", true),
+                        parser.bool("webdriver.roundtrips.enabled", true)),
+                new Pool(
+                        parser.bool("driver.pool.enabled", true),
+                        parser.intValue("driver.pool.size", 2, 1, Integer.MAX_VALUE)),
+                new Timing(
+                        parser.intValue("timing.warmup.iterations", 1, 0, Integer.MAX_VALUE),
+                        parser.intValue("timing.repetitions", 5, 1, Integer.MAX_VALUE)),
+                new PerfHistory(
+                        parser.bool("perf.history.enabled", true),
+                        parser.string("perf.history.dir", "perf-history"),
+                        parser.intValue("perf.baseline.runs", 10, 1, Integer.MAX_VALUE),
+                        parser.intValue("perf.baseline.min.samples", 5, 1, Integer.MAX_VALUE),
+                        parser.doubleValue("perf.regression.threshold", 0.30, 0, Double.MAX_VALUE),
+                        parser.doubleValue("perf.regression.alpha", 0.01, Double.MIN_VALUE, 1),
+                        parser.choice("perf.regression.mode", "flag", "off", "flag", "fail")),
+                new Page(
+                        parser.bool("page.metrics.enabled", true),
+                        parser.choice("wait.engine", "observer", "observer", "polling")),
+                new Preconditions(
+                        parser.choice("preconditions.mode", "storage", "storage", "ui"),
+                        parser.intValue("preconditions.verify.interval", 25, 0, Integer.MAX_VALUE),
+                        parser.bool("preconditions.carry", true)),
+                new Network(
+                        parser.bool("network.interception.enabled", false),
+                        parser.string("network.block.types", ""),
+                        parser.string("network.block.urls", ""),
+                        parser.bool("network.cache.enabled", true),
+                        parser.intValue("network.cache.max.mb", 64, 0, 1024 * 1024),
+                        parser.string("network.cache.types", "Image,Font,Stylesheet,Script")),
+                new Daemon(
+                        parser.intValue("daemon.port", 7171, 1, 65535)),
+                new Parallel(
+                        parser.choice("parallel.mode", "none", "none", "false", "methods", "classes"),
+                        parser.intValue("parallel.threads", Runtime.getRuntime().availableProcessors(),
+                                1, Integer.MAX_VALUE),
+                        parser.intValue("parallel.threads.max", 8, 1, Integer.MAX_VALUE)),
+                users(parser),
+                new TestData(
+                        parser.string("test.firstName", "Test"),
+                        parser.string("test.lastName", "User"),
+                        parser.string("test.postalCode", "12345")),
+                new Screenshots(
+                        parser.bool("screenshots.enabled", true),
+                        parser.string("screenshots.path", "target/screenshots"),
+                        parser.intValue("screenshots.queue.capacity", 16, 1, Integer.MAX_VALUE)),
+                new Recorder(
+                        parser.bool("failure.recorder.enabled", true),
+                        parser.intValue("failure.recorder.frames", 8, 1, Integer.MAX_VALUE),
+                        parser.intValue("failure.recorder.events", 200, 0, Integer.MAX_VALUE),
+                        parser.intValue("failure.recorder.jpeg.quality", 60, 1, 100)),
+                new Reports(
+                        parser.string("reports.path", "target/reports"),
+                        parser.string("allure.results.directory", "target/allure-results")),
+                Collections.unmodifiableMap(new LinkedHashMap<>(properties)),
+                List.copyOf(sources));
+
+        if (!parser.problems.isEmpty()) {
+            throw new IllegalArgumentException("Invalid configuration:" + System.lineSeparator() + "  "
+                    + String.join(System.lineSeparator() + "  ", parser.problems));
+        }
+        return snapshot;
+    }
+
+    private static Users users(Parser parser) {
+        String standardUsername = parser.string("user.standard.username", null);
+        String standardPassword = parser.string("user.standard.password", null);
+        String problemUsername = parser.string("user.problem.username", "problem_user");
+        String problemPassword = parser.string("user.problem.password", "secret_sauce");
+        String performanceUsername = parser.string("user.performance.username", "performance_glitch_user");
+        String performancePassword = parser.string("user.performance.password", "secret_sauce");
+        String errorUsername = parser.string("user.error.username", "error_user");
+        String errorPassword = parser.string("user.error.password", "secret_sauce");
+        String visualUsername = parser.string("user.visual.username", "visual_user");
+        String visualPassword = parser.string("user.visual.password", "secret_sauce");
+
+        Map<String, String> loginUsers = new LinkedHashMap<>();
+        if (standardUsername != null && standardPassword != null) {
+            loginUsers.put(standardUsername, standardPassword);
+        }
+        loginUsers.put(problemUsername, problemPassword);
+        loginUsers.put(performanceUsername, performancePassword);
+        loginUsers.put(errorUsername, errorPassword);
+        loginUsers.put(visualUsername, visualPassword);
+
+        return new Users(standardUsername, standardPassword,
+                parser.string("user.locked.username", "locked_out_user"),
+                parser.string("user.locked.password", "secret_sauce"),
+                problemUsername, problemPassword,
+                performanceUsername, performancePassword,
+                errorUsername, errorPassword,
+                visualUsername, visualPassword,
+                Collections.unmodifiableMap(loginUsers));
+    }
+
+    /**
+     * Raw string value of a property
+     * @param key property name
+     * @return value, or null if no source defines it
+     */
+    public String get(String key) {
+        return properties.get(key);
+    }
+
+    /**
+     * Parses typed values and collects every invalid one, so a bad configuration is reported in full
+     */
+    private static final class Parser {
+        private final Map<String, String> properties;
+        private final List<String> problems = new ArrayList<>();
+
+        Parser(Map<String, String> properties) {
+            this.properties = properties;
+        }
+
+        String string(String key, String defaultValue) {
+            return properties.getOrDefault(key, defaultValue);
+        }
+
+        boolean bool(String key, boolean defaultValue) {
+            String value = properties.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            if (!normalized.equals("true") && !normalized.equals("false")) {
+                problems.add(String.format("%s must be true or false, was '%s'", key, value));
+                return defaultValue;
+            }
+            return Boolean.parseBoolean(normalized);
+        }
+
+        /**
+         * One of the allowed values, compared case-insensitively and returned in lower case.
+         * An unknown value falls back to the default with a warning, as an unsupported browser always has.
+         */
+        String choice(String key, String defaultValue, String... allowed) {
+            String value = properties.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            String normalized = value.trim().toLowerCase(Locale.ROOT);
+            if (!Set.of(allowed).contains(normalized)) {
+                logger.warn("{} '{}' is not one of {}. Using {} as default.", key, value, String.join(", ", allowed),
+                        defaultValue);
+                return defaultValue;
+            }
+            return normalized;
+        }
+
+        /**
+         * A WIDTHxHEIGHT size in pixels
+         */
+        String size(String key, String defaultValue) {
+            String value = properties.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            String normalized = value.trim();
+            if (!normalized.matches("[1-9]\\d*x[1-9]\\d*")) {
+                problems.add(String.format("%s must be WIDTHxHEIGHT, was '%s'", key, value));
+                return defaultValue;
+            }
+            return normalized;
+        }
+
+        int intValue(String key, int defaultValue, int min, int max) {
+            String value = properties.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return checkRange(key, Integer.parseInt(value.trim()), min, max, defaultValue).intValue();
+            } catch (NumberFormatException e) {
+                problems.add(String.format("%s must be an integer, was '%s'", key, value));
+                return defaultValue;
+            }
+        }
+
+        long longValue(String key, long defaultValue, long min) {
+            String value = properties.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return checkRange(key, Long.parseLong(value.trim()), min, Long.MAX_VALUE, defaultValue).longValue();
+            } catch (NumberFormatException e) {
+                problems.add(String.format("%s must be an integer, was '%s'", key, value));
+                return defaultValue;
+            }
+        }
+
+        double doubleValue(String key, double defaultValue, double min, double max) {
+            String value = properties.get(key);
+            if (value == null) {
+                return defaultValue;
+            }
+            try {
+                return checkRange(key, Double.parseDouble(value.trim()), min, max, defaultValue).doubleValue();
+            } catch (NumberFormatException e) {
+                problems.add(String.format("%s must be a number, was '%s'", key, value));
+                return defaultValue;
+            }
+        }
+
+        private Number checkRange(String key, Number value, Number min, Number max, Number defaultValue) {
+            double number = value.doubleValue();
+            if (Double.isNaN(number) || number < min.doubleValue() || number > max.doubleValue()) {
+                problems.add(String.format("%s must be %s, was %s", key, describeRange(min, max), value));
+                return defaultValue;
+            }
+            return value;
+        }
+
+        private static String describeRange(Number min, Number max) {
+            boolean unbounded = max.doubleValue() >= Integer.MAX_VALUE;
+            if (min.doubleValue() == Double.MIN_VALUE) {
+                return "greater than 0" + (unbounded ? "" : " and at most " + max);
+            }
+            return unbounded ? "at least " + min : "between " + min + " and " + max;
+        }
+    }
+}
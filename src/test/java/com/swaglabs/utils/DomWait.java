@@ -0,0 +1,281 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.CollectionCondition;
+import com.codeborne.selenide.Condition;
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.SelenideElement;
+import com.swaglabs.jfr.WaitEvent;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+
+import static com.codeborne.selenide.Selenide.$$;
+
+/**
+ * Waits for several DOM conditions with one async script instead of one Selenide poll loop per condition.
+ * The script checks the conditions, and if they do not hold yet, installs a MutationObserver and
+ * re-checks on every DOM change (plus every 100 ms for style-only changes) until all of them hold or
+ * the timeout passes. It then resolves in a single WebDriver round trip.
+ * Conditions the script cannot express (chained, indexed or By-located elements) and runs with
+ * wait.engine=polling use the usual Selenide checks. When the observer times out, the Selenide checks
+ * run once more with a short timeout, so failures keep Selenide's error messages and screenshots.
+ * <pre>
+ * DomWait.until()
+ *         .visible(pageTitle)
+ *         .text(pageTitle, "Products")
+ *         .countAtLeast(".inventory_item", 1)
+ *         .await();
+ * </pre>
+ */
+public final class DomWait {
+    private static final Logger logger = LoggerFactory.getLogger(DomWait.class);
+
+    // Indexed ($$(..).get(i)), chained (a/b) and By-located elements have no plain CSS selector
+    private static final Pattern UNSUPPORTED_CRITERIA = Pattern.compile("^By\\.|/|\\[\\d+]$");
+    private static final Duration RECHECK_TIMEOUT = Duration.ofMillis(200);
+
+    private static final String WAIT_SCRIPT =
+            "var specs = arguments[0], timeout = arguments[1], done = arguments[arguments.length - 1];" +
+            "function norm(text) { return (text || '').replace(/[\\s\\u00a0]+/g, ' ').trim().toLowerCase(); }" +
+            "function shown(el) {" +
+            "  if (!el || !el.isConnected) return false;" +
+            "  if (el.checkVisibility) {" +
+            "    if (!el.checkVisibility({opacityProperty: true, visibilityProperty: true})) return false;" +
+            "  } else {" +
+            "    var style = getComputedStyle(el);" +
+            "    if (style.display === 'none' || style.visibility !== 'visible' || style.opacity === '0') return false;" +
+            "  }" +
+            "  var rect = el.getBoundingClientRect();" +
+            "  return rect.width > 0 || rect.height > 0 || el.getClientRects().length > 0;" +
+            "}" +
+            "function holds(spec) {" +
+            "  var kind = spec[0], selector = spec[1], expected = spec[2];" +
+            "  if (kind === 'count') return document.querySelectorAll(selector).length === expected;" +
+            "  if (kind === 'countAtLeast') return document.querySelectorAll(selector).length >= expected;" +
+            "  var el = document.querySelector(selector);" +
+            "  switch (kind) {" +
+            "    case 'visible': return shown(el);" +
+            "    case 'hidden': return !shown(el);" +
+            "    case 'text': return !!el && norm(el.innerText).indexOf(norm(expected)) >= 0;" +
+            "    case 'enabled': return !!el && !el.disabled;" +
+            "  }" +
+            "  throw new Error('Unsupported condition ' + kind);" +
+            "}" +
+            "function failing() {" +
+            "  for (var i = 0; i < specs.length; i++) { if (!holds(specs[i])) return i; }" +
+            "  return -1;" +
+            "}" +
+            "var start = performance.now(), mutations = 0, checks = 1, finished = false, scheduled = false;" +
+            "var observer, interval, timer;" +
+            "function finish(result) {" +
+            "  if (finished) return;" +
+            "  finished = true;" +
+            "  if (observer) observer.disconnect();" +
+            "  clearInterval(interval); clearTimeout(timer);" +
+            "  result.waited = performance.now() - start; result.mutations = mutations; result.checks = checks;" +
+            "  done(result);" +
+            "}" +
+            "function recheck() {" +
+            "  scheduled = false;" +
+            "  if (finished) return;" +
+            "  checks++;" +
+            "  try { if (failing() < 0) finish({met: true}); } catch (e) { finish({error: String(e)}); }" +
+            "}" +
+            "try {" +
+            "  if (failing() < 0) { finish({met: true}); }" +
+            "  else {" +
+            "    observer = new MutationObserver(function (records) {" +
+            "      mutations += records.length;" +
+            "      if (!scheduled) { scheduled = true; Promise.resolve().then(recheck); }" +
+            "    });" +
+            "    observer.observe(document.documentElement," +
+            "      {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "    interval = setInterval(recheck, 100);" +
+            "    timer = setTimeout(function () { finish({met: false, failing: failing()}); }, timeout);" +
+            "  }" +
+            "} catch (e) {" +
+            "  finish({error: String(e)});" +
+            "}";
+
+    private static final AtomicLong observed = new AtomicLong();
+    private static final AtomicLong timedOut = new AtomicLong();
+    private static final AtomicLong polled = new AtomicLong();
+    private static final AtomicLong conditions = new AtomicLong();
+
+    private final List<Spec> specs = new ArrayList<>();
+
+    private DomWait() {
+    }
+
+    /**
+     * Start a wait; add conditions, then call {@link #await()}
+     */
+    public static DomWait until() {
+        return new DomWait();
+    }
+
+    public DomWait visible(SelenideElement element) {
+        return add(element, "visible", null, timeout -> element.shouldBe(Condition.visible, timeout));
+    }
+
+    public DomWait hidden(SelenideElement element) {
+        return add(element, "hidden", null, timeout -> element.shouldBe(Condition.hidden, timeout));
+    }
+
+    /**
+     * Element text contains the expected text, ignoring case and whitespace, like {@link Condition#text(String)}
+     */
+    public DomWait text(SelenideElement element, String expectedText) {
+        return add(element, "text", expectedText, timeout -> element.shouldHave(Condition.text(expectedText), timeout));
+    }
+
+    public DomWait enabled(SelenideElement element) {
+        return add(element, "enabled", null, timeout -> element.shouldBe(Condition.enabled, timeout));
+    }
+
+    /**
+     * Exactly the given number of elements match the CSS selector
+     */
+    public DomWait count(String cssSelector, int expected) {
+        specs.add(new Spec("count", cssSelector, expected,
+                timeout -> $$(cssSelector).shouldHave(CollectionCondition.size(expected), timeout)));
+        return this;
+    }
+
+    /**
+     * At least the given number of elements match the CSS selector
+     */
+    public DomWait countAtLeast(String cssSelector, int minimum) {
+        specs.add(new Spec("countAtLeast", cssSelector, minimum, timeout -> $$(cssSelector)
+                .shouldHave(CollectionCondition.sizeGreaterThanOrEqual(minimum), timeout)));
+        return this;
+    }
+
+    private DomWait add(SelenideElement element, String kind, Object expected, Consumer<Duration> fallback) {
+        String criteria = element.getSearchCriteria();
+        String selector = UNSUPPORTED_CRITERIA.matcher(criteria).find() ? null : criteria;
+        specs.add(new Spec(kind, selector, expected, fallback));
+        return this;
+    }
+
+    /**
+     * Wait until every condition holds
+     * @throws AssertionError (from Selenide) if a condition does not hold within the timeout
+     */
+    public void await() {
+        Duration timeout = Duration.ofMillis(Configuration.timeout);
+        conditions.addAndGet(specs.size());
+        List<Spec> observable = specs.stream().filter(spec -> spec.selector != null).toList();
+        if (observable.isEmpty() || !"observer".equalsIgnoreCase(ConfigManager.getInstance().getWaitEngine())) {
+            polled.incrementAndGet();
+            specs.forEach(spec -> spec.fallback.accept(timeout));
+            return;
+        }
+
+        Map<String, Object> result = observe(observable, timeout.toMillis());
+        if (result != null && Boolean.TRUE.equals(result.get("met"))) {
+            observed.incrementAndGet();
+            // Only conditions the script could not express are left to Selenide
+            specs.stream().filter(spec -> spec.selector == null).forEach(spec -> spec.fallback.accept(timeout));
+            return;
+        }
+
+        if (result != null && Boolean.FALSE.equals(result.get("met"))) {
+            timedOut.incrementAndGet();
+            // Let Selenide confirm and report the failure without waiting the full timeout again
+            specs.forEach(spec -> spec.fallback.accept(spec.selector == null ? timeout : RECHECK_TIMEOUT));
+            return;
+        }
+
+        polled.incrementAndGet();
+        specs.forEach(spec -> spec.fallback.accept(timeout));
+    }
+
+    private static Map<String, Object> observe(List<Spec> observable, long timeoutMillis) {
+        List<List<Object>> arguments = new ArrayList<>();
+        StringBuilder description = new StringBuilder();
+        for (Spec spec : observable) {
+            List<Object> argument = new ArrayList<>();
+            argument.add(spec.kind);
+            argument.add(spec.selector);
+            argument.add(spec.expected);
+            arguments.add(argument);
+            description.append(description.length() == 0 ? "" : ", ").append(spec.kind).append(' ').append(spec.selector);
+        }
+
+        WaitEvent event = new WaitEvent();
+        event.begin();
+        Map<String, Object> result = null;
+        try {
+            result = Selenide.executeAsyncJavaScript(WAIT_SCRIPT, arguments, timeoutMillis);
+            if (result != null && result.get("error") != null) {
+                logger.debug("Observer wait for [{}] failed in the page: {}", description, result.get("error"));
+                result = null;
+            }
+        } catch (WebDriverException e) {
+            // e.g. the document was replaced by a full page load while the script was waiting
+            logger.debug("Observer wait for [{}] interrupted: {}", description, e.getMessage());
+        }
+        event.finish("observe", description.toString(),
+                result == null ? "FALLBACK" : Boolean.TRUE.equals(result.get("met")) ? "PASS" : "FAIL");
+        return result;
+    }
+
+    /**
+     * Get the wait statistics of this JVM
+     */
+    public static Stats stats() {
+        return new Stats(observed.get(), timedOut.get(), polled.get(), conditions.get());
+    }
+
+    private static final class Spec {
+        private final String kind;
+        private final String selector;
+        private final Object expected;
+        private final Consumer<Duration> fallback;
+
+        Spec(String kind, String selector, Object expected, Consumer<Duration> fallback) {
+            this.kind = kind;
+            this.selector = selector;
+            this.expected = expected;
+            this.fallback = fallback;
+        }
+    }
+
+    /**
+     * Number of waits resolved by the observer, timed out in the observer, or handed to Selenide polling
+     */
+    public static final class Stats {
+        private final long observed;
+        private final long timedOut;
+        private final long polled;
+        private final long conditions;
+
+        Stats(long observed, long timedOut, long polled, long conditions) {
+            this.observed = observed;
+            this.timedOut = timedOut;
+            this.polled = polled;
+            this.conditions = conditions;
+        }
+
+        public long getObserved() { return observed; }
+        public long getTimedOut() { return timedOut; }
+        public long getPolled() { return polled; }
+        public long getConditions() { return conditions; }
+
+        @Override
+        public String toString() {
+            return String.format("DomWait{observed=%d, timedOut=%d, polled=%d, conditions=%d}",
+                    observed, timedOut, polled, conditions);
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.swaglabs.utils;
 
+import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.jfr.DriverEvent;
 import io.github.bonigarcia.wdm.WebDriverManager;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.chrome.ChromeDriver;
@@ -9,43 +11,53 @@ import org.openqa.selenium.firefox.FirefoxOptions;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * WebDriver Manager for handling browser instances
  */
 public class DriverManager {
     private static final Logger logger = LoggerFactory.getLogger(DriverManager.class);
     private static final ThreadLocal<WebDriver> driverThreadLocal = new ThreadLocal<>();
+    private static final Set<WebDriver> unpooledDrivers = ConcurrentHashMap.newKeySet();
+    private static volatile BrowserPool browserPool;
 
     /**
      * Creates and returns WebDriver instance based on browser type
      */
     public static WebDriver getDriver(String browser, boolean headless) {
+        WebDriver driver = createDriver(browser, headless);
+        driverThreadLocal.set(driver);
+        return driver;
+    }
+
+    /**
+     * Creates a new WebDriver instance without binding it to the current thread
+     */
+    public static WebDriver createDriver(String browser, boolean headless) {
         WebDriver driver = null;
 
         try {
             switch (browser.toLowerCase()) {
                 case "chrome":
+                    DriverEvent resolveChrome = DriverEvent.begin("resolve", "chrome");
                     WebDriverManager.chromedriver().setup();
-                    ChromeOptions chromeOptions = new ChromeOptions();
-
-                    if (headless) {
-                        chromeOptions.addArguments("--headless");
-                    }
-
-                    chromeOptions.addArguments("--no-sandbox");
-                    chromeOptions.addArguments("--disable-dev-shm-usage");
-                    chromeOptions.addArguments("--disable-gpu");
-                    chromeOptions.addArguments("--window-size=1920,1080");
-                    chromeOptions.addArguments("--disable-extensions");
-                    chromeOptions.addArguments("--disable-web-security");
-                    chromeOptions.addArguments("--allow-running-insecure-content");
+                    resolveChrome.commit();
+                    ChromeOptions chromeOptions = chromeOptions(headless);
 
+                    DriverEvent launchChrome = DriverEvent.begin("launch", "chrome");
                     driver = new ChromeDriver(chromeOptions);
+                    launchChrome.commit();
                     logger.info("Chrome driver initialized successfully");
                     break;
 
                 case "firefox":
+                    DriverEvent resolveFirefox = DriverEvent.begin("resolve", "firefox");
                     WebDriverManager.firefoxdriver().setup();
+                    resolveFirefox.commit();
                     FirefoxOptions firefoxOptions = new FirefoxOptions();
 
                     if (headless) {
@@ -55,18 +67,22 @@ public class DriverManager {
                     firefoxOptions.addArguments("--width=1920");
                     firefoxOptions.addArguments("--height=1080");
 
+                    DriverEvent launchFirefox = DriverEvent.begin("launch", "firefox");
                     driver = new FirefoxDriver(firefoxOptions);
+                    launchFirefox.commit();
                     logger.info("Firefox driver initialized successfully");
                     break;
 
                 default:
                     logger.error("Browser '{}' is not supported. Using Chrome as default.", browser);
-                    return getDriver("chrome", headless);
+                    return createDriver("chrome", headless);
             }
 
             if (driver != null) {
                 driver.manage().window().maximize();
-                driverThreadLocal.set(driver);
+                if (ConfigManager.getInstance().isRoundTripTrackingEnabled()) {
+                    driver = RoundTripRecorder.decorate(driver);
+                }
             }
 
         } catch (Exception e) {
@@ -77,6 +93,46 @@ public class DriverManager {
         return driver;
     }
 
+    /**
+     * Chrome options shared by dedicated, pooled and context-hosting browsers
+     * @param headless whether Chrome runs headless
+     */
+    static ChromeOptions chromeOptions(boolean headless) {
+        ChromeOptions chromeOptions = new ChromeOptions();
+
+        if (headless) {
+            chromeOptions.addArguments("--headless");
+        }
+
+        chromeOptions.addArguments("--no-sandbox");
+        chromeOptions.addArguments("--disable-dev-shm-usage");
+        chromeOptions.addArguments("--disable-gpu");
+        chromeOptions.addArguments("--window-size=1920,1080");
+        chromeOptions.addArguments("--disable-extensions");
+        chromeOptions.addArguments("--disable-web-security");
+        chromeOptions.addArguments("--allow-running-insecure-content");
+        chromeOptions.addArguments("--disable-background-timer-throttling");
+        chromeOptions.addArguments("--disable-backgrounding-occluded-windows");
+        chromeOptions.addArguments("--disable-renderer-backgrounding");
+        chromeOptions.addArguments("--disable-features=TranslateUI");
+        chromeOptions.addArguments("--disable-ipc-flooding-protection");
+        chromeOptions.addArguments("--user-data-dir=/tmp/chrome-user-data-" + UUID.randomUUID());
+        return chromeOptions;
+    }
+
+    /**
+     * Quits a browser, recording the time it takes as a Flight Recorder event
+     * @param driver browser to quit
+     */
+    static void quit(WebDriver driver) {
+        DriverEvent event = DriverEvent.begin("quit", ConfigManager.getInstance().getBrowser());
+        try {
+            driver.quit();
+        } finally {
+            event.commit();
+        }
+    }
+
     /**
      * Gets the current WebDriver instance for the thread
      */
@@ -91,7 +147,7 @@ public class DriverManager {
         WebDriver driver = driverThreadLocal.get();
         if (driver != null) {
             try {
-                driver.quit();
+                quit(driver);
                 logger.info("WebDriver closed successfully");
             } catch (Exception e) {
                 logger.error("Error closing WebDriver: {}", e.getMessage());
@@ -115,4 +171,154 @@ public class DriverManager {
             }
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Creates a dedicated browser for the current thread and binds it to Selenide.
+     * Each browser gets its own profile directory, so threads never share state.
+     * With driver.isolation=context the thread gets an isolated context in a shared Chrome instead.
+     */
+    public static WebDriver startDriver(String browser, boolean headless) {
+        if (isContextIsolation(browser)) {
+            WebDriver driver = BrowserContexts.open(headless);
+            driverThreadLocal.set(driver);
+            WebDriverRunner.setWebDriver(driver);
+            return driver;
+        }
+        WebDriver driver = getDriver(browser, headless);
+        unpooledDrivers.add(driver);
+        WebDriverRunner.setWebDriver(driver);
+        return driver;
+    }
+
+    /**
+     * Detaches the current thread's dedicated browser from Selenide and quits it,
+     * or disposes its browser context
+     */
+    public static void stopDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null) {
+            return;
+        }
+        detachFromSelenide();
+        if (BrowserContexts.owns(driver)) {
+            try {
+                BrowserContexts.close(driver);
+            } finally {
+                driverThreadLocal.remove();
+            }
+            return;
+        }
+        unpooledDrivers.remove(driver);
+        quitDriver();
+    }
+
+    /**
+     * Quits dedicated browsers left open by any thread, and the shared browser hosting contexts
+     */
+    public static void quitAllDrivers() {
+        stopDriver();
+        for (WebDriver driver : new ArrayList<>(unpooledDrivers)) {
+            try {
+                quit(driver);
+            } catch (Exception e) {
+                logger.warn("Error quitting WebDriver: {}", e.getMessage());
+            }
+        }
+        unpooledDrivers.clear();
+        BrowserContexts.shutdown();
+    }
+
+    /**
+     * Whether tests get isolated contexts in a shared Chrome instead of their own browsers.
+     * Only Chrome supports it; other browsers always get dedicated instances.
+     * @param browser configured browser type
+     */
+    public static boolean isContextIsolation(String browser) {
+        return "context".equalsIgnoreCase(ConfigManager.getInstance().getDriverIsolation())
+                && "chrome".equalsIgnoreCase(browser);
+    }
+
+    /**
+     * Starts the shared browser pool and pre-launches its browsers
+     * @param browser   browser type for pooled instances
+     * @param headless  whether pooled browsers run headless
+     * @param size      number of idle browsers kept warm
+     * @param warmUpUrl page loaded once in each new browser, or null
+     */
+    public static synchronized void initPool(String browser, boolean headless, int size, String warmUpUrl) {
+        if (browserPool != null) {
+            logger.debug("Browser pool already initialized");
+            return;
+        }
+        browserPool = new BrowserPool(() -> createDriver(browser, headless), size);
+        browserPool.warmUp(warmUpUrl);
+    }
+
+    /**
+     * Whether the browser pool has been started
+     */
+    public static boolean isPoolActive() {
+        return browserPool != null;
+    }
+
+    /**
+     * Leases a pooled browser and binds it to the current thread and to Selenide
+     */
+    public static WebDriver leaseDriver() {
+        if (browserPool == null) {
+            throw new IllegalStateException("Browser pool not initialized. Call initPool() first");
+        }
+        WebDriver driver = browserPool.lease();
+        driverThreadLocal.set(driver);
+        WebDriverRunner.setWebDriver(driver);
+        logger.debug("Leased pooled browser for thread {}", Thread.currentThread().getName());
+        return driver;
+    }
+
+    /**
+     * Detaches the current thread's browser from Selenide, resets it and returns it to the pool
+     */
+    public static void releaseDriver() {
+        WebDriver driver = driverThreadLocal.get();
+        if (driver == null || browserPool == null) {
+            return;
+        }
+        try {
+            detachFromSelenide();
+            browserPool.release(driver);
+            logger.debug("Released pooled browser for thread {}", Thread.currentThread().getName());
+        } finally {
+            driverThreadLocal.remove();
+        }
+    }
+
+    /**
+     * Quits all pooled browsers and logs the pool statistics
+     */
+    public static synchronized void shutdownPool() {
+        if (browserPool == null) {
+            return;
+        }
+        releaseDriver();
+        browserPool.shutdown();
+        browserPool = null;
+    }
+
+    /**
+     * Unbinds the current thread's browser from Selenide without quitting it.
+     * Selenide 6 only offers this through the deprecated resetWebDriver(); closeWebDriver() would quit
+     * a browser that is going back to the pool, or a browser context instead of disposing it.
+     */
+    @SuppressWarnings("deprecation")
+    private static void detachFromSelenide() {
+        WebDriverRunner.webdriverContainer.resetWebDriver();
+    }
+
+    /**
+     * Gets the pool hit/miss and lease-time statistics, or null when no pool is active
+     */
+    public static BrowserPool.Stats getPoolStats() {
+        BrowserPool pool = browserPool;
+        return pool != null ? pool.stats() : null;
+    }
+}
@@ -0,0 +1,424 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.WebDriverRunner;
+import io.qameta.allure.Allure;
+import io.qameta.allure.AllureLifecycle;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the last moments of each test in memory so a failure can be explained without recording every test
+ * to disk. While a test runs, every top-level Allure step leaves a frame: a JPEG screenshot and the DOM, kept
+ * in a ring of failure.recorder.frames. Chrome's console messages, exceptions, log entries and network
+ * requests go into a ring of failure.recorder.events. A passing test drops the rings; a failing one gets them
+ * as Allure attachments grouped under one step of its teardown.
+ * Frames and events come from the DevTools session of the unwrapped driver, so they are not counted as
+ * WebDriver round trips and JPEG encoding happens in the browser. Other browsers get frames through their
+ * WebDriver screenshot, encoded here, and no events.
+ */
+public final class FailureRecorder {
+    private static final Logger logger = LoggerFactory.getLogger(FailureRecorder.class);
+
+    private static final Event<Map<String, Object>> CONSOLE_CALLED =
+            new Event<>("Runtime.consoleAPICalled", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> EXCEPTION_THROWN =
+            new Event<>("Runtime.exceptionThrown", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOG_ENTRY_ADDED =
+            new Event<>("Log.entryAdded", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> REQUEST_SENT =
+            new Event<>("Network.requestWillBeSent", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> RESPONSE_RECEIVED =
+            new Event<>("Network.responseReceived", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FAILED =
+            new Event<>("Network.loadingFailed", input -> input.read(Json.MAP_TYPE));
+
+    private static final String PAGE_STATE_SCRIPT =
+            "return [location.href, document.documentElement ? document.documentElement.outerHTML : ''];";
+    private static final DateTimeFormatter TIME_FORMAT =
+            DateTimeFormatter.ofPattern("HH:mm:ss.SSS").withZone(ZoneId.systemDefault());
+
+    private static final ThreadLocal<Recording> active = new ThreadLocal<>();
+
+    private static final AtomicLong recorded = new AtomicLong();
+    private static final AtomicLong flushed = new AtomicLong();
+    private static final AtomicLong frames = new AtomicLong();
+    private static final AtomicLong frameNanos = new AtomicLong();
+    private static final AtomicLong captureFailures = new AtomicLong();
+
+    private FailureRecorder() {
+    }
+
+    /**
+     * Start recording the current thread's test in its browser
+     * @param testName name used in log messages
+     */
+    public static void start(String testName) {
+        ConfigManager config = ConfigManager.getInstance();
+        discard();
+        if (!config.isFailureRecorderEnabled() || !WebDriverRunner.hasWebDriverStarted()) {
+            return;
+        }
+        WebDriver driver = WebDriverRunner.getWebDriver();
+        WebDriver unwrapped = RoundTripRecorder.unwrap(driver);
+        Recording recording = new Recording(testName, unwrapped, Math.max(1, config.getFailureRecorderFrames()),
+                Math.max(0, config.getFailureRecorderEvents()),
+                Math.min(100, Math.max(1, config.getFailureRecorderJpegQuality())));
+        recording.listen();
+        active.set(recording);
+        recorded.incrementAndGet();
+    }
+
+    /**
+     * Record a frame for a top-level step that just finished
+     * @param stepName Allure step name
+     */
+    public static void stepStopped(String stepName) {
+        Recording recording = active.get();
+        if (recording != null) {
+            recording.capture(stepName);
+        }
+    }
+
+    /**
+     * Drop the current thread's recording without writing anything
+     */
+    public static void discard() {
+        Recording recording = active.get();
+        active.remove();
+        if (recording != null) {
+            recording.stop();
+        }
+    }
+
+    /**
+     * Record a last frame and attach the current thread's recording to the Allure report
+     * @param failure what the test failed with, or null
+     */
+    public static void flush(Throwable failure) {
+        Recording recording = active.get();
+        active.remove();
+        if (recording == null) {
+            return;
+        }
+        recording.capture("At failure" + (failure == null ? "" : ": " + firstLine(failure)));
+        recording.stop();
+        try {
+            recording.attach();
+            flushed.incrementAndGet();
+        } catch (Exception e) {
+            logger.warn("Failed to attach failure recording of {}: {}", recording.testName, e.getMessage());
+        }
+    }
+
+    public static Stats stats() {
+        return new Stats(recorded.get(), flushed.get(), frames.get(), frameNanos.get(), captureFailures.get());
+    }
+
+    private static String firstLine(Throwable failure) {
+        String message = String.valueOf(failure.getMessage());
+        int newline = message.indexOf('\n');
+        return newline < 0 ? message : message.substring(0, newline);
+    }
+
+    /**
+     * Re-encode a PNG screenshot as JPEG, for browsers that cannot capture JPEG themselves
+     */
+    private static byte[] toJpeg(byte[] png, int quality) throws IOException {
+        BufferedImage source = ImageIO.read(new ByteArrayInputStream(png));
+        BufferedImage rgb = new BufferedImage(source.getWidth(), source.getHeight(), BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = rgb.createGraphics();
+        graphics.drawImage(source, 0, 0, Color.WHITE, null);
+        graphics.dispose();
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName("jpeg").next();
+        ByteArrayOutputStream jpeg = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(jpeg)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(quality / 100f);
+            writer.write(null, new IIOImage(rgb, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return jpeg.toByteArray();
+    }
+
+    private record Frame(Instant time, String step, String url, byte[] jpeg, String dom) {
+    }
+
+    /**
+     * Rings of one test in one browser. Frames are added by the test thread, events by the DevTools thread.
+     */
+    private static final class Recording {
+        private final String testName;
+        private final WebDriver driver;
+        private final int frameCapacity;
+        private final int eventCapacity;
+        private final int quality;
+        private final Deque<Frame> frames = new ArrayDeque<>();
+        private final Deque<String> console = new ArrayDeque<>();
+        private final Deque<String> network = new ArrayDeque<>();
+        // Request URLs by id, for failures, which only name the request
+        private final Map<String, String> requests = new LinkedHashMap<>() {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > 1000;
+            }
+        };
+        private DevTools devTools;
+        private volatile boolean stopped;
+        private int droppedFrames;
+        private int droppedEvents;
+
+        Recording(String testName, WebDriver driver, int frameCapacity, int eventCapacity, int quality) {
+            this.testName = testName;
+            this.driver = driver;
+            this.frameCapacity = frameCapacity;
+            this.eventCapacity = eventCapacity;
+            this.quality = quality;
+        }
+
+        void listen() {
+            if (!(driver instanceof HasDevTools) || eventCapacity == 0) {
+                return;
+            }
+            try {
+                DevTools tools = ((HasDevTools) driver).getDevTools();
+                tools.createSessionIfThereIsNotOne(driver.getWindowHandle());
+                tools.addListener(CONSOLE_CALLED, this::onConsole);
+                tools.addListener(EXCEPTION_THROWN, this::onException);
+                tools.addListener(LOG_ENTRY_ADDED, this::onLogEntry);
+                tools.addListener(REQUEST_SENT, this::onRequest);
+                tools.addListener(RESPONSE_RECEIVED, this::onResponse);
+                tools.addListener(LOADING_FAILED, this::onLoadingFailed);
+                tools.send(new Command<>("Runtime.enable", Map.of()));
+                tools.send(new Command<>("Log.enable", Map.of()));
+                tools.send(new Command<>("Network.enable", Map.of()));
+                devTools = tools;
+            } catch (RuntimeException e) {
+                logger.debug("Failure recorder runs without browser events: {}", e.getMessage());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        void capture(String step) {
+            long start = System.nanoTime();
+            try {
+                byte[] jpeg;
+                List<Object> state;
+                if (devTools != null) {
+                    Map<String, Object> shot = devTools.send(new Command<>("Page.captureScreenshot",
+                            Map.of("format", "jpeg", "quality", quality), Json.MAP_TYPE));
+                    jpeg = Base64.getDecoder().decode(String.valueOf(shot.get("data")));
+                    Map<String, Object> evaluated = devTools.send(new Command<>("Runtime.evaluate",
+                            Map.of("expression", "(function () { " + PAGE_STATE_SCRIPT + " })()", "returnByValue", true),
+                            Json.MAP_TYPE));
+                    state = (List<Object>) ((Map<String, Object>) evaluated.get("result")).get("value");
+                } else {
+                    jpeg = toJpeg(((TakesScreenshot) driver).getScreenshotAs(OutputType.BYTES), quality);
+                    state = (List<Object>) ((JavascriptExecutor) driver).executeScript(PAGE_STATE_SCRIPT);
+                }
+                Frame frame = new Frame(Instant.now(), step, String.valueOf(state.get(0)), jpeg, String.valueOf(state.get(1)));
+                if (frames.size() == frameCapacity) {
+                    frames.pollFirst();
+                    droppedFrames++;
+                }
+                frames.addLast(frame);
+                FailureRecorder.frames.incrementAndGet();
+                frameNanos.addAndGet(System.nanoTime() - start);
+            } catch (Exception e) {
+                captureFailures.incrementAndGet();
+                logger.debug("Failure recorder could not capture '{}': {}", step, e.getMessage());
+            }
+        }
+
+        void stop() {
+            stopped = true;
+            DevTools tools = devTools;
+            if (tools == null) {
+                return;
+            }
+            try {
+                tools.send(new Command<>("Runtime.disable", Map.of()));
+                tools.send(new Command<>("Log.disable", Map.of()));
+                // DevTools cannot remove single listeners; an active network policy clears them all when it stops
+                if (!NetworkPolicy.isActive()) {
+                    tools.clearListeners();
+                    tools.send(new Command<>("Network.disable", Map.of()));
+                }
+            } catch (RuntimeException e) {
+                logger.debug("Error stopping failure recorder: {}", e.getMessage());
+            }
+        }
+
+        void attach() {
+            List<Frame> frameList;
+            String consoleText;
+            String networkText;
+            synchronized (this) {
+                frameList = new ArrayList<>(frames);
+                consoleText = String.join("\n", console);
+                networkText = String.join("\n", network);
+            }
+            String name = String.format("Failure recorder: last %d steps%s", frameList.size(),
+                    droppedFrames + droppedEvents == 0 ? ""
+                            : String.format(" (%d earlier frames and %d events dropped)", droppedFrames, droppedEvents));
+            Allure.step(name, () -> {
+                AllureLifecycle lifecycle = Allure.getLifecycle();
+                int index = 1;
+                for (Frame frame : frameList) {
+                    String label = String.format("%d. %s %s", index++, TIME_FORMAT.format(frame.time()), frame.step());
+                    lifecycle.addAttachment(label, "image/jpeg", "jpg", frame.jpeg());
+                    lifecycle.addAttachment(label + " DOM (" + frame.url() + ")", "text/html", "html",
+                            frame.dom().getBytes(StandardCharsets.UTF_8));
+                }
+                if (devTools != null) {
+                    lifecycle.addAttachment("Browser console", "text/plain", "txt",
+                            consoleText.getBytes(StandardCharsets.UTF_8));
+                    lifecycle.addAttachment("Browser network", "text/plain", "txt",
+                            networkText.getBytes(StandardCharsets.UTF_8));
+                }
+            });
+            logger.info("Attached failure recording of {}: {} frames, {} console and {} network events",
+                    testName, frameList.size(), console.size(), network.size());
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onConsole(Map<String, Object> event) {
+            List<Map<String, Object>> args = (List<Map<String, Object>>) event.getOrDefault("args", List.of());
+            String text = args.stream()
+                    .map(arg -> String.valueOf(arg.containsKey("value") ? arg.get("value")
+                            : arg.getOrDefault("description", arg.get("type"))))
+                    .collect(Collectors.joining(" "));
+            add(console, "console." + event.get("type") + " " + text);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onException(Map<String, Object> event) {
+            Map<String, Object> details = (Map<String, Object>) event.getOrDefault("exceptionDetails", Map.of());
+            Map<String, Object> exception = (Map<String, Object>) details.get("exception");
+            Object description = exception != null && exception.get("description") != null
+                    ? exception.get("description") : details.get("text");
+            add(console, "exception " + description);
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onLogEntry(Map<String, Object> event) {
+            Map<String, Object> entry = (Map<String, Object>) event.getOrDefault("entry", Map.of());
+            add(console, "log." + entry.get("level") + " [" + entry.get("source") + "] " + entry.get("text")
+                    + (entry.get("url") == null ? "" : " " + entry.get("url")));
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onRequest(Map<String, Object> event) {
+            Map<String, Object> request = (Map<String, Object>) event.getOrDefault("request", Map.of());
+            String url = String.valueOf(request.get("url"));
+            if (url.startsWith("data:")) {
+                return;
+            }
+            synchronized (this) {
+                requests.put(String.valueOf(event.get("requestId")), url);
+            }
+            add(network, "-> " + request.get("method") + " " + url + " (" + event.get("type") + ")");
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onResponse(Map<String, Object> event) {
+            Map<String, Object> response = (Map<String, Object>) event.getOrDefault("response", Map.of());
+            String url = String.valueOf(response.get("url"));
+            if (url.startsWith("data:")) {
+                return;
+            }
+            add(network, "<- " + response.get("status") + " " + url + " (" + response.get("mimeType") + ")");
+        }
+
+        private void onLoadingFailed(Map<String, Object> event) {
+            String url;
+            synchronized (this) {
+                url = requests.get(String.valueOf(event.get("requestId")));
+            }
+            add(network, "xx " + event.get("errorText") + " " + (url == null ? "request " + event.get("requestId") : url)
+                    + (Boolean.TRUE.equals(event.get("canceled")) ? " (canceled)" : ""));
+        }
+
+        private synchronized void add(Deque<String> ring, String line) {
+            if (stopped) {
+                return;
+            }
+            if (ring.size() == eventCapacity) {
+                ring.pollFirst();
+                droppedEvents++;
+            }
+            ring.addLast(TIME_FORMAT.format(Instant.now()) + " " + line);
+        }
+    }
+
+    /**
+     * Tests recorded, recordings attached, and what capturing frames cost
+     */
+    public static final class Stats {
+        private final long recorded;
+        private final long flushed;
+        private final long frames;
+        private final long frameNanos;
+        private final long captureFailures;
+
+        Stats(long recorded, long flushed, long frames, long frameNanos, long captureFailures) {
+            this.recorded = recorded;
+            this.flushed = flushed;
+            this.frames = frames;
+            this.frameNanos = frameNanos;
+            this.captureFailures = captureFailures;
+        }
+
+        public long getRecorded() { return recorded; }
+        public long getFlushed() { return flushed; }
+        public long getFrames() { return frames; }
+        public long getCaptureFailures() { return captureFailures; }
+
+        public double getAverageFrameMillis() {
+            return frames == 0 ? 0.0 : frameNanos / 1_000_000.0 / frames;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("FailureRecorder{recorded=%d, flushed=%d, frames=%d, avgFrameMs=%.1f, captureFailures=%d}",
+                    recorded, flushed, frames, getAverageFrameMillis(), captureFailures);
+        }
+    }
+}
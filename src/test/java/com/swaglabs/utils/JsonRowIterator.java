@@ -0,0 +1,206 @@
+package com.swaglabs.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/**
+ * Streams the objects of a JSON array as DataProvider rows, one token at a time.
+ * Only the requested fields are materialized, in the requested column order; every other field is
+ * skipped without being parsed into objects, so memory stays flat regardless of file size.
+ * The iterator is safe to share between threads, as TestNG does for parallel data providers,
+ * and closes the underlying stream once the last row has been read.
+ */
+public final class JsonRowIterator implements Iterator<Object[]>, AutoCloseable {
+    private static final Logger logger = LoggerFactory.getLogger(JsonRowIterator.class);
+    private static final JsonFactory jsonFactory = new ObjectMapper().getFactory();
+
+    private final String source;
+    private final JsonParser parser;
+    private final Map<String, Integer> columnIndex = new HashMap<>();
+    private final int columnCount;
+    private Object[] nextRow;
+    private long rowsRead;
+    private boolean closed;
+
+    /**
+     * @param source     name used in log and error messages
+     * @param stream     JSON content; closed by this iterator
+     * @param arrayField dot-separated path of object fields leading to the array, or null/empty for a
+     *                   top-level array
+     * @param columns    fields to project from each element, in DataProvider argument order
+     */
+    public JsonRowIterator(String source, InputStream stream, String arrayField, String... columns) {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("At least one column is required to stream " + source);
+        }
+        this.source = source;
+        this.columnCount = columns.length;
+        for (int i = 0; i < columns.length; i++) {
+            columnIndex.put(columns[i], i);
+        }
+
+        try {
+            this.parser = jsonFactory.createParser(stream);
+            positionAtArray(arrayField);
+            advance();
+        } catch (IOException e) {
+            closeQuietly(stream);
+            throw new UncheckedIOException("Error streaming test data file: " + source, e);
+        } catch (RuntimeException e) {
+            closeQuietly(stream);
+            throw e;
+        }
+    }
+
+    @Override
+    public synchronized boolean hasNext() {
+        return nextRow != null;
+    }
+
+    @Override
+    public synchronized Object[] next() {
+        if (nextRow == null) {
+            throw new NoSuchElementException("No more rows in " + source);
+        }
+        Object[] row = nextRow;
+        try {
+            advance();
+        } catch (IOException e) {
+            close();
+            throw new UncheckedIOException("Error streaming test data file: " + source, e);
+        }
+        return row;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextRow = null;
+        try {
+            if (parser != null) {
+                parser.close();
+            }
+        } catch (IOException e) {
+            logger.warn("Error closing test data stream {}: {}", source, e.getMessage());
+        }
+        logger.info("Streamed {} rows from: {}", rowsRead, source);
+    }
+
+    private void positionAtArray(String arrayField) throws IOException {
+        JsonToken token = parser.nextToken();
+        if (arrayField != null && !arrayField.isEmpty()) {
+            for (String field : arrayField.split("\\.")) {
+                if (token != JsonToken.START_OBJECT || !seekField(field)) {
+                    throw new IllegalArgumentException("Field '" + arrayField + "' not found in " + source);
+                }
+                token = parser.nextToken();
+            }
+        }
+        if (token != JsonToken.START_ARRAY) {
+            throw new IllegalArgumentException("Expected a JSON array at '" + arrayField + "' in " + source);
+        }
+    }
+
+    private boolean seekField(String field) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            if (field.equals(parser.currentName())) {
+                return true;
+            }
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        return false;
+    }
+
+    private void advance() throws IOException {
+        if (closed) {
+            return;
+        }
+        JsonToken token = parser.nextToken();
+        if (token == null || token == JsonToken.END_ARRAY) {
+            close();
+            return;
+        }
+        if (token != JsonToken.START_OBJECT) {
+            throw new IllegalArgumentException("Expected an object at row " + rowsRead + " in " + source);
+        }
+
+        Object[] row = new Object[columnCount];
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            Integer column = columnIndex.get(parser.currentName());
+            JsonToken value = parser.nextToken();
+            if (column == null) {
+                parser.skipChildren();
+            } else {
+                row[column] = readValue(value);
+            }
+        }
+        rowsRead++;
+        nextRow = row;
+    }
+
+    private Object readValue(JsonToken token) throws IOException {
+        switch (token) {
+            case VALUE_STRING:
+                return parser.getText();
+            case VALUE_NUMBER_INT:
+                return parser.getNumberValue();
+            case VALUE_NUMBER_FLOAT:
+                return parser.getDoubleValue();
+            case VALUE_TRUE:
+                return Boolean.TRUE;
+            case VALUE_FALSE:
+                return Boolean.FALSE;
+            case VALUE_NULL:
+                return null;
+            default:
+                // Nested objects and arrays are small per row; materialize just this value
+                JsonNode node = parser.readValueAsTree();
+                return isTextArray(node) ? toStringArray(node) : node;
+        }
+    }
+
+    private static void closeQuietly(InputStream stream) {
+        try {
+            stream.close();
+        } catch (IOException e) {
+            logger.warn("Error closing test data stream: {}", e.getMessage());
+        }
+    }
+
+    private static boolean isTextArray(JsonNode node) {
+        if (!node.isArray()) {
+            return false;
+        }
+        for (JsonNode element : node) {
+            if (!element.isTextual()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String[] toStringArray(JsonNode node) {
+        String[] values = new String[node.size()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = node.get(i).textValue();
+        }
+        return values;
+    }
+}
@@ -0,0 +1,434 @@
+package com.swaglabs.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.devtools.Command;
+import org.openqa.selenium.devtools.DevTools;
+import org.openqa.selenium.devtools.Event;
+import org.openqa.selenium.devtools.HasDevTools;
+import org.openqa.selenium.json.Json;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Per-test network policy applied through the CDP Fetch domain (network.interception.enabled=true).
+ * Requests of blocked resource types or matching blocked URL globs fail with BlockedByClient before
+ * they leave the browser. Successful GET responses of cacheable types are kept in an LRU cache shared
+ * by every browser in the JVM, and repeat requests for them are answered from it without a network
+ * round trip. The block lists come from network.block.types / network.block.urls, overridden by
+ * network.block.types.&lt;group&gt; / network.block.urls.&lt;group&gt; for the first group of the test that
+ * has an override.
+ * Only browsers that expose DevTools (Chrome) are intercepted; contexts attached to a shared Chrome
+ * (driver.isolation=context) are left alone.
+ */
+public final class NetworkPolicy {
+    private static final Logger logger = LoggerFactory.getLogger(NetworkPolicy.class);
+
+    // Headers that describe the wire encoding rather than the body we store
+    private static final Set<String> DROPPED_HEADERS = Set.of("content-encoding", "content-length", "transfer-encoding");
+
+    private static final Event<Map<String, Object>> REQUEST_PAUSED =
+            new Event<>("Fetch.requestPaused", input -> input.read(Json.MAP_TYPE));
+    private static final Event<Map<String, Object>> LOADING_FINISHED =
+            new Event<>("Network.loadingFinished", input -> input.read(Json.MAP_TYPE));
+
+    private static final ThreadLocal<Session> active = new ThreadLocal<>();
+    private static volatile AssetCache cache;
+
+    private static final AtomicLong totalBlocked = new AtomicLong();
+    private static final AtomicLong totalBlockedBytes = new AtomicLong();
+    private static final AtomicLong totalCached = new AtomicLong();
+    private static final AtomicLong totalCachedBytes = new AtomicLong();
+    private static final AtomicLong totalFetched = new AtomicLong();
+    private static final AtomicLong totalFetchedBytes = new AtomicLong();
+
+    // Last seen size per URL, to estimate the bytes a blocked request would have cost
+    private static final Map<String, Long> knownSizes = new ConcurrentHashMap<>();
+
+    private NetworkPolicy() {
+    }
+
+    /**
+     * Start intercepting the current test's requests in the given browser
+     * @param driver browser the test runs in
+     * @param groups TestNG groups of the test, in declaration order
+     */
+    public static void apply(WebDriver driver, String[] groups) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (!config.isNetworkInterceptionEnabled() || active.get() != null) {
+            return;
+        }
+        WebDriver unwrapped = RoundTripRecorder.unwrap(driver);
+        if (!(unwrapped instanceof HasDevTools)) {
+            logger.debug("Network policy skipped: {} has no DevTools session", unwrapped.getClass().getSimpleName());
+            return;
+        }
+
+        Rules rules = Rules.forGroups(config, groups);
+        Session session = new Session(rules);
+        try {
+            DevTools devTools = ((HasDevTools) unwrapped).getDevTools();
+            devTools.createSessionIfThereIsNotOne(unwrapped.getWindowHandle());
+            session.devTools = devTools;
+            devTools.addListener(REQUEST_PAUSED, session::onRequestPaused);
+            devTools.addListener(LOADING_FINISHED, session::onLoadingFinished);
+            devTools.send(new Command<>("Network.enable", Map.of()));
+            devTools.send(new Command<>("Fetch.enable", Map.of("patterns", patterns(rules))));
+            active.set(session);
+            logger.debug("Network policy applied: {}", rules);
+        } catch (RuntimeException e) {
+            logger.warn("Could not apply network policy: {}", e.getMessage());
+            session.stop();
+        }
+    }
+
+    /**
+     * Whether a policy is intercepting the current thread's test
+     */
+    public static boolean isActive() {
+        return active.get() != null;
+    }
+
+    /**
+     * Stop intercepting and return what the current test's requests cost
+     * @return the test's counters, or null when no policy was applied
+     */
+    public static Stats release() {
+        Session session = active.get();
+        active.remove();
+        if (session == null) {
+            return null;
+        }
+        session.stop();
+        return session.stats();
+    }
+
+    /**
+     * Totals over every test of this JVM
+     */
+    public static Stats totals() {
+        return new Stats(totalBlocked.get(), totalBlockedBytes.get(), totalCached.get(), totalCachedBytes.get(),
+                totalFetched.get(), totalFetchedBytes.get());
+    }
+
+    private static List<Map<String, Object>> patterns(Rules rules) {
+        List<Map<String, Object>> patterns = new ArrayList<>();
+        patterns.add(Map.of("urlPattern", "*", "requestStage", "Request"));
+        for (String type : rules.cacheTypes) {
+            patterns.add(Map.of("urlPattern", "*", "resourceType", type, "requestStage", "Response"));
+        }
+        return patterns;
+    }
+
+    private static AssetCache cache() {
+        AssetCache current = cache;
+        if (current == null) {
+            synchronized (NetworkPolicy.class) {
+                if (cache == null) {
+                    cache = new AssetCache(ConfigManager.getInstance().getNetworkCacheMaxMb() * 1024L * 1024L);
+                }
+                current = cache;
+            }
+        }
+        return current;
+    }
+
+    private static Set<String> list(String value) {
+        if (value == null || value.isBlank()) {
+            return Collections.emptySet();
+        }
+        return Arrays.stream(value.split(","))
+                .map(String::trim)
+                .filter(item -> !item.isEmpty())
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
+    private static Pattern glob(String glob) {
+        return Pattern.compile(Arrays.stream(glob.split("\\*", -1))
+                .map(Pattern::quote)
+                .collect(Collectors.joining(".*")));
+    }
+
+    /**
+     * Block and cache lists resolved for one test
+     */
+    private static final class Rules {
+        private final String source;
+        private final Set<String> blockTypes;
+        private final List<Pattern> blockUrls;
+        private final Set<String> cacheTypes;
+
+        private Rules(String source, Set<String> blockTypes, List<Pattern> blockUrls, Set<String> cacheTypes) {
+            this.source = source;
+            this.blockTypes = blockTypes;
+            this.blockUrls = blockUrls;
+            this.cacheTypes = cacheTypes;
+        }
+
+        static Rules forGroups(ConfigManager config, String[] groups) {
+            String source = "default";
+            String types = config.getNetworkBlockTypes();
+            String urls = config.getNetworkBlockUrls();
+            for (String group : groups) {
+                String groupTypes = config.getProperty("network.block.types." + group, null);
+                String groupUrls = config.getProperty("network.block.urls." + group, null);
+                if (groupTypes != null || groupUrls != null) {
+                    source = group;
+                    types = groupTypes != null ? groupTypes : types;
+                    urls = groupUrls != null ? groupUrls : urls;
+                    break;
+                }
+            }
+            Set<String> cacheTypes = config.isNetworkCacheEnabled()
+                    ? list(config.getNetworkCacheTypes())
+                    : Collections.emptySet();
+            return new Rules(source, list(types),
+                    list(urls).stream().map(NetworkPolicy::glob).collect(Collectors.toList()), cacheTypes);
+        }
+
+        boolean blocks(String type, String url) {
+            return blockTypes.contains(type) || blockUrls.stream().anyMatch(pattern -> pattern.matcher(url).matches());
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Rules{source=%s, blockTypes=%s, blockUrls=%d, cacheTypes=%s}",
+                    source, blockTypes, blockUrls.size(), cacheTypes);
+        }
+    }
+
+    /**
+     * Interception state of one test in one browser
+     */
+    private static final class Session {
+        private final Rules rules;
+        private volatile DevTools devTools;
+        // Network request ids answered by the policy; their loadingFinished is not network traffic
+        private final Set<String> servedLocally = ConcurrentHashMap.newKeySet();
+
+        private final AtomicLong blocked = new AtomicLong();
+        private final AtomicLong blockedBytes = new AtomicLong();
+        private final AtomicLong cached = new AtomicLong();
+        private final AtomicLong cachedBytes = new AtomicLong();
+        private final AtomicLong fetched = new AtomicLong();
+        private final AtomicLong fetchedBytes = new AtomicLong();
+
+        Session(Rules rules) {
+            this.rules = rules;
+        }
+
+        @SuppressWarnings("unchecked")
+        void onRequestPaused(Map<String, Object> event) {
+            String requestId = String.valueOf(event.get("requestId"));
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            String url = String.valueOf(request.get("url"));
+            String type = String.valueOf(event.get("resourceType"));
+            try {
+                if (event.containsKey("responseStatusCode") || event.containsKey("responseErrorReason")) {
+                    onResponse(requestId, url, event);
+                    return;
+                }
+                if (rules.blocks(type, url)) {
+                    markLocal(event);
+                    blocked.incrementAndGet();
+                    blockedBytes.addAndGet(knownSizes.getOrDefault(url, 0L));
+                    send("Fetch.failRequest", Map.of("requestId", requestId, "errorReason", "BlockedByClient"));
+                    return;
+                }
+                AssetCache.Entry entry = "GET".equals(request.get("method")) && rules.cacheTypes.contains(type)
+                        ? cache().get(url)
+                        : null;
+                if (entry != null) {
+                    markLocal(event);
+                    cached.incrementAndGet();
+                    cachedBytes.addAndGet(entry.body.length);
+                    Map<String, Object> params = new LinkedHashMap<>();
+                    params.put("requestId", requestId);
+                    params.put("responseCode", entry.status);
+                    params.put("responseHeaders", entry.headers);
+                    params.put("body", Base64.getEncoder().encodeToString(entry.body));
+                    send("Fetch.fulfillRequest", params);
+                    return;
+                }
+                send("Fetch.continueRequest", Map.of("requestId", requestId));
+            } catch (RuntimeException e) {
+                // The page may have navigated away; an unanswered request dies with its document
+                logger.debug("Network policy could not handle {}: {}", url, e.getMessage());
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void onResponse(String requestId, String url, Map<String, Object> event) {
+            Object status = event.get("responseStatusCode");
+            Map<String, Object> request = (Map<String, Object>) event.get("request");
+            List<Map<String, Object>> headers = (List<Map<String, Object>>) event.get("responseHeaders");
+            if (status instanceof Number && ((Number) status).intValue() == 200 && "GET".equals(request.get("method"))
+                    && headers != null && !noStore(headers)) {
+                Map<String, Object> body = devTools.send(new Command<>("Fetch.getResponseBody",
+                        Map.of("requestId", requestId), Json.MAP_TYPE));
+                byte[] bytes = Boolean.TRUE.equals(body.get("base64Encoded"))
+                        ? Base64.getDecoder().decode(String.valueOf(body.get("body")))
+                        : String.valueOf(body.get("body")).getBytes(StandardCharsets.UTF_8);
+                List<Map<String, Object>> kept = headers.stream()
+                        .filter(header -> !DROPPED_HEADERS.contains(String.valueOf(header.get("name")).toLowerCase(Locale.ROOT)))
+                        .collect(Collectors.toList());
+                cache().put(url, new AssetCache.Entry(200, kept, bytes));
+            }
+            send("Fetch.continueRequest", Map.of("requestId", requestId));
+        }
+
+        void onLoadingFinished(Map<String, Object> event) {
+            if (servedLocally.remove(String.valueOf(event.get("requestId")))) {
+                return;
+            }
+            Object length = event.get("encodedDataLength");
+            long bytes = length instanceof Number ? ((Number) length).longValue() : 0L;
+            fetched.incrementAndGet();
+            fetchedBytes.addAndGet(bytes);
+        }
+
+        private void markLocal(Map<String, Object> event) {
+            Object networkId = event.get("networkId");
+            if (networkId != null) {
+                servedLocally.add(String.valueOf(networkId));
+            }
+        }
+
+        private void send(String method, Map<String, Object> params) {
+            devTools.send(new Command<>(method, params));
+        }
+
+        void stop() {
+            DevTools current = devTools;
+            if (current == null) {
+                return;
+            }
+            try {
+                current.clearListeners();
+                current.send(new Command<>("Fetch.disable", Map.of()));
+                current.send(new Command<>("Network.disable", Map.of()));
+            } catch (RuntimeException e) {
+                logger.debug("Error disabling network policy: {}", e.getMessage());
+            }
+            totalBlocked.addAndGet(blocked.get());
+            totalBlockedBytes.addAndGet(blockedBytes.get());
+            totalCached.addAndGet(cached.get());
+            totalCachedBytes.addAndGet(cachedBytes.get());
+            totalFetched.addAndGet(fetched.get());
+            totalFetchedBytes.addAndGet(fetchedBytes.get());
+            devTools = null;
+        }
+
+        Stats stats() {
+            return new Stats(blocked.get(), blockedBytes.get(), cached.get(), cachedBytes.get(),
+                    fetched.get(), fetchedBytes.get());
+        }
+
+        private static boolean noStore(List<Map<String, Object>> headers) {
+            return headers.stream().anyMatch(header ->
+                    "cache-control".equalsIgnoreCase(String.valueOf(header.get("name")))
+                            && String.valueOf(header.get("value")).toLowerCase(Locale.ROOT).contains("no-store"));
+        }
+    }
+
+    /**
+     * LRU cache of static assets bounded by total body size, shared by all browsers
+     */
+    static final class AssetCache {
+        private final long maxBytes;
+        private long bytes;
+        private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+
+        AssetCache(long maxBytes) {
+            this.maxBytes = maxBytes;
+        }
+
+        synchronized Entry get(String url) {
+            return entries.get(url);
+        }
+
+        synchronized void put(String url, Entry entry) {
+            knownSizes.put(url, (long) entry.body.length);
+            if (entry.body.length > maxBytes) {
+                return;
+            }
+            Entry previous = entries.put(url, entry);
+            bytes += entry.body.length - (previous == null ? 0 : previous.body.length);
+            Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().getValue().body.length;
+                eldest.remove();
+            }
+        }
+
+        static final class Entry {
+            private final int status;
+            private final List<Map<String, Object>> headers;
+            private final byte[] body;
+
+            Entry(int status, List<Map<String, Object>> headers, byte[] body) {
+                this.status = status;
+                this.headers = headers;
+                this.body = body;
+            }
+        }
+    }
+
+    /**
+     * Requests blocked, served from the asset cache, and fetched over the network, with their bytes.
+     * Blocked bytes are estimated from earlier responses for the same URL.
+     */
+    public static final class Stats {
+        private final long blocked;
+        private final long blockedBytes;
+        private final long cached;
+        private final long cachedBytes;
+        private final long fetched;
+        private final long fetchedBytes;
+
+        Stats(long blocked, long blockedBytes, long cached, long cachedBytes, long fetched, long fetchedBytes) {
+            this.blocked = blocked;
+            this.blockedBytes = blockedBytes;
+            this.cached = cached;
+            this.cachedBytes = cachedBytes;
+            this.fetched = fetched;
+            this.fetchedBytes = fetchedBytes;
+        }
+
+        public long getBlocked() { return blocked; }
+        public long getBlockedBytes() { return blockedBytes; }
+        public long getCached() { return cached; }
+        public long getCachedBytes() { return cachedBytes; }
+        public long getFetched() { return fetched; }
+        public long getFetchedBytes() { return fetchedBytes; }
+
+        /**
+         * Bytes that did not cross the network because they were blocked or served from the cache
+         */
+        public long getSavedBytes() {
+            return blockedBytes + cachedBytes;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("NetworkPolicy{blocked=%d (%d B), cached=%d (%d B), fetched=%d (%d B), savedBytes=%d}",
+                    blocked, blockedBytes, cached, cachedBytes, fetched, fetchedBytes, getSavedBytes());
+        }
+    }
+}
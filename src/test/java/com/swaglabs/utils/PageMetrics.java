@@ -0,0 +1,284 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.Configuration;
+import com.codeborne.selenide.Selenide;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.qameta.allure.Allure;
+import org.openqa.selenium.WebDriverException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Browser-side metrics of page transitions driven by the page objects. After the action that leaves a
+ * page, a single async script waits until the target page has loaded and returns its Navigation Timing,
+ * the Resource Timing entries fetched for it, LCP, CLS and long tasks. The result is attached to the
+ * Allure step as JSON and aggregated per page for the run summary.
+ * Full page loads report navigation timing and LCP; client-side route changes only report what happened
+ * since the previous collection in the same document.
+ */
+public final class PageMetrics {
+    private static final Logger logger = LoggerFactory.getLogger(PageMetrics.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    // Observers are installed on the first collection in a document; buffered entries are read back
+    // synchronously with takeRecords(), so one call covers install and collection
+    private static final String COLLECT_SCRIPT =
+            "var expectedPath = arguments[0], abortSelector = arguments[1], timeout = arguments[2];" +
+            "var done = arguments[arguments.length - 1];" +
+            "var waitStart = Date.now();" +
+            "function navigation() { return performance.getEntriesByType('navigation')[0]; }" +
+            "function state() {" +
+            "  if (abortSelector && document.querySelector(abortSelector)) return 'aborted';" +
+            "  if (location.pathname.indexOf(expectedPath) < 0 || document.readyState !== 'complete') return null;" +
+            "  var nav = navigation();" +
+            "  return nav && nav.name === location.href && nav.loadEventEnd === 0 ? null : 'ready';" +
+            "}" +
+            "function collect(status, waited) {" +
+            "  var t0 = performance.now();" +
+            "  var perf = window.__swagPerf;" +
+            "  var first = !perf;" +
+            "  if (first) {" +
+            "    perf = window.__swagPerf = {mark: 0, lcp: null, shifts: [], tasks: [], observers: []};" +
+            "    perf.handle = function (entries) {" +
+            "      entries.forEach(function (e) {" +
+            "        if (e.entryType === 'largest-contentful-paint') perf.lcp = e.renderTime || e.loadTime || e.startTime;" +
+            "        else if (e.entryType === 'layout-shift') perf.shifts.push([e.startTime, e.value, e.hadRecentInput]);" +
+            "        else if (e.entryType === 'longtask') perf.tasks.push([e.startTime, e.duration]);" +
+            "      });" +
+            "    };" +
+            "    if (performance.setResourceTimingBufferSize) performance.setResourceTimingBufferSize(1000);" +
+            "    var supported = (window.PerformanceObserver && PerformanceObserver.supportedEntryTypes) || [];" +
+            "    ['largest-contentful-paint', 'layout-shift', 'longtask'].forEach(function (type) {" +
+            "      if (supported.indexOf(type) < 0) return;" +
+            "      var observer = new PerformanceObserver(function (list) { perf.handle(list.getEntries()); });" +
+            "      observer.observe({type: type, buffered: true});" +
+            "      perf.observers.push(observer);" +
+            "    });" +
+            "  }" +
+            "  perf.observers.forEach(function (observer) { perf.handle(observer.takeRecords()); });" +
+            "  var nav = navigation();" +
+            "  var hard = first && nav && nav.name === location.href;" +
+            "  var since = hard ? 0 : (first && nav ? nav.loadEventEnd : perf.mark);" +
+            "  var result = {status: status, path: location.pathname, type: hard ? 'hard' : 'soft', waitMs: waited};" +
+            "  if (hard) {" +
+            "    result.navigation = {type: nav.type, ttfb: nav.responseStart, domInteractive: nav.domInteractive," +
+            "      domContentLoaded: nav.domContentLoadedEventEnd, load: nav.loadEventEnd, transferSize: nav.transferSize || 0};" +
+            "    result.lcp = perf.lcp;" +
+            "  }" +
+            "  var resources = performance.getEntriesByType('resource').filter(function (r) { return r.startTime >= since; });" +
+            "  var bytes = 0;" +
+            "  resources.forEach(function (r) { bytes += r.transferSize || 0; });" +
+            "  result.resources = {count: resources.length, transferSize: bytes," +
+            "    slowest: resources.sort(function (a, b) { return b.duration - a.duration; }).slice(0, 5).map(function (r) {" +
+            "      return {name: r.name.split('?')[0].slice(-80), type: r.initiatorType, duration: r.duration," +
+            "        transferSize: r.transferSize || 0};" +
+            "    })};" +
+            "  var cls = 0;" +
+            "  perf.shifts.forEach(function (s) { if (s[0] >= since && !s[2]) cls += s[1]; });" +
+            "  result.cls = cls;" +
+            "  var taskCount = 0, taskTotal = 0, taskMax = 0;" +
+            "  perf.tasks.forEach(function (t) {" +
+            "    if (t[0] < since) return;" +
+            "    taskCount++; taskTotal += t[1]; taskMax = Math.max(taskMax, t[1]);" +
+            "  });" +
+            "  result.longTasks = {count: taskCount, total: taskTotal, max: taskMax};" +
+            "  perf.mark = performance.now();" +
+            "  result.scriptMs = perf.mark - t0;" +
+            "  return result;" +
+            "}" +
+            "(function poll() {" +
+            "  try {" +
+            "    var current = state();" +
+            "    var waited = Date.now() - waitStart;" +
+            "    if (current === 'aborted') { done({status: current, waitMs: waited}); return; }" +
+            "    if (current || waited >= timeout) { done(collect(current || 'timeout', waited)); return; }" +
+            "    setTimeout(poll, 5);" +
+            "  } catch (e) {" +
+            "    done({status: 'error', message: String(e)});" +
+            "  }" +
+            "})();";
+
+    private static final Map<String, Map<String, List<Double>>> pages = new ConcurrentHashMap<>();
+
+    private PageMetrics() {
+    }
+
+    /**
+     * Run a page transition and collect the browser-side metrics of the page it lands on
+     * @param page          page name used for the attachment and the per-page aggregate
+     * @param expectedPath  path fragment of the target page, e.g. /cart.html
+     * @param abortSelector element that shows the transition did not happen, e.g. a login error, or null
+     * @param action        action that leaves the current page
+     */
+    public static void transition(String page, String expectedPath, String abortSelector, Runnable action) {
+        if (!ConfigManager.getInstance().isPageMetricsEnabled()) {
+            action.run();
+            return;
+        }
+
+        long start = System.nanoTime();
+        action.run();
+        long actionDone = System.nanoTime();
+
+        Map<String, Object> metrics = collect(expectedPath, abortSelector);
+        long collected = System.nanoTime();
+        if (metrics == null) {
+            return;
+        }
+        String status = String.valueOf(metrics.get("status"));
+        if (!"ready".equals(status)) {
+            logger.debug("No metrics for page '{}': {}", page, metrics);
+            return;
+        }
+
+        double waitMs = number(metrics.get("waitMs"));
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("page", page);
+        result.put("transitionMs", (actionDone - start) / 1_000_000.0 + waitMs);
+        result.put("overheadMs", Math.max(0, (collected - actionDone) / 1_000_000.0 - waitMs));
+        result.putAll(metrics);
+
+        record(page, result);
+        try {
+            Allure.addAttachment("Page metrics: " + page, "application/json",
+                    objectMapper.writeValueAsString(result), ".json");
+        } catch (JsonProcessingException e) {
+            logger.warn("Failed to attach page metrics: {}", e.getMessage());
+        }
+        logger.debug("Page '{}' metrics: transition {} ms, overhead {} ms",
+                page, result.get("transitionMs"), result.get("overheadMs"));
+    }
+
+    private static Map<String, Object> collect(String expectedPath, String abortSelector) {
+        for (int attempt = 1; attempt <= 2; attempt++) {
+            try {
+                return Selenide.executeAsyncJavaScript(COLLECT_SCRIPT, expectedPath, abortSelector, Configuration.timeout);
+            } catch (WebDriverException e) {
+                // A full page load that starts while the script waits unloads its document; retry in the new one
+                if (attempt == 2 || e.getMessage() == null || !e.getMessage().contains("unloaded")) {
+                    logger.warn("Failed to collect page metrics: {}", e.getMessage());
+                    return null;
+                }
+            }
+        }
+        return null;
+    }
+
+    private static void record(String page, Map<String, Object> result) {
+        Map<String, List<Double>> values = pages.computeIfAbsent(page, key -> new ConcurrentHashMap<>());
+        add(values, "transitionMs", result.get("transitionMs"));
+        add(values, "overheadMs", result.get("overheadMs"));
+        add(values, "lcpMs", result.get("lcp"));
+        add(values, "cls", result.get("cls"));
+        if (result.get("navigation") instanceof Map<?, ?> navigation) {
+            add(values, "ttfbMs", navigation.get("ttfb"));
+            add(values, "loadMs", navigation.get("load"));
+        }
+        if (result.get("resources") instanceof Map<?, ?> resources) {
+            add(values, "resourceCount", resources.get("count"));
+            add(values, "transferBytes", resources.get("transferSize"));
+        }
+        if (result.get("longTasks") instanceof Map<?, ?> longTasks) {
+            add(values, "longTaskMs", longTasks.get("total"));
+        }
+    }
+
+    private static void add(Map<String, List<Double>> values, String metric, Object value) {
+        if (value instanceof Number number) {
+            values.computeIfAbsent(metric, key -> Collections.synchronizedList(new ArrayList<>()))
+                    .add(number.doubleValue());
+        }
+    }
+
+    private static double number(Object value) {
+        return value instanceof Number number ? number.doubleValue() : 0;
+    }
+
+    /**
+     * Get the metrics collected so far in this JVM, aggregated per page
+     * @return statistics per page, sorted by page name
+     */
+    public static Map<String, Stats> summary() {
+        Map<String, Stats> summary = new TreeMap<>();
+        pages.forEach((page, values) -> summary.put(page, new Stats(values)));
+        return summary;
+    }
+
+    /**
+     * Write the per-page aggregate to page-metrics.json
+     * @param directory reports directory
+     */
+    public static void writeSummary(Path directory) {
+        Map<String, Stats> summary = summary();
+        if (summary.isEmpty()) {
+            return;
+        }
+        summary.forEach((page, stats) -> logger.info("Page metrics {}: {}", page, stats));
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        summary.forEach((page, stats) -> report.put(page, stats.getMetrics()));
+        try {
+            Files.createDirectories(directory);
+            objectMapper.writeValue(directory.resolve("page-metrics.json").toFile(), report);
+        } catch (IOException e) {
+            logger.warn("Failed to write page metrics summary: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Per-page aggregate: count, p50, p90 and max of every metric
+     */
+    public static final class Stats {
+        private final Map<String, Map<String, Double>> metrics = new TreeMap<>();
+
+        Stats(Map<String, List<Double>> values) {
+            values.forEach((metric, samples) -> {
+                double[] sorted;
+                synchronized (samples) {
+                    sorted = samples.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+                }
+                if (sorted.length == 0) {
+                    return;
+                }
+                Map<String, Double> stats = new LinkedHashMap<>();
+                stats.put("count", (double) sorted.length);
+                stats.put("p50", percentile(sorted, 0.50));
+                stats.put("p90", percentile(sorted, 0.90));
+                stats.put("max", sorted[sorted.length - 1]);
+                metrics.put(metric, stats);
+            });
+        }
+
+        public Map<String, Map<String, Double>> getMetrics() { return metrics; }
+
+        public double get(String metric, String statistic) {
+            return metrics.getOrDefault(metric, Map.of()).getOrDefault(statistic, Double.NaN);
+        }
+
+        private static double percentile(double[] sorted, double quantile) {
+            return sorted[(int) Math.ceil(quantile * sorted.length) - 1];
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Stats{transitions=%.0f, transition p50=%.0fms p90=%.0fms, lcp p50=%.0fms, "
+                            + "cls max=%.3f, longTasks p90=%.0fms, overhead p50=%.1fms max=%.1fms}",
+                    get("transitionMs", "count"), get("transitionMs", "p50"), get("transitionMs", "p90"),
+                    get("lcpMs", "p50"), get("cls", "max"), get("longTaskMs", "p90"),
+                    get("overheadMs", "p50"), get("overheadMs", "max"));
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.swaglabs.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Append-only, file-based history of test and step durations: one JSON object per line in
+ * &lt;perf.history.dir&gt;/history.jsonl. Every sample is keyed by kind, name, browser and user type, and tagged
+ * with the run and commit that produced it. Earlier runs are loaded once, trimmed to the most recent
+ * runs per key, and serve as the rolling baseline for the current run. Shards of one run can share
+ * its id through -Dperf.run.id, so together they count as a single run.
+ */
+public class PerformanceHistory {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceHistory.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String FILE_NAME = "history.jsonl";
+    private static final DateTimeFormatter RUN_ID_FORMAT =
+            DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS").withZone(ZoneOffset.UTC);
+
+    private final Path file;
+    private final String runId;
+    private final String commit;
+    private final int maxRuns;
+    // Earlier runs per key, oldest run first
+    private final Map<String, List<RunSamples>> previousRuns;
+
+    /**
+     * Load the history in the given directory
+     * @param directory history directory, created on first append
+     * @param maxRuns   number of most recent runs kept per key as the baseline
+     */
+    public PerformanceHistory(Path directory, int maxRuns) {
+        this.file = directory.resolve(FILE_NAME);
+        this.runId = System.getProperty("perf.run.id", RUN_ID_FORMAT.format(Instant.now()));
+        this.commit = resolveCommit();
+        this.maxRuns = Math.max(1, maxRuns);
+        this.previousRuns = load();
+    }
+
+    public String getRunId() { return runId; }
+    public String getCommit() { return commit; }
+    public Path getFile() { return file; }
+
+    /**
+     * Append samples of the current run to the history file
+     * @param samples samples to append
+     */
+    public synchronized void append(List<Sample> samples) {
+        if (samples.isEmpty()) {
+            return;
+        }
+        try {
+            Files.createDirectories(file.toAbsolutePath().getParent());
+            try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (Sample sample : samples) {
+                    writer.write(objectMapper.writeValueAsString(sample));
+                    writer.newLine();
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to append {} samples to {}: {}", samples.size(), file, e.getMessage());
+        }
+    }
+
+    /**
+     * Build a sample of the current run
+     */
+    public Sample sample(String kind, String name, String browser, String userType, double durationMs) {
+        return new Sample(runId, commit, System.currentTimeMillis(), kind, name, browser, userType, durationMs);
+    }
+
+    /**
+     * Durations of a key across the retained earlier runs
+     * @param key sample key, see {@link Sample#key()}
+     * @return baseline durations, empty if the key is new
+     */
+    public List<Double> baseline(String key) {
+        List<Double> durations = new ArrayList<>();
+        for (RunSamples run : previousRuns.getOrDefault(key, List.of())) {
+            durations.addAll(run.durations);
+        }
+        return durations;
+    }
+
+    /**
+     * Median duration of a key in each retained earlier run, oldest first
+     * @param key sample key
+     * @return run medians keyed by run id
+     */
+    public Map<String, Double> runMedians(String key) {
+        Map<String, Double> medians = new LinkedHashMap<>();
+        for (RunSamples run : previousRuns.getOrDefault(key, List.of())) {
+            medians.put(run.runId + " " + run.commit, RegressionDetector.median(run.durations));
+        }
+        return medians;
+    }
+
+    private Map<String, List<RunSamples>> load() {
+        Map<String, List<RunSamples>> runs = new HashMap<>();
+        if (!Files.exists(file)) {
+            logger.info("No performance history at {}, this run starts it", file.toAbsolutePath());
+            return runs;
+        }
+
+        // Runs are grouped by id, not by adjacency: concurrent shards and other writers interleave lines
+        Map<String, Map<String, RunSamples>> runsByKey = new HashMap<>();
+        // Runs dropped from a key's baseline; their later lines are ignored rather than starting a new run
+        Map<String, Set<String>> evicted = new HashMap<>();
+        long lines = 0;
+        long skipped = 0;
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+                lines++;
+                Sample sample;
+                try {
+                    sample = objectMapper.readValue(line, Sample.class);
+                } catch (IOException e) {
+                    skipped++;
+                    continue;
+                }
+                // Written by another shard of this run, which is current rather than baseline
+                if (sample.runId().equals(runId)) {
+                    continue;
+                }
+                String key = sample.key();
+                if (evicted.getOrDefault(key, Set.of()).contains(sample.runId())) {
+                    continue;
+                }
+                Map<String, RunSamples> keyRuns = runsByKey.computeIfAbsent(key, k -> new HashMap<>());
+                keyRuns.computeIfAbsent(sample.runId(), id -> new RunSamples(id, sample.commit())).add(sample);
+                // Only the most recent runs form the baseline; drop older ones as we go
+                if (keyRuns.size() > maxRuns) {
+                    RunSamples oldest = Collections.min(keyRuns.values(),
+                            Comparator.comparingLong(run -> run.startedAt));
+                    keyRuns.remove(oldest.runId);
+                    evicted.computeIfAbsent(key, k -> new HashSet<>()).add(oldest.runId);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Failed to read performance history {}: {}", file, e.getMessage());
+        }
+        runsByKey.forEach((key, keyRuns) -> {
+            List<RunSamples> ordered = new ArrayList<>(keyRuns.values());
+            ordered.sort(Comparator.comparingLong(run -> run.startedAt));
+            runs.put(key, ordered);
+        });
+        logger.info("Loaded performance history from {} ({} samples, {} keys, {} unreadable lines)",
+                file.toAbsolutePath(), lines - skipped, runs.size(), skipped);
+        return runs;
+    }
+
+    /**
+     * Commit the run is measuring: -Dperf.commit, then GIT_COMMIT or GITHUB_SHA, then git itself
+     */
+    private static String resolveCommit() {
+        String commit = System.getProperty("perf.commit");
+        if (commit == null) {
+            commit = System.getenv("GIT_COMMIT");
+        }
+        if (commit == null) {
+            commit = System.getenv("GITHUB_SHA");
+        }
+        if (commit == null) {
+            try {
+                Process process = new ProcessBuilder("git", "rev-parse", "--short", "HEAD")
+                        .redirectErrorStream(true).start();
+                try (BufferedReader reader = new BufferedReader(
+                        new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                    String output = reader.readLine();
+                    if (process.waitFor(5, TimeUnit.SECONDS) && process.exitValue() == 0) {
+                        commit = output;
+                    }
+                }
+            } catch (IOException e) {
+                logger.debug("git not available: {}", e.getMessage());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        if (commit == null || commit.isBlank()) {
+            return "unknown";
+        }
+        return commit.length() > 12 ? commit.substring(0, 12) : commit;
+    }
+
+    private static final class RunSamples {
+        private final String runId;
+        private final String commit;
+        private final List<Double> durations = new ArrayList<>();
+        private long startedAt = Long.MAX_VALUE;
+
+        RunSamples(String runId, String commit) {
+            this.runId = runId;
+            this.commit = commit;
+        }
+
+        void add(Sample sample) {
+            durations.add(sample.durationMs());
+            startedAt = Math.min(startedAt, sample.timestamp());
+        }
+    }
+
+    /**
+     * One duration in the history
+     * @param kind       test or step
+     * @param userType   user the test ran as, or n/a
+     * @param durationMs duration in milliseconds
+     */
+    public record Sample(String runId, String commit, long timestamp, String kind, String name,
+                         String browser, String userType, double durationMs) {
+
+        /**
+         * Baseline key; samples are only compared with samples of the same key
+         */
+        public String key() {
+            return kind + ":" + name + " [" + browser + ", " + userType + "]";
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.swaglabs.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Checks how the baseline is rebuilt from a history file whose runs were written concurrently
+ */
+public class PerformanceHistoryTest {
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+    private static final String KEY = "test:CartTest.testAdd [chrome, standard_user]";
+
+    private Path directory;
+
+    @BeforeMethod(alwaysRun = true)
+    public void createHistoryDirectory() throws IOException {
+        directory = Files.createTempDirectory("perf-history");
+        System.setProperty("perf.commit", "abc123");
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void deleteHistoryDirectory() throws IOException {
+        System.clearProperty("perf.commit");
+        System.clearProperty("perf.run.id");
+        Files.deleteIfExists(directory.resolve("history.jsonl"));
+        Files.deleteIfExists(directory);
+    }
+
+    private static PerformanceHistory.Sample sample(String runId, long timestamp, double durationMs) {
+        return new PerformanceHistory.Sample(runId, "abc123", timestamp, "test", "CartTest.testAdd",
+                "chrome", "standard_user", durationMs);
+    }
+
+    private void write(PerformanceHistory.Sample... samples) throws IOException {
+        List<String> lines = new ArrayList<>();
+        for (PerformanceHistory.Sample sample : samples) {
+            lines.add(objectMapper.writeValueAsString(sample));
+        }
+        Files.write(directory.resolve("history.jsonl"), lines);
+    }
+
+    @Test(groups = {"unit"})
+    public void testInterleavedRunsAreGroupedById() throws IOException {
+        // Two shards of different runs appending at the same time
+        write(sample("run-1", 1000, 100), sample("run-2", 2000, 200),
+                sample("run-1", 1001, 110), sample("run-2", 2001, 210),
+                sample("run-1", 1002, 120), sample("run-2", 2002, 220));
+
+        PerformanceHistory history = new PerformanceHistory(directory, 10);
+
+        assertThat(history.baseline(KEY)).containsExactlyInAnyOrder(100.0, 110.0, 120.0, 200.0, 210.0, 220.0);
+        Map<String, Double> medians = history.runMedians(KEY);
+        assertThat(medians).containsExactly(Map.entry("run-1 abc123", 110.0), Map.entry("run-2 abc123", 210.0));
+    }
+
+    @Test(groups = {"unit"})
+    public void testOnlyMostRecentRunsAreKept() throws IOException {
+        // run-1 is the oldest, and its lines keep arriving after it has been evicted
+        write(sample("run-2", 2000, 200), sample("run-1", 1000, 100),
+                sample("run-3", 3000, 300), sample("run-1", 1001, 101),
+                sample("run-2", 2001, 201), sample("run-3", 3001, 301));
+
+        PerformanceHistory history = new PerformanceHistory(directory, 2);
+
+        assertThat(history.baseline(KEY)).containsExactlyInAnyOrder(200.0, 201.0, 300.0, 301.0);
+        assertThat(history.runMedians(KEY).keySet()).containsExactly("run-2 abc123", "run-3 abc123");
+    }
+
+    @Test(groups = {"unit"})
+    public void testSamplesOfTheCurrentRunAreNotBaseline() throws IOException {
+        // Another shard of the current run finished first
+        write(sample("run-1", 1000, 100), sample("shared", 2000, 200));
+        System.setProperty("perf.run.id", "shared");
+
+        PerformanceHistory history = new PerformanceHistory(directory, 10);
+
+        assertThat(history.getRunId()).isEqualTo("shared");
+        assertThat(history.baseline(KEY)).containsExactly(100.0);
+    }
+}
@@ -0,0 +1,136 @@
+package com.swaglabs.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes the compact performance trend report of a run: perf-trend.json for tooling and a single
+ * self-contained perf-trend.html with one row per key, its verdict and a sparkline of the run medians.
+ */
+public final class PerformanceTrendReport {
+    private static final Logger logger = LoggerFactory.getLogger(PerformanceTrendReport.class);
+    private static final ObjectMapper objectMapper = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private PerformanceTrendReport() {
+    }
+
+    /**
+     * Write perf-trend.json and perf-trend.html
+     * @param directory reports directory
+     * @param history   history holding the earlier runs
+     * @param verdicts  verdict of every key measured in this run
+     */
+    public static void write(Path directory, PerformanceHistory history,
+                             Map<String, RegressionDetector.Verdict> verdicts) {
+        List<Map<String, Object>> rows = new ArrayList<>();
+        verdicts.forEach((key, verdict) -> {
+            List<Double> trend = new ArrayList<>(history.runMedians(key).values());
+            trend.add(verdict.currentMedian());
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("key", key);
+            row.put("status", verdict.status().name());
+            row.put("currentMedianMs", round(verdict.currentMedian()));
+            row.put("baselineMedianMs", round(verdict.baselineMedian()));
+            row.put("change", round(verdict.change()));
+            row.put("pValue", Double.isNaN(verdict.pValue()) ? null : verdict.pValue());
+            row.put("method", verdict.method());
+            row.put("trendMs", trend.stream().map(PerformanceTrendReport::round).toList());
+            rows.add(row);
+        });
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("runId", history.getRunId());
+        report.put("commit", history.getCommit());
+        report.put("history", history.getFile().toAbsolutePath().toString());
+        report.put("regressions", rows.stream().filter(row -> "REGRESSION".equals(row.get("status"))).count());
+        report.put("keys", rows);
+
+        try {
+            Files.createDirectories(directory);
+            Path json = directory.resolve("perf-trend.json");
+            objectMapper.writeValue(json.toFile(), report);
+            Path html = directory.resolve("perf-trend.html");
+            Files.writeString(html, buildHtml(report, rows), StandardCharsets.UTF_8);
+            logger.info("Performance trend: {} keys, {} regressions, written to {}",
+                    rows.size(), report.get("regressions"), html.toAbsolutePath());
+        } catch (IOException e) {
+            logger.warn("Failed to write performance trend report: {}", e.getMessage());
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String buildHtml(Map<String, Object> report, List<Map<String, Object>> rows) {
+        StringBuilder html = new StringBuilder();
+        html.append("<!DOCTYPE html><html><head><meta charset=\"utf-8\"><title>Performance trend</title><style>")
+                .append("body{font-family:sans-serif;font-size:13px;margin:16px}")
+                .append("table{border-collapse:collapse}td,th{padding:3px 8px;border-bottom:1px solid #ddd;text-align:right}")
+                .append("td:first-child,th:first-child{text-align:left}")
+                .append(".REGRESSION{color:#c62828;font-weight:bold}.IMPROVED{color:#2e7d32}.NEW{color:#777}")
+                .append("</style></head><body>");
+        html.append(String.format("<h2>Performance trend</h2><p>Run %s at commit %s &middot; %s regressions</p>",
+                escape(report.get("runId")), escape(report.get("commit")), report.get("regressions")));
+        html.append("<table><tr><th>Key</th><th>Status</th><th>Median ms</th><th>Baseline ms</th>")
+                .append("<th>Change</th><th>p</th><th>Trend</th></tr>");
+        for (Map<String, Object> row : rows) {
+            Double change = (Double) row.get("change");
+            Double pValue = (Double) row.get("pValue");
+            html.append("<tr><td>").append(escape(row.get("key"))).append("</td>")
+                    .append("<td class=\"").append(row.get("status")).append("\">").append(row.get("status")).append("</td>")
+                    .append("<td>").append(format(row.get("currentMedianMs"))).append("</td>")
+                    .append("<td>").append(format(row.get("baselineMedianMs"))).append("</td>")
+                    .append("<td>").append(change == null ? "-" : String.format("%+.0f%%", change * 100)).append("</td>")
+                    .append("<td>").append(pValue == null ? "-" : String.format("%.4f", pValue)).append("</td>")
+                    .append("<td>").append(sparkline((List<Double>) row.get("trendMs"))).append("</td></tr>");
+        }
+        html.append("</table></body></html>");
+        return html.toString();
+    }
+
+    /**
+     * Inline SVG polyline of the run medians; the last point, this run, is marked
+     */
+    private static String sparkline(List<Double> values) {
+        int width = 120;
+        int height = 24;
+        double min = values.stream().mapToDouble(Double::doubleValue).min().orElse(0);
+        double max = values.stream().mapToDouble(Double::doubleValue).max().orElse(0);
+        double range = max - min > 0 ? max - min : 1;
+        double step = values.size() > 1 ? (double) (width - 4) / (values.size() - 1) : 0;
+
+        StringBuilder points = new StringBuilder();
+        double x = 2;
+        double y = height / 2.0;
+        for (int i = 0; i < values.size(); i++) {
+            x = 2 + i * step;
+            y = height - 2 - (values.get(i) - min) / range * (height - 4);
+            points.append(String.format("%.1f,%.1f ", x, y));
+        }
+        return String.format("<svg width=\"%d\" height=\"%d\"><polyline fill=\"none\" stroke=\"#1565c0\" "
+                        + "stroke-width=\"1.5\" points=\"%s\"/><circle cx=\"%.1f\" cy=\"%.1f\" r=\"2.5\" fill=\"#c62828\"/></svg>",
+                width, height, points.toString().trim(), x, y);
+    }
+
+    private static Double round(double value) {
+        return Double.isNaN(value) ? null : Math.round(value * 1000) / 1000.0;
+    }
+
+    private static String format(Object value) {
+        return value == null ? "-" : String.format("%.1f", (Double) value);
+    }
+
+    private static String escape(Object value) {
+        return String.valueOf(value).replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;");
+    }
+}
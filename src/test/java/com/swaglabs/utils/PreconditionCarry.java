@@ -0,0 +1,259 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.annotations.RequiresCart;
+import com.swaglabs.annotations.RequiresSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Lets a worker thread keep its browser between consecutive tests that declare the same
+ * {@link RequiresSession} and {@link RequiresCart} preconditions, instead of resetting it and rebuilding
+ * the same state. A passing test leaves the browser held; the next test on the thread carries it forward if
+ * it declares the same preconditions, and otherwise the browser is reset first. A failing test, a test
+ * without declared preconditions, or one that logged in as someone else always resets it.
+ * Carrying is never trusted blindly: {@link SessionFixture} checks the carried session still reaches the
+ * inventory page and {@link Preconditions} checks the stored cart before skipping their setup.
+ * Set preconditions.carry=false to reset after every test.
+ */
+public final class PreconditionCarry {
+    private static final Logger logger = LoggerFactory.getLogger(PreconditionCarry.class);
+
+    private static final ThreadLocal<Worker> workers = ThreadLocal.withInitial(Worker::new);
+    // Bumped for every suite, so a browser held by a resident worker is not carried into the next run
+    private static final AtomicLong run = new AtomicLong();
+
+    private static final AtomicLong carriedTests = new AtomicLong();
+    private static final AtomicLong sessionsElided = new AtomicLong();
+    private static final AtomicLong cartsElided = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+    private static final AtomicLong changeResets = new AtomicLong();
+    private static final AtomicLong failureResets = new AtomicLong();
+
+    private PreconditionCarry() {
+    }
+
+    /**
+     * What a test expects when it starts: logged in as a user, with exactly the given products in the cart
+     */
+    public record Precondition(String session, List<String> cart) {
+        @Override
+        public String toString() {
+            return cart.isEmpty() ? session : session + " + cart " + cart;
+        }
+    }
+
+    /**
+     * How a test starts relative to the browser the previous test on its thread left behind
+     */
+    public enum Start {
+        /** Same preconditions: keep the browser as it is */
+        CARRY,
+        /** A held browser must be reset before the usual setup */
+        RESET,
+        /** Nothing held: the usual setup */
+        FRESH
+    }
+
+    /**
+     * Preconditions a test method declares, on the method or else on its class; null if it declares none
+     */
+    public static Precondition of(Class<?> testClass, Method method) {
+        RequiresSession session = method.getAnnotation(RequiresSession.class);
+        if (session == null) {
+            session = testClass.getAnnotation(RequiresSession.class);
+        }
+        if (session == null) {
+            return null;
+        }
+        RequiresCart cart = method.getAnnotation(RequiresCart.class);
+        if (cart == null) {
+            cart = testClass.getAnnotation(RequiresCart.class);
+        }
+        return new Precondition(session.value(), cart == null ? List.of() : List.copyOf(Arrays.asList(cart.value())));
+    }
+
+    /**
+     * Start of a new suite: browsers held from an earlier one are reset rather than carried
+     */
+    public static void newRun() {
+        run.incrementAndGet();
+    }
+
+    /**
+     * Called before a test's setup
+     * @param required preconditions the test declares, or null
+     */
+    public static Start begin(Precondition required) {
+        Worker worker = workers.get();
+        Precondition held = worker.held;
+        worker.held = null;
+        worker.required = required;
+        worker.carried = false;
+        worker.sessionTaken = false;
+        worker.cartTaken = false;
+
+        if (held == null) {
+            worker.sessionUser = null;
+            return Start.FRESH;
+        }
+        if (required != null && required.equals(held) && worker.run == run.get()
+                && DriverManager.getCurrentDriver() != null) {
+            worker.carried = true;
+            carriedTests.incrementAndGet();
+            logger.info("Carrying browser forward: {}", required);
+            return Start.CARRY;
+        }
+        worker.sessionUser = null;
+        changeResets.incrementAndGet();
+        logger.debug("Resetting held browser ({} -> {})", held, required);
+        return Start.RESET;
+    }
+
+    /**
+     * Called in a test's teardown
+     * @return true if the browser should be held for the next test instead of being reset
+     */
+    public static boolean finish(boolean passed) {
+        Worker worker = workers.get();
+        Precondition required = worker.required;
+        worker.required = null;
+        worker.carried = false;
+        if (!ConfigManager.getInstance().isPreconditionsCarryEnabled() || required == null) {
+            return false;
+        }
+        if (!passed) {
+            failureResets.incrementAndGet();
+            return false;
+        }
+        if (!required.session().equals(worker.sessionUser)) {
+            // The test logged in as someone else; nothing about the browser matches what it declared
+            return false;
+        }
+        worker.held = required;
+        worker.run = run.get();
+        return true;
+    }
+
+    /**
+     * Whether the current thread holds a browser for the next test
+     */
+    public static boolean isHolding() {
+        return workers.get().held != null;
+    }
+
+    /**
+     * Whether the first session set up by the running test may reuse the carried one.
+     * Only the test's first session request can be carried, later ones are deliberate.
+     * @param username user the session is requested for
+     */
+    static boolean takeSession(String username) {
+        Worker worker = workers.get();
+        boolean first = !worker.sessionTaken;
+        worker.sessionTaken = true;
+        return first && worker.carried && worker.required.session().equals(username);
+    }
+
+    /**
+     * Whether the first cart set up by the running test may reuse the carried one
+     * @param productNames products the cart is requested with
+     */
+    static boolean takeCart(List<String> productNames) {
+        Worker worker = workers.get();
+        boolean first = !worker.cartTaken;
+        worker.cartTaken = true;
+        return first && worker.carried && worker.required.cart().equals(productNames);
+    }
+
+    /**
+     * Cart the carried session must start with when the test does not set up a cart itself
+     */
+    static List<String> carriedCart() {
+        Worker worker = workers.get();
+        return worker.required == null ? List.of() : worker.required.cart();
+    }
+
+    /**
+     * Records which user the current thread's browser is logged in as
+     */
+    public static void sessionStarted(String username) {
+        workers.get().sessionUser = username;
+    }
+
+    static void sessionElided() {
+        sessionsElided.incrementAndGet();
+    }
+
+    static void cartElided() {
+        cartsElided.incrementAndGet();
+    }
+
+    /**
+     * A carried state failed its check and is set up the usual way
+     */
+    static void rejected(String reason) {
+        rejected.incrementAndGet();
+        logger.warn("Carried state rejected, setting it up again: {}", reason);
+    }
+
+    public static Stats stats() {
+        return new Stats(carriedTests.get(), sessionsElided.get(), cartsElided.get(), rejected.get(),
+                changeResets.get(), failureResets.get());
+    }
+
+    private static final class Worker {
+        private Precondition held;
+        private long run;
+        private Precondition required;
+        private boolean carried;
+        private boolean sessionTaken;
+        private boolean cartTaken;
+        private String sessionUser;
+    }
+
+    /**
+     * Setups elided by carrying browsers forward, and resets still needed
+     */
+    public static final class Stats {
+        private final long carriedTests;
+        private final long sessionsElided;
+        private final long cartsElided;
+        private final long rejected;
+        private final long changeResets;
+        private final long failureResets;
+
+        Stats(long carriedTests, long sessionsElided, long cartsElided, long rejected,
+              long changeResets, long failureResets) {
+            this.carriedTests = carriedTests;
+            this.sessionsElided = sessionsElided;
+            this.cartsElided = cartsElided;
+            this.rejected = rejected;
+            this.changeResets = changeResets;
+            this.failureResets = failureResets;
+        }
+
+        /** Browser resets and application loads skipped */
+        public long getCarriedTests() { return carriedTests; }
+        public long getSessionsElided() { return sessionsElided; }
+        public long getCartsElided() { return cartsElided; }
+        public long getRejected() { return rejected; }
+        public long getChangeResets() { return changeResets; }
+        public long getFailureResets() { return failureResets; }
+
+        public long getSetupsElided() {
+            return carriedTests + sessionsElided + cartsElided;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("PreconditionCarry{setupsElided=%d, carriedTests=%d, sessionsElided=%d, " +
+                            "cartsElided=%d, rejected=%d, resetsOnChange=%d, resetsOnFailure=%d}",
+                    getSetupsElided(), carriedTests, sessionsElided, cartsElided, rejected,
+                    changeResets, failureResets);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.pages.ProductsPage;
+import io.qameta.allure.Step;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Puts an authenticated session into a known state without clicking through the UI.
+ * Swag Labs keeps the cart as a JSON array of item ids in the "cart-contents" localStorage entry, so
+ * {@link #cartWith(String...)} writes that entry and reloads the inventory page once instead of clicking
+ * one add-to-cart button per product. Item ids are read from the inventory page the first time a name is
+ * needed and cached for the run.
+ * Every preconditions.verify.interval-th call builds the cart through the UI instead and checks that the
+ * app stored exactly what the shortcut would have written, so the shortcut cannot drift from the app.
+ * Set preconditions.mode=ui to always use the UI path.
+ * A test's first cart is left alone when {@link PreconditionCarry} carried the previous test's browser forward
+ * and the stored cart already holds exactly the requested products.
+ */
+public final class Preconditions {
+    private static final Logger logger = LoggerFactory.getLogger(Preconditions.class);
+    private static final String CART_KEY = "cart-contents";
+
+    // Learns ids from the inventory links (item_<id>_title_link); writes the cart only if asked and every name is known
+    private static final String WRITE_CART_SCRIPT =
+            "var names = arguments[0], known = arguments[1], key = arguments[2], write = arguments[3];" +
+            "var learned = {};" +
+            "document.querySelectorAll('.inventory_item').forEach(function (item) {" +
+            "  var name = item.querySelector('.inventory_item_name');" +
+            "  var link = item.querySelector('a[id$=\"_title_link\"]');" +
+            "  var match = link && /^item_(\\d+)_title_link$/.exec(link.id);" +
+            "  if (name && match) learned[name.innerText.trim()] = parseInt(match[1], 10);" +
+            "});" +
+            "var ids = [], missing = [];" +
+            "names.forEach(function (name) {" +
+            "  var id = name in known ? known[name] : learned[name];" +
+            "  if (id === undefined) missing.push(name); else ids.push(id);" +
+            "});" +
+            "if (write && missing.length === 0) {" +
+            "  if (ids.length) localStorage.setItem(key, JSON.stringify(ids)); else localStorage.removeItem(key);" +
+            "}" +
+            "return {learned: learned, missing: missing, ids: JSON.stringify(ids)};";
+
+    private static final String CLEAR_CART_SCRIPT = "localStorage.removeItem(arguments[0]);";
+
+    private static final String READ_CART_SCRIPT = "return localStorage.getItem(arguments[0]) || '[]';";
+
+    private static final String TAKE_CART_SCRIPT =
+            "var stored = localStorage.getItem(arguments[0]); localStorage.removeItem(arguments[0]); return stored !== null;";
+
+    private static final Map<String, Integer> itemIds = new ConcurrentHashMap<>();
+
+    private static final AtomicLong calls = new AtomicLong();
+    private static final AtomicLong storageWrites = new AtomicLong();
+    private static final AtomicLong uiBuilds = new AtomicLong();
+    private static final AtomicLong crossChecks = new AtomicLong();
+
+    private Preconditions() {
+    }
+
+    /**
+     * Replace the cart of the current session with exactly the given products, in order, and open the
+     * inventory page. The session must already be logged in (e.g. through {@link SessionFixture}).
+     * @param productNames product names as shown on the inventory page
+     * @return products page showing the new cart badge
+     * @throws IllegalArgumentException if a product is not on the inventory page
+     * @throws IllegalStateException if a cross-check finds the UI stored a different cart
+     */
+    @Step("Precondition: cart with {productNames}")
+    public static ProductsPage cartWith(String... productNames) {
+        ConfigManager config = ConfigManager.getInstance();
+        List<String> names = Arrays.asList(productNames);
+        if (PreconditionCarry.takeCart(names) && carriedCartMatches(names)) {
+            PreconditionCarry.cartElided();
+            logger.info("Cart precondition carried from the previous test: {}", names);
+            return new ProductsPage();
+        }
+        long call = calls.incrementAndGet();
+        int interval = config.getPreconditionsVerifyInterval();
+
+        if ("ui".equalsIgnoreCase(config.getPreconditionsMode())) {
+            return buildThroughUi(names, config.getAppUrl());
+        }
+
+        // The first call of a run is always cross-checked, then every interval-th one
+        if (interval > 0 && (call - 1) % interval == 0) {
+            String expected = writeCart(names, config.getAppUrl(), false);
+            buildThroughUi(names, config.getAppUrl());
+            String actual = Selenide.executeJavaScript(READ_CART_SCRIPT, CART_KEY);
+            crossChecks.incrementAndGet();
+            if (!expected.equals(actual)) {
+                throw new IllegalStateException(String.format(
+                        "Cart precondition drifted from the app: shortcut writes %s=%s, UI stored %s",
+                        CART_KEY, expected, actual));
+            }
+            logger.info("Cart precondition cross-checked against the UI: {}={}", CART_KEY, actual);
+            return new ProductsPage();
+        }
+
+        writeCart(names, config.getAppUrl(), true);
+        storageWrites.incrementAndGet();
+        ProductsPage productsPage = new ProductsPage();
+        productsPage.verifyProductsPageDisplayed();
+        verifyBadge(names.size());
+        logger.info("Cart precondition restored from storage: {}", names);
+        return productsPage;
+    }
+
+    /**
+     * Removes the stored cart of the current page's session; the page must be reloaded to show it
+     * @return true if there was a cart to remove
+     */
+    static boolean clearStoredCart() {
+        return Boolean.TRUE.equals(Selenide.executeJavaScript(TAKE_CART_SCRIPT, CART_KEY));
+    }
+
+    public static Stats stats() {
+        return new Stats(storageWrites.get(), uiBuilds.get(), crossChecks.get());
+    }
+
+    /**
+     * Resolve the item ids and, when write is set, store them and reload the inventory page
+     * @return the JSON array the shortcut writes for these names
+     */
+    @SuppressWarnings("unchecked")
+    private static String writeCart(List<String> names, String appUrl, boolean write) {
+        openInventory(appUrl, false);
+        Map<String, Object> result = Selenide.executeJavaScript(WRITE_CART_SCRIPT,
+                names, new HashMap<>(itemIds), CART_KEY, write);
+        ((Map<String, Object>) result.get("learned"))
+                .forEach((name, id) -> itemIds.put(name, ((Number) id).intValue()));
+        List<String> missing = (List<String>) result.get("missing");
+        if (!missing.isEmpty()) {
+            throw new IllegalArgumentException("Products not found on the inventory page: " + missing);
+        }
+        if (write) {
+            Selenide.refresh();
+        }
+        return String.valueOf(result.get("ids"));
+    }
+
+    /**
+     * Whether the stored cart holds exactly these products, in order; false if an id is not known yet
+     */
+    private static boolean carriedCartMatches(List<String> names) {
+        StringBuilder expected = new StringBuilder("[");
+        for (String name : names) {
+            Integer id = itemIds.get(name);
+            if (id == null) {
+                return false;
+            }
+            expected.append(expected.length() > 1 ? "," : "").append(id);
+        }
+        expected.append(']');
+        String stored = Selenide.executeJavaScript(READ_CART_SCRIPT, CART_KEY);
+        if (!expected.toString().equals(stored)) {
+            PreconditionCarry.rejected(String.format("stored cart %s, expected %s", stored, expected));
+            return false;
+        }
+        return true;
+    }
+
+    private static ProductsPage buildThroughUi(List<String> names, String appUrl) {
+        openInventory(appUrl, false);
+        Selenide.executeJavaScript(CLEAR_CART_SCRIPT, CART_KEY);
+        openInventory(appUrl, true);
+        ProductsPage productsPage = new ProductsPage();
+        productsPage.verifyProductsPageDisplayed();
+        if (!names.isEmpty()) {
+            productsPage.addProductsToCart(names);
+        }
+        uiBuilds.incrementAndGet();
+        logger.info("Cart precondition built through the UI: {}", names);
+        return productsPage;
+    }
+
+    private static void openInventory(String appUrl, boolean reload) {
+        if (!WebDriverRunner.url().contains("/inventory.html")) {
+            String base = appUrl.endsWith("/") ? appUrl.substring(0, appUrl.length() - 1) : appUrl;
+            Selenide.open(base + "/inventory.html");
+        } else if (reload) {
+            Selenide.refresh();
+        }
+    }
+
+    private static void verifyBadge(int expectedCount) {
+        DomWait wait = DomWait.until();
+        if (expectedCount > 0) {
+            wait.text(Selenide.$(".shopping_cart_badge"), String.valueOf(expectedCount));
+        } else {
+            wait.hidden(Selenide.$(".shopping_cart_badge"));
+        }
+        wait.await();
+    }
+
+    /**
+     * Number of carts restored from storage, built through the UI, and cross-checked
+     */
+    public static final class Stats {
+        private final long storageWrites;
+        private final long uiBuilds;
+        private final long crossChecks;
+
+        Stats(long storageWrites, long uiBuilds, long crossChecks) {
+            this.storageWrites = storageWrites;
+            this.uiBuilds = uiBuilds;
+            this.crossChecks = crossChecks;
+        }
+
+        public long getStorageWrites() { return storageWrites; }
+        public long getUiBuilds() { return uiBuilds; }
+        public long getCrossChecks() { return crossChecks; }
+
+        @Override
+        public String toString() {
+            return String.format("Preconditions{storageWrites=%d, uiBuilds=%d, crossChecks=%d}",
+                    storageWrites, uiBuilds, crossChecks);
+        }
+    }
+}
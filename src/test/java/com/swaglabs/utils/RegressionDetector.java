@@ -0,0 +1,163 @@
+package com.swaglabs.utils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decides whether the durations of the current run are a statistically significant slowdown against a
+ * baseline of earlier runs. With three or more current samples it uses a one-sided Mann-Whitney U test;
+ * with fewer it uses a robust z-score (median and MAD of the baseline). Both are rank/median based, so a
+ * single slow outlier in the baseline does not hide a regression, and a significant result only counts
+ * as a regression when the median also grew by more than the relative threshold.
+ */
+public final class RegressionDetector {
+
+    public enum Status { NEW, OK, IMPROVED, REGRESSION }
+
+    private RegressionDetector() {
+    }
+
+    /**
+     * Compare current durations against the baseline
+     * @param baseline   durations from earlier runs
+     * @param current    durations from this run
+     * @param threshold  minimum relative slowdown of the median, e.g. 0.30 for 30%
+     * @param alpha      significance level, e.g. 0.01
+     * @param minSamples minimum baseline size before a verdict is given
+     * @return verdict
+     */
+    public static Verdict evaluate(List<Double> baseline, List<Double> current,
+                                   double threshold, double alpha, int minSamples) {
+        double currentMedian = median(current);
+        if (baseline.size() < minSamples || current.isEmpty()) {
+            return new Verdict(Status.NEW, Double.NaN, currentMedian, Double.NaN, Double.NaN, "none");
+        }
+
+        double baselineMedian = median(baseline);
+        double change = baselineMedian > 0 ? currentMedian / baselineMedian - 1 : 0;
+        double slowerP;
+        double fasterP;
+        String method;
+        if (current.size() >= 3) {
+            double z = mannWhitneyZ(current, baseline);
+            slowerP = 1 - normalCdf(z);
+            fasterP = normalCdf(z);
+            method = "mann-whitney";
+        } else {
+            double mad = median(absoluteDeviations(baseline, baselineMedian));
+            // A perfectly stable baseline has MAD 0; floor the scale at 1% of the median
+            double scale = Math.max(1.4826 * mad, Math.max(0.01 * baselineMedian, 1e-9));
+            double z = (currentMedian - baselineMedian) / scale;
+            slowerP = 1 - normalCdf(z);
+            fasterP = normalCdf(z);
+            method = "robust-z";
+        }
+
+        Status status;
+        if (slowerP < alpha && change > threshold) {
+            status = Status.REGRESSION;
+        } else if (fasterP < alpha && change < -threshold) {
+            status = Status.IMPROVED;
+        } else {
+            status = Status.OK;
+        }
+        return new Verdict(status, baselineMedian, currentMedian, change, Math.min(slowerP, fasterP), method);
+    }
+
+    public static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return Double.NaN;
+        }
+        double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+        int middle = sorted.length / 2;
+        return sorted.length % 2 == 1 ? sorted[middle] : (sorted[middle - 1] + sorted[middle]) / 2;
+    }
+
+    private static List<Double> absoluteDeviations(List<Double> values, double center) {
+        List<Double> deviations = new ArrayList<>(values.size());
+        for (double value : values) {
+            deviations.add(Math.abs(value - center));
+        }
+        return deviations;
+    }
+
+    /**
+     * Normal approximation of the Mann-Whitney U statistic of the first sample, with tie and continuity
+     * correction; positive when the first sample tends to be larger
+     */
+    private static double mannWhitneyZ(List<Double> first, List<Double> second) {
+        int n1 = first.size();
+        int n2 = second.size();
+        int n = n1 + n2;
+        double[][] pooled = new double[n][];
+        for (int i = 0; i < n1; i++) {
+            pooled[i] = new double[]{first.get(i), 0};
+        }
+        for (int i = 0; i < n2; i++) {
+            pooled[n1 + i] = new double[]{second.get(i), 1};
+        }
+        Arrays.sort(pooled, (a, b) -> Double.compare(a[0], b[0]));
+
+        double firstRankSum = 0;
+        double tieTerm = 0;
+        int i = 0;
+        while (i < n) {
+            int j = i;
+            while (j + 1 < n && pooled[j + 1][0] == pooled[i][0]) {
+                j++;
+            }
+            double averageRank = (i + j) / 2.0 + 1;
+            for (int k = i; k <= j; k++) {
+                if (pooled[k][1] == 0) {
+                    firstRankSum += averageRank;
+                }
+            }
+            int ties = j - i + 1;
+            tieTerm += (double) ties * ties * ties - ties;
+            i = j + 1;
+        }
+
+        double u = firstRankSum - n1 * (n1 + 1) / 2.0;
+        double mean = n1 * (double) n2 / 2;
+        double variance = n1 * (double) n2 / 12 * ((n + 1) - tieTerm / ((double) n * (n - 1)));
+        if (variance <= 0) {
+            return 0;
+        }
+        double correction = Math.signum(u - mean) * 0.5;
+        return (u - mean - correction) / Math.sqrt(variance);
+    }
+
+    /**
+     * Standard normal CDF (Abramowitz and Stegun 7.1.26, absolute error below 1.5e-7)
+     */
+    private static double normalCdf(double z) {
+        double x = Math.abs(z) / Math.sqrt(2);
+        double t = 1 / (1 + 0.3275911 * x);
+        double erf = 1 - t * (0.254829592 + t * (-0.284496736 + t * (1.421413741
+                + t * (-1.453152027 + t * 1.061405429)))) * Math.exp(-x * x);
+        return z >= 0 ? (1 + erf) / 2 : (1 - erf) / 2;
+    }
+
+    /**
+     * Outcome of a baseline comparison
+     * @param status         verdict
+     * @param baselineMedian median of the baseline, NaN when there is no usable baseline
+     * @param currentMedian  median of the current samples
+     * @param change         relative change of the median, e.g. 0.35 for 35% slower
+     * @param pValue         one-sided p-value in the direction of the change
+     * @param method         statistical test used
+     */
+    public record Verdict(Status status, double baselineMedian, double currentMedian, double change,
+                          double pValue, String method) {
+
+        @Override
+        public String toString() {
+            if (status == Status.NEW) {
+                return String.format("%s (median %.1f ms, no baseline yet)", status, currentMedian);
+            }
+            return String.format("%s (median %.1f ms vs baseline %.1f ms, %+.0f%%, p=%.4f, %s)",
+                    status, currentMedian, baselineMedian, change * 100, pValue, method);
+        }
+    }
+}
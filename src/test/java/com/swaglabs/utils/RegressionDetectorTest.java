@@ -0,0 +1,106 @@
+package com.swaglabs.utils;
+
+import org.testng.annotations.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+/**
+ * Checks the regression verdicts on fixed samples with known shifts; no browser is involved
+ */
+public class RegressionDetectorTest {
+    private static final double THRESHOLD = 0.30;
+    private static final double ALPHA = 0.01;
+    private static final int MIN_SAMPLES = 5;
+
+    // 100, 101, ..., 119 ms: median 109.5, MAD 5
+    private static List<Double> baseline() {
+        List<Double> values = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            values.add(100.0 + i);
+        }
+        return values;
+    }
+
+    @Test(groups = {"unit"})
+    public void testUnshiftedSamplesAreOk() {
+        RegressionDetector.Verdict verdict = RegressionDetector.evaluate(
+                baseline(), List.of(105.0, 110.0, 102.0, 115.0, 108.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(verdict.status()).isEqualTo(RegressionDetector.Status.OK);
+        assertThat(verdict.method()).isEqualTo("mann-whitney");
+        assertThat(verdict.pValue()).isGreaterThan(ALPHA);
+    }
+
+    @Test(groups = {"unit"})
+    public void testShiftedSamplesAreARegression() {
+        RegressionDetector.Verdict verdict = RegressionDetector.evaluate(
+                baseline(), List.of(150.0, 151.0, 152.0, 153.0, 154.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(verdict.status()).isEqualTo(RegressionDetector.Status.REGRESSION);
+        assertThat(verdict.method()).isEqualTo("mann-whitney");
+        assertThat(verdict.baselineMedian()).isEqualTo(109.5);
+        assertThat(verdict.change()).isCloseTo(152.0 / 109.5 - 1, within(1e-9));
+        assertThat(verdict.pValue()).isLessThan(ALPHA);
+    }
+
+    @Test(groups = {"unit"})
+    public void testFasterSamplesAreAnImprovement() {
+        RegressionDetector.Verdict verdict = RegressionDetector.evaluate(
+                baseline(), List.of(50.0, 51.0, 52.0, 53.0, 54.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(verdict.status()).isEqualTo(RegressionDetector.Status.IMPROVED);
+    }
+
+    @Test(groups = {"unit"})
+    public void testSignificantShiftBelowThresholdIsOk() {
+        // Every sample is slower than the whole baseline, but the median only grows by about 12%
+        RegressionDetector.Verdict verdict = RegressionDetector.evaluate(
+                baseline(), List.of(121.0, 122.0, 123.0, 124.0, 125.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(verdict.pValue()).isLessThan(ALPHA);
+        assertThat(verdict.status()).isEqualTo(RegressionDetector.Status.OK);
+    }
+
+    @Test(groups = {"unit"})
+    public void testFewSamplesUseRobustZScore() {
+        RegressionDetector.Verdict shifted = RegressionDetector.evaluate(
+                baseline(), List.of(160.0, 162.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+        RegressionDetector.Verdict unshifted = RegressionDetector.evaluate(
+                baseline(), List.of(108.0, 111.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(shifted.method()).isEqualTo("robust-z");
+        assertThat(shifted.status()).isEqualTo(RegressionDetector.Status.REGRESSION);
+        assertThat(unshifted.method()).isEqualTo("robust-z");
+        assertThat(unshifted.status()).isEqualTo(RegressionDetector.Status.OK);
+    }
+
+    @Test(groups = {"unit"})
+    public void testOutlierInBaselineDoesNotHideRegression() {
+        List<Double> withOutlier = baseline();
+        withOutlier.set(0, 5000.0);
+        RegressionDetector.Verdict verdict = RegressionDetector.evaluate(
+                withOutlier, List.of(160.0, 162.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(verdict.status()).isEqualTo(RegressionDetector.Status.REGRESSION);
+    }
+
+    @Test(groups = {"unit"})
+    public void testSmallBaselineGivesNoVerdict() {
+        RegressionDetector.Verdict verdict = RegressionDetector.evaluate(
+                List.of(100.0, 101.0), List.of(500.0, 501.0, 502.0), THRESHOLD, ALPHA, MIN_SAMPLES);
+
+        assertThat(verdict.status()).isEqualTo(RegressionDetector.Status.NEW);
+        assertThat(verdict.currentMedian()).isEqualTo(501.0);
+    }
+
+    @Test(groups = {"unit"})
+    public void testMedian() {
+        assertThat(RegressionDetector.median(List.of(3.0, 1.0, 2.0))).isEqualTo(2.0);
+        assertThat(RegressionDetector.median(List.of(4.0, 1.0, 3.0, 2.0))).isEqualTo(2.5);
+        assertThat(RegressionDetector.median(List.of())).isNaN();
+    }
+}
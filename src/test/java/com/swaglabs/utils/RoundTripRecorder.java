@@ -0,0 +1,233 @@
+package com.swaglabs.utils;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.support.events.EventFiringDecorator;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Counts WebDriver commands sent by the current thread, with estimated payload bytes and latency.
+ * Drivers are instrumented with {@link #decorate(WebDriver)}; counters are per thread and are reset
+ * at the start of every test by {@link com.swaglabs.listeners.RoundTripListener}.
+ */
+public class RoundTripRecorder {
+
+    // Calls answered by the client without a request to the browser driver
+    private static final Set<String> LOCAL_METHODS = Set.of(
+            "manage", "navigate", "switchTo", "timeouts", "window", "logs",
+            "getWrappedDriver", "getWrappedElement", "getCapabilities", "getSessionId", "getId",
+            "toString", "hashCode", "equals");
+
+    // Commands that may navigate or change the page, including scripts, whose effects are unknown
+    private static final Set<String> STATE_CHANGING_METHODS = Set.of(
+            "get", "to", "back", "forward", "refresh", "click", "submit", "sendKeys", "clear", "perform",
+            "executeScript", "executeAsyncScript", "newWindow", "close", "frame", "defaultContent", "parentFrame",
+            "addCookie", "deleteCookie", "deleteCookieNamed", "deleteAllCookies");
+
+    // Rough size of a serialized element reference in a response
+    private static final int ELEMENT_REFERENCE_BYTES = 64;
+
+    private static final ThreadLocal<Counters> counters = ThreadLocal.withInitial(Counters::new);
+    // Not reset between tests, so a value read in one test is never mistaken for one read in the next
+    private static final ThreadLocal<long[]> stateChanges = ThreadLocal.withInitial(() -> new long[1]);
+
+    private static final WebDriverListener LISTENER = new WebDriverListener() {
+        @Override
+        public void beforeAnyCall(Object target, Method method, Object[] args) {
+            if (STATE_CHANGING_METHODS.contains(method.getName())) {
+                stateChanges.get()[0]++;
+            }
+            if (isRemoteCall(method)) {
+                counters.get().begin(estimateBytes(args));
+            }
+        }
+
+        @Override
+        public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+            if (isRemoteCall(method)) {
+                counters.get().end(method.getName(), estimateBytes(result));
+            }
+        }
+
+        @Override
+        public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+            if (isRemoteCall(method)) {
+                counters.get().end(method.getName(), 0);
+            }
+        }
+    };
+
+    // Adds no behaviour; only makes the counting decorator the driver a WrapsDriver unwraps to
+    private static final WebDriverListener PASS_THROUGH = new WebDriverListener() {
+    };
+
+    private RoundTripRecorder() {
+    }
+
+    /**
+     * Wrap a driver so every command it sends is counted for the calling thread.
+     * Selenide runs scripts, including those behind selectOptionByValue, on the driver a WrapsDriver wraps
+     * rather than on the WrapsDriver itself, so the counting decorator sits under a pass-through one.
+     * @param driver driver to instrument
+     * @return instrumented driver
+     */
+    public static WebDriver decorate(WebDriver driver) {
+        WebDriver counted = new EventFiringDecorator<>(LISTENER).decorate(driver);
+        return new EventFiringDecorator<>(PASS_THROUGH).decorate(counted);
+    }
+
+    /**
+     * The browser driver under every decorator, for APIs such as DevTools that decorators do not forward
+     */
+    public static WebDriver unwrap(WebDriver driver) {
+        WebDriver unwrapped = driver;
+        while (unwrapped instanceof WrapsDriver) {
+            unwrapped = ((WrapsDriver) unwrapped).getWrappedDriver();
+        }
+        return unwrapped;
+    }
+
+    /**
+     * Reset the current thread's counters
+     */
+    public static void reset() {
+        counters.remove();
+    }
+
+    /**
+     * Current thread's totals since the last reset
+     */
+    public static RoundTripStats snapshot() {
+        return counters.get().toStats();
+    }
+
+    /**
+     * Number of commands the current thread has sent that may have navigated or changed the page.
+     * Only instrumented drivers are observed, so the value never moves when round-trip tracking is disabled.
+     */
+    public static long stateChanges() {
+        return stateChanges.get()[0];
+    }
+
+    /**
+     * Mark the start of a reporting step on the current thread
+     */
+    public static void stepStarted() {
+        Counters current = counters.get();
+        current.stepStarts.push(current.toStats());
+    }
+
+    /**
+     * Attribute the commands sent since the matching {@link #stepStarted()} to the named step.
+     * Nested steps are counted in their parents as well.
+     * @param stepName step name as reported to Allure
+     */
+    public static void stepStopped(String stepName) {
+        Counters current = counters.get();
+        if (current.stepStarts.isEmpty()) {
+            return;
+        }
+        RoundTripStats delta = current.toStats().minus(current.stepStarts.pop());
+        current.steps.merge(stepName, delta, RoundTripStats::plus);
+        current.stepCalls.merge(stepName, 1L, Long::sum);
+    }
+
+    /**
+     * Commands per step name on the current thread since the last reset, in first-seen order
+     */
+    public static Map<String, RoundTripStats> stepTotals() {
+        return new LinkedHashMap<>(counters.get().steps);
+    }
+
+    /**
+     * Number of times each step ran on the current thread since the last reset
+     */
+    public static Map<String, Long> stepCalls() {
+        return new LinkedHashMap<>(counters.get().stepCalls);
+    }
+
+    private static boolean isRemoteCall(Method method) {
+        return !LOCAL_METHODS.contains(method.getName());
+    }
+
+    private static long estimateBytes(Object value) {
+        if (value == null) {
+            return 0;
+        }
+        if (value instanceof CharSequence) {
+            return ((CharSequence) value).length();
+        }
+        if (value instanceof byte[]) {
+            return ((byte[]) value).length;
+        }
+        if (value instanceof WebElement) {
+            return ELEMENT_REFERENCE_BYTES;
+        }
+        if (value instanceof Object[]) {
+            long total = 0;
+            for (Object item : (Object[]) value) {
+                total += estimateBytes(item);
+            }
+            return total;
+        }
+        if (value instanceof Collection) {
+            long total = 0;
+            for (Object item : (Collection<?>) value) {
+                total += estimateBytes(item);
+            }
+            return total;
+        }
+        if (value instanceof Map) {
+            long total = 0;
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                total += estimateBytes(entry.getKey()) + estimateBytes(entry.getValue());
+            }
+            return total;
+        }
+        return String.valueOf(value).length();
+    }
+
+    private static final class Counters {
+        private final Deque<Long> startTimes = new ArrayDeque<>();
+        private final Map<String, Long> commandsByName = new LinkedHashMap<>();
+        private final Deque<RoundTripStats> stepStarts = new ArrayDeque<>();
+        private final Map<String, RoundTripStats> steps = new LinkedHashMap<>();
+        private final Map<String, Long> stepCalls = new LinkedHashMap<>();
+        private long commands;
+        private long requestBytes;
+        private long responseBytes;
+        private long totalNanos;
+        private long maxNanos;
+
+        void begin(long bytes) {
+            requestBytes += bytes;
+            startTimes.push(System.nanoTime());
+        }
+
+        void end(String name, long bytes) {
+            if (startTimes.isEmpty()) {
+                return;
+            }
+            long elapsed = System.nanoTime() - startTimes.pop();
+            commands++;
+            responseBytes += bytes;
+            totalNanos += elapsed;
+            maxNanos = Math.max(maxNanos, elapsed);
+            commandsByName.merge(name, 1L, Long::sum);
+        }
+
+        RoundTripStats toStats() {
+            return new RoundTripStats(commands, requestBytes, responseBytes, totalNanos, maxNanos, commandsByName);
+        }
+    }
+}
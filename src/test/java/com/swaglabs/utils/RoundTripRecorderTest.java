@@ -0,0 +1,115 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.annotations.MaxRoundTrips;
+import com.swaglabs.pages.ProductsPage;
+import com.swaglabs.tests.ProductsTest;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.testng.annotations.AfterMethod;
+import org.testng.annotations.BeforeMethod;
+import org.testng.annotations.Test;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Counts the commands Selenide sends through a recording driver that answers every command; no browser is involved
+ */
+public class RoundTripRecorderTest {
+    private final List<String> sent = new ArrayList<>();
+
+    @BeforeMethod(alwaysRun = true)
+    public void startRecordingDriver() {
+        sent.clear();
+        WebDriverRunner.setWebDriver(RoundTripRecorder.decorate(driver()));
+        RoundTripRecorder.reset();
+    }
+
+    @AfterMethod(alwaysRun = true)
+    public void stopRecordingDriver() {
+        WebDriverRunner.closeWebDriver();
+        RoundTripRecorder.reset();
+    }
+
+    private WebDriver driver() {
+        return (WebDriver) Proxy.newProxyInstance(getClass().getClassLoader(),
+                new Class<?>[]{WebDriver.class, JavascriptExecutor.class}, (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "findElement":
+                            sent.add("findElement");
+                            return element();
+                        case "executeScript":
+                            sent.add("executeScript");
+                            return ((String) args[0]).contains("inventory_item") ? inventory() : new HashMap<>();
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "recording driver";
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private WebElement element() {
+        return (WebElement) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[]{WebElement.class},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        case "equals":
+                            return proxy == args[0];
+                        case "toString":
+                            return "recording element";
+                        default:
+                            return null;
+                    }
+                });
+    }
+
+    private static Map<String, Object> inventory() {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            items.add(Map.of("name", "Item " + i, "price", "$" + (10 + i), "buttonDisplayed", true));
+        }
+        return Map.of("items", items, "cartCount", "0");
+    }
+
+    @Test(groups = {"unit"})
+    public void testSelenideScriptsAreCounted() {
+        long stateChanges = RoundTripRecorder.stateChanges();
+
+        Selenide.executeJavaScript("return 1");
+
+        // Selenide runs scripts on the driver it unwraps, which must still be the counting one
+        assertThat(sent).containsExactly("executeScript");
+        assertThat(RoundTripRecorder.snapshot().getCommands()).isEqualTo(1);
+        assertThat(RoundTripRecorder.stateChanges()).isEqualTo(stateChanges + 1);
+    }
+
+    @Test(groups = {"unit"})
+    public void testProductSortingStaysWithinItsBudget() throws NoSuchMethodException {
+        int budget = ProductsTest.class.getMethod("testProductSorting", String.class, String.class)
+                .getAnnotation(MaxRoundTrips.class).value();
+        ProductsPage productsPage = new ProductsPage();
+        RoundTripRecorder.reset();
+
+        // The page calls of testProductSorting
+        productsPage.snapshot();
+        productsPage.sortProducts("lohi");
+        productsPage.snapshot();
+
+        assertThat(sent).containsExactly("executeScript", "findElement", "executeScript", "executeScript");
+        assertThat(RoundTripRecorder.snapshot().getCommands()).isEqualTo(4).isLessThanOrEqualTo(budget);
+    }
+}
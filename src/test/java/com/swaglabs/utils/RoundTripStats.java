@@ -0,0 +1,82 @@
+package com.swaglabs.utils;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Immutable WebDriver command totals recorded by {@link RoundTripRecorder}
+ */
+public final class RoundTripStats {
+    private final long commands;
+    private final long requestBytes;
+    private final long responseBytes;
+    private final long totalNanos;
+    private final long maxNanos;
+    private final Map<String, Long> commandsByName;
+
+    RoundTripStats(long commands, long requestBytes, long responseBytes, long totalNanos, long maxNanos,
+                   Map<String, Long> commandsByName) {
+        this.commands = commands;
+        this.requestBytes = requestBytes;
+        this.responseBytes = responseBytes;
+        this.totalNanos = totalNanos;
+        this.maxNanos = maxNanos;
+        this.commandsByName = Collections.unmodifiableMap(new LinkedHashMap<>(commandsByName));
+    }
+
+    public long getCommands() { return commands; }
+    public long getRequestBytes() { return requestBytes; }
+    public long getResponseBytes() { return responseBytes; }
+    public Map<String, Long> getCommandsByName() { return commandsByName; }
+
+    public double getTotalMillis() {
+        return totalNanos / 1_000_000.0;
+    }
+
+    public double getAverageMillis() {
+        return commands == 0 ? 0.0 : totalNanos / 1_000_000.0 / commands;
+    }
+
+    public double getMaxMillis() {
+        return maxNanos / 1_000_000.0;
+    }
+
+    /**
+     * Commands recorded since an earlier snapshot of the same thread.
+     * The max latency is kept from this snapshot because the earlier maximum cannot be subtracted.
+     * @param earlier snapshot taken before this one
+     * @return difference between the two snapshots
+     */
+    public RoundTripStats minus(RoundTripStats earlier) {
+        Map<String, Long> delta = new LinkedHashMap<>();
+        commandsByName.forEach((name, count) -> {
+            long difference = count - earlier.commandsByName.getOrDefault(name, 0L);
+            if (difference > 0) {
+                delta.put(name, difference);
+            }
+        });
+        return new RoundTripStats(commands - earlier.commands, requestBytes - earlier.requestBytes,
+                responseBytes - earlier.responseBytes, totalNanos - earlier.totalNanos, maxNanos, delta);
+    }
+
+    /**
+     * Sum of two snapshots, used to aggregate repeated steps
+     * @param other snapshot to add
+     * @return combined totals
+     */
+    public RoundTripStats plus(RoundTripStats other) {
+        Map<String, Long> sum = new LinkedHashMap<>(commandsByName);
+        other.commandsByName.forEach((name, count) -> sum.merge(name, count, Long::sum));
+        return new RoundTripStats(commands + other.commands, requestBytes + other.requestBytes,
+                responseBytes + other.responseBytes, totalNanos + other.totalNanos,
+                Math.max(maxNanos, other.maxNanos), sum);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RoundTrips{commands=%d, requestBytes~%d, responseBytes~%d, totalMs=%.1f, " +
+                        "avgMs=%.2f, maxMs=%.1f}",
+                commands, requestBytes, responseBytes, getTotalMillis(), getAverageMillis(), getMaxMillis());
+    }
+}
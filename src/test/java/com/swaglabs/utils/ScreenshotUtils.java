@@ -1,54 +1,47 @@
 package com.swaglabs.utils;
 
-import com.codeborne.selenide.Selenide;
 import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.jfr.ScreenshotEvent;
 import io.qameta.allure.Attachment;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.File;
 import java.io.IOException;
 import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 
 /**
- * Utility class for handling screenshots with improved error handling
+ * Utility class for handling screenshots with improved error handling.
+ * Screenshots are captured as bytes straight from the driver; disk and Allure writes for
+ * {@link #takeScreenshot(String)} happen on the background {@link ScreenshotWriter}.
  */
 public class ScreenshotUtils {
     private static final Logger logger = LoggerFactory.getLogger(ScreenshotUtils.class);
     private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd_HH-mm-ss");
 
     /**
-     * Takes a screenshot and saves it with the given test name
+     * Takes a screenshot and queues it to be saved with the given test name and attached to Allure
      * @param testName Name of the test for which screenshot is taken
-     * @return Path to the screenshot file
+     * @return Path the screenshot file is written to (the write may still be in progress)
      */
     public static String takeScreenshot(String testName) {
-        if (!WebDriverRunner.hasWebDriverStarted()) {
-            logger.warn("WebDriver not started, cannot take screenshot for test: {}", testName);
+        byte[] png = captureBytes();
+        if (png == null) {
+            logger.warn("Cannot take screenshot for test: {}", testName);
             return null;
         }
 
-        try {
-            String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
-            String fileName = String.format("%s_%s", cleanFileName(testName), timestamp);
-
-            File screenshot = new File(Selenide.screenshot(fileName));
-            if (screenshot != null && screenshot.exists()) {
-                logger.info("Screenshot saved: {}", screenshot.getAbsolutePath());
-
-                // Attach to Allure report
-                attachScreenshotToAllure(screenshot);
-
-                return screenshot.getAbsolutePath();
-            } else {
-                logger.warn("Screenshot file not created for test: {}", testName);
-            }
-        } catch (Exception e) {
-            logger.error("Failed to take screenshot for test: {}", testName, e);
-        }
-        return null;
+        String timestamp = LocalDateTime.now().format(TIMESTAMP_FORMAT);
+        Path target = screenshotPath(String.format("%s_%s", cleanFileName(testName), timestamp));
+        ScreenshotWriter.submit("Screenshot", target, png);
+        logger.info("Screenshot queued: {}", target.toAbsolutePath());
+        return target.toAbsolutePath().toString();
     }
 
     /**
@@ -56,64 +49,35 @@ public class ScreenshotUtils {
      * @return Screenshot file
      */
     public static File takeScreenshotAsFile() {
-        if (!WebDriverRunner.hasWebDriverStarted()) {
-            logger.warn("WebDriver not started, cannot take screenshot");
+        byte[] png = captureBytes();
+        if (png == null) {
             return null;
         }
 
+        Path target = screenshotPath("screenshot_" + LocalDateTime.now().format(TIMESTAMP_FORMAT));
         try {
-            String fileName = "screenshot_" + LocalDateTime.now().format(TIMESTAMP_FORMAT);
-            File screenshot = new File(Selenide.screenshot(fileName));
-            if (screenshot != null && screenshot.exists()) {
-                logger.info("Screenshot file created: {}", screenshot.getAbsolutePath());
-                return screenshot;
-            }
-        } catch (Exception e) {
+            Files.createDirectories(target.toAbsolutePath().getParent());
+            Files.write(target, png);
+            logger.info("Screenshot file created: {}", target.toAbsolutePath());
+            return target.toFile();
+        } catch (IOException e) {
             logger.error("Failed to take screenshot as file", e);
         }
         return null;
     }
 
-    /**
-     * Attaches screenshot to Allure report
-     * @param screenshotFile Screenshot file to attach
-     */
-    @Attachment(value = "Screenshot", type = "image/png")
-    private static byte[] attachScreenshotToAllure(File screenshotFile) {
-        try {
-            if (screenshotFile != null && screenshotFile.exists()) {
-                byte[] screenshotBytes = Files.readAllBytes(screenshotFile.toPath());
-                logger.debug("Screenshot attached to Allure report: {} bytes", screenshotBytes.length);
-                return screenshotBytes;
-            }
-        } catch (IOException e) {
-            logger.error("Failed to attach screenshot to Allure report", e);
-        }
-        return new byte[0];
-    }
-
     /**
      * Attaches screenshot to Allure report directly
      * @return Screenshot bytes
      */
     @Attachment(value = "Page Screenshot", type = "image/png")
     public static byte[] attachScreenshotToAllure() {
-        if (!WebDriverRunner.hasWebDriverStarted()) {
-            logger.warn("WebDriver not started, cannot attach screenshot to Allure");
+        byte[] png = captureBytes();
+        if (png == null) {
             return new byte[0];
         }
-
-        try {
-            File screenshot = new File(Selenide.screenshot("allure_screenshot"));
-            if (screenshot != null && screenshot.exists()) {
-                byte[] screenshotBytes = Files.readAllBytes(screenshot.toPath());
-                logger.info("Screenshot attached to Allure report");
-                return screenshotBytes;
-            }
-        } catch (Exception e) {
-            logger.error("Failed to take and attach screenshot to Allure", e);
-        }
-        return new byte[0];
+        logger.info("Screenshot attached to Allure report");
+        return png;
     }
 
     /**
@@ -123,7 +87,42 @@ public class ScreenshotUtils {
     @Attachment(value = "Test Failure Screenshot", type = "image/png")
     public static byte[] takeFailureScreenshot(String testMethodName) {
         logger.info("Taking failure screenshot for test: {}", testMethodName);
-        return attachScreenshotToAllure();
+        byte[] png = captureBytes();
+        return png == null ? new byte[0] : png;
+    }
+
+    /**
+     * Wait for queued screenshots to be written to disk and Allure
+     * @param timeoutMillis maximum time to wait
+     */
+    public static void drainPendingScreenshots(long timeoutMillis) {
+        ScreenshotWriter.drain(timeoutMillis);
+        logger.info("Screenshot pipeline drained: {}", ScreenshotWriter.stats());
+    }
+
+    /**
+     * Capture the current page as PNG bytes without touching the disk
+     * @return PNG bytes, or null if no browser is available or the capture failed
+     */
+    private static byte[] captureBytes() {
+        if (!WebDriverRunner.hasWebDriverStarted()) {
+            logger.warn("WebDriver not started, cannot take screenshot");
+            return null;
+        }
+        ScreenshotEvent event = new ScreenshotEvent();
+        event.begin();
+        try {
+            byte[] png = ((TakesScreenshot) WebDriverRunner.getWebDriver()).getScreenshotAs(OutputType.BYTES);
+            event.finish(png);
+            return png;
+        } catch (Exception e) {
+            logger.error("Failed to capture screenshot: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private static Path screenshotPath(String fileName) {
+        return Paths.get(ConfigManager.getInstance().getScreenshotsPath(), fileName + ".png");
     }
 
     /**
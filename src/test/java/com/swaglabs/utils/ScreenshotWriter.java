@@ -0,0 +1,117 @@
+package com.swaglabs.utils;
+
+import io.qameta.allure.Allure;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayInputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Background writer that persists in-memory screenshots to disk and to their Allure attachments.
+ * The attachment is registered on the calling thread, so it lands on the right test; only the file
+ * writes happen in the background. When the queue is full the calling thread writes the screenshot
+ * itself, which slows producers down instead of dropping screenshots.
+ */
+public class ScreenshotWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ScreenshotWriter.class);
+
+    private static final AtomicLong submitted = new AtomicLong();
+    private static final AtomicLong written = new AtomicLong();
+    private static final AtomicLong failed = new AtomicLong();
+    private static final AtomicLong writtenOnCaller = new AtomicLong();
+    private static final AtomicInteger maxQueueDepth = new AtomicInteger();
+
+    private static ThreadPoolExecutor executor;
+
+    private ScreenshotWriter() {
+    }
+
+    /**
+     * Queue a screenshot to be written to the given file and attached to the current Allure test or step
+     * @param name   attachment name shown in Allure
+     * @param target file the PNG is written to
+     * @param png    screenshot bytes
+     */
+    public static void submit(String name, Path target, byte[] png) {
+        String attachmentSource = Allure.getLifecycle().prepareAttachment(name, "image/png", "png");
+        submitted.incrementAndGet();
+
+        ThreadPoolExecutor writer = executor();
+        writer.execute(() -> write(attachmentSource, target, png));
+        maxQueueDepth.accumulateAndGet(writer.getQueue().size(), Math::max);
+    }
+
+    /**
+     * Wait for every queued screenshot to be written. Later submissions start a new writer.
+     * @param timeoutMillis maximum time to wait
+     * @return true if the queue was fully drained
+     */
+    public static boolean drain(long timeoutMillis) {
+        ThreadPoolExecutor writer;
+        synchronized (ScreenshotWriter.class) {
+            writer = executor;
+            executor = null;
+        }
+        if (writer == null) {
+            return true;
+        }
+
+        writer.shutdown();
+        try {
+            boolean drained = writer.awaitTermination(timeoutMillis, TimeUnit.MILLISECONDS);
+            if (!drained) {
+                logger.warn("Screenshot writer did not drain within {} ms, {} screenshots pending",
+                        timeoutMillis, writer.getQueue().size());
+            }
+            return drained;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public static String stats() {
+        return String.format("ScreenshotWriter{submitted=%d, written=%d, failed=%d, writtenOnCaller=%d, maxQueueDepth=%d}",
+                submitted.get(), written.get(), failed.get(), writtenOnCaller.get(), maxQueueDepth.get());
+    }
+
+    private static synchronized ThreadPoolExecutor executor() {
+        if (executor == null) {
+            int capacity = Math.max(1, ConfigManager.getInstance().getScreenshotQueueCapacity());
+            RejectedExecutionHandler writeOnCaller = (task, pool) -> {
+                writtenOnCaller.incrementAndGet();
+                task.run();
+            };
+            executor = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+                    new ArrayBlockingQueue<>(capacity), runnable -> {
+                        Thread thread = new Thread(runnable, "screenshot-writer");
+                        thread.setDaemon(true);
+                        return thread;
+                    }, writeOnCaller);
+        }
+        return executor;
+    }
+
+    private static void write(String attachmentSource, Path target, byte[] png) {
+        try {
+            Allure.getLifecycle().writeAttachment(attachmentSource, new ByteArrayInputStream(png));
+            if (target != null) {
+                Files.createDirectories(target.toAbsolutePath().getParent());
+                Files.write(target, png);
+            }
+            written.incrementAndGet();
+            logger.debug("Screenshot written: {} ({} bytes)", target, png.length);
+        } catch (Exception e) {
+            failed.incrementAndGet();
+            logger.error("Failed to write screenshot {}: {}", target, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,263 @@
+package com.swaglabs.utils;
+
+import com.codeborne.selenide.Selenide;
+import com.codeborne.selenide.WebDriverRunner;
+import com.swaglabs.pages.LoginPage;
+import com.swaglabs.pages.ProductsPage;
+import io.qameta.allure.Step;
+import org.openqa.selenium.Cookie;
+import org.openqa.selenium.WebDriver;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Logs each user in through the UI once per worker thread, captures the resulting cookies and
+ * localStorage, and restores that state for later tests so they can open the inventory page directly.
+ * Tests that verify the login flow itself should keep using {@link LoginPage}.
+ * When {@link PreconditionCarry} carries the previous test's browser forward, the test's first session
+ * is the one already open, checked by reloading the inventory page.
+ */
+public class SessionFixture {
+    private static final Logger logger = LoggerFactory.getLogger(SessionFixture.class);
+
+    private static final String CAPTURE_STORAGE_SCRIPT =
+            "var state = {};" +
+            "for (var i = 0; i < window.localStorage.length; i++) {" +
+            "  var key = window.localStorage.key(i);" +
+            "  state[key] = window.localStorage.getItem(key);" +
+            "}" +
+            "return state;";
+
+    private static final String RESTORE_STORAGE_SCRIPT =
+            "window.localStorage.clear();" +
+            "var state = arguments[0];" +
+            "for (var key in state) { window.localStorage.setItem(key, state[key]); }";
+
+    private static final ThreadLocal<Map<String, SessionState>> sessions =
+            ThreadLocal.withInitial(HashMap::new);
+
+    private static final AtomicLong uiLogins = new AtomicLong();
+    private static final AtomicLong uiLoginNanos = new AtomicLong();
+    private static final AtomicLong restores = new AtomicLong();
+    private static final AtomicLong restoreNanos = new AtomicLong();
+    private static final AtomicLong fallbacks = new AtomicLong();
+
+    private SessionFixture() {
+    }
+
+    /**
+     * Opens the products page as the given configured user
+     * @param username user configured in config.properties
+     * @return products page for the authenticated user
+     */
+    public static ProductsPage loginAs(String username) {
+        String password = ConfigManager.getInstance().getLoginUsers().get(username);
+        if (password == null) {
+            throw new IllegalArgumentException("No password configured for user: " + username);
+        }
+        return loginAs(username, password);
+    }
+
+    /**
+     * Opens the products page as the given user, restoring a captured session when one is available
+     * and logging in through the UI otherwise
+     * @param username user to authenticate as
+     * @param password user's password, used only when a UI login is needed
+     * @return products page for the authenticated user
+     */
+    @Step("Open authenticated session for: {username}")
+    public static ProductsPage loginAs(String username, String password) {
+        ConfigManager config = ConfigManager.getInstance();
+        if (PreconditionCarry.takeSession(username)) {
+            ProductsPage carried = resumeCarried(config.getAppUrl());
+            if (carried != null) {
+                return carried;
+            }
+        }
+        if (!config.isSessionReuseEnabled()) {
+            return uiLogin(username, password);
+        }
+
+        SessionState state = sessions.get().get(username);
+        if (state != null && !state.isExpired()) {
+            long start = System.nanoTime();
+            if (restore(state, config.getAppUrl())) {
+                restores.incrementAndGet();
+                restoreNanos.addAndGet(System.nanoTime() - start);
+                PreconditionCarry.sessionStarted(username);
+                logger.info("Restored captured session for user: {}", username);
+                return new ProductsPage();
+            }
+            fallbacks.incrementAndGet();
+            logger.warn("Captured session for {} was rejected, logging in through the UI", username);
+            Selenide.open(config.getAppUrl());
+        }
+
+        ProductsPage productsPage = uiLogin(username, password);
+        capture(username);
+        return productsPage;
+    }
+
+    /**
+     * Drops the sessions captured on the current worker thread
+     */
+    public static void clear() {
+        sessions.get().clear();
+    }
+
+    public static Stats stats() {
+        return new Stats(uiLogins.get(), uiLoginNanos.get(), restores.get(), restoreNanos.get(), fallbacks.get());
+    }
+
+    /**
+     * Reloads the inventory page in the session the previous test left open, emptying its cart unless the
+     * test declared one
+     * @return products page, or null if the session did not survive the previous test
+     */
+    private static ProductsPage resumeCarried(String appUrl) {
+        try {
+            Selenide.open(inventoryUrl(appUrl));
+            if (!WebDriverRunner.url().contains("inventory.html")) {
+                PreconditionCarry.rejected("session ended, now at " + WebDriverRunner.url());
+                return null;
+            }
+            if (PreconditionCarry.carriedCart().isEmpty() && Preconditions.clearStoredCart()) {
+                Selenide.refresh();
+            }
+            PreconditionCarry.sessionElided();
+            logger.info("Carried session forward from the previous test");
+            return new ProductsPage();
+        } catch (Exception e) {
+            PreconditionCarry.rejected(e.getMessage());
+            return null;
+        }
+    }
+
+    private static ProductsPage uiLogin(String username, String password) {
+        long start = System.nanoTime();
+        ProductsPage productsPage = new LoginPage().login(username, password);
+        productsPage.verifyProductsPageDisplayed();
+        uiLogins.incrementAndGet();
+        uiLoginNanos.addAndGet(System.nanoTime() - start);
+        return productsPage;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void capture(String username) {
+        try {
+            WebDriver driver = WebDriverRunner.getWebDriver();
+            List<Cookie> cookies = new ArrayList<>(driver.manage().getCookies());
+            Map<String, Object> storage = Selenide.executeJavaScript(CAPTURE_STORAGE_SCRIPT);
+            Map<String, String> localStorage = new LinkedHashMap<>();
+            if (storage != null) {
+                storage.forEach((key, value) -> localStorage.put(key, String.valueOf(value)));
+            }
+            sessions.get().put(username, new SessionState(cookies, localStorage));
+            logger.info("Captured session for user {} ({} cookies, {} localStorage keys)",
+                    username, cookies.size(), localStorage.size());
+        } catch (Exception e) {
+            logger.warn("Failed to capture session for {}: {}", username, e.getMessage());
+        }
+    }
+
+    private static boolean restore(SessionState state, String appUrl) {
+        try {
+            // Cookies and storage can only be written for the document's own origin
+            if (!WebDriverRunner.url().startsWith(appUrl)) {
+                Selenide.open(appUrl);
+            }
+
+            WebDriver driver = WebDriverRunner.getWebDriver();
+            driver.manage().deleteAllCookies();
+            for (Cookie cookie : state.cookies) {
+                driver.manage().addCookie(new Cookie.Builder(cookie.getName(), cookie.getValue())
+                        .path(cookie.getPath())
+                        .expiresOn(cookie.getExpiry())
+                        .isSecure(cookie.isSecure())
+                        .isHttpOnly(cookie.isHttpOnly())
+                        .build());
+            }
+            Selenide.executeJavaScript(RESTORE_STORAGE_SCRIPT, state.localStorage);
+
+            Selenide.open(inventoryUrl(appUrl));
+            return WebDriverRunner.url().contains("inventory.html");
+        } catch (Exception e) {
+            logger.warn("Failed to restore session: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    private static String inventoryUrl(String appUrl) {
+        String base = appUrl.endsWith("/") ? appUrl.substring(0, appUrl.length() - 1) : appUrl;
+        return base + "/inventory.html";
+    }
+
+    private static final class SessionState {
+        private final List<Cookie> cookies;
+        private final Map<String, String> localStorage;
+
+        SessionState(List<Cookie> cookies, Map<String, String> localStorage) {
+            this.cookies = cookies;
+            this.localStorage = localStorage;
+        }
+
+        boolean isExpired() {
+            Date now = new Date();
+            return cookies.stream().anyMatch(cookie -> cookie.getExpiry() != null && cookie.getExpiry().before(now));
+        }
+    }
+
+    /**
+     * Point-in-time counters for UI logins performed and avoided
+     */
+    public static final class Stats {
+        private final long uiLogins;
+        private final long uiLoginNanos;
+        private final long restores;
+        private final long restoreNanos;
+        private final long fallbacks;
+
+        Stats(long uiLogins, long uiLoginNanos, long restores, long restoreNanos, long fallbacks) {
+            this.uiLogins = uiLogins;
+            this.uiLoginNanos = uiLoginNanos;
+            this.restores = restores;
+            this.restoreNanos = restoreNanos;
+            this.fallbacks = fallbacks;
+        }
+
+        public long getUiLogins() { return uiLogins; }
+        public long getAvoidedLogins() { return restores; }
+        public long getFallbacks() { return fallbacks; }
+
+        public double getAverageUiLoginMillis() {
+            return uiLogins == 0 ? 0.0 : uiLoginNanos / 1_000_000.0 / uiLogins;
+        }
+
+        public double getAverageRestoreMillis() {
+            return restores == 0 ? 0.0 : restoreNanos / 1_000_000.0 / restores;
+        }
+
+        /**
+         * Estimated time saved: each avoided login would have cost an average UI login
+         */
+        public double getTimeSavedMillis() {
+            return restores * getAverageUiLoginMillis() - restoreNanos / 1_000_000.0;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("SessionFixture{uiLogins=%d, avoidedLogins=%d, fallbacks=%d, " +
+                            "avgUiLoginMs=%.1f, avgRestoreMs=%.1f, timeSavedMs=%.0f}",
+                    uiLogins, restores, fallbacks, getAverageUiLoginMillis(),
+                    getAverageRestoreMillis(), getTimeSavedMillis());
+        }
+    }
+}
@@ -1,5 +1,6 @@
 package com.swaglabs.utils;
 
+import com.fasterxml.jackson.core.JsonPointer;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -7,15 +8,24 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
- * Utility class for reading test data from JSON files
+ * Utility class for reading test data from JSON files.
+ * Path lookups are served from a process-wide cache of parsed documents and compiled JSON Pointers,
+ * so only the first lookup per file pays for parsing.
  */
 public class TestDataReader {
     private static final Logger logger = LoggerFactory.getLogger(TestDataReader.class);
     private static final ObjectMapper objectMapper = new ObjectMapper();
 
+    private static final Map<String, JsonNode> documentCache = new ConcurrentHashMap<>();
+    private static final Map<String, JsonPointer> pointerCache = new ConcurrentHashMap<>();
+
     /**
      * Reads JSON data from resources and returns as JsonNode
      *
@@ -87,6 +97,76 @@ public class TestDataReader {
         }
     }
 
+    /**
+     * Returns the parsed document for a resource, parsing it only on first use.
+     * The returned tree is shared and must not be modified; use {@link #readJsonData(String)} for a private copy.
+     *
+     * @param fileName name of the JSON file in resources
+     * @return cached JsonNode for the file
+     */
+    public static JsonNode getCachedDocument(String fileName) {
+        return documentCache.computeIfAbsent(fileName, TestDataReader::readJsonData);
+    }
+
+    /**
+     * Compiles a path to a JSON Pointer, reusing the compiled pointer for repeated paths
+     *
+     * @param path JSON Pointer ("/users/standard/username") or dot-separated path ("users.standard.username",
+     *             array elements by index, e.g. "products.0.name")
+     * @return compiled pointer
+     */
+    public static JsonPointer compilePath(String path) {
+        return pointerCache.computeIfAbsent(path, TestDataReader::toPointer);
+    }
+
+    /**
+     * Gets the node at a path from the cached document
+     *
+     * @param fileName name of the JSON file
+     * @param path     JSON Pointer or dot-separated path
+     * @return node at the path, or null if the path does not exist
+     */
+    public static JsonNode getNode(String fileName, String path) {
+        return getNode(fileName, compilePath(path));
+    }
+
+    /**
+     * Gets the node at a precompiled path from the cached document
+     *
+     * @param fileName name of the JSON file
+     * @param pointer  pointer returned by {@link #compilePath(String)}
+     * @return node at the path, or null if the path does not exist
+     */
+    public static JsonNode getNode(String fileName, JsonPointer pointer) {
+        JsonNode node = getCachedDocument(fileName).at(pointer);
+        return node.isMissingNode() ? null : node;
+    }
+
+    public static String getString(String fileName, String path) {
+        JsonNode node = requireNode(fileName, path);
+        return node.isTextual() ? node.textValue() : node.asText();
+    }
+
+    public static int getInt(String fileName, String path) {
+        return requireNode(fileName, path).asInt();
+    }
+
+    public static double getDouble(String fileName, String path) {
+        return requireNode(fileName, path).asDouble();
+    }
+
+    public static boolean getBoolean(String fileName, String path) {
+        return requireNode(fileName, path).asBoolean();
+    }
+
+    /**
+     * Drops all cached documents and compiled paths
+     */
+    public static void clearCache() {
+        documentCache.clear();
+        pointerCache.clear();
+    }
+
     /**
      * Gets specific value from JSON data using path
      *
@@ -95,17 +175,10 @@ public class TestDataReader {
      * @return Object value at the specified path
      */
     public static Object getValueFromJson(String fileName, String path) {
-        JsonNode jsonNode = readJsonData(fileName);
-        String[] pathParts = path.split("\\.");
-
-        JsonNode currentNode = jsonNode;
-        for (String part : pathParts) {
-            if (currentNode.has(part)) {
-                currentNode = currentNode.get(part);
-            } else {
-                logger.warn("Path '{}' not found in JSON file: {}", path, fileName);
-                return null;
-            }
+        JsonNode currentNode = getNode(fileName, path);
+        if (currentNode == null) {
+            logger.warn("Path '{}' not found in JSON file: {}", path, fileName);
+            return null;
         }
 
         // Convert JsonNode to appropriate Java object
@@ -206,4 +279,53 @@ public class TestDataReader {
             throw new RuntimeException("Error converting JSON to DataProvider format", e);
         }
     }
-}
\ No newline at end of file
+
+    /**
+     * Streams an array of JSON objects as TestNG DataProvider rows without loading the file into memory.
+     * Looks the file up on the classpath first, then on the file system, so large generated files can live
+     * outside the resources folder.
+     *
+     * @param fileName   JSON resource or file path
+     * @param arrayField dot-separated path to the array (e.g., "checkout"), or null for a top-level array
+     * @param columns    fields to project from each object, in DataProvider argument order
+     * @return lazily populated rows for an Iterator-based DataProvider
+     */
+    public static Iterator<Object[]> streamJsonAsDataProvider(String fileName, String arrayField, String... columns) {
+        InputStream inputStream = TestDataReader.class.getClassLoader().getResourceAsStream(fileName);
+        try {
+            if (inputStream == null) {
+                Path path = Paths.get(fileName);
+                if (!Files.isRegularFile(path)) {
+                    logger.error("File not found: {}", fileName);
+                    throw new RuntimeException("Test data file not found: " + fileName);
+                }
+                inputStream = Files.newInputStream(path);
+            }
+        } catch (IOException e) {
+            logger.error("Error opening JSON file {}: {}", fileName, e.getMessage());
+            throw new RuntimeException("Error opening test data file: " + fileName, e);
+        }
+
+        logger.info("Streaming rows {} from: {}", Arrays.toString(columns), fileName);
+        return new JsonRowIterator(fileName, inputStream, arrayField, columns);
+    }
+
+    private static JsonNode requireNode(String fileName, String path) {
+        JsonNode node = getNode(fileName, path);
+        if (node == null) {
+            throw new RuntimeException("Path '" + path + "' not found in test data file: " + fileName);
+        }
+        return node;
+    }
+
+    private static JsonPointer toPointer(String path) {
+        if (path.isEmpty() || path.startsWith("/")) {
+            return JsonPointer.compile(path);
+        }
+        StringBuilder pointer = new StringBuilder();
+        for (String part : path.split("\\.")) {
+            pointer.append('/').append(part.replace("~", "~0").replace("/", "~1"));
+        }
+        return JsonPointer.compile(pointer.toString());
+    }
+}
@@ -0,0 +1,133 @@
+package com.swaglabs.utils;
+
+import io.qameta.allure.Allure;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times an operation over warm-up and measured repetitions and records the measured ones in an
+ * HdrHistogram, so assertions can target percentiles instead of a single noisy sample.
+ * <pre>
+ * Timed.measure("products.load", () -&gt; ...).assertWithin(budget);
+ * Timed.of("logout").repetitions(10).beforeEach(() -&gt; login()).measure(() -&gt; logout());
+ * </pre>
+ * Defaults come from timing.warmup.iterations and timing.repetitions. Each result is logged and attached
+ * to the current Allure test, and every measurement is also merged into a per-name total for the JVM.
+ */
+public final class Timed {
+    private static final Logger logger = LoggerFactory.getLogger(Timed.class);
+
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.HOURS.toMicros(1);
+    private static final int SIGNIFICANT_DIGITS = 3;
+    private static final Map<String, Histogram> totals = new ConcurrentHashMap<>();
+
+    private final String name;
+    private int warmupIterations;
+    private int repetitions;
+    private Runnable beforeEach = () -> { };
+
+    private Timed(String name) {
+        ConfigManager config = ConfigManager.getInstance();
+        this.name = name;
+        this.warmupIterations = config.getTimingWarmupIterations();
+        this.repetitions = config.getTimingRepetitions();
+    }
+
+    /**
+     * Start configuring a timed operation
+     * @param name operation name, e.g. cart.addAll
+     * @return timing builder with the configured defaults
+     */
+    public static Timed of(String name) {
+        return new Timed(name);
+    }
+
+    /**
+     * Time an operation with the configured warm-up and repetitions
+     * @param name   operation name
+     * @param action operation to time; must be repeatable
+     * @return measured distribution
+     */
+    public static TimingResult measure(String name, Runnable action) {
+        return of(name).measure(action);
+    }
+
+    public Timed warmup(int iterations) {
+        if (iterations < 0) {
+            throw new IllegalArgumentException("Warm-up iterations must not be negative: " + iterations);
+        }
+        this.warmupIterations = iterations;
+        return this;
+    }
+
+    public Timed repetitions(int repetitions) {
+        if (repetitions < 1) {
+            throw new IllegalArgumentException("At least one measured repetition is required: " + repetitions);
+        }
+        this.repetitions = repetitions;
+        return this;
+    }
+
+    /**
+     * Untimed preparation run before every warm-up and measured repetition, e.g. to reset page state
+     */
+    public Timed beforeEach(Runnable preparation) {
+        this.beforeEach = preparation;
+        return this;
+    }
+
+    /**
+     * Run the warm-up iterations, then time each measured repetition
+     * @param action operation to time
+     * @return measured distribution
+     */
+    public TimingResult measure(Runnable action) {
+        for (int i = 0; i < warmupIterations; i++) {
+            beforeEach.run();
+            action.run();
+        }
+
+        Histogram histogram = new Histogram(HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        for (int i = 0; i < repetitions; i++) {
+            beforeEach.run();
+            long start = System.nanoTime();
+            action.run();
+            long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+            histogram.recordValue(Math.min(micros, HIGHEST_TRACKABLE_MICROS));
+        }
+
+        totals.merge(name, histogram.copy(), (total, added) -> {
+            synchronized (total) {
+                total.add(added);
+            }
+            return total;
+        });
+
+        TimingResult result = new TimingResult(name, warmupIterations, histogram);
+        logger.info("{}", result);
+        Allure.addAttachment("Timing: " + name, "text/plain",
+                result + System.lineSeparator() + System.lineSeparator() + result.getPercentileDistribution(),
+                ".txt");
+        return result;
+    }
+
+    /**
+     * Get every measurement recorded so far in this JVM, merged per operation name
+     * @return copies of the per-name histograms, in microseconds, sorted by name
+     */
+    public static Map<String, Histogram> totals() {
+        Map<String, Histogram> copies = new TreeMap<>();
+        totals.forEach((name, total) -> {
+            synchronized (total) {
+                copies.put(name, total.copy());
+            }
+        });
+        return copies;
+    }
+}
@@ -0,0 +1,101 @@
+package com.swaglabs.utils;
+
+import com.swaglabs.data.model.TimingBudget;
+import org.HdrHistogram.Histogram;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Latency distribution of the measured repetitions of one {@link Timed} operation.
+ * Values are recorded in microseconds and reported in milliseconds.
+ */
+public final class TimingResult {
+    private static final Logger logger = LoggerFactory.getLogger(TimingResult.class);
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final String name;
+    private final int warmupIterations;
+    private final Histogram histogram;
+
+    TimingResult(String name, int warmupIterations, Histogram histogram) {
+        this.name = name;
+        this.warmupIterations = warmupIterations;
+        this.histogram = histogram;
+    }
+
+    public String getName() { return name; }
+    public int getWarmupIterations() { return warmupIterations; }
+    public long getCount() { return histogram.getTotalCount(); }
+    public double getP50Millis() { return getPercentileMillis(50.0); }
+    public double getP90Millis() { return getPercentileMillis(90.0); }
+    public double getP99Millis() { return getPercentileMillis(99.0); }
+    public double getMaxMillis() { return histogram.getMaxValue() / MICROS_PER_MILLI; }
+    public double getMeanMillis() { return histogram.getMean() / MICROS_PER_MILLI; }
+
+    /**
+     * Get the latency at a percentile
+     * @param percentile percentile between 0 and 100
+     * @return latency in milliseconds
+     */
+    public double getPercentileMillis(double percentile) {
+        return histogram.getValueAtPercentile(percentile) / MICROS_PER_MILLI;
+    }
+
+    /**
+     * Get a copy of the underlying histogram, in microseconds
+     * @return histogram copy
+     */
+    public Histogram getHistogram() {
+        return histogram.copy();
+    }
+
+    /**
+     * Assert every bounded percentile of the budget
+     * @param budget latency budget
+     * @return this result, for chaining
+     * @throws AssertionError listing every percentile that exceeded its bound
+     */
+    public TimingResult assertWithin(TimingBudget budget) {
+        List<String> violations = new ArrayList<>();
+        check(violations, "p50", getP50Millis(), budget.getP50Millis());
+        check(violations, "p90", getP90Millis(), budget.getP90Millis());
+        check(violations, "p99", getP99Millis(), budget.getP99Millis());
+        check(violations, "max", getMaxMillis(), budget.getMaxMillis());
+        if (!violations.isEmpty()) {
+            throw new AssertionError(String.format("%s exceeded its budget: %s (%s, %s)",
+                    name, String.join(", ", violations), this, budget));
+        }
+        logger.info("{} within {}", name, budget);
+        return this;
+    }
+
+    /**
+     * Render the HdrHistogram percentile distribution, in milliseconds
+     * @return distribution table
+     */
+    public String getPercentileDistribution() {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (PrintStream stream = new PrintStream(output, true, StandardCharsets.UTF_8)) {
+            histogram.outputPercentileDistribution(stream, 5, MICROS_PER_MILLI);
+        }
+        return output.toString(StandardCharsets.UTF_8);
+    }
+
+    private static void check(List<String> violations, String label, double actualMillis, long limitMillis) {
+        if (limitMillis != TimingBudget.UNBOUNDED && actualMillis > limitMillis) {
+            violations.add(String.format("%s %.1fms > %dms", label, actualMillis, limitMillis));
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("TimingResult{name=%s, n=%d, p50=%.1fms, p90=%.1fms, p99=%.1fms, max=%.1fms}",
+                name, getCount(), getP50Millis(), getP90Millis(), getP99Millis(), getMaxMillis());
+    }
+}
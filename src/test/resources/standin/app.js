@@ -0,0 +1,469 @@
+/*
+ * Stand-in Swag Labs front end, served by com.swaglabs.server.StandInServer.
+ * Reproduces the markup the page objects target (ids, classes and data-test attributes) and keeps
+ * state where the real site does: the session in the "session-username" cookie and the cart in the
+ * "cart-contents" localStorage entry, so SessionFixture can capture and restore sessions unchanged.
+ */
+(function () {
+    'use strict';
+
+    var PASSWORD = 'secret_sauce';
+    var USERS = ['standard_user', 'locked_out_user', 'problem_user', 'performance_glitch_user',
+        'error_user', 'visual_user'];
+    var LOCKED_USERS = ['locked_out_user'];
+    var SESSION_COOKIE = 'session-username';
+    var CART_KEY = 'cart-contents';
+    var SESSION_MINUTES = 10;
+    var TAX_RATE = 0.08;
+
+    var PRODUCTS = [
+        {id: 4, name: 'Sauce Labs Backpack', price: 29.99, image: 'sauce-backpack-1200x1500.jpg',
+            desc: 'carry.allTheThings() with the sleek, streamlined Sly Pack that melds uncompromising style with unequaled laptop and tablet protection.'},
+        {id: 0, name: 'Sauce Labs Bike Light', price: 9.99, image: 'bike-light-1200x1500.jpg',
+            desc: 'A red light isn\'t the desired state in testing but it sure helps when riding your bike at night. Water-resistant with 3 lighting modes, 1 AAA battery included.'},
+        {id: 1, name: 'Sauce Labs Bolt T-Shirt', price: 15.99, image: 'bolt-shirt-1200x1500.jpg',
+            desc: 'Get your testing superhero on with the Sauce Labs bolt T-shirt. From American Apparel, 100% ringspun combed cotton, heather gray with red bolt.'},
+        {id: 5, name: 'Sauce Labs Fleece Jacket', price: 49.99, image: 'sauce-pullover-1200x1500.jpg',
+            desc: 'It\'s not every day that you come across a midweight quarter-zip fleece jacket capable of handling everything from a relaxing day outdoors to a busy day at the office.'},
+        {id: 2, name: 'Sauce Labs Onesie', price: 7.99, image: 'red-onesie-1200x1500.jpg',
+            desc: 'Rib snap infant onesie for the junior automation engineer in development. Reinforced 3-snap bottom closure, two-needle hemmed sleeved and bottom won\'t unravel.'},
+        {id: 3, name: 'Test.allTheThings() T-Shirt (Red)', price: 15.99, image: 'red-tatt-1200x1500.jpg',
+            desc: 'This classic Sauce Labs t-shirt is perfect to wear when cozying up to your keyboard to automate a few tests. Super-soft and comfy ringspun combed cotton.'}
+    ];
+
+    var SORTS = {
+        az: {label: 'Name (A to Z)', compare: function (a, b) { return a.name.localeCompare(b.name); }},
+        za: {label: 'Name (Z to A)', compare: function (a, b) { return b.name.localeCompare(a.name); }},
+        lohi: {label: 'Price (low to high)', compare: function (a, b) { return a.price - b.price; }},
+        hilo: {label: 'Price (high to low)', compare: function (a, b) { return b.price - a.price; }}
+    };
+
+    // ---- State ---------------------------------------------------------------------------------
+
+    function currentUser() {
+        var match = document.cookie.match(/(?:^|;\s*)session-username=([^;]*)/);
+        return match ? decodeURIComponent(match[1]) : null;
+    }
+
+    function startSession(username) {
+        var expires = new Date(Date.now() + SESSION_MINUTES * 60 * 1000).toUTCString();
+        document.cookie = SESSION_COOKIE + '=' + encodeURIComponent(username) + '; expires=' + expires + '; path=/';
+    }
+
+    function endSession() {
+        document.cookie = SESSION_COOKIE + '=; expires=Thu, 01 Jan 1970 00:00:00 GMT; path=/';
+    }
+
+    function getCart() {
+        try {
+            var cart = JSON.parse(localStorage.getItem(CART_KEY) || '[]');
+            return Array.isArray(cart) ? cart : [];
+        } catch (e) {
+            return [];
+        }
+    }
+
+    function setCart(cart) {
+        if (cart.length) {
+            localStorage.setItem(CART_KEY, JSON.stringify(cart));
+        } else {
+            localStorage.removeItem(CART_KEY);
+        }
+    }
+
+    function inCart(id) {
+        return getCart().indexOf(id) >= 0;
+    }
+
+    function addToCart(id) {
+        var cart = getCart();
+        if (cart.indexOf(id) < 0) {
+            cart.push(id);
+            setCart(cart);
+        }
+    }
+
+    function removeFromCart(id) {
+        setCart(getCart().filter(function (itemId) { return itemId !== id; }));
+    }
+
+    function product(id) {
+        for (var i = 0; i < PRODUCTS.length; i++) {
+            if (PRODUCTS[i].id === id) {
+                return PRODUCTS[i];
+            }
+        }
+        return null;
+    }
+
+    // ---- Markup helpers ------------------------------------------------------------------------
+
+    function slug(name) {
+        return name.replace(/\s+/g, '-').toLowerCase();
+    }
+
+    function money(value) {
+        return '$' + value.toFixed(2);
+    }
+
+    function go(path) {
+        window.location.href = path;
+    }
+
+    function cartButton(item, extraClass) {
+        var added = inCart(item.id);
+        var dataTest = (added ? 'remove-' : 'add-to-cart-') + slug(item.name);
+        return '<button class="btn ' + (added ? 'btn_secondary' : 'btn_primary') + ' btn_small ' + extraClass + '"' +
+            ' data-test="' + dataTest + '" id="' + dataTest + '" name="' + dataTest + '"' +
+            ' data-item-id="' + item.id + '">' + (added ? 'Remove' : 'Add to cart') + '</button>';
+    }
+
+    function header(title, secondary) {
+        var count = getCart().length;
+        return '<div class="primary_header" data-test="primary-header">' +
+            '<div id="menu_button_container"><div class="bm-burger-button">' +
+            '<button id="react-burger-menu-btn" type="button">Open Menu</button></div>' +
+            '<div class="bm-menu-wrap" hidden><nav class="bm-item-list">' +
+            '<a id="inventory_sidebar_link" class="bm-item menu-item" data-test="inventory-sidebar-link" href="/inventory.html">All Items</a>' +
+            '<a id="about_sidebar_link" class="bm-item menu-item" data-test="about-sidebar-link" href="https://saucelabs.com/">About</a>' +
+            '<a id="logout_sidebar_link" class="bm-item menu-item" data-test="logout-sidebar-link" href="#">Logout</a>' +
+            '<a id="reset_sidebar_link" class="bm-item menu-item" data-test="reset-sidebar-link" href="#">Reset App State</a>' +
+            '</nav><button id="react-burger-cross-btn" type="button">Close Menu</button></div></div>' +
+            '<div class="header_label"><div class="app_logo">Swag Labs</div></div>' +
+            '<div id="shopping_cart_container" class="shopping_cart_container">' +
+            '<a class="shopping_cart_link" data-test="shopping-cart-link" href="/cart.html">' +
+            (count ? '<span class="shopping_cart_badge" data-test="shopping-cart-badge">' + count + '</span>' : '') +
+            '</a></div></div>' +
+            '<div class="header_secondary_container" data-test="secondary-header">' +
+            '<span class="title" data-test="title">' + title + '</span>' + (secondary || '') + '</div>';
+    }
+
+    function cartItem(item, withRemove) {
+        return '<div class="cart_item" data-test="inventory-item">' +
+            '<div class="cart_quantity" data-test="item-quantity">1</div>' +
+            '<div class="cart_item_label">' +
+            '<a href="/inventory-item.html?id=' + item.id + '" id="item_' + item.id + '_title_link" data-test="item-' + item.id + '-title-link">' +
+            '<div class="inventory_item_name" data-test="inventory-item-name">' + item.name + '</div></a>' +
+            '<div class="inventory_item_desc" data-test="inventory-item-desc">' + item.desc + '</div>' +
+            '<div class="item_pricebar"><div class="inventory_item_price" data-test="inventory-item-price">' + money(item.price) + '</div>' +
+            (withRemove ? cartButton(item, 'cart_button') : '') +
+            '</div></div></div>';
+    }
+
+    function cartItems(withRemove) {
+        return '<div class="cart_list" data-test="cart-list">' +
+            '<div class="cart_quantity_label" data-test="cart-quantity-label">QTY</div>' +
+            '<div class="cart_desc_label" data-test="cart-desc-label">Description</div>' +
+            getCart().map(product).filter(Boolean).map(function (item) {
+                return cartItem(item, withRemove);
+            }).join('') + '</div>';
+    }
+
+    function render(markup) {
+        document.getElementById('root').innerHTML =
+            '<div id="page_wrapper" class="page_wrapper"><div id="contents_wrapper">' + markup + '</div></div>';
+    }
+
+    function refreshBadge() {
+        var link = document.querySelector('.shopping_cart_link');
+        var count = getCart().length;
+        var badge = link.querySelector('.shopping_cart_badge');
+        if (!count && badge) {
+            badge.remove();
+        } else if (count && !badge) {
+            link.innerHTML = '<span class="shopping_cart_badge" data-test="shopping-cart-badge">' + count + '</span>';
+        } else if (badge) {
+            badge.textContent = String(count);
+        }
+    }
+
+    // ---- Pages ---------------------------------------------------------------------------------
+
+    function loginPage() {
+        render('<div class="login_container"><div class="login_logo">Swag Labs</div>' +
+            '<div class="login_wrapper"><div class="login_wrapper-inner"><div id="login_button_container" class="form_column">' +
+            '<div class="login-box"><form>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Username" type="text" data-test="username" id="user-name" name="user-name" autocorrect="off" autocapitalize="none"></div>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Password" type="password" data-test="password" id="password" name="password" autocorrect="off" autocapitalize="none"></div>' +
+            '<div class="error-message-container"></div>' +
+            '<input type="submit" class="submit-button btn_action" data-test="login-button" id="login-button" name="login-button" value="Login">' +
+            '</form></div></div></div>' +
+            '<div class="login_credentials_wrap"><div class="login_credentials_wrap-inner">' +
+            '<div id="login_credentials" class="login_credentials" data-test="login-credentials"><h4>Accepted usernames are:</h4>' +
+            USERS.join('<br>') + '</div>' +
+            '<div class="login_password" data-test="login-password"><h4>Password for all users:</h4>' + PASSWORD + '</div>' +
+            '</div></div></div></div>');
+
+        var pending = sessionStorage.getItem('login-error');
+        if (pending) {
+            sessionStorage.removeItem('login-error');
+            showError('.error-message-container', pending);
+        }
+
+        document.querySelector('form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var username = document.getElementById('user-name').value;
+            var password = document.getElementById('password').value;
+            var error = null;
+            if (!username) {
+                error = 'Epic sadface: Username is required';
+            } else if (!password) {
+                error = 'Epic sadface: Password is required';
+            } else if (USERS.indexOf(username) < 0 || password !== PASSWORD) {
+                error = 'Epic sadface: Username and password do not match any user in this service';
+            } else if (LOCKED_USERS.indexOf(username) >= 0) {
+                error = 'Epic sadface: Sorry, this user has been locked out.';
+            }
+            if (error) {
+                showError('.error-message-container', error);
+                return;
+            }
+            startSession(username);
+            go('/inventory.html');
+        });
+    }
+
+    function showError(containerSelector, message) {
+        var container = document.querySelector(containerSelector);
+        container.className = containerSelector.substring(1) + ' error';
+        container.innerHTML = '<h3 data-test="error"><button class="error-button" data-test="error-button" type="button"></button>' +
+            message + '</h3>';
+        container.querySelector('.error-button').addEventListener('click', function () {
+            container.className = containerSelector.substring(1);
+            container.innerHTML = '';
+        });
+    }
+
+    function inventoryPage() {
+        var sort = sessionStorage.getItem('inventory-sort') || 'az';
+        var options = Object.keys(SORTS).map(function (key) {
+            return '<option value="' + key + '"' + (key === sort ? ' selected' : '') + '>' + SORTS[key].label + '</option>';
+        }).join('');
+        render(header('Products',
+            '<div class="right_component"><span class="select_container">' +
+            '<span class="active_option" data-test="active-option">' + SORTS[sort].label + '</span>' +
+            '<select class="product_sort_container" data-test="product-sort-container">' + options + '</select>' +
+            '</span></div>') +
+            '<div id="inventory_container" class="inventory_container"><div class="inventory_list" data-test="inventory-list"></div></div>');
+        renderInventoryList(sort);
+
+        document.querySelector('.product_sort_container').addEventListener('change', function (event) {
+            var value = event.target.value;
+            sessionStorage.setItem('inventory-sort', value);
+            document.querySelector('.active_option').textContent = SORTS[value].label;
+            renderInventoryList(value);
+        });
+    }
+
+    function renderInventoryList(sort) {
+        var items = PRODUCTS.slice().sort(SORTS[sort].compare);
+        document.querySelector('.inventory_list').innerHTML = items.map(function (item) {
+            var link = 'item_' + item.id + '_title_link';
+            return '<div class="inventory_item" data-test="inventory-item">' +
+                '<div class="inventory_item_img"><a href="/inventory-item.html?id=' + item.id + '" id="item_' + item.id + '_img_link" data-test="item-' + item.id + '-img-link">' +
+                '<img alt="' + item.name + '" class="inventory_item_img" src="/static/media/' + item.image + '" data-test="inventory-item-' + slug(item.name) + '-img"></a></div>' +
+                '<div class="inventory_item_description" data-test="inventory-item-description"><div class="inventory_item_label">' +
+                '<a href="/inventory-item.html?id=' + item.id + '" id="' + link + '" data-test="item-' + item.id + '-title-link">' +
+                '<div class="inventory_item_name" data-test="inventory-item-name">' + item.name + '</div></a>' +
+                '<div class="inventory_item_desc" data-test="inventory-item-desc">' + item.desc + '</div></div>' +
+                '<div class="pricebar"><div class="inventory_item_price" data-test="inventory-item-price">' + money(item.price) + '</div>' +
+                cartButton(item, 'btn_inventory') + '</div></div></div>';
+        }).join('');
+    }
+
+    function itemPage() {
+        var id = parseInt(new URLSearchParams(window.location.search).get('id'), 10);
+        var item = product(id);
+        if (!item) {
+            render(header('') + '<div class="inventory_details"><div class="inventory_details_name large_size">ITEM NOT FOUND</div></div>');
+            return;
+        }
+        render(header('',
+            '<div class="left_component"><button class="btn btn_secondary back btn_large inventory_details_back_button" data-test="back-to-products" id="back-to-products" name="back-to-products">Back to products</button></div>') +
+            '<div class="inventory_details" data-test="inventory-container"><div class="inventory_details_container">' +
+            '<div class="inventory_details_img_container"><img alt="' + item.name + '" class="inventory_details_img" src="/static/media/' + item.image + '" data-test="item-' + slug(item.name) + '-img"></div>' +
+            '<div class="inventory_details_desc_container">' +
+            '<div class="inventory_details_name large_size" data-test="inventory-item-name">' + item.name + '</div>' +
+            '<div class="inventory_details_desc large_size" data-test="inventory-item-desc">' + item.desc + '</div>' +
+            '<div class="inventory_details_price" data-test="inventory-item-price">' + money(item.price) + '</div>' +
+            detailsButton(item) + '</div></div></div>');
+
+        document.getElementById('back-to-products').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+    }
+
+    function detailsButton(item) {
+        var added = inCart(item.id);
+        var dataTest = added ? 'remove' : 'add-to-cart';
+        return '<button class="btn ' + (added ? 'btn_secondary' : 'btn_primary') + ' btn_small btn_inventory"' +
+            ' data-test="' + dataTest + '" id="' + dataTest + '" name="' + dataTest + '" data-item-id="' + item.id + '">' +
+            (added ? 'Remove' : 'Add to cart') + '</button>';
+    }
+
+    function cartPage() {
+        render(header('Your Cart') +
+            '<div id="cart_contents_container" class="cart_contents_container"><div>' + cartItems(true) +
+            '<div class="cart_footer">' +
+            '<button class="btn btn_secondary back btn_medium" data-test="continue-shopping" id="continue-shopping" name="continue-shopping">Continue Shopping</button>' +
+            '<button class="btn btn_action btn_medium checkout_button" data-test="checkout" id="checkout" name="checkout">Checkout</button>' +
+            '</div></div></div>');
+
+        document.getElementById('continue-shopping').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+        document.getElementById('checkout').addEventListener('click', function () {
+            go('/checkout-step-one.html');
+        });
+    }
+
+    function checkoutStepOnePage() {
+        render(header('Checkout: Your Information') +
+            '<div id="checkout_info_container" class="checkout_info_container"><div class="checkout_info_wrapper"><form>' +
+            '<div class="checkout_info">' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="First Name" type="text" data-test="firstName" id="first-name" name="firstName" autocorrect="off" autocapitalize="none"></div>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Last Name" type="text" data-test="lastName" id="last-name" name="lastName" autocorrect="off" autocapitalize="none"></div>' +
+            '<div class="form_group"><input class="input_error form_input" placeholder="Zip/Postal Code" type="text" data-test="postalCode" id="postal-code" name="postalCode" autocorrect="off" autocapitalize="none"></div>' +
+            '<div class="error-message-container"></div></div>' +
+            '<div class="checkout_buttons">' +
+            '<button class="btn btn_secondary back btn_medium cart_cancel_link" data-test="cancel" id="cancel" name="cancel" type="button">Cancel</button>' +
+            '<input type="submit" class="submit-button btn btn_primary cart_button btn_action" data-test="continue" id="continue" name="continue" value="Continue">' +
+            '</div></form></div></div>');
+
+        document.getElementById('cancel').addEventListener('click', function () {
+            go('/cart.html');
+        });
+        document.querySelector('form').addEventListener('submit', function (event) {
+            event.preventDefault();
+            var error = null;
+            if (!document.getElementById('first-name').value) {
+                error = 'Error: First Name is required';
+            } else if (!document.getElementById('last-name').value) {
+                error = 'Error: Last Name is required';
+            } else if (!document.getElementById('postal-code').value) {
+                error = 'Error: Postal Code is required';
+            }
+            if (error) {
+                showError('.error-message-container', error);
+                return;
+            }
+            go('/checkout-step-two.html');
+        });
+    }
+
+    function checkoutStepTwoPage() {
+        var subtotal = getCart().map(product).filter(Boolean).reduce(function (sum, item) {
+            return sum + item.price;
+        }, 0);
+        var tax = Math.round(subtotal * TAX_RATE * 100) / 100;
+        render(header('Checkout: Overview') +
+            '<div id="checkout_summary_container" class="checkout_summary_container"><div>' + cartItems(false) +
+            '<div class="summary_info">' +
+            '<div class="summary_info_label" data-test="payment-info-label">Payment Information:</div>' +
+            '<div class="summary_value_label" data-test="payment-info-value">SauceCard #31337</div>' +
+            '<div class="summary_info_label" data-test="shipping-info-label">Shipping Information:</div>' +
+            '<div class="summary_value_label" data-test="shipping-info-value">Free Pony Express Delivery!</div>' +
+            '<div class="summary_info_label" data-test="total-info-label">Price Total</div>' +
+            '<div class="summary_subtotal_label" data-test="subtotal-label">Item total: ' + money(subtotal) + '</div>' +
+            '<div class="summary_tax_label" data-test="tax-label">Tax: ' + money(tax) + '</div>' +
+            '<div class="summary_info_label summary_total_label" data-test="total-label">Total: ' + money(subtotal + tax) + '</div>' +
+            '<div class="cart_footer">' +
+            '<button class="btn btn_secondary back btn_medium cart_cancel_link" data-test="cancel" id="cancel" name="cancel">Cancel</button>' +
+            '<button class="btn btn_action btn_medium cart_button" data-test="finish" id="finish" name="finish">Finish</button>' +
+            '</div></div></div></div>');
+
+        document.getElementById('cancel').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+        document.getElementById('finish').addEventListener('click', function () {
+            setCart([]);
+            go('/checkout-complete.html');
+        });
+    }
+
+    function checkoutCompletePage() {
+        render(header('Checkout: Complete!') +
+            '<div id="checkout_complete_container" class="checkout_complete_container" data-test="checkout-complete-container">' +
+            '<img alt="Pony Express" class="pony_express" data-test="pony-express" src="/static/media/pony-express.png">' +
+            '<h2 class="complete-header" data-test="complete-header">Thank you for your order!</h2>' +
+            '<div class="complete-text" data-test="complete-text">Your order has been dispatched, and will arrive just as fast as the pony can get there!</div>' +
+            '<button class="btn btn_primary btn_small" data-test="back-to-products" id="back-to-products" name="back-to-products">Back Home</button>' +
+            '</div>');
+
+        document.getElementById('back-to-products').addEventListener('click', function () {
+            go('/inventory.html');
+        });
+    }
+
+    // ---- Shared behaviour ----------------------------------------------------------------------
+
+    function bindHeader() {
+        var menu = document.querySelector('.bm-menu-wrap');
+        document.getElementById('react-burger-menu-btn').addEventListener('click', function () {
+            menu.hidden = false;
+        });
+        document.getElementById('react-burger-cross-btn').addEventListener('click', function () {
+            menu.hidden = true;
+        });
+        document.getElementById('logout_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            endSession();
+            go('/');
+        });
+        document.getElementById('reset_sidebar_link').addEventListener('click', function (event) {
+            event.preventDefault();
+            setCart([]);
+            window.location.reload();
+        });
+    }
+
+    // Add/remove buttons on the inventory, details and cart pages
+    document.addEventListener('click', function (event) {
+        var button = event.target.closest('button[data-item-id]');
+        if (!button) {
+            return;
+        }
+        var item = product(parseInt(button.getAttribute('data-item-id'), 10));
+        if (inCart(item.id)) {
+            removeFromCart(item.id);
+        } else {
+            addToCart(item.id);
+        }
+
+        var page = document.body.getAttribute('data-page');
+        if (page === 'cart') {
+            button.closest('.cart_item').remove();
+        } else {
+            var replacement = document.createElement('div');
+            replacement.innerHTML = page === 'item'
+                ? detailsButton(item)
+                : cartButton(item, 'btn_inventory');
+            button.replaceWith(replacement.firstChild);
+        }
+        refreshBadge();
+    });
+
+    var PAGES = {
+        login: loginPage,
+        inventory: inventoryPage,
+        item: itemPage,
+        cart: cartPage,
+        'checkout-step-one': checkoutStepOnePage,
+        'checkout-step-two': checkoutStepTwoPage,
+        'checkout-complete': checkoutCompletePage
+    };
+
+    var page = document.body.getAttribute('data-page');
+    if (page === 'login') {
+        loginPage();
+        return;
+    }
+    if (!currentUser()) {
+        sessionStorage.setItem('login-error',
+            'Epic sadface: You can only access \'' + window.location.pathname + '\' when you are logged in.');
+        window.location.replace('/');
+        return;
+    }
+    PAGES[page]();
+    bindHeader();
+})();